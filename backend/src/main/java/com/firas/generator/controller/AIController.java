@@ -2,12 +2,25 @@ package com.firas.generator.controller;
 
 import com.firas.generator.model.AI.AIGeneratedTables;
 import com.firas.generator.model.AI.AIGeneratedTablesRequest;
+import com.firas.generator.model.Table;
 import com.firas.generator.service.AIGeneratedTablesService;
+import com.firas.generator.service.ai.AIProviderFactory;
+import com.firas.generator.service.ai.PromptMetrics;
+import com.firas.generator.service.ai.PromptStats;
+import com.firas.generator.service.ai.RoutingStats;
+import com.firas.generator.service.ai.http.AIHttpClientFactory;
+import com.firas.generator.service.ai.http.ProviderHttpStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -19,18 +32,98 @@ public class AIController {
     @Autowired
     private AIGeneratedTablesService aiGeneratedTablesService;
 
+    @Autowired
+    private AIHttpClientFactory httpClients;
+
+    @Autowired
+    private AIProviderFactory aiProviderFactory;
+
+    @Autowired
+    private PromptMetrics promptMetrics;
+
+    /**
+     * Generates tables without holding a servlet thread while the provider works; the
+     * response is written when the provider's answer arrives.
+     */
     @PostMapping("/generateTables")
-    public ResponseEntity<AIGeneratedTables> generateTables(@RequestBody AIGeneratedTablesRequest request) {
+    public CompletableFuture<ResponseEntity<AIGeneratedTables>> generateTables(@RequestBody AIGeneratedTablesRequest request) {
+        log.debug("AI generate tables request: {}", request);
+        CompletableFuture<AIGeneratedTables> response;
         try {
-            log.debug("AI generate tables request: {}", request);
-            AIGeneratedTables response = aiGeneratedTablesService.generateTables(request);
-            log.debug("AI generate tables response: {}", response);
-            return ResponseEntity.ok(response);
+            response = aiGeneratedTablesService.generateTablesAsync(request);
         } catch (Exception e) {
-            // Return error response
-            return ResponseEntity.internalServerError().body(
-                    new AIGeneratedTables(request.getSessionId(), null, "Error: " + e.getMessage())
-            );
+            response = CompletableFuture.failedFuture(e);
         }
+        return response
+                .thenApply(result -> {
+                    log.debug("AI generate tables response: {}", result);
+                    return ResponseEntity.ok(result);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    // Return error response
+                    return ResponseEntity.internalServerError().body(
+                            new AIGeneratedTables(request.getSessionId(), null, "Error: " + cause.getMessage())
+                    );
+                });
+    }
+
+    /**
+     * Reverts a session's schema to its version before the last AI turn.
+     *
+     * @return The restored tables, or 404 if the session is unknown or has nothing to undo
+     */
+    @PostMapping("/sessions/{sessionId}/undo")
+    public ResponseEntity<List<Table>> undo(@PathVariable String sessionId) {
+        List<Table> tables = aiGeneratedTablesService.undo(sessionId);
+        return tables != null ? ResponseEntity.ok(tables) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Reapplies the last undone AI turn of a session.
+     *
+     * @return The restored tables, or 404 if the session is unknown or has nothing to redo
+     */
+    @PostMapping("/sessions/{sessionId}/redo")
+    public ResponseEntity<List<Table>> redo(@PathVariable String sessionId) {
+        List<Table> tables = aiGeneratedTablesService.redo(sessionId);
+        return tables != null ? ResponseEntity.ok(tables) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Returns connection, concurrency and latency statistics of each AI provider's HTTP client.
+     */
+    @GetMapping("/http-stats")
+    public List<ProviderHttpStats> getHttpStats() {
+        return httpClients.getStats();
+    }
+
+    /**
+     * Returns the AUTO router's hedging and fallback counters and each provider's rolling
+     * latency and error rate, in the order the next request would try them.
+     */
+    @GetMapping("/routing")
+    public RoutingStats getRoutingStats() {
+        return aiProviderFactory.getRoutingStats();
+    }
+
+    /**
+     * Returns prompt sizes and turn latencies per provider and schema mode (full, delta,
+     * unchanged), with the share of prompt characters saved against full-schema prompts.
+     */
+    @GetMapping("/prompt-stats")
+    public List<PromptStats> getPromptStats() {
+        return promptMetrics.getStats();
+    }
+
+    /**
+     * Streams the generation as server-sent events: "explanation" text deltas and each
+     * "action" as soon as the model completes it, then "complete" with the full response
+     * (or "error"). The session is updated exactly as for /generateTables.
+     */
+    @PostMapping(value = "/generateTables/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTables(@RequestBody AIGeneratedTablesRequest request) {
+        log.debug("AI stream tables request: {}", request);
+        return aiGeneratedTablesService.streamTables(request);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.firas.generator.controller;
+
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admin REST Controller for inspecting and flushing the application's caches.
+ * 
+ * Every {@link ManagedCache} bean is discovered automatically and exposed by name:
+ * - GET    /api/admin/caches          hit/miss/eviction statistics of all caches
+ * - GET    /api/admin/caches/{name}   statistics of a single cache
+ * - DELETE /api/admin/caches          flush all caches
+ * - DELETE /api/admin/caches/{name}   flush a single cache
+ * 
+ * The endpoints are unauthenticated, so the controller is only registered when
+ * generator.admin.caches.enabled=true; enable it only where the port is not publicly reachable.
+ * 
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@ConditionalOnProperty(name = "generator.admin.caches.enabled", havingValue = "true")
+public class CacheAdminController {
+
+    /** Managed caches indexed by name */
+    private final Map<String, ManagedCache> caches;
+
+    public CacheAdminController(List<ManagedCache> cacheList) {
+        this.caches = cacheList.stream()
+                .collect(Collectors.toMap(ManagedCache::getName, Function.identity()));
+    }
+
+    /**
+     * Returns statistics for every managed cache.
+     */
+    @GetMapping
+    public List<CacheStats> getAllStats() {
+        return caches.values().stream()
+                .map(ManagedCache::getStats)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns statistics for a single cache.
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<CacheStats> getStats(@PathVariable String name) {
+        ManagedCache cache = caches.get(name);
+        return cache != null ? ResponseEntity.ok(cache.getStats()) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Flushes every managed cache.
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> flushAll() {
+        caches.values().forEach(ManagedCache::invalidateAll);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Flushes a single cache.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> flush(@PathVariable String name) {
+        ManagedCache cache = caches.get(name);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        cache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
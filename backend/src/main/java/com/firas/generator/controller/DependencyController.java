@@ -1,13 +1,18 @@
 package com.firas.generator.controller;
 
+import com.firas.generator.model.DependencyCatalogStatus;
 import com.firas.generator.model.DependencyGroup;
+import com.firas.generator.model.DependencySearchResult;
+import com.firas.generator.stack.DependencyIndex;
 import com.firas.generator.stack.StackProviderFactory;
 import com.firas.generator.stack.StackType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing dependencies for all technology stacks.
@@ -51,6 +56,57 @@ public class DependencyController {
                 .getAllGroups();
     }
 
+    /**
+     * Searches the stack's dependencies, one page at a time.
+     * 
+     * Matches the query words by prefix against dependency ids, names, artifactIds and
+     * descriptions, and by substring for words of three or more characters; the best
+     * matches come first. Facets count the matches per group so a picker can offer
+     * group filters without downloading the whole catalog.
+     * 
+     * @param stackType The technology stack (defaults to SPRING)
+     * @param q Free-text query; omitted or blank lists all dependencies in catalog order
+     * @param group Optional group name to restrict the results to
+     * @param page Zero-based page number
+     * @param size Page size (at most 100)
+     * @return The requested page of hits with the total count and group facets
+     * @throws IllegalArgumentException (answered with 400) if page is negative or size is not positive
+     */
+    @GetMapping("/search")
+    public DependencySearchResult searchDependencies(
+            @RequestParam(required = false, defaultValue = "SPRING") StackType stackType,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String group,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return stackProviderFactory.getProvider(stackType)
+                .getDependencyProvider()
+                .getIndex()
+                .search(q, group, page, size);
+    }
+
+    /**
+     * Describes where the stack's dependency catalog was loaded from (bundled, on-disk
+     * snapshot or remote) and how long ago its source last confirmed it as current.
+     * 
+     * @param stackType The technology stack (defaults to SPRING)
+     * @return The catalog status, or 404 if the stack's provider does not track it
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<DependencyCatalogStatus> getCatalogStatus(
+            @RequestParam(required = false, defaultValue = "SPRING") StackType stackType) {
+        DependencyCatalogStatus status = stackProviderFactory.getProvider(stackType)
+                .getDependencyProvider()
+                .getCatalogStatus();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
     /**
      * Retrieves recommended dependency IDs based on project configuration.
      * 
@@ -118,20 +174,25 @@ public class DependencyController {
         }
         
         // Filter to only include IDs that exist in the dependency registry
-        List<DependencyGroup> groups = stackProviderFactory.getProvider(stackType)
+        DependencyIndex index = stackProviderFactory.getProvider(stackType)
                 .getDependencyProvider()
-                .getAllGroups();
+                .getIndex();
         
         List<String> validIds = new ArrayList<>();
         for (String id : recommendedIds) {
-            for (DependencyGroup group : groups) {
-                if (group.getDependencies().stream().anyMatch(d -> d.getId().equals(id))) {
-                    validIds.add(id);
-                    break;
-                }
+            if (index.contains(id)) {
+                validIds.add(id);
             }
         }
         
         return validIds;
     }
+
+    /**
+     * Answers invalid paging parameters and unsupported stacks with 400 and the reason.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
 }
@@ -0,0 +1,134 @@
+package com.firas.generator.controller;
+
+import com.firas.generator.model.GenerationJobState;
+import com.firas.generator.model.GenerationJobStatus;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.service.GenerationJobService;
+import com.firas.generator.service.GenerationQueueFullException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * REST Controller for asynchronous project generation.
+ * 
+ * Large generations (microservices, full-stack) can take seconds; instead of holding a
+ * request thread like {@code POST /api/generate/project}, a client submits the request
+ * as a job and then polls its status or subscribes to its progress events, and finally
+ * downloads the ZIP. Jobs run on a bounded pool; when it is saturated, submission is
+ * answered with 429 Too Many Requests and a Retry-After header.
+ * 
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@RestController
+@RequestMapping("/api/generate/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER})
+public class GenerationJobController {
+
+    /**
+     * Service queueing and running generation jobs
+     */
+    private final GenerationJobService jobService;
+
+    /**
+     * Queues a project generation.
+     * 
+     * @param request The project configuration, as for {@code POST /api/generate/project}
+     * @return 202 Accepted with the job status and its URL in the Location header
+     */
+    @PostMapping
+    public ResponseEntity<GenerationJobStatus> submit(@RequestBody ProjectRequest request) {
+        GenerationJobStatus status = jobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/generate/jobs/" + status.getId()))
+                .body(status);
+    }
+
+    /**
+     * Returns the status of a job.
+     * 
+     * @param jobId The job id returned on submission
+     * @return The job status, or 404 if the job is unknown or expired
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<GenerationJobStatus> getStatus(@PathVariable String jobId) {
+        GenerationJobStatus status = jobService.getStatus(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Streams a job's progress as server-sent events: "progress" while queued or running,
+     * then one of "succeeded", "failed" or "cancelled", after which the stream ends.
+     * 
+     * @param jobId The job id returned on submission
+     * @return The event stream, or 404 if the job is unknown or expired
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable String jobId) {
+        SseEmitter emitter = jobService.subscribe(jobId);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Downloads the ZIP of a succeeded job.
+     * 
+     * @param jobId The job id returned on submission
+     * @return The ZIP file; 409 if the job has not succeeded, 404 if it is unknown or expired
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<?> download(@PathVariable String jobId) {
+        GenerationJobStatus status = jobService.getStatus(jobId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        byte[] zip = status.getState() == GenerationJobState.SUCCEEDED ? jobService.getResult(jobId) : null;
+        if (zip == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status);
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + status.getProjectName() + ".zip")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(zip.length)
+                .body(zip);
+    }
+
+    /**
+     * Cancels a queued or running job.
+     * 
+     * @param jobId The job id returned on submission
+     * @return The job status after cancellation, or 404 if the job is unknown or expired
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<GenerationJobStatus> cancel(@PathVariable String jobId) {
+        GenerationJobStatus status = jobService.cancel(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Answers submissions to a saturated pool with 429 and a Retry-After estimate.
+     */
+    @ExceptionHandler(GenerationQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleQueueFull(GenerationQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Answers an unknown stack or invalid project settings with 400 and the reason.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -4,28 +4,28 @@ import com.firas.generator.model.DownloadRequest;
 import com.firas.generator.model.FilePreview;
 import com.firas.generator.model.ProjectRequest;
 import com.firas.generator.model.ProjectPreviewResponse;
-import com.firas.generator.model.config.FrontendConfig;
-import com.firas.generator.frontend.FrontendProviderFactory;
-import com.firas.generator.stack.StackProvider;
-import com.firas.generator.stack.StackProviderFactory;
-import com.firas.generator.stack.StackType;
+import com.firas.generator.service.ProjectGenerationService;
+import com.firas.generator.util.ZipStreamSink;
 import com.firas.generator.util.ZipUtils;
+import com.firas.generator.util.cache.SingleFlightStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for generating projects for multiple technology stacks.
  * 
  * This controller handles project generation requests, creating customized projects
  * based on user specifications including stack type, dependencies, SQL schemas, and various
- * code generation options. The generated project is returned as a downloadable ZIP file.
+ * code generation options. The generated project is streamed back as a downloadable ZIP file.
  * 
  * Supports multiple stacks (Spring, Node, Nest, FastAPI) via the stackType field in the request.
  * For backward compatibility, if no stackType is specified, it defaults to SPRING.
@@ -40,15 +40,13 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class GeneratorController {
 
-    /**
-     * Factory for retrieving stack-specific providers
-     */
-    private final StackProviderFactory stackProviderFactory;
+    /** Request/response header carrying the preview session id */
+    private static final String PREVIEW_SESSION_HEADER = "X-Preview-Session";
 
     /**
-     * Factory for retrieving frontend providers
+     * Service rendering (and caching) the backend and frontend files of a project
      */
-    private final FrontendProviderFactory frontendProviderFactory;
+    private final ProjectGenerationService generationService;
 
     /**
      * Generates a complete project based on the provided configuration.
@@ -61,37 +59,40 @@ public class GeneratorController {
      * - Optional table metadata for automatic CRUD generation
      * - Flags for including various code components
      * 
-     * The generated project is returned as a ZIP file ready for download and extraction.
+     * The generated project is streamed as a ZIP file: each template is rendered and
+     * written as a ZIP entry directly onto the response, so memory per request stays
+     * flat regardless of the project size. The request is validated up front (provider
+     * lookup, project name) so that invalid requests get 400 before the response is
+     * committed. A failure after streaming has started aborts the response and leaves
+     * the archive unfinished, so the client sees a broken download rather than a
+     * truncated but valid ZIP. Identical requests are served from the generation cache
+     * without re-rendering.
      * 
      * @param request The project configuration containing all generation parameters
-     * @return ResponseEntity containing the ZIP file as byte array with appropriate headers
-     * @throws IOException If an error occurs during project generation or ZIP creation
+     * @return ResponseEntity streaming the ZIP file with appropriate headers
      */
     @PostMapping("/project")
-    public ResponseEntity<byte[]> generateProject(@RequestBody ProjectRequest request) throws IOException {
-        // Get the appropriate stack provider
-        StackType stackType = request.getStackType() != null ? request.getStackType() : StackType.SPRING;
-        StackProvider provider = stackProviderFactory.getProvider(stackType);
-        
-        // Get backend files
-        List<FilePreview> allFiles = new ArrayList<>(provider.generateProject(request));
-        
-        // Append frontend files if enabled
-        FrontendConfig fc = request.getEffectiveFrontendConfig();
-        if (fc.isEnabled() && frontendProviderFactory.hasProvider(fc.getFramework())) {
-            allFiles.addAll(frontendProviderFactory.getProvider(fc.getFramework()).generateFrontend(request));
+    public ResponseEntity<StreamingResponseBody> generateProject(@RequestBody ProjectRequest request) {
+        // Validate up front so invalid requests fail before streaming starts
+        generationService.resolveStackProvider(request);
+        String filename = generationService.getProjectName(request);
+        if (filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Project name cannot be null or empty");
         }
         
-        // Determine filename
-        String filename = getProjectName(request, stackType);
-        
-        // Create ZIP from combined files
-        byte[] zipContent = ZipUtils.createZipFromFilePreviews(allFiles, filename);
+        // Render backend and frontend files (or replay them from cache) straight into the ZIP stream;
+        // on failure the exception propagates with the archive left unfinished
+        StreamingResponseBody body = out -> {
+            try (ZipStreamSink zip = new ZipStreamSink(out, filename)) {
+                generationService.generateFiles(request, zip);
+                zip.finish();
+            }
+        };
         
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename + ".zip")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(zipContent);
+                .body(body);
     }
     
     /**
@@ -99,27 +100,44 @@ public class GeneratorController {
      * 
      * This endpoint creates all project files and returns them as a structured JSON response 
      * containing file paths, contents, and detected programming languages for syntax highlighting.
+     * Identical requests are served from the generation cache without re-rendering.
+     * 
+     * Previews are incremental within a preview session: the response carries a session id
+     * (body and X-Preview-Session header), and when it is sent back with the next preview only
+     * the files whose inputs changed (e.g. the files of the one edited table) are re-rendered.
+     * The response lists the recomputed file paths.
+     * 
+     * Every preview carries an ETag identifying its complete file manifest. A client sending
+     * it back as If-None-Match receives 304 Not Modified when nothing changed, and otherwise a
+     * delta holding only the added and changed files (with their content hashes) and the
+     * removed paths. Unknown or expired ETags yield a complete preview.
      * 
      * @param request The project configuration containing all generation parameters
+     * @param sessionId Optional preview session id returned by a previous preview
+     * @param ifNoneMatch Optional ETag of the preview the client already holds
      * @return ResponseEntity containing the list of generated files as FilePreview objects
      * @throws IOException If an error occurs during project generation
      */
     @PostMapping("/preview")
-    public ResponseEntity<ProjectPreviewResponse> previewProject(@RequestBody ProjectRequest request) throws IOException {
-        // Get the appropriate stack provider
-        StackType stackType = request.getStackType() != null ? request.getStackType() : StackType.SPRING;
-        StackProvider provider = stackProviderFactory.getProvider(stackType);
-        
-        // Get backend files
-        List<FilePreview> allFiles = new ArrayList<>(provider.generateProject(request));
-        
-        // Append frontend files if enabled
-        FrontendConfig fc = request.getEffectiveFrontendConfig();
-        if (fc.isEnabled() && frontendProviderFactory.hasProvider(fc.getFramework())) {
-            allFiles.addAll(frontendProviderFactory.getProvider(fc.getFramework()).generateFrontend(request));
+    @CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.ETAG, PREVIEW_SESSION_HEADER})
+    public ResponseEntity<ProjectPreviewResponse> previewProject(
+            @RequestBody ProjectRequest request,
+            @RequestHeader(value = PREVIEW_SESSION_HEADER, required = false) String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        String baseManifestHash = parseETag(ifNoneMatch);
+        ProjectPreviewResponse response = generationService.preview(request, sessionId, baseManifestHash);
+        String etag = "\"" + response.getManifestHash() + "\"";
+
+        if (response.getManifestHash().equals(baseManifestHash)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(PREVIEW_SESSION_HEADER, response.getSessionId())
+                    .build();
         }
-        
-        return ResponseEntity.ok(new ProjectPreviewResponse(allFiles));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(PREVIEW_SESSION_HEADER, response.getSessionId())
+                .body(response);
     }
     
     /**
@@ -129,34 +147,61 @@ public class GeneratorController {
      * It accepts a list of files with their paths and contents and returns them as a ZIP file.
      * 
      * @param request The download request containing files and artifact ID
-     * @return ResponseEntity containing the ZIP file as byte array
-     * @throws IOException If an error occurs during ZIP creation
+     * @return ResponseEntity streaming the ZIP file
      */
     @PostMapping("/from-files")
-    public ResponseEntity<byte[]> generateProjectFromFiles(@RequestBody DownloadRequest request) throws IOException {
-        byte[] zipContent = ZipUtils.createZipFromFilePreviews(request.getFiles(), request.getArtifactId());
+    public ResponseEntity<StreamingResponseBody> generateProjectFromFiles(@RequestBody DownloadRequest request) {
+        List<FilePreview> files = request.getFiles();
+        String artifactId = request.getArtifactId();
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("Files list cannot be null or empty");
+        }
+        if (artifactId == null || artifactId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Project name cannot be null or empty");
+        }
+        
+        StreamingResponseBody body = out -> ZipUtils.writeZipFromFilePreviews(files, artifactId, out);
         
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + request.getArtifactId() + ".zip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + artifactId + ".zip")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(zipContent);
+                .body(body);
     }
-    
+
+    /**
+     * Returns request coalescing statistics: how many renders ran, and how many
+     * concurrent identical requests were served by another request's render instead.
+     * 
+     * @return The statistics, or 404 if coalescing is disabled
+     */
+    @GetMapping("/single-flight")
+    public ResponseEntity<SingleFlightStats> getSingleFlightStats() {
+        SingleFlightStats stats = generationService.getSingleFlightStats();
+        return stats != null ? ResponseEntity.ok(stats) : ResponseEntity.notFound().build();
+    }
+
     /**
-     * Determines the project name for the ZIP filename.
+     * Answers an unknown stack or invalid project settings with 400 and the reason.
      */
-    private String getProjectName(ProjectRequest request, StackType stackType) {
-        // Check artifactId (for Spring)
-        if (request.getArtifactId() != null && !request.getArtifactId().isEmpty()) {
-            return request.getArtifactId();
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Extracts the manifest hash from an If-None-Match header value ("hash" or W/"hash").
+     */
+    private static String parseETag(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
         }
-        // Check name
-        if (request.getName() != null && !request.getName().isEmpty()) {
-            return request.getName().toLowerCase().replace(" ", "-");
+        String etag = ifNoneMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
         }
-        // Default based on stack
-        return stackType.getId() + "-project";
+        if (etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            etag = etag.substring(1, etag.length() - 1);
+        }
+        return etag;
     }
 }
-
-
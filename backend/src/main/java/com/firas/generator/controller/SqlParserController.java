@@ -1,13 +1,29 @@
 package com.firas.generator.controller;
 
 import com.firas.generator.model.Table;
+import com.firas.generator.util.LimitedInputStream;
+import com.firas.generator.util.sql.ParsedSchema;
+import com.firas.generator.util.sql.SqlParseMode;
 import com.firas.generator.util.sql.SqlParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for parsing SQL schemas into table metadata.
@@ -32,11 +48,18 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class SqlParserController {
 
+    /** Response header telling whether the parse was answered from the cache */
+    private static final String CACHE_HEADER = "X-Cache";
+
     /**
      * SQL parser utility for extracting table metadata from SQL statements
      */
     private final SqlParser sqlParser;
 
+    /** Maximum size of a posted or uploaded SQL script */
+    @Value("${sql.parser.max-script-bytes:67108864}")
+    private long maxScriptBytes;
+
     /**
      * Parses SQL statements and returns structured table metadata.
      * 
@@ -53,16 +76,111 @@ public class SqlParserController {
      * - ALTER TABLE DROP COLUMN
      * - ALTER TABLE ADD UNIQUE
      * 
+     * By default the SQL is parsed in-process (mode=offline); mode=jdbc executes it against
+     * a scratch MySQL/PostgreSQL database instead and reads the resulting JDBC metadata.
+     * 
+     * Identical scripts (ignoring whitespace and comments) are answered from the parsed-schema
+     * cache; the X-Cache response header is HIT or MISS accordingly.
+     * 
      * @param sql The SQL statements to parse (as a path variable)
+     * @param dialect SQL dialect: mysql (default) or postgresql
+     * @param mode Parsing strategy: offline or jdbc (defaults to sql.parser.mode)
      * @return List of Table objects containing parsed metadata
      * @throws SQLException If the SQL syntax is invalid or cannot be parsed
      */
     @GetMapping("/{sql}")
-    public List<Table> parseSql(
+    @CrossOrigin(origins = "*", exposedHeaders = CACHE_HEADER)
+    public ResponseEntity<List<Table>> parseSql(
             @PathVariable String sql,
-            @RequestParam(required = false, defaultValue = "mysql") String dialect
+            @RequestParam(required = false, defaultValue = "mysql") String dialect,
+            @RequestParam(required = false) String mode
     ) throws SQLException {
-        log.debug("Parsing SQL with dialect: {}", dialect);
-        return sqlParser.parseSql(sql, dialect);
+        log.debug("Parsing SQL with dialect: {}, mode: {}", dialect, mode);
+        return respond(sqlParser.parse(sql, dialect, parseMode(mode)));
+    }
+
+    /**
+     * Parses a SQL script sent as the raw {@code text/plain} request body.
+     * 
+     * The body is streamed into the parser rather than read into a String first; data
+     * statements in it are skipped while reading. Bodies larger than
+     * sql.parser.max-script-bytes are rejected with 413 Payload Too Large.
+     * 
+     * @param request The request whose body is the SQL script (charset from Content-Type, default UTF-8)
+     * @param dialect SQL dialect: mysql (default) or postgresql
+     * @param mode Parsing strategy: offline or jdbc (defaults to sql.parser.mode)
+     * @return List of Table objects containing parsed metadata
+     * @throws SQLException If the SQL cannot be executed in jdbc mode
+     * @throws IOException If reading the request body fails
+     */
+    @PostMapping(consumes = MediaType.TEXT_PLAIN_VALUE)
+    @CrossOrigin(origins = "*", exposedHeaders = CACHE_HEADER)
+    public ResponseEntity<List<Table>> parseSqlBody(
+            HttpServletRequest request,
+            @RequestParam(required = false, defaultValue = "mysql") String dialect,
+            @RequestParam(required = false) String mode
+    ) throws SQLException, IOException {
+        checkSize(request.getContentLengthLong());
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        log.debug("Parsing SQL body ({} bytes) with dialect: {}, mode: {}", request.getContentLengthLong(), dialect, mode);
+        try (Reader script = new InputStreamReader(new LimitedInputStream(request.getInputStream(), maxScriptBytes), charset)) {
+            return respond(sqlParser.parse(script, dialect, parseMode(mode)));
+        }
+    }
+
+    /**
+     * Parses an uploaded {@code .sql} file (multipart/form-data, part name "file", UTF-8).
+     * 
+     * Files larger than sql.parser.max-script-bytes are rejected with 413 Payload Too Large.
+     * 
+     * @param file The uploaded SQL script
+     * @param dialect SQL dialect: mysql (default) or postgresql
+     * @param mode Parsing strategy: offline or jdbc (defaults to sql.parser.mode)
+     * @return List of Table objects containing parsed metadata
+     * @throws SQLException If the SQL cannot be executed in jdbc mode
+     * @throws IOException If reading the upload fails
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @CrossOrigin(origins = "*", exposedHeaders = CACHE_HEADER)
+    public ResponseEntity<List<Table>> parseSqlFile(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false, defaultValue = "mysql") String dialect,
+            @RequestParam(required = false) String mode
+    ) throws SQLException, IOException {
+        checkSize(file.getSize());
+        log.debug("Parsing SQL file {} ({} bytes) with dialect: {}, mode: {}",
+                file.getOriginalFilename(), file.getSize(), dialect, mode);
+        try (Reader script = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return respond(sqlParser.parse(script, dialect, parseMode(mode)));
+        }
+    }
+
+    private void checkSize(long bytes) {
+        if (bytes > maxScriptBytes) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "SQL script exceeds " + maxScriptBytes + " bytes");
+        }
+    }
+
+    private static SqlParseMode parseMode(String mode) {
+        return mode == null || mode.isBlank() ? null : SqlParseMode.from(mode, null);
+    }
+
+    private static ResponseEntity<List<Table>> respond(ParsedSchema result) {
+        return ResponseEntity.ok()
+                .header(CACHE_HEADER, result.cacheHit() ? "HIT" : "MISS")
+                .body(result.tables());
+    }
+
+    /**
+     * Answers an unknown mode or dialect and an unreadable script (e.g. an unterminated
+     * literal) with 400 and the reason.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.debug("Rejected SQL parse request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
     }
 }
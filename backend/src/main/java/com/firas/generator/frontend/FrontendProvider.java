@@ -2,6 +2,7 @@ package com.firas.generator.frontend;
 
 import com.firas.generator.model.FilePreview;
 import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.util.FileSink;
 
 import java.io.IOException;
 import java.util.List;
@@ -32,6 +33,17 @@ public interface FrontendProvider {
      */
     List<FilePreview> generateFrontend(ProjectRequest request) throws IOException;
     
+    /**
+     * Generates all frontend project files, pushing each one to the sink as soon as it is rendered.
+     * 
+     * @param request The project request containing tables, security config, etc.
+     * @param sink Receiver for the generated files
+     * @throws IOException If an error occurs during generation or while writing to the sink
+     */
+    default void generateFrontend(ProjectRequest request, FileSink sink) throws IOException {
+        sink.acceptAll(generateFrontend(request));
+    }
+    
     /**
      * @return Whether this provider is available for use
      */
@@ -8,6 +8,7 @@ import com.firas.generator.model.Table;
 import com.firas.generator.model.config.FrontendConfig;
 import com.firas.generator.model.config.SecurityConfig;
 import com.firas.generator.service.TemplateService;
+import com.firas.generator.util.FileSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -48,7 +49,12 @@ public class NextJsFrontendProvider implements FrontendProvider {
     @Override
     public List<FilePreview> generateFrontend(ProjectRequest request) throws IOException {
         List<FilePreview> files = new ArrayList<>();
+        generateFrontend(request, files::add);
+        return files;
+    }
 
+    @Override
+    public void generateFrontend(ProjectRequest request, FileSink sink) throws IOException {
         FrontendConfig frontendConfig = request.getEffectiveFrontendConfig();
         SecurityConfig securityConfig = request.getSecurityConfig();
 
@@ -83,33 +89,33 @@ public class NextJsFrontendProvider implements FrontendProvider {
         model.put("entities", entities);
 
         // 1. Config files
-        files.add(generate("package.json.ftl", model, "package.json", "json"));
-        files.add(generate("tsconfig.json.ftl", model, "tsconfig.json", "json"));
-        files.add(generate("tailwind.config.ts.ftl", model, "tailwind.config.ts", "typescript"));
-        files.add(generate("next.config.ts.ftl", model, "next.config.ts", "typescript"));
-        files.add(generate("postcss.config.mjs.ftl", model, "postcss.config.mjs", "javascript"));
-        files.add(generate("gitignore.ftl", model, ".gitignore", "text"));
-        files.add(generate("env.local.ftl", model, ".env.local", "text"));
+        sink.accept(generate("package.json.ftl", model, "package.json", "json"));
+        sink.accept(generate("tsconfig.json.ftl", model, "tsconfig.json", "json"));
+        sink.accept(generate("tailwind.config.ts.ftl", model, "tailwind.config.ts", "typescript"));
+        sink.accept(generate("next.config.ts.ftl", model, "next.config.ts", "typescript"));
+        sink.accept(generate("postcss.config.mjs.ftl", model, "postcss.config.mjs", "javascript"));
+        sink.accept(generate("gitignore.ftl", model, ".gitignore", "text"));
+        sink.accept(generate("env.local.ftl", model, ".env.local", "text"));
 
         // 2. App skeleton
-        files.add(generate("layout.tsx.ftl", model, "app/layout.tsx", "typescriptreact"));
-        files.add(generate("page.tsx.ftl", model, "app/page.tsx", "typescriptreact"));
-        files.add(generate("globals.css.ftl", model, "app/globals.css", "css"));
+        sink.accept(generate("layout.tsx.ftl", model, "app/layout.tsx", "typescriptreact"));
+        sink.accept(generate("page.tsx.ftl", model, "app/page.tsx", "typescriptreact"));
+        sink.accept(generate("globals.css.ftl", model, "app/globals.css", "css"));
 
         // 3. API client
-        files.add(generate("api.ts.ftl", model, "lib/api.ts", "typescript"));
+        sink.accept(generate("api.ts.ftl", model, "lib/api.ts", "typescript"));
 
         // 4. TypeScript types
-        files.add(generate("types.ts.ftl", model, "types/index.ts", "typescript"));
+        sink.accept(generate("types.ts.ftl", model, "types/index.ts", "typescript"));
 
         // 5. UI components
-        files.add(generate("button.tsx.ftl", model, "components/ui/button.tsx", "typescriptreact"));
-        files.add(generate("data-table.tsx.ftl", model, "components/ui/data-table.tsx", "typescriptreact"));
-        files.add(generate("form-field.tsx.ftl", model, "components/ui/form-field.tsx", "typescriptreact"));
-        files.add(generate("modal.tsx.ftl", model, "components/ui/modal.tsx", "typescriptreact"));
+        sink.accept(generate("button.tsx.ftl", model, "components/ui/button.tsx", "typescriptreact"));
+        sink.accept(generate("data-table.tsx.ftl", model, "components/ui/data-table.tsx", "typescriptreact"));
+        sink.accept(generate("form-field.tsx.ftl", model, "components/ui/form-field.tsx", "typescriptreact"));
+        sink.accept(generate("modal.tsx.ftl", model, "components/ui/modal.tsx", "typescriptreact"));
 
         // 6. Navigation
-        files.add(generate("navbar.tsx.ftl", model, "components/navbar.tsx", "typescriptreact"));
+        sink.accept(generate("navbar.tsx.ftl", model, "components/navbar.tsx", "typescriptreact"));
 
         // 7. Per-entity CRUD pages
         for (Table table : tables) {
@@ -118,27 +124,26 @@ public class NextJsFrontendProvider implements FrontendProvider {
             entityModel.put("entity", buildEntityMap(table));
             String route = table.getName().toLowerCase();
 
-            files.add(generate("entity-list-page.tsx.ftl", entityModel,
+            sink.accept(generate("entity-list-page.tsx.ftl", entityModel,
                     "app/" + route + "/page.tsx", "typescriptreact"));
-            files.add(generate("entity-create-page.tsx.ftl", entityModel,
+            sink.accept(generate("entity-create-page.tsx.ftl", entityModel,
                     "app/" + route + "/new/page.tsx", "typescriptreact"));
-            files.add(generate("entity-detail-page.tsx.ftl", entityModel,
+            sink.accept(generate("entity-detail-page.tsx.ftl", entityModel,
                     "app/" + route + "/[id]/page.tsx", "typescriptreact"));
-            files.add(generate("entity-edit-page.tsx.ftl", entityModel,
+            sink.accept(generate("entity-edit-page.tsx.ftl", entityModel,
                     "app/" + route + "/[id]/edit/page.tsx", "typescriptreact"));
         }
 
         // 8. Auth pages (if security enabled)
         if (hasSecurity) {
-            files.add(generate("auth.ts.ftl", model, "lib/auth.ts", "typescript"));
-            files.add(generateAuthPage("login", model));
+            sink.accept(generate("auth.ts.ftl", model, "lib/auth.ts", "typescript"));
+            sink.accept(generateAuthPage("login", model));
             if (securityConfig.isRegistrationEnabled()) {
-                files.add(generateAuthPage("register", model));
+                sink.accept(generateAuthPage("register", model));
             }
         }
 
-        log.info("Generated {} Next.js frontend files", files.size());
-        return files;
+        log.info("Generated Next.js frontend for {} entities", tables.size());
     }
 
     private Map<String, Object> buildEntityMap(Table table) {
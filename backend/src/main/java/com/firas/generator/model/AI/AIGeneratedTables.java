@@ -1,5 +1,8 @@
 package com.firas.generator.model.AI;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collections;
 import java.util.List;
 
 public class AIGeneratedTables {
@@ -7,6 +10,10 @@ public class AIGeneratedTables {
     private List<TableAction> actions;
     private String explanation;
 
+    /** Set when the provider could not produce a response; the explanation then holds the error */
+    @JsonIgnore
+    private boolean failed;
+
     public AIGeneratedTables(String sessionId, List<TableAction>  actions, String explanation) {
         this.sessionId = sessionId;
         this.actions = actions;
@@ -16,6 +23,18 @@ public class AIGeneratedTables {
     public AIGeneratedTables() {
     }
 
+    /**
+     * Creates the response of a provider call that failed.
+     *
+     * @param sessionId The session id
+     * @param error Description of the failure, shown to the user as the explanation
+     */
+    public static AIGeneratedTables failure(String sessionId, String error) {
+        AIGeneratedTables result = new AIGeneratedTables(sessionId, Collections.emptyList(), error);
+        result.failed = true;
+        return result;
+    }
+
     public String getSessionId() {
         return sessionId;
     }
@@ -40,6 +59,15 @@ public class AIGeneratedTables {
         this.explanation = explanation;
     }
 
+    @JsonIgnore
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
     @Override
     public String   toString() {
         return "AIGeneratedTables{" +
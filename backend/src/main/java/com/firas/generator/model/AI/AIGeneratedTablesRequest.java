@@ -9,6 +9,8 @@ public class AIGeneratedTablesRequest {
     private List<Table> currentTables;
     private String sessionId;
     private boolean allowDestructive;
+    /** Skip the response cache: always ask the provider and do not store its answer */
+    private boolean skipCache;
 
     public AIGeneratedTablesRequest(String prompt, List<Table> currentTables, String sessionId, boolean allowDestructive) {
         this.prompt = prompt;
@@ -53,6 +55,14 @@ public class AIGeneratedTablesRequest {
         this.allowDestructive = allowDestructive;
     }
 
+    public boolean isSkipCache() {
+        return skipCache;
+    }
+
+    public void setSkipCache(boolean skipCache) {
+        this.skipCache = skipCache;
+    }
+
 
     @Override
     public String toString() {
@@ -61,6 +71,7 @@ public class AIGeneratedTablesRequest {
                 ", currentTables=" + currentTables +
                 ", sessionId='" + sessionId + '\'' +
                 ", allowDestructive=" + allowDestructive +
+                ", skipCache=" + skipCache +
                 '}';
     }
 }
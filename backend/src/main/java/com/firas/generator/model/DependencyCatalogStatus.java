@@ -0,0 +1,50 @@
+package com.firas.generator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO describing where a stack's dependency catalog was loaded from and how fresh it is.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyCatalogStatus {
+    /**
+     * Origin of the catalog currently served: "bundled", "snapshot" (on-disk copy) or "remote"
+     */
+    private String source;
+
+    /**
+     * Number of dependencies in the catalog
+     */
+    private int dependencyCount;
+
+    /**
+     * When the remote source last confirmed the catalog as current (200 or 304),
+     * or null if it never has (e.g. bundled catalog in an offline environment)
+     */
+    private Instant verifiedAt;
+
+    /**
+     * Seconds since verifiedAt, or null if the catalog was never verified
+     */
+    private Long ageSeconds;
+
+    /**
+     * When the last refresh attempt finished, or null if none was made
+     */
+    private Instant lastAttemptAt;
+
+    /**
+     * Failure message of the last refresh attempt, or null if it succeeded
+     */
+    private String lastError;
+}
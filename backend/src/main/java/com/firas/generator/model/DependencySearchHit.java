@@ -0,0 +1,32 @@
+package com.firas.generator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single dependency search result together with the group it belongs to.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencySearchHit {
+    /**
+     * Name of the dependency's group (e.g., "Web", "SQL")
+     */
+    private String group;
+
+    /**
+     * Relevance of the hit; higher is better, 0 when listing without a query
+     */
+    private int score;
+
+    /**
+     * The matching dependency
+     */
+    private DependencyMetadata dependency;
+}
@@ -0,0 +1,55 @@
+package com.firas.generator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for one page of dependency search results.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencySearchResult {
+    /**
+     * The query as sent by the client, may be null
+     */
+    private String query;
+
+    /**
+     * The group filter as sent by the client, may be null
+     */
+    private String group;
+
+    /**
+     * Zero-based page number
+     */
+    private int page;
+
+    /**
+     * Effective page size
+     */
+    private int size;
+
+    /**
+     * Number of matches across all pages (after the group filter)
+     */
+    private int total;
+
+    /**
+     * Hits of the requested page, best first
+     */
+    private List<DependencySearchHit> items;
+
+    /**
+     * Number of matches per group, ignoring the group filter, in catalog order
+     */
+    private Map<String, Integer> facets;
+}
@@ -0,0 +1,28 @@
+package com.firas.generator.model;
+
+/**
+ * Lifecycle state of an asynchronous generation job.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public enum GenerationJobState {
+    /** Accepted and waiting for a worker thread */
+    QUEUED,
+    /** Currently rendering */
+    RUNNING,
+    /** Finished; the ZIP can be downloaded */
+    SUCCEEDED,
+    /** Rendering failed; see the status error */
+    FAILED,
+    /** Cancelled by the client before it finished */
+    CANCELLED;
+
+    /**
+     * @return true if the job will not change state anymore
+     */
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
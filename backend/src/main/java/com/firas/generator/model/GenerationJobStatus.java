@@ -0,0 +1,60 @@
+package com.firas.generator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO describing the progress of an asynchronous generation job.
+ * Returned when a job is submitted or polled, and sent as SSE event data.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerationJobStatus {
+    /**
+     * Job id, used in the status, events and download URLs
+     */
+    private String id;
+
+    /**
+     * Current lifecycle state
+     */
+    private GenerationJobState state;
+
+    /**
+     * Name of the generated project (root folder of the ZIP)
+     */
+    private String projectName;
+
+    /**
+     * Number of files rendered so far
+     */
+    private int filesGenerated;
+
+    /**
+     * Failure message when the state is FAILED, otherwise null
+     */
+    private String error;
+
+    /**
+     * When the job was accepted
+     */
+    private Instant submittedAt;
+
+    /**
+     * When a worker started rendering, or null while queued
+     */
+    private Instant startedAt;
+
+    /**
+     * When the job reached a terminal state, or null while in progress
+     */
+    private Instant finishedAt;
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Response DTO containing all generated project files for preview.
@@ -17,4 +18,58 @@ public class ProjectPreviewResponse {
      * List of all generated files with their paths and contents
      */
     private List<FilePreview> files;
+
+    /**
+     * Preview session id; send it back (X-Preview-Session header) to re-render only what changed
+     */
+    private String sessionId;
+
+    /**
+     * Paths of the files rendered by this request; all other files were reused unchanged
+     */
+    private List<String> recomputedFiles;
+
+    /**
+     * Number of files reused from the previous preview of the session or from the generation cache
+     */
+    private int reusedFiles;
+
+    /**
+     * Hash of the complete file manifest (paths and content hashes), also sent as ETag;
+     * send it back as If-None-Match to receive only the differences next time
+     */
+    private String manifestHash;
+
+    /**
+     * Manifest hash this response is a delta against, or null when {@link #files} is complete
+     */
+    private String baseManifestHash;
+
+    /**
+     * Paths removed since the base manifest (delta responses only)
+     */
+    private List<String> removedFiles;
+
+    /**
+     * SHA-256 content hash of each file in {@link #files}, by path
+     */
+    private Map<String, String> fileHashes;
+
+    public ProjectPreviewResponse(List<FilePreview> files) {
+        this.files = files;
+    }
+
+    public ProjectPreviewResponse(List<FilePreview> files, String sessionId, List<String> recomputedFiles, int reusedFiles) {
+        this.files = files;
+        this.sessionId = sessionId;
+        this.recomputedFiles = recomputedFiles;
+        this.reusedFiles = reusedFiles;
+    }
+
+    /**
+     * @return true if this response only contains the files changed since {@link #baseManifestHash}
+     */
+    public boolean isDelta() {
+        return baseManifestHash != null;
+    }
 }
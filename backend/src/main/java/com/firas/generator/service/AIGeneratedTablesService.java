@@ -6,26 +6,73 @@ import com.firas.generator.model.AI.AIGeneratedTablesRequest;
 import com.firas.generator.model.AI.TableAction;
 import com.firas.generator.service.ai.AIProviderFactory;
 import com.firas.generator.service.ai.AIProvider;
+import com.firas.generator.service.ai.AIStreamListener;
+import com.firas.generator.service.ai.SchemaSnapshot;
+import com.firas.generator.service.ai.TableActions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @Service
+@Slf4j
 public class AIGeneratedTablesService {
-    private static final int MAX_TABLES = 50;
-
     private final AIProviderFactory aiProviderFactory;
-    private final Map<String, List<Table>> sessionTables = new ConcurrentHashMap<>();
+
+    /** Bounded, expiring store of each session's current tables */
+    private final AISessionStore sessionStore;
+
+    /** Answers of earlier generations, reused for identical prompts on identical tables */
+    private final AIResponseCache responseCache;
 
     @Value("${ai.provider.default:GOOGLE_ADK}")
     private String defaultProviderName;
 
+    /**
+     * Runs streamed generations, which hold their thread for the whole completion, and
+     * asynchronous generations of providers without a non-blocking client
+     */
+    private final ThreadPoolExecutor streamExecutor;
+
+    private final long streamTimeoutMs;
+
+    /** Largest number of tables a session keeps */
+    private final int maxTables;
+
     @Autowired
-    public AIGeneratedTablesService(AIProviderFactory aiProviderFactory) {
+    public AIGeneratedTablesService(AIProviderFactory aiProviderFactory, AISessionStore sessionStore,
+                                    AIResponseCache responseCache,
+                                    @Value("${ai.streaming.max-concurrent:16}") int maxConcurrentStreams,
+                                    @Value("${ai.streaming.queue-capacity:64}") int streamQueueCapacity,
+                                    @Value("${ai.streaming.timeout-ms:180000}") long streamTimeoutMs,
+                                    @Value("${ai.sessions.max-tables:500}") int maxTables) {
         this.aiProviderFactory = aiProviderFactory;
+        this.sessionStore = sessionStore;
+        this.maxTables = maxTables;
+        this.responseCache = responseCache;
+        this.streamTimeoutMs = streamTimeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.streamExecutor = new ThreadPoolExecutor(maxConcurrentStreams, maxConcurrentStreams,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(streamQueueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "ai-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.streamExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -39,23 +86,150 @@ public class AIGeneratedTablesService {
      * Generate tables using a specific AI provider
      */
     public AIGeneratedTables generateTables(AIGeneratedTablesRequest request, String providerName) {
+        return generate(request, providerName, AIProvider::generateTables, cached -> {
+        });
+    }
+
+    /**
+     * Generate tables using the default AI provider without holding the calling (request)
+     * thread while the provider works. The session is updated once the response arrives.
+     */
+    public CompletableFuture<AIGeneratedTables> generateTablesAsync(AIGeneratedTablesRequest request) {
+        AIProvider provider = aiProviderFactory.getProvider(defaultProviderName);
+        SessionTurn turn = startTurn(request, provider);
+        AIGeneratedTables cached = responseCache.get(turn.cacheKey());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(finishTurn(turn, cached));
+        }
+        return provider.generateTablesAsync(request, streamExecutor)
+                .thenApplyAsync(result -> {
+                    responseCache.put(turn.cacheKey(), result);
+                    return finishTurn(turn, result);
+                }, streamExecutor);
+    }
+
+    /**
+     * Generate tables using the default AI provider, reporting the explanation and each
+     * action to the listener while the provider produces them. The session is updated
+     * once the complete response is available.
+     *
+     * @return The complete response, as {@link #generateTables(AIGeneratedTablesRequest)} would return it
+     */
+    public AIGeneratedTables streamTables(AIGeneratedTablesRequest request, AIStreamListener listener) {
+        return generate(request, defaultProviderName, (provider, req) -> provider.streamTables(req, listener),
+                listener::replay);
+    }
+
+    /**
+     * Generate tables on the streaming pool and forward the response to an SSE client as
+     * "explanation" ({"text": delta}), "action" (a TableAction) and finally "complete"
+     * (the AIGeneratedTables) or "error" ({"message": ...}) events.
+     *
+     * @return The emitter of the stream
+     */
+    public SseEmitter streamTables(AIGeneratedTablesRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    AIGeneratedTables result = streamTables(request, new AIStreamListener() {
+                        @Override
+                        public void onExplanation(String delta) {
+                            send(emitter, "explanation", Map.of("text", delta));
+                        }
+
+                        @Override
+                        public void onAction(TableAction action) {
+                            send(emitter, "action", action);
+                        }
+                    });
+                    send(emitter, "complete", result);
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.warn("AI generation stream failed: {}", e.getMessage());
+                    send(emitter, "error", Map.of("message", "Error: " + e.getMessage()));
+                    emitter.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            send(emitter, "error", Map.of("message", "Too many AI generations in progress, please retry shortly"));
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdownNow();
+    }
+
+    /**
+     * The session a generation works on: its id, the tables the provider is sent, the
+     * same tables as the snapshot the provider's actions are applied to, and the response
+     * cache key (null when the response must not be cached).
+     */
+    private record SessionTurn(String sessionId, List<Table> currentTables, SchemaSnapshot schema, String cacheKey) {
+    }
+
+    /**
+     * @param onCacheHit Receives the cached response when the provider is not called
+     */
+    private AIGeneratedTables generate(AIGeneratedTablesRequest request, String providerName,
+                                       BiFunction<AIProvider, AIGeneratedTablesRequest, AIGeneratedTables> call,
+                                       Consumer<AIGeneratedTables> onCacheHit) {
         AIProvider provider = aiProviderFactory.getProvider(providerName);
+        SessionTurn turn = startTurn(request, provider);
 
+        AIGeneratedTables cached = responseCache.get(turn.cacheKey());
+        if (cached != null) {
+            log.debug("AI response cache hit for session {}", turn.sessionId());
+            onCacheHit.accept(cached);
+            return finishTurn(turn, cached);
+        }
+
+        // Delegate to the AI provider
+        AIGeneratedTables result = call.apply(provider, request);
+        responseCache.put(turn.cacheKey(), result);
+        return finishTurn(turn, result);
+    }
+
+    /**
+     * Resolves the request's session, replacing its tables with the session's own when
+     * the session is known and assigning a new session id otherwise.
+     *
+     * Only the first turn of a session is cacheable: later prompts may refer to the
+     * conversation so far ("now add a column to it"), which the key does not capture.
+     */
+    private SessionTurn startTurn(AIGeneratedTablesRequest request, AIProvider provider) {
         String sessionId = request.getSessionId();
         List<Table> currentTables = request.getCurrentTables() != null ?
                 new ArrayList<>(request.getCurrentTables()) : new ArrayList<>();
 
         // Merge with session context if available
-        if (sessionId != null && sessionTables.containsKey(sessionId)) {
-            currentTables = new ArrayList<>(sessionTables.get(sessionId));
+        SchemaSnapshot sessionSchema = sessionStore.getSnapshot(sessionId);
+        SchemaSnapshot schema = sessionSchema;
+        if (sessionSchema != null) {
+            currentTables = sessionSchema.toTables();
             request.setCurrentTables(currentTables);
-        } else if (sessionId == null) {
-            sessionId = "session-" + UUID.randomUUID().toString().substring(0, 8);
-            request.setSessionId(sessionId);
+        } else {
+            if (sessionId == null) {
+                sessionId = "session-" + UUID.randomUUID().toString().substring(0, 8);
+                request.setSessionId(sessionId);
+            }
+            schema = SchemaSnapshot.of(currentTables);
         }
+        String cacheKey = sessionSchema == null && !request.isSkipCache()
+                ? responseCache.keyFor(provider.getProviderName(), provider.getModelName(), request.getPrompt(),
+                        request.isAllowDestructive(), currentTables)
+                : null;
+        return new SessionTurn(sessionId, currentTables, schema, cacheKey);
+    }
 
-        // Delegate to the AI provider
-        AIGeneratedTables result = provider.generateTables(request);
+    /**
+     * Applies the provider's actions to the session and returns the response to send.
+     */
+    private AIGeneratedTables finishTurn(SessionTurn turn, AIGeneratedTables result) {
+        String sessionId = turn.sessionId();
 
         // Update session context
         if (result.getSessionId() != null && !result.getSessionId().trim().isEmpty()) {
@@ -63,13 +237,33 @@ public class AIGeneratedTablesService {
         }
 
         try {
-            updateSessionTables(sessionId, result.getActions(), currentTables);
+            updateSessionTables(sessionId, result.getActions(), turn.schema());
         } catch (Exception e) {
             return new AIGeneratedTables(sessionId, result.getActions(),
                     result.getExplanation() + "\n\nError applying actions: " + e.getMessage());
         }
 
-        return new AIGeneratedTables(sessionId, result.getActions(), result.getExplanation());
+        AIGeneratedTables response = new AIGeneratedTables(sessionId, result.getActions(), result.getExplanation());
+        response.setFailed(result.isFailed());
+        return response;
+    }
+
+    /**
+     * Undo the last turn of a session.
+     *
+     * @return The session's tables before that turn, or null if there is nothing to undo
+     */
+    public List<Table> undo(String sessionId) {
+        return sessionStore.undo(sessionId);
+    }
+
+    /**
+     * Redo the last undone turn of a session.
+     *
+     * @return The session's tables after that turn, or null if there is nothing to redo
+     */
+    public List<Table> redo(String sessionId) {
+        return sessionStore.redo(sessionId);
     }
 
     /**
@@ -79,75 +273,19 @@ public class AIGeneratedTablesService {
         return aiProviderFactory.getAvailableProviders();
     }
 
-    private void updateSessionTables(String sessionId, List<TableAction> actions, List<Table> currentTables) {
+    private void updateSessionTables(String sessionId, List<TableAction> actions, SchemaSnapshot schema) {
         if (sessionId == null) {
             sessionId = "session-" + UUID.randomUUID().toString().substring(0, 8);
         }
+        sessionStore.commit(sessionId, TableActions.apply(schema, actions, maxTables));
+    }
 
-        List<Table> working = new ArrayList<>(currentTables != null ? currentTables : Collections.emptyList());
-
-        for (TableAction action : actions) {
-            if (action == null || action.getType() == null) continue;
-            String type = action.getType().toString().toLowerCase(Locale.ROOT).trim();
-
-            switch (type) {
-                case "create":
-                    if (action.getTables() != null) {
-                        for (Table t : action.getTables()) {
-                            boolean exists = working.stream().anyMatch(ex -> ex.getName().equalsIgnoreCase(t.getName()));
-                            if (!exists) {
-                                working.add(t);
-                            }
-                        }
-                    }
-                    break;
-
-                case "edit":
-                    if (action.getTables() != null) {
-                        for (Table updated : action.getTables()) {
-                            int idx = -1;
-                            for (int i = 0; i < working.size(); i++) {
-                                if (working.get(i).getName().equalsIgnoreCase(updated.getName())) {
-                                    idx = i;
-                                    break;
-                                }
-                            }
-                            if (idx != -1) {
-                                Table existing = working.get(idx);
-                                if (updated.getRelationships() == null) {
-                                    updated.setRelationships(existing.getRelationships());
-                                }
-                                working.set(idx, updated);
-                            } else {
-                                working.add(updated);
-                            }
-                        }
-                    }
-                    break;
-
-                case "delete":
-                    if (action.getTableNames() != null) {
-                        for (String name : action.getTableNames()) {
-                            working.removeIf(t -> t.getName().equalsIgnoreCase(name));
-                        }
-                    }
-                    break;
-
-                case "replace":
-                    if (action.getNewSchema() != null) {
-                        working = new ArrayList<>(action.getNewSchema());
-                    }
-                    break;
-
-                default:
-                    break;
-            }
-
-            if (working.size() > MAX_TABLES) {
-                working = new ArrayList<>(working.subList(0, MAX_TABLES));
-            }
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the generation still completes and updates the session
+            log.debug("Dropping AI stream event {}: {}", event, e.getMessage());
         }
-
-        sessionTables.put(sessionId, working);
     }
-}
\ No newline at end of file
+}
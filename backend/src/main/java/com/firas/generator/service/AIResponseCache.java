@@ -0,0 +1,149 @@
+package com.firas.generator.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firas.generator.model.AI.AIGeneratedTables;
+import com.firas.generator.model.Table;
+import com.firas.generator.util.CanonicalHash;
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cache of AI schema generations, so that repeated prompts against the same schema
+ * (typically starter prompts such as "blog with comments" on an empty canvas) are
+ * answered without calling the provider again.
+ *
+ * An entry is keyed by the provider, its model, the normalized prompt (Unicode NFKC,
+ * lower case, collapsed whitespace), whether destructive actions are allowed, and a
+ * canonical fingerprint of the tables the provider would be sent. Responses are kept
+ * as serialized snapshots without a session id, so each hit yields fresh objects that
+ * the caller assigns to its own session; a snapshot's weight is its size in bytes.
+ * Failed responses are never stored.
+ *
+ * Hit rate and size are reported under "ai-responses" at /api/admin/caches, which can
+ * also flush the cache.
+ *
+ * Configuration:
+ * - ai.response-cache.enabled: whether responses are cached at all
+ * - ai.response-cache.max-entries: maximum number of cached responses
+ * - ai.response-cache.max-bytes: maximum total size of the cached responses
+ * - ai.response-cache.ttl-seconds: time after which a cached response expires
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+@Slf4j
+public class AIResponseCache implements ManagedCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final boolean enabled;
+    private final BoundedCache<String, byte[]> responses;
+
+    public AIResponseCache(
+            @Value("${ai.response-cache.enabled:true}") boolean enabled,
+            @Value("${ai.response-cache.max-entries:512}") int maxEntries,
+            @Value("${ai.response-cache.max-bytes:16777216}") long maxBytes,
+            @Value("${ai.response-cache.ttl-seconds:86400}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.responses = BoundedCache.<String, byte[]>builder("ai-responses")
+                .maximumSize(maxEntries)
+                .maximumWeight(maxBytes, snapshot -> snapshot.length)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Computes the cache key of a generation.
+     *
+     * @param provider Name of the provider the request is sent to
+     * @param model The provider's model, or null if it does not report one
+     * @param prompt The user's prompt
+     * @param allowDestructive Whether the request allows destructive actions
+     * @param currentTables The tables the provider is sent
+     * @return The key, or null if caching is disabled
+     */
+    public String keyFor(String provider, String model, String prompt, boolean allowDestructive,
+                         List<Table> currentTables) {
+        if (!enabled || prompt == null) {
+            return null;
+        }
+        return CanonicalHash.sha256(provider + '\n' + (model != null ? model : "") + '\n'
+                + allowDestructive + '\n' + CanonicalHash.of(currentTables) + '\n' + normalize(prompt));
+    }
+
+    /**
+     * Returns a fresh copy of a cached response.
+     *
+     * @param key Key from {@link #keyFor}, or null
+     * @return The response without a session id, or null on a miss
+     */
+    public AIGeneratedTables get(String key) {
+        if (key == null) {
+            return null;
+        }
+        byte[] snapshot = responses.get(key);
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(snapshot, AIGeneratedTables.class);
+        } catch (IOException e) {
+            log.warn("Dropping corrupt cached AI response", e);
+            responses.invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a snapshot of a successful response; failed responses are ignored.
+     *
+     * @param key Key from {@link #keyFor}, or null
+     */
+    public void put(String key, AIGeneratedTables response) {
+        if (key == null || response == null || response.isFailed()) {
+            return;
+        }
+        try {
+            AIGeneratedTables snapshot = new AIGeneratedTables(null, response.getActions(), response.getExplanation());
+            responses.put(key, MAPPER.writeValueAsBytes(snapshot));
+        } catch (IOException e) {
+            log.warn("Cannot snapshot AI response, not caching it", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return responses.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return responses.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    static String normalize(String prompt) {
+        return Normalizer.normalize(prompt, Normalizer.Form.NFKC)
+                .strip()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,348 @@
+package com.firas.generator.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firas.generator.model.Table;
+import com.firas.generator.service.ai.SchemaSnapshot;
+import com.firas.generator.util.CanonicalHash;
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded store of the AI assistant's per-session table schemas.
+ *
+ * Each session keeps the versions of its schema after its recent turns, so turns can be
+ * undone and redone. Versions are {@link SchemaSnapshot}s: name-indexed, serialized per
+ * table and sharing unchanged tables, so callers always receive fresh {@link Table}
+ * objects and a session's weight is the size in bytes of its distinct tables. Sessions
+ * expire after a period of inactivity and are evicted least-recently-used when the
+ * session count or their total size exceeds the configured limits; an evicted session
+ * simply starts over from the tables the client sends.
+ *
+ * Optionally, the current version of each session is also written through to a spill
+ * directory, one file per session. A session evicted from memory (or lost in a restart)
+ * is then reloaded from disk on its next turn, without its undo history, so only
+ * recently active sessions stay on the heap. Spilled files expire after their own idle
+ * time and are swept hourly.
+ *
+ * Configuration:
+ * - ai.sessions.max-sessions: maximum number of sessions held in memory
+ * - ai.sessions.max-bytes: maximum total size of the sessions held in memory
+ * - ai.sessions.max-undo: number of earlier versions kept per session for undo
+ * - ai.sessions.idle-seconds: inactivity after which an in-memory session expires
+ * - ai.sessions.spill-dir: directory of the file-backed store (blank = memory only)
+ * - ai.sessions.spill-idle-seconds: inactivity after which a spilled session is deleted
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+@Slf4j
+public class AISessionStore implements ManagedCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Table>> TABLE_LIST = new TypeReference<>() {
+    };
+    private static final String SPILL_SUFFIX = ".json";
+
+    private final BoundedCache<String, SessionHistory> sessions;
+    private final int maxUndo;
+    private final Path spillDir;
+    private final Duration spillIdle;
+    private final ScheduledExecutorService sweeper;
+
+    public AISessionStore(
+            @Value("${ai.sessions.max-sessions:1024}") int maxSessions,
+            @Value("${ai.sessions.max-bytes:67108864}") long maxBytes,
+            @Value("${ai.sessions.max-undo:20}") int maxUndo,
+            @Value("${ai.sessions.idle-seconds:3600}") long idleSeconds,
+            @Value("${ai.sessions.spill-dir:}") String spillDir,
+            @Value("${ai.sessions.spill-idle-seconds:604800}") long spillIdleSeconds) {
+        this.sessions = BoundedCache.<String, SessionHistory>builder("ai-sessions")
+                .maximumSize(maxSessions)
+                .maximumWeight(maxBytes, SessionHistory::weight)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+        this.maxUndo = maxUndo;
+        this.spillDir = spillDir == null || spillDir.isBlank() ? null : Paths.get(spillDir);
+        this.spillIdle = Duration.ofSeconds(spillIdleSeconds);
+        this.sweeper = this.spillDir == null ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-session-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (sweeper != null) {
+            sweeper.scheduleWithFixedDelay(this::sweepSpill, 0, 1, TimeUnit.HOURS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a fresh copy of a session's tables, reloading a spilled session if needed.
+     *
+     * @param sessionId The session id
+     * @return The tables, or null if the session is unknown or expired
+     */
+    public List<Table> get(String sessionId) {
+        SchemaSnapshot schema = getSnapshot(sessionId);
+        return schema != null ? schema.toTables() : null;
+    }
+
+    /**
+     * Returns the current version of a session's schema, reloading a spilled session if
+     * needed.
+     *
+     * @param sessionId The session id
+     * @return The schema, or null if the session is unknown or expired
+     */
+    public SchemaSnapshot getSnapshot(String sessionId) {
+        SessionHistory history = history(sessionId);
+        return history != null ? history.current() : null;
+    }
+
+    /**
+     * Stores a snapshot of a session's tables as its new version; later changes to the
+     * list or its tables are not seen.
+     */
+    public void put(String sessionId, List<Table> tables) {
+        commit(sessionId, SchemaSnapshot.of(tables));
+    }
+
+    /**
+     * Makes a schema the session's new version. Versions that could have been redone are
+     * discarded, and the oldest beyond the undo limit are dropped; the current version
+     * itself (a turn that changed nothing) is not recorded again. Sessions larger than the
+     * whole memory budget are only spilled.
+     */
+    public void commit(String sessionId, SchemaSnapshot schema) {
+        synchronized (sessions) {
+            SessionHistory history = history(sessionId);
+            if (history != null && history.current() == schema) {
+                return;
+            }
+            store(sessionId, history != null ? history.commit(schema, maxUndo) : SessionHistory.of(schema));
+        }
+    }
+
+    /**
+     * Moves a session back to the version before its last turn.
+     *
+     * @return Fresh copies of the restored tables, or null if the session is unknown or
+     * has nothing to undo
+     */
+    public List<Table> undo(String sessionId) {
+        return move(sessionId, SessionHistory::undo);
+    }
+
+    /**
+     * Moves a session forward to the version it had before its last undo.
+     *
+     * @return Fresh copies of the restored tables, or null if the session is unknown or
+     * has nothing to redo
+     */
+    public List<Table> redo(String sessionId) {
+        return move(sessionId, SessionHistory::redo);
+    }
+
+    private List<Table> move(String sessionId, UnaryOperator<SessionHistory> step) {
+        SessionHistory moved;
+        synchronized (sessions) {
+            SessionHistory history = history(sessionId);
+            moved = history != null ? step.apply(history) : null;
+            if (moved == null) {
+                return null;
+            }
+            store(sessionId, moved);
+        }
+        return moved.current().toTables();
+    }
+
+    private SessionHistory history(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        SessionHistory history = sessions.get(sessionId);
+        if (history == null) {
+            byte[] spilled = readSpilled(sessionId);
+            if (spilled == null) {
+                return null;
+            }
+            try {
+                history = SessionHistory.of(SchemaSnapshot.of(MAPPER.readValue(spilled, TABLE_LIST)));
+            } catch (IOException e) {
+                log.warn("Dropping corrupt AI session {}", sessionId, e);
+                invalidate(sessionId);
+                return null;
+            }
+            sessions.put(sessionId, history);
+            log.debug("AI session {} reloaded from the spill directory", sessionId);
+        }
+        return history;
+    }
+
+    private void store(String sessionId, SessionHistory history) {
+        if (!sessions.put(sessionId, history)) {
+            sessions.invalidate(sessionId);
+            log.debug("AI session {} exceeds the memory budget and is not kept in memory", sessionId);
+        }
+        if (spillDir != null) {
+            writeSpilled(sessionId, history.current().toJson());
+        }
+    }
+
+    /**
+     * Removes a session from memory and from the spill directory.
+     */
+    public void invalidate(String sessionId) {
+        sessions.invalidate(sessionId);
+        if (spillDir != null) {
+            try {
+                Files.deleteIfExists(spillFile(sessionId));
+            } catch (IOException e) {
+                log.warn("Cannot delete spilled AI session {}: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return sessions.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return sessions.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        sessions.invalidateAll();
+        if (spillDir != null) {
+            deleteSpilled(Instant.MAX);
+        }
+        log.info("AI sessions flushed");
+    }
+
+    // ==================== Spill directory ====================
+
+    private byte[] readSpilled(String sessionId) {
+        if (spillDir == null) {
+            return null;
+        }
+        Path file = spillFile(sessionId);
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            if (isStale(Files.getLastModifiedTime(file), Instant.now())) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            // Touch the file so an active session never ages out on disk
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            log.warn("Cannot read spilled AI session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temp file and moves it into place, so a reader or a
+     * crash never sees a partially written session.
+     */
+    private void writeSpilled(String sessionId, byte[] snapshot) {
+        if (spillDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(spillDir);
+            Path temp = Files.createTempFile(spillDir, "session", ".tmp");
+            try {
+                Files.write(temp, snapshot);
+                Files.move(temp, spillFile(sessionId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot spill AI session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private void sweepSpill() {
+        int deleted = deleteSpilled(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} idle spilled AI sessions", deleted);
+        }
+    }
+
+    /**
+     * Deletes spilled sessions that are stale at the given instant (all of them for Instant.MAX).
+     *
+     * @return Number of deleted files
+     */
+    private int deleteSpilled(Instant now) {
+        if (!Files.isDirectory(spillDir)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDir, "*" + SPILL_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    if (now == Instant.MAX || isStale(Files.getLastModifiedTime(file), now)) {
+                        Files.deleteIfExists(file);
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.debug("Cannot delete spilled AI session {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot sweep AI session spill directory {}: {}", spillDir, e.getMessage());
+        }
+        return deleted;
+    }
+
+    private boolean isStale(FileTime modified, Instant now) {
+        return modified.toInstant().plus(spillIdle).isBefore(now);
+    }
+
+    /**
+     * File of a session; the id is hashed so client-chosen ids cannot escape the directory.
+     */
+    private Path spillFile(String sessionId) {
+        return spillDir.resolve(CanonicalHash.sha256(sessionId) + SPILL_SUFFIX);
+    }
+}
@@ -0,0 +1,205 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.GenerationJobState;
+import com.firas.generator.model.GenerationJobStatus;
+import com.firas.generator.model.ProjectRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single asynchronous project generation and its subscribers.
+ *
+ * State only moves forward (QUEUED, RUNNING, then one terminal state); once terminal,
+ * a job never changes again, so a late cancel cannot overwrite a finished result.
+ * SSE subscribers receive a "progress" event at most every {@value #PROGRESS_INTERVAL_MS} ms
+ * while rendering and a final event named after the terminal state, after which their
+ * emitter is completed.
+ *
+ * State changes happen under the job's lock, but events are sent outside of it, to a copy
+ * of the subscriber list, so a slow subscriber never delays a state change. Sends to one
+ * emitter are serialized, and an emitter only receives events while it is subscribed; as
+ * the final event unsubscribes it first, nothing can follow the final event.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Slf4j
+class GenerationJob {
+
+    private static final long PROGRESS_INTERVAL_MS = 200;
+
+    private final String id;
+    private final String projectName;
+    private final ProjectRequest request;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicInteger filesGenerated = new AtomicInteger();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile GenerationJobState state = GenerationJobState.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile byte[] result;
+    private volatile Future<?> future;
+    private volatile long lastProgressAt;
+
+    GenerationJob(String id, String projectName, ProjectRequest request) {
+        this.id = id;
+        this.projectName = projectName;
+        this.request = request;
+    }
+
+    String getId() { return id; }
+    String getProjectName() { return projectName; }
+    ProjectRequest getRequest() { return request; }
+    GenerationJobState getState() { return state; }
+    byte[] getResult() { return result; }
+    Future<?> getFuture() { return future; }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Moves a queued job to RUNNING.
+     *
+     * @return false if the job was cancelled while queued and must not run
+     */
+    boolean start() {
+        List<SseEmitter> recipients;
+        GenerationJobStatus status;
+        synchronized (this) {
+            if (state != GenerationJobState.QUEUED) {
+                return false;
+            }
+            state = GenerationJobState.RUNNING;
+            startedAt = Instant.now();
+            recipients = List.copyOf(subscribers);
+            status = toStatus();
+        }
+        broadcast(recipients, "progress", status, false);
+        return true;
+    }
+
+    /**
+     * Records one rendered file and notifies subscribers, throttled.
+     */
+    void fileGenerated() {
+        filesGenerated.incrementAndGet();
+        long now = System.currentTimeMillis();
+        if (now - lastProgressAt >= PROGRESS_INTERVAL_MS && !subscribers.isEmpty()) {
+            lastProgressAt = now;
+            broadcast(List.copyOf(subscribers), "progress", toStatus(), false);
+        }
+    }
+
+    boolean succeed(byte[] zip) {
+        return finish(GenerationJobState.SUCCEEDED, zip, null);
+    }
+
+    boolean fail(String message) {
+        return finish(GenerationJobState.FAILED, null, message);
+    }
+
+    /**
+     * Cancels the job and interrupts its worker if it is rendering.
+     *
+     * @return false if the job had already finished
+     */
+    boolean cancel() {
+        if (!finish(GenerationJobState.CANCELLED, null, null)) {
+            return false;
+        }
+        Future<?> running = future;
+        if (running != null) {
+            running.cancel(true);
+        }
+        return true;
+    }
+
+    private boolean finish(GenerationJobState terminal, byte[] zip, String message) {
+        List<SseEmitter> recipients;
+        GenerationJobStatus status;
+        synchronized (this) {
+            if (state.isTerminal()) {
+                return false;
+            }
+            result = zip;
+            error = message;
+            finishedAt = Instant.now();
+            state = terminal;
+            recipients = List.copyOf(subscribers);
+            subscribers.clear();
+            status = toStatus();
+        }
+        broadcast(recipients, terminal.name().toLowerCase(), status, true);
+        return true;
+    }
+
+    /**
+     * Registers an SSE subscriber. If the job already finished, the final event is
+     * sent right away and the emitter completed.
+     */
+    void subscribe(SseEmitter emitter) {
+        Runnable unsubscribe = () -> subscribers.remove(emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        GenerationJobStatus status;
+        synchronized (this) {
+            status = toStatus();
+            if (!status.getState().isTerminal()) {
+                subscribers.add(emitter);
+            }
+        }
+        boolean last = status.getState().isTerminal();
+        send(emitter, last ? status.getState().name().toLowerCase() : "progress", status, last);
+    }
+
+    GenerationJobStatus toStatus() {
+        return new GenerationJobStatus(id, state, projectName, filesGenerated.get(), error,
+                submittedAt, startedAt, finishedAt);
+    }
+
+    /**
+     * Sends an event to the given subscribers; must not be called while holding the job's lock.
+     */
+    private void broadcast(List<SseEmitter> recipients, String event, GenerationJobStatus status, boolean last) {
+        for (SseEmitter emitter : recipients) {
+            send(emitter, event, status, last);
+        }
+    }
+
+    /**
+     * Sends an event to one emitter, completing it after the final event. A progress event
+     * is dropped once the emitter is no longer subscribed, i.e. after its final event.
+     */
+    private void send(SseEmitter emitter, String event, GenerationJobStatus status, boolean last) {
+        try {
+            // The emitter's own lock, also taken by its send and complete methods
+            synchronized (emitter) {
+                if (!last && !subscribers.contains(emitter)) {
+                    return;
+                }
+                emitter.send(SseEmitter.event().name(event).data(status));
+                if (last) {
+                    emitter.complete();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; drop the subscriber
+            log.debug("Dropping subscriber of generation job {}: {}", id, e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.GenerationJobStatus;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.util.ZipStreamSink;
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs project generations as asynchronous jobs on a bounded, dedicated pool.
+ *
+ * Large generations no longer hold a servlet thread: a job is queued, rendered into an
+ * in-memory ZIP by one of {@code generator.jobs.threads} workers, and kept for download
+ * until it expires. When every worker is busy and the queue is full, submission fails
+ * fast with {@link GenerationQueueFullException} carrying a Retry-After estimate based on
+ * the recent average job duration, so a burst of big projects cannot pile up unboundedly
+ * or starve the synchronous preview endpoint.
+ *
+ * Finished jobs live in a bounded cache weighted by ZIP size; a job whose archive alone
+ * exceeds that budget fails instead of being silently dropped.
+ *
+ * Configuration:
+ * - generator.jobs.threads: worker threads
+ * - generator.jobs.queue-capacity: jobs waiting for a worker before submissions are rejected
+ * - generator.jobs.max-results: maximum number of finished jobs kept
+ * - generator.jobs.max-result-bytes: maximum total size of the kept ZIP archives
+ * - generator.jobs.result-ttl-seconds: how long a finished job can be polled and downloaded
+ * - generator.jobs.sse-timeout-ms: lifetime of an SSE subscription
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Service
+@Slf4j
+public class GenerationJobService implements ManagedCache {
+
+    /** Weight of the previous average when folding in a new job duration */
+    private static final double DURATION_SMOOTHING = 0.8;
+
+    private final ProjectGenerationService generationService;
+    private final int threads;
+    private final long sseTimeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    /** Queued and running jobs; never evicted */
+    private final Map<String, GenerationJob> activeJobs = new ConcurrentHashMap<>();
+
+    /** Finished jobs, weighted by the size of their archive */
+    private final BoundedCache<String, GenerationJob> finishedJobs;
+
+    /** Exponentially weighted average job duration, in milliseconds */
+    private volatile double averageDurationMs = 1000;
+
+    public GenerationJobService(
+            ProjectGenerationService generationService,
+            @Value("${generator.jobs.threads:2}") int threads,
+            @Value("${generator.jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${generator.jobs.max-results:64}") int maxResults,
+            @Value("${generator.jobs.max-result-bytes:268435456}") long maxResultBytes,
+            @Value("${generator.jobs.result-ttl-seconds:600}") long resultTtlSeconds,
+            @Value("${generator.jobs.sse-timeout-ms:300000}") long sseTimeoutMs) {
+        this.generationService = generationService;
+        this.threads = Math.max(1, threads);
+        this.sseTimeoutMs = sseTimeoutMs;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                this.threads, this.threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "generation-job-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.finishedJobs = BoundedCache.<String, GenerationJob>builder("generation-jobs")
+                .maximumSize(maxResults)
+                .maximumWeight(maxResultBytes, job -> job.getResult() != null ? job.getResult().length : 0)
+                .expireAfterWrite(Duration.ofSeconds(resultTtlSeconds))
+                .build();
+        log.info("Generation jobs: {} threads, queue capacity {}", this.threads, queueCapacity);
+    }
+
+    /**
+     * Queues a generation.
+     *
+     * @param request The project configuration
+     * @return The status of the queued job
+     * @throws IllegalArgumentException If the requested stack is unknown
+     * @throws GenerationQueueFullException If every worker is busy and the queue is full
+     */
+    public GenerationJobStatus submit(ProjectRequest request) {
+        // Validate up front so an unknown stack is a 400, not a failed job
+        generationService.resolveStackProvider(request);
+
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(),
+                generationService.getProjectName(request), request);
+        activeJobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            throw new GenerationQueueFullException(estimateRetryAfterSeconds());
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * @return The job's status, or null if the job is unknown or expired
+     */
+    public GenerationJobStatus getStatus(String jobId) {
+        GenerationJob job = find(jobId);
+        return job != null ? job.toStatus() : null;
+    }
+
+    /**
+     * Subscribes to a job's progress events.
+     *
+     * @return The emitter, or null if the job is unknown or expired
+     */
+    public SseEmitter subscribe(String jobId) {
+        GenerationJob job = find(jobId);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    /**
+     * @return The ZIP archive of a succeeded job, or null if it is not available
+     */
+    public byte[] getResult(String jobId) {
+        GenerationJob job = find(jobId);
+        return job != null ? job.getResult() : null;
+    }
+
+    /**
+     * Cancels a queued or running job. Finished jobs are left untouched.
+     *
+     * @return The job's status after cancellation, or null if the job is unknown or expired
+     */
+    public GenerationJobStatus cancel(String jobId) {
+        GenerationJob job = find(jobId);
+        if (job == null) {
+            return null;
+        }
+        if (job.cancel()) {
+            executor.remove(runnableOf(job));
+            retire(job);
+        }
+        return job.toStatus();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return finishedJobs.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return finishedJobs.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        finishedJobs.invalidateAll();
+        log.info("Finished generation jobs flushed");
+    }
+
+    private void run(GenerationJob job) {
+        if (!job.start()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ZipStreamSink zip = new ZipStreamSink(out, job.getProjectName())) {
+                generationService.generateFiles(job.getRequest(), file -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new IllegalStateException("Generation job cancelled");
+                    }
+                    zip.accept(file);
+                    job.fileGenerated();
+                });
+                zip.finish();
+            }
+            if (out.size() > finishedJobs.getMaxWeight()) {
+                job.fail("Generated project (" + out.size() + " bytes) exceeds the result size limit");
+            } else {
+                job.succeed(out.toByteArray());
+            }
+        } catch (Exception e) {
+            if (job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName())) {
+                log.warn("Generation job {} failed", job.getId(), e);
+            }
+        } finally {
+            recordDuration(System.nanoTime() - start);
+            retire(job);
+        }
+    }
+
+    /**
+     * Moves a finished job from the active map to the finished cache. The job is
+     * cached before it is removed so a concurrent lookup always finds it somewhere.
+     */
+    private void retire(GenerationJob job) {
+        if (!finishedJobs.put(job.getId(), job)) {
+            log.debug("Generation job {} result exceeds the size budget and was dropped", job.getId());
+        }
+        activeJobs.remove(job.getId());
+    }
+
+    private GenerationJob find(String jobId) {
+        if (jobId == null) {
+            return null;
+        }
+        GenerationJob job = activeJobs.get(jobId);
+        return job != null ? job : finishedJobs.get(jobId);
+    }
+
+    private Runnable runnableOf(GenerationJob job) {
+        // executor.submit wraps the task in a FutureTask, which is the queued Runnable
+        return (Runnable) job.getFuture();
+    }
+
+    private void recordDuration(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        averageDurationMs = DURATION_SMOOTHING * averageDurationMs + (1 - DURATION_SMOOTHING) * millis;
+    }
+
+    /**
+     * Estimates when a queue slot frees up: the queued jobs plus this one, spread over
+     * the workers, at the recent average job duration.
+     */
+    private long estimateRetryAfterSeconds() {
+        double waitMs = averageDurationMs * (executor.getQueue().size() + 1) / threads;
+        return Math.max(1, (long) Math.ceil(waitMs / 1000));
+    }
+}
@@ -0,0 +1,26 @@
+package com.firas.generator.service;
+
+/**
+ * Thrown when a generation job is submitted while every worker is busy and the
+ * job queue is full. Mapped to 429 Too Many Requests with a Retry-After header.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class GenerationQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * @param retryAfterSeconds Estimated seconds until a queue slot frees up
+     */
+    public GenerationQueueFullException(long retryAfterSeconds) {
+        super("Generation queue is full, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,87 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.FilePreview;
+import com.firas.generator.util.CanonicalHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content manifest of a preview: the SHA-256 hash of every file's content by path,
+ * plus a hash of the whole manifest that serves as the preview's ETag.
+ *
+ * The manifest hash depends only on paths and contents, not on file order, so two
+ * previews producing the same files always have the same ETag.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+final class PreviewManifest {
+
+    private final String hash;
+    private final Map<String, String> contentHashes;
+
+    private PreviewManifest(Map<String, String> contentHashes) {
+        this.contentHashes = Collections.unmodifiableMap(contentHashes);
+        StringBuilder sb = new StringBuilder();
+        contentHashes.forEach((path, contentHash) -> sb.append(path).append('\0').append(contentHash).append('\n'));
+        this.hash = CanonicalHash.sha256(sb.toString());
+    }
+
+    /**
+     * Builds the manifest of a file list.
+     */
+    static PreviewManifest of(List<FilePreview> files) {
+        Map<String, String> contentHashes = new TreeMap<>();
+        for (FilePreview file : files) {
+            contentHashes.put(file.getPath(), contentHash(file));
+        }
+        return new PreviewManifest(contentHashes);
+    }
+
+    static String contentHash(FilePreview file) {
+        return CanonicalHash.sha256(file.getContent() != null ? file.getContent() : "");
+    }
+
+    String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return Content hash by path, sorted by path
+     */
+    Map<String, String> getContentHashes() {
+        return contentHashes;
+    }
+
+    /**
+     * @return The files of this manifest that are absent from or differ in the base manifest
+     */
+    List<FilePreview> changedSince(PreviewManifest base, List<FilePreview> files) {
+        List<FilePreview> changed = new ArrayList<>();
+        for (FilePreview file : files) {
+            String baseHash = base.contentHashes.get(file.getPath());
+            if (baseHash == null || !baseHash.equals(contentHashes.get(file.getPath()))) {
+                changed.add(file);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return Paths of the base manifest that no longer exist in this manifest
+     */
+    List<String> removedSince(PreviewManifest base) {
+        List<String> removed = new ArrayList<>();
+        for (String path : base.contentHashes.keySet()) {
+            if (!contentHashes.containsKey(path)) {
+                removed.add(path);
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.firas.generator.service;
+
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded store of recently served preview manifests, keyed by manifest hash (ETag).
+ *
+ * Lets a client that still holds a previous preview ask for a delta against it. The
+ * store is content-addressed, so it is shared by all sessions; when a client's base
+ * manifest has been evicted, the client simply receives a full preview.
+ *
+ * Configuration:
+ * - generator.preview.max-manifests: maximum number of remembered manifests
+ * - generator.preview.idle-seconds: inactivity after which a manifest is forgotten
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+@Slf4j
+public class PreviewManifestStore implements ManagedCache {
+
+    private final BoundedCache<String, PreviewManifest> manifests;
+
+    public PreviewManifestStore(
+            @Value("${generator.preview.max-manifests:1024}") int maxManifests,
+            @Value("${generator.preview.idle-seconds:1800}") long idleSeconds) {
+        this.manifests = BoundedCache.<String, PreviewManifest>builder("preview-manifests")
+                .maximumSize(maxManifests)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+    }
+
+    PreviewManifest get(String manifestHash) {
+        return manifestHash != null ? manifests.get(manifestHash) : null;
+    }
+
+    void put(PreviewManifest manifest) {
+        manifests.put(manifest.getHash(), manifest);
+    }
+
+    @Override
+    public String getName() {
+        return manifests.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return manifests.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        manifests.invalidateAll();
+        log.info("Preview manifests flushed");
+    }
+}
@@ -0,0 +1,109 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.FilePreview;
+import com.firas.generator.stack.RenderMemo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Fragment memo of one preview session: the files rendered for each fragment by the
+ * previous preview, with the hash of the inputs they were rendered from.
+ *
+ * A session is used by one preview at a time (callers lock on it); within a preview,
+ * fragments may be requested concurrently by the table render threads. Fragments not
+ * requested by a preview (e.g. of a removed table) are dropped when it completes.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+final class PreviewSession implements RenderMemo {
+
+    private record Fragment(String inputHash, List<FilePreview> files) {
+    }
+
+    private final String id;
+    private final Map<String, Fragment> fragments = new ConcurrentHashMap<>();
+    private final Set<String> requested = ConcurrentHashMap.newKeySet();
+    private final Set<FilePreview> recomputed = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    PreviewSession(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    @Override
+    public List<FilePreview> fragment(String fragmentId, String inputHash, Supplier<List<FilePreview>> renderer) {
+        requested.add(fragmentId);
+        Fragment previous = fragments.get(fragmentId);
+        if (previous != null && previous.inputHash().equals(inputHash)) {
+            return previous.files();
+        }
+        List<FilePreview> files = List.copyOf(renderer.get());
+        fragments.put(fragmentId, new Fragment(inputHash, files));
+        recomputed.addAll(files);
+        return files;
+    }
+
+    /**
+     * Resets the per-preview tracking before a new preview renders into this session.
+     */
+    void begin() {
+        requested.clear();
+        recomputed.clear();
+    }
+
+    /**
+     * Drops fragments the finished preview did not request.
+     */
+    void complete() {
+        fragments.keySet().retainAll(requested);
+    }
+
+    /**
+     * Discards all fragments, e.g. after a failed preview left them incomplete.
+     */
+    void reset() {
+        fragments.clear();
+        begin();
+    }
+
+    /**
+     * @return true if the file was rendered (not reused) by the current preview
+     */
+    boolean isRecomputed(FilePreview file) {
+        return recomputed.contains(file);
+    }
+
+    /**
+     * @return Paths of the given files that were rendered by the current preview, in order
+     */
+    List<String> recomputedPaths(List<FilePreview> files) {
+        List<String> paths = new ArrayList<>();
+        for (FilePreview file : files) {
+            if (isRecomputed(file)) {
+                paths.add(file.getPath());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * @return All files currently held by the session
+     */
+    List<FilePreview> files() {
+        List<FilePreview> files = new ArrayList<>();
+        fragments.values().forEach(fragment -> files.addAll(fragment.files()));
+        return files;
+    }
+}
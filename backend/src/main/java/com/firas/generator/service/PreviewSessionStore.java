@@ -0,0 +1,83 @@
+package com.firas.generator.service;
+
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Bounded store of preview sessions used for incremental previews.
+ *
+ * Sessions expire after a period of inactivity and are evicted least-recently-used
+ * when the session count or their total file size exceeds the configured limits.
+ * An expired or evicted session simply starts over with a full render.
+ *
+ * Configuration:
+ * - generator.preview.max-sessions: maximum number of live sessions
+ * - generator.preview.max-bytes: maximum total size of the files held by sessions
+ * - generator.preview.idle-seconds: inactivity after which a session expires
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+@Slf4j
+public class PreviewSessionStore implements ManagedCache {
+
+    private final BoundedCache<String, PreviewSession> sessions;
+
+    public PreviewSessionStore(
+            @Value("${generator.preview.max-sessions:256}") int maxSessions,
+            @Value("${generator.preview.max-bytes:134217728}") long maxBytes,
+            @Value("${generator.preview.idle-seconds:1800}") long idleSeconds) {
+        this.sessions = BoundedCache.<String, PreviewSession>builder("preview-sessions")
+                .maximumSize(maxSessions)
+                .maximumWeight(maxBytes, session -> ProjectGenerationService.weigh(session.files()))
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the session with the given id, creating and storing an empty one if it is
+     * unknown, so that concurrent previews of a new session share one session.
+     *
+     * @param sessionId Client-supplied session id; a new id is generated when null or blank
+     */
+    PreviewSession open(String sessionId) {
+        String id = sessionId == null || sessionId.isBlank() ? UUID.randomUUID().toString() : sessionId;
+        return sessions.computeIfAbsent(id, PreviewSession::new);
+    }
+
+    /**
+     * Stores (or re-weighs) a session after a preview; sessions larger than the
+     * whole budget are dropped.
+     */
+    void save(PreviewSession session) {
+        if (!sessions.put(session.getId(), session)) {
+            sessions.invalidate(session.getId());
+            log.debug("Preview session {} exceeds the size budget and was dropped", session.getId());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return sessions.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return sessions.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        sessions.invalidateAll();
+        log.info("Preview sessions flushed");
+    }
+}
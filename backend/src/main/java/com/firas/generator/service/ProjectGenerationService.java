@@ -0,0 +1,488 @@
+package com.firas.generator.service;
+
+import com.firas.generator.frontend.FrontendProvider;
+import com.firas.generator.frontend.FrontendProviderFactory;
+import com.firas.generator.model.FilePreview;
+import com.firas.generator.model.ProjectPreviewResponse;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.model.config.FrontendConfig;
+import com.firas.generator.stack.RenderMemo;
+import com.firas.generator.stack.StackProvider;
+import com.firas.generator.stack.StackProviderFactory;
+import com.firas.generator.stack.StackType;
+import com.firas.generator.util.CanonicalHash;
+import com.firas.generator.util.FileSink;
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import com.firas.generator.util.cache.SingleFlight;
+import com.firas.generator.util.cache.SingleFlightStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that renders the complete file set (backend + optional frontend) of a project.
+ *
+ * Rendered file lists are kept in a content-addressed cache keyed by the canonical
+ * SHA-256 hash of the incoming {@link ProjectRequest} (stack, configs, tables,
+ * dependencies and flags). Re-posting an identical request to the preview or download
+ * endpoint returns the cached files without re-rendering any template.
+ *
+ * The key is computed before generation because providers mutate the request while
+ * rendering (type mappings, injected security columns).
+ *
+ * Concurrent identical generations are coalesced (single-flight): while one request
+ * renders, others with the same canonical hash wait for it and reuse its files instead
+ * of rendering the same project again. Only results that fit the cache's weight budget
+ * are shared; followers of a larger project render it themselves, in parallel.
+ *
+ * Previews can additionally be incremental: within a preview session, only the
+ * fragments (build files, security files, single tables, ...) whose inputs changed
+ * since the session's previous preview are re-rendered; see {@link RenderMemo}.
+ *
+ * Configuration:
+ * - generator.cache.enabled: turn the cache on/off
+ * - generator.cache.max-entries: maximum number of cached projects
+ * - generator.cache.max-bytes: maximum total size of cached file contents
+ * - generator.cache.ttl-seconds: time-to-live of a cached project
+ * - generator.single-flight.enabled: coalesce concurrent identical generations
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Service
+@Slf4j
+public class ProjectGenerationService implements ManagedCache {
+
+    /** Factory for retrieving stack-specific providers */
+    private final StackProviderFactory stackProviderFactory;
+
+    /** Factory for retrieving frontend providers */
+    private final FrontendProviderFactory frontendProviderFactory;
+
+    /** Fragment memos of incremental preview sessions */
+    private final PreviewSessionStore previewSessions;
+
+    /** Recently served preview manifests, for delta previews */
+    private final PreviewManifestStore previewManifests;
+
+    private final boolean cacheEnabled;
+    private final BoundedCache<String, List<FilePreview>> cache;
+
+    /** Renders in progress keyed by request hash, or null when coalescing is disabled */
+    private final SingleFlight<String, List<FilePreview>> inFlight;
+
+    public ProjectGenerationService(
+            StackProviderFactory stackProviderFactory,
+            FrontendProviderFactory frontendProviderFactory,
+            PreviewSessionStore previewSessions,
+            PreviewManifestStore previewManifests,
+            @Value("${generator.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${generator.cache.max-entries:64}") int maxEntries,
+            @Value("${generator.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${generator.cache.ttl-seconds:1800}") long ttlSeconds,
+            @Value("${generator.single-flight.enabled:true}") boolean singleFlightEnabled) {
+        this.stackProviderFactory = stackProviderFactory;
+        this.frontendProviderFactory = frontendProviderFactory;
+        this.previewSessions = previewSessions;
+        this.previewManifests = previewManifests;
+        this.cacheEnabled = cacheEnabled;
+        this.cache = BoundedCache.<String, List<FilePreview>>builder("generation")
+                .maximumSize(maxEntries)
+                .maximumWeight(maxBytes, ProjectGenerationService::weigh)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.inFlight = singleFlightEnabled ? new SingleFlight<>("generation") : null;
+    }
+
+    /**
+     * Resolves the stack provider for the request, defaulting to SPRING.
+     *
+     * @throws IllegalArgumentException if no provider exists for the requested stack
+     */
+    public StackProvider resolveStackProvider(ProjectRequest request) {
+        StackType stackType = request.getStackType() != null ? request.getStackType() : StackType.SPRING;
+        return stackProviderFactory.getProvider(stackType);
+    }
+
+    /**
+     * Computes the canonical content hash identifying the request's output.
+     */
+    public String fingerprint(ProjectRequest request) {
+        return CanonicalHash.of(request);
+    }
+
+    /**
+     * Returns all project files for the request, from cache when possible.
+     *
+     * @param request The project configuration
+     * @return Immutable list of generated files (backend first, then frontend)
+     * @throws IOException If an error occurs during generation
+     */
+    public List<FilePreview> generateFiles(ProjectRequest request) throws IOException {
+        StackProvider provider = resolveStackProvider(request);
+        String key = cacheEnabled || inFlight != null ? fingerprint(request) : null;
+
+        if (cacheEnabled) {
+            List<FilePreview> cached = cache.get(key);
+            if (cached != null) {
+                log.debug("Generation cache hit for {}", key);
+                return cached;
+            }
+        }
+        if (inFlight == null) {
+            return renderAndCache(request, provider, key);
+        }
+
+        SingleFlight.Result<List<FilePreview>> result = inFlight.execute(key, () -> {
+            List<FilePreview> cached = cacheEnabled ? cache.get(key) : null;
+            return cached != null ? cached : renderAndCache(request, provider, key);
+        });
+        if (result.shared()) {
+            log.debug("Generation {} shared with a concurrent identical request", key);
+        }
+        return result.value();
+    }
+
+    /**
+     * Renders all files into an immutable list and caches it.
+     */
+    private List<FilePreview> renderAndCache(ProjectRequest request, StackProvider provider, String key) throws IOException {
+        List<FilePreview> files = new ArrayList<>();
+        render(request, provider, files::add);
+        List<FilePreview> result = List.copyOf(files);
+
+        if (cacheEnabled) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Renders a preview within a preview session, re-rendering only the fragments whose
+     * inputs changed since the session's previous preview.
+     *
+     * Previews of the same session are serialized. A request identical to a cached one
+     * is answered from the generation cache without touching the session.
+     *
+     * When the client names the manifest it already holds and that manifest is still
+     * known, the response is a delta: only added and changed files are sent, plus the
+     * paths of removed files.
+     *
+     * @param request The project configuration
+     * @param sessionId Id of the preview session; a new session is started when null or unknown
+     * @param baseManifestHash Manifest hash (ETag) of the preview the client holds, may be null
+     * @return The files (or the delta), the manifest hash, the session id and which files were recomputed
+     * @throws IOException If an error occurs during generation
+     */
+    public ProjectPreviewResponse preview(ProjectRequest request, String sessionId, String baseManifestHash) throws IOException {
+        StackProvider provider = resolveStackProvider(request);
+        String key = fingerprint(request);
+        PreviewSession session = previewSessions.open(sessionId);
+
+        if (cacheEnabled) {
+            List<FilePreview> cached = cache.get(key);
+            if (cached != null) {
+                log.debug("Generation cache hit for {}", key);
+                return delta(new ProjectPreviewResponse(cached, session.getId(), List.of(), cached.size()), baseManifestHash);
+            }
+        }
+
+        synchronized (session) {
+            List<FilePreview> files = new ArrayList<>();
+            session.begin();
+            try {
+                render(request, provider, files::add, session, key);
+            } catch (IOException | RuntimeException e) {
+                session.reset();
+                throw e;
+            }
+            session.complete();
+            previewSessions.save(session);
+
+            List<FilePreview> result = List.copyOf(files);
+            if (cacheEnabled) {
+                cache.put(key, result);
+            }
+            List<String> recomputed = session.recomputedPaths(result);
+            log.debug("Preview session {}: {} files recomputed, {} reused",
+                    session.getId(), recomputed.size(), result.size() - recomputed.size());
+            return delta(new ProjectPreviewResponse(result, session.getId(), recomputed, result.size() - recomputed.size()),
+                    baseManifestHash);
+        }
+    }
+
+    /**
+     * Sets the manifest hash of a complete preview and, when the base manifest is known,
+     * reduces its files to the difference against it.
+     */
+    private ProjectPreviewResponse delta(ProjectPreviewResponse response, String baseManifestHash) {
+        List<FilePreview> files = response.getFiles();
+        PreviewManifest manifest = PreviewManifest.of(files);
+        previewManifests.put(manifest);
+        response.setManifestHash(manifest.getHash());
+
+        PreviewManifest base = previewManifests.get(baseManifestHash);
+        if (base != null) {
+            List<FilePreview> changed = manifest.changedSince(base, files);
+            response.setFiles(changed);
+            response.setRemovedFiles(manifest.removedSince(base));
+            response.setBaseManifestHash(base.getHash());
+            files = changed;
+        }
+
+        Map<String, String> fileHashes = new LinkedHashMap<>();
+        for (FilePreview file : files) {
+            fileHashes.put(file.getPath(), manifest.getContentHashes().get(file.getPath()));
+        }
+        response.setFileHashes(fileHashes);
+        return response;
+    }
+
+    /**
+     * Pushes all project files for the request to the sink, from cache when possible.
+     *
+     * Without coalescing, files are streamed to the sink as they are rendered. They are
+     * also collected for the cache until their size exceeds the cache's weight budget, at
+     * which point collection stops so large projects keep streaming with flat memory.
+     *
+     * With coalescing, the flight renders into memory and never writes to a client, so a
+     * slow client cannot hold up identical requests: once the flight lands, every caller
+     * writes the shared files to its own sink. A project exceeding the budget aborts the
+     * flight as soon as that is known; every caller then streams its own render.
+     *
+     * @param request The project configuration
+     * @param sink Receiver of the generated files
+     * @throws IOException If an error occurs during generation or while writing to the sink
+     */
+    public void generateFiles(ProjectRequest request, FileSink sink) throws IOException {
+        StackProvider provider = resolveStackProvider(request);
+        if (!cacheEnabled && inFlight == null) {
+            render(request, provider, sink);
+            return;
+        }
+
+        String key = fingerprint(request);
+        List<FilePreview> cached = cacheEnabled ? cache.get(key) : null;
+        if (cached != null) {
+            log.debug("Generation cache hit for {}", key);
+            sink.acceptAll(cached);
+            return;
+        }
+        if (inFlight == null) {
+            streamAndCache(request, provider, sink, key);
+            return;
+        }
+
+        SingleFlight.Result<List<FilePreview>> result = inFlight.execute(key, () -> {
+            List<FilePreview> landed = cacheEnabled ? cache.get(key) : null;
+            return landed != null ? landed : renderWithinBudget(request, provider, key);
+        }, () -> null);
+        if (result.value() == null) {
+            render(request, provider, sink);
+            return;
+        }
+        if (result.shared()) {
+            log.debug("Generation {} shared with a concurrent identical request", key);
+        }
+        sink.acceptAll(result.value());
+    }
+
+    /**
+     * Renders straight into the sink while collecting the files up to the cache's
+     * weight budget, and caches them if they fit.
+     */
+    private void streamAndCache(ProjectRequest request, StackProvider provider,
+                                FileSink sink, String key) throws IOException {
+        CollectingSink collector = new CollectingSink(sink, cache.getMaxWeight());
+        render(request, provider, collector);
+        if (!collector.isOverflowed() && cacheEnabled) {
+            cache.put(key, List.copyOf(collector.files));
+        }
+    }
+
+    /**
+     * Renders into memory and caches the files, giving up as soon as they exceed the
+     * cache's weight budget.
+     *
+     * @return The files, or null if they exceeded the budget
+     */
+    private List<FilePreview> renderWithinBudget(ProjectRequest request, StackProvider provider,
+                                                 String key) throws IOException {
+        CollectingSink collector = new CollectingSink(null, cache.getMaxWeight());
+        try {
+            render(request, provider, collector);
+        } catch (BudgetExceededException e) {
+            log.debug("Generation {} exceeds the cache budget, not coalescing it", key);
+            return null;
+        }
+        List<FilePreview> files = List.copyOf(collector.files);
+        if (cacheEnabled) {
+            cache.put(key, files);
+        }
+        return files;
+    }
+
+    /**
+     * Determines the project name for the ZIP filename.
+     */
+    public String getProjectName(ProjectRequest request) {
+        // Check artifactId (for Spring)
+        if (request.getArtifactId() != null && !request.getArtifactId().isEmpty()) {
+            return request.getArtifactId();
+        }
+        // Check name
+        if (request.getName() != null && !request.getName().isEmpty()) {
+            return request.getName().toLowerCase().replace(" ", "-");
+        }
+        // Default based on stack
+        StackType stackType = request.getStackType() != null ? request.getStackType() : StackType.SPRING;
+        return stackType.getId() + "-project";
+    }
+
+    /**
+     * @return Statistics of request coalescing, or null when it is disabled
+     */
+    public SingleFlightStats getSingleFlightStats() {
+        return inFlight != null ? inFlight.getStats() : null;
+    }
+
+    // ==================== ManagedCache ====================
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+        log.info("Generation cache flushed");
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Renders backend files, then frontend files if enabled.
+     */
+    private void render(ProjectRequest request, StackProvider provider, FileSink sink) throws IOException {
+        provider.generateProject(request, sink);
+
+        FrontendConfig fc = request.getEffectiveFrontendConfig();
+        if (fc.isEnabled() && frontendProviderFactory.hasProvider(fc.getFramework())) {
+            FrontendProvider frontendProvider = frontendProviderFactory.getProvider(fc.getFramework());
+            frontendProvider.generateFrontend(request, sink);
+        }
+    }
+
+    /**
+     * Renders backend files, then frontend files if enabled, reusing unchanged fragments.
+     * The frontend is a single fragment keyed by the whole request.
+     *
+     * @param requestKey Canonical hash of the request, computed before rendering
+     */
+    private void render(ProjectRequest request, StackProvider provider, FileSink sink,
+                        RenderMemo memo, String requestKey) throws IOException {
+        provider.generateProject(request, sink, memo);
+
+        FrontendConfig fc = request.getEffectiveFrontendConfig();
+        if (fc.isEnabled() && frontendProviderFactory.hasProvider(fc.getFramework())) {
+            FrontendProvider frontendProvider = frontendProviderFactory.getProvider(fc.getFramework());
+            try {
+                sink.acceptAll(memo.fragment("frontend", requestKey, () -> {
+                    try {
+                        return frontendProvider.generateFrontend(request);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Approximate in-memory size of a file list: content and path characters.
+     */
+    static long weigh(List<FilePreview> files) {
+        long weight = 0;
+        for (FilePreview file : files) {
+            weight += weighFile(file);
+        }
+        return weight;
+    }
+
+    private static long weighFile(FilePreview file) {
+        long weight = 64;
+        if (file.getPath() != null) weight += file.getPath().length();
+        if (file.getContent() != null) weight += file.getContent().length();
+        return weight;
+    }
+
+    /**
+     * Forwards files to a delegate sink while collecting them up to a weight budget.
+     * Without a delegate, exceeding the budget aborts rendering with a
+     * {@link BudgetExceededException}.
+     */
+    private static final class CollectingSink implements FileSink {
+        private final FileSink delegate;
+        private final long maxWeight;
+        private final List<FilePreview> files = new ArrayList<>();
+        private long weight;
+        private boolean overflowed;
+
+        private CollectingSink(FileSink delegate, long maxWeight) {
+            this.delegate = delegate;
+            this.maxWeight = maxWeight;
+        }
+
+        @Override
+        public void accept(FilePreview file) throws IOException {
+            if (delegate != null) {
+                delegate.accept(file);
+            }
+            if (overflowed) {
+                return;
+            }
+            weight += weighFile(file);
+            if (weight > maxWeight) {
+                overflowed = true;
+                files.clear();
+                if (delegate == null) {
+                    throw new BudgetExceededException();
+                }
+            } else {
+                files.add(file);
+            }
+        }
+
+        private boolean isOverflowed() {
+            return overflowed;
+        }
+    }
+
+    /**
+     * Aborts an in-memory render that outgrew the cache's weight budget.
+     */
+    private static final class BudgetExceededException extends RuntimeException {
+        private BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
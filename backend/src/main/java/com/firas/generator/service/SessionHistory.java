@@ -0,0 +1,89 @@
+package com.firas.generator.service;
+
+import com.firas.generator.service.ai.SchemaSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable undo/redo history of a session's schema: the versions after each turn and
+ * the position of the current one.
+ *
+ * Versions are {@link SchemaSnapshot}s, which share unchanged tables, so the history's
+ * weight counts each serialized table once however many versions contain it. A new
+ * version discards the versions that could have been redone, and the oldest versions
+ * beyond the undo limit.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+final class SessionHistory {
+
+    private final List<SchemaSnapshot> versions;
+    private final int current;
+    private final long weight;
+
+    private SessionHistory(List<SchemaSnapshot> versions, int current) {
+        this.versions = versions;
+        this.current = current;
+        this.weight = weigh(versions);
+    }
+
+    static SessionHistory of(SchemaSnapshot schema) {
+        return new SessionHistory(List.of(schema), 0);
+    }
+
+    SchemaSnapshot current() {
+        return versions.get(current);
+    }
+
+    /**
+     * @param maxUndo Number of earlier versions to keep
+     * @return A history whose current version is the given one
+     */
+    SessionHistory commit(SchemaSnapshot schema, int maxUndo) {
+        List<SchemaSnapshot> next = new ArrayList<>(versions.subList(0, current + 1));
+        next.add(schema);
+        int drop = Math.max(0, next.size() - (maxUndo + 1));
+        next = next.subList(drop, next.size());
+        return new SessionHistory(List.copyOf(next), next.size() - 1);
+    }
+
+    /**
+     * @return The history moved one version back, or null if there is none
+     */
+    SessionHistory undo() {
+        return current > 0 ? new SessionHistory(versions, current - 1) : null;
+    }
+
+    /**
+     * @return The history moved one version forward, or null if there is none
+     */
+    SessionHistory redo() {
+        return current < versions.size() - 1 ? new SessionHistory(versions, current + 1) : null;
+    }
+
+    /**
+     * @return Total size in bytes of the distinct serialized tables of all versions
+     */
+    long weight() {
+        return weight;
+    }
+
+    private static long weigh(List<SchemaSnapshot> versions) {
+        Set<byte[]> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long[] total = {0};
+        for (SchemaSnapshot version : versions) {
+            version.forEachSerializedTable(json -> {
+                if (seen.add(json)) {
+                    total[0] += json.length;
+                }
+            });
+        }
+        return total[0];
+    }
+}
@@ -4,19 +4,56 @@ package com.firas.generator.service.ai;
 import com.firas.generator.model.AI.AIGeneratedTables;
 import com.firas.generator.model.AI.AIGeneratedTablesRequest;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface AIProvider {
     /**
      * Generate tables based on the request using the specific AI provider
      */
     AIGeneratedTables generateTables(AIGeneratedTablesRequest request);
 
+    /**
+     * Generate tables without blocking the calling thread. Providers with a non-blocking
+     * HTTP client send the request directly; others run {@link #generateTables} on the
+     * given executor.
+     *
+     * @param executor Runs blocking work when the provider has no non-blocking path
+     * @return The response, as {@link #generateTables} would return it
+     */
+    default CompletableFuture<AIGeneratedTables> generateTablesAsync(AIGeneratedTablesRequest request, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> generateTables(request), executor);
+    }
+
+    /**
+     * Generate tables, reporting the explanation and each action to the listener as soon
+     * as the provider produces them. Providers without a streaming API report the
+     * complete response once it is available; a failed response is only returned.
+     *
+     * @return The complete response, as {@link #generateTables} would return it
+     */
+    default AIGeneratedTables streamTables(AIGeneratedTablesRequest request, AIStreamListener listener) {
+        AIGeneratedTables result = generateTables(request);
+        if (!result.isFailed()) {
+            listener.replay(result);
+        }
+        return result;
+    }
+
     /**
      * Get the provider name
      */
     String getProviderName();
 
+    /**
+     * Get the model the provider sends requests to, or null if it does not report one
+     */
+    default String getModelName() {
+        return null;
+    }
+
     /**
      * Check if the provider is available/configured
      */
     boolean isAvailable();
-}
\ No newline at end of file
+}
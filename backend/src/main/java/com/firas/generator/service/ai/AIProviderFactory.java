@@ -1,10 +1,19 @@
 package com.firas.generator.service.ai;
 
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -12,20 +21,59 @@ import java.util.stream.Collectors;
 public class AIProviderFactory {
     private final Map<String, AIProvider> providers;
 
+    /** The "AUTO" provider, routing between the others by latency and health */
+    private final RoutingAIProvider router;
+
+    private final ScheduledThreadPoolExecutor hedgeScheduler;
+    private final ThreadPoolExecutor routingExecutor;
+
     @Autowired
-    public AIProviderFactory(List<AIProvider> providerList) {
+    public AIProviderFactory(List<AIProvider> providerList,
+                             @Value("${ai.routing.providers:}") String routedProviders,
+                             @Value("${ai.routing.window:100}") int window,
+                             @Value("${ai.routing.min-samples:5}") int minSamples,
+                             @Value("${ai.routing.max-error-rate:0.5}") double maxErrorRate,
+                             @Value("${ai.routing.cooldown-seconds:30}") long cooldownSeconds,
+                             @Value("${ai.routing.hedge-enabled:false}") boolean hedgeEnabled,
+                             @Value("${ai.routing.hedge-delay-ms:0}") long hedgeDelayMs,
+                             @Value("${ai.routing.max-concurrent:32}") int maxConcurrent) {
         this.providers = providerList.stream()
                 .collect(Collectors.toMap(
                         AIProvider::getProviderName,
                         Function.identity()
                 ));
+
+        List<AIProvider> routed = routedProviders.isBlank()
+                ? providerList
+                : Arrays.stream(routedProviders.split(","))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .map(name -> {
+                            AIProvider provider = providers.get(name.toUpperCase());
+                            if (provider == null) {
+                                throw new IllegalArgumentException("Unknown AI provider in ai.routing.providers: " + name);
+                            }
+                            return provider;
+                        })
+                        .collect(Collectors.toList());
+
+        this.hedgeScheduler = new ScheduledThreadPoolExecutor(1, daemonThreads("ai-routing-hedge-"));
+        this.hedgeScheduler.setRemoveOnCancelPolicy(true);
+        this.routingExecutor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxConcurrent * 2), daemonThreads("ai-routing-"));
+        this.routingExecutor.allowCoreThreadTimeOut(true);
+        this.router = new RoutingAIProvider(routed, window, minSamples, maxErrorRate,
+                TimeUnit.SECONDS.toNanos(cooldownSeconds), hedgeEnabled, TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs),
+                System::nanoTime, hedgeScheduler, routingExecutor);
     }
 
     /**
-     * Get a provider by name
+     * Get a provider by name; "AUTO" routes between the available providers
      */
     public AIProvider getProvider(String providerName) {
-        AIProvider provider = providers.get(providerName.toUpperCase());
+        AIProvider provider = RoutingAIProvider.NAME.equalsIgnoreCase(providerName)
+                ? router
+                : providers.get(providerName.toUpperCase());
         if (provider == null) {
             throw new IllegalArgumentException("Unknown AI provider: " + providerName);
         }
@@ -36,13 +84,13 @@ public class AIProviderFactory {
     }
 
     /**
-     * Get the default provider (first available)
+     * Get the default provider: the router, which prefers the fastest healthy provider
      */
     public AIProvider getDefaultProvider() {
-        return providers.values().stream()
-                .filter(AIProvider::isAvailable)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No AI providers available"));
+        if (!router.isAvailable()) {
+            throw new IllegalStateException("No AI providers available");
+        }
+        return router;
     }
 
     /**
@@ -54,4 +102,26 @@ public class AIProviderFactory {
                 .map(AIProvider::getProviderName)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the router's hedging and fallback counters and each provider's rolling health
+     */
+    public RoutingStats getRoutingStats() {
+        return router.getStats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeScheduler.shutdownNow();
+        routingExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.AI.AIGeneratedTables;
+import com.firas.generator.model.AI.TableAction;
+
+/**
+ * Receives the parts of an AI response as they are generated.
+ *
+ * Callbacks are invoked on the thread consuming the provider's stream, in the order the
+ * model produced them. They are a preview: the result returned by
+ * {@link AIProvider#streamTables} is authoritative.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public interface AIStreamListener {
+
+    /**
+     * Called with each new piece of the response's explanation text.
+     *
+     * @param delta The text appended to the explanation since the last call
+     */
+    void onExplanation(String delta);
+
+    /**
+     * Called once for each table action, as soon as it is complete.
+     *
+     * @param action The parsed action
+     */
+    void onAction(TableAction action);
+
+    /**
+     * Reports a complete response at once: its explanation, then each of its actions.
+     *
+     * @param result A response that was not streamed
+     */
+    default void replay(AIGeneratedTables result) {
+        if (result.getExplanation() != null) {
+            onExplanation(result.getExplanation());
+        }
+        if (result.getActions() != null) {
+            for (TableAction action : result.getActions()) {
+                onAction(action);
+            }
+        }
+    }
+}
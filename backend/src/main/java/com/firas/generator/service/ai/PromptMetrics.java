@@ -0,0 +1,89 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.util.metrics.LatencyHistogram;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how large the prompts sent to AI providers are, and how long the turns take,
+ * per provider and per way of sending the schema.
+ *
+ * Each turn also records the size its prompt would have had with the full schema, so
+ * the savings of delta and unchanged turns, and their effect on latency, can be read
+ * directly from {@link #getStats()}.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+public class PromptMetrics {
+
+    /**
+     * How a turn sent the schema.
+     */
+    public enum Mode {
+        /** The whole schema */
+        FULL,
+        /** Only the tables added, changed or removed since the model's last turn */
+        DELTA,
+        /** Nothing: the model already holds the schema */
+        UNCHANGED
+    }
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private static final class Counters {
+        final String provider;
+        final Mode mode;
+        final LongAdder promptChars = new LongAdder();
+        final LongAdder fullPromptChars = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        Counters(String provider, Mode mode) {
+            this.provider = provider;
+            this.mode = mode;
+        }
+    }
+
+    /**
+     * Records a completed turn.
+     *
+     * @param provider Provider name
+     * @param mode How the schema was sent
+     * @param promptChars Size of the prompt sent
+     * @param fullPromptChars Size of the prompt with the full schema
+     * @param latencyNanos Duration of the turn
+     */
+    public void record(String provider, Mode mode, int promptChars, int fullPromptChars, long latencyNanos) {
+        Counters entry = counters.computeIfAbsent(provider + '/' + mode, key -> new Counters(provider, mode));
+        entry.promptChars.add(promptChars);
+        entry.fullPromptChars.add(fullPromptChars);
+        entry.latency.recordNanos(latencyNanos);
+    }
+
+    /**
+     * @return Statistics per provider and mode, sorted by provider then mode
+     */
+    public List<PromptStats> getStats() {
+        return counters.values().stream()
+                .sorted(Comparator.comparing((Counters c) -> c.provider).thenComparing(c -> c.mode))
+                .map(c -> {
+                    LatencyHistogram.Snapshot latency = c.latency.snapshot();
+                    long turns = latency.count();
+                    long sent = c.promptChars.sum();
+                    long full = c.fullPromptChars.sum();
+                    return new PromptStats(c.provider, c.mode.name(), turns,
+                            turns == 0 ? 0 : (double) sent / turns,
+                            turns == 0 ? 0 : (double) full / turns,
+                            full == 0 ? 0 : 1 - (double) sent / full,
+                            latency.meanMs(), latency.p50Ms(), latency.p95Ms());
+                })
+                .toList();
+    }
+}
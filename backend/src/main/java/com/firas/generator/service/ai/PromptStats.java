@@ -0,0 +1,31 @@
+package com.firas.generator.service.ai;
+
+/**
+ * Prompt size and latency of one provider's turns sent in one schema mode.
+ *
+ * @param provider Provider name
+ * @param mode How the schema was sent: FULL, DELTA or UNCHANGED
+ * @param turns Number of turns
+ * @param meanPromptChars Mean size of the prompts sent
+ * @param meanFullPromptChars Mean size the prompts would have had with the full schema
+ * @param savedRatio Share of prompt characters saved against full prompts
+ * @param meanMs Mean turn latency
+ * @param p50Ms Median turn latency
+ * @param p95Ms 95th percentile turn latency
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record PromptStats(
+        String provider,
+        String mode,
+        long turns,
+        double meanPromptChars,
+        double meanFullPromptChars,
+        double savedRatio,
+        double meanMs,
+        double p50Ms,
+        double p95Ms
+) {
+}
@@ -0,0 +1,71 @@
+package com.firas.generator.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * Rolling latency and error statistics of one AI provider, over its most recent calls.
+ *
+ * The last {@code window} outcomes are kept in a ring buffer, so old behaviour ages out
+ * as new calls complete. Percentiles are computed over successful calls only; the error
+ * rate over all of them. The window is small, so a snapshot simply sorts a copy.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+class ProviderHealth {
+
+    private final long[] latencies;
+    private final boolean[] succeeded;
+    private int next;
+    private int size;
+    private long lastFailureAt = Long.MIN_VALUE;
+
+    /**
+     * Statistics of the current window.
+     *
+     * @param samples Number of outcomes in the window
+     * @param p50Nanos Median latency of successful calls (0 if none)
+     * @param p95Nanos 95th percentile latency of successful calls (0 if none)
+     * @param errorRate Share of failed calls
+     * @param lastFailureAt Clock time of the most recent failure, or Long.MIN_VALUE
+     */
+    record Snapshot(int samples, long p50Nanos, long p95Nanos, double errorRate, long lastFailureAt) {
+    }
+
+    ProviderHealth(int window) {
+        this.latencies = new long[Math.max(1, window)];
+        this.succeeded = new boolean[latencies.length];
+    }
+
+    synchronized void record(long latencyNanos, boolean success, long now) {
+        latencies[next] = latencyNanos;
+        succeeded[next] = success;
+        next = (next + 1) % latencies.length;
+        size = Math.min(size + 1, latencies.length);
+        if (!success) {
+            lastFailureAt = now;
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        long[] ok = new long[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (succeeded[i]) {
+                ok[count++] = latencies[i];
+            }
+        }
+        Arrays.sort(ok, 0, count);
+        double errorRate = size == 0 ? 0 : (double) (size - count) / size;
+        return new Snapshot(size, percentile(ok, count, 0.50), percentile(ok, count, 0.95), errorRate, lastFailureAt);
+    }
+
+    private static long percentile(long[] sorted, int count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * count);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,354 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.AI.AIGeneratedTables;
+import com.firas.generator.model.AI.AIGeneratedTablesRequest;
+import com.firas.generator.model.AI.TableAction;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Pseudo-provider "AUTO" that routes each request to the real providers by their recent
+ * latency and error rate.
+ *
+ * Providers are ranked for every request: healthy ones first, then by median latency
+ * over their rolling window (providers without measurements first, so they get some).
+ * A provider is unhealthy while its error rate exceeds the configured maximum, until
+ * the cooldown since its last failure has passed; it is then tried again.
+ *
+ * A request goes to the first-ranked provider. If that call fails (an exception or a
+ * failed response) the next provider is tried, until one succeeds or all have failed.
+ * With hedging enabled, a backup call to the next provider is started when the first
+ * one is still running after the hedge delay (by default, the provider's own p95
+ * latency); whichever answers first wins. Hedging trades extra provider calls for a
+ * shorter tail, so it is off by default.
+ *
+ * Streamed requests fall back the same way, but only before anything was streamed to
+ * the client; they are not hedged.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Slf4j
+public class RoutingAIProvider implements AIProvider {
+
+    public static final String NAME = "AUTO";
+
+    private final List<AIProvider> providers;
+    private final Map<String, ProviderHealth> health = new LinkedHashMap<>();
+    private final int minSamples;
+    private final double maxErrorRate;
+    private final long cooldownNanos;
+    private final boolean hedgeEnabled;
+    private final long hedgeDelayNanos;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final LongAdder hedgesLaunched = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * @param providers The providers to route between, in order of preference among equals
+     * @param window Number of recent calls each provider's health is computed over
+     * @param minSamples Calls needed before a provider can be considered unhealthy
+     * @param maxErrorRate Error rate above which a provider is unhealthy
+     * @param cooldownNanos Time after its last failure before an unhealthy provider is retried
+     * @param hedgeEnabled Whether slow calls are backed up by a call to the next provider
+     * @param hedgeDelayNanos Delay before a backup call, or 0 to use the provider's p95 latency
+     * @param clock Source of {@link System#nanoTime()}-like timestamps
+     * @param scheduler Starts backup calls
+     * @param executor Runs blocking providers for {@link #generateTables}
+     */
+    public RoutingAIProvider(List<AIProvider> providers, int window, int minSamples, double maxErrorRate,
+                             long cooldownNanos, boolean hedgeEnabled, long hedgeDelayNanos,
+                             LongSupplier clock, ScheduledExecutorService scheduler, Executor executor) {
+        this.providers = List.copyOf(providers);
+        this.minSamples = minSamples;
+        this.maxErrorRate = maxErrorRate;
+        this.cooldownNanos = cooldownNanos;
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeDelayNanos = hedgeDelayNanos;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        for (AIProvider provider : this.providers) {
+            health.put(provider.getProviderName(), new ProviderHealth(window));
+        }
+    }
+
+    @Override
+    public AIGeneratedTables generateTables(AIGeneratedTablesRequest request) {
+        try {
+            return generateTablesAsync(request, executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<AIGeneratedTables> generateTablesAsync(AIGeneratedTablesRequest request, Executor executor) {
+        List<AIProvider> ranked = rank();
+        if (ranked.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No AI providers available"));
+        }
+        Attempt attempt = new Attempt(request, executor, ranked);
+        attempt.start();
+        return attempt.result;
+    }
+
+    @Override
+    public AIGeneratedTables streamTables(AIGeneratedTablesRequest request, AIStreamListener listener) {
+        List<AIProvider> ranked = rank();
+        if (ranked.isEmpty()) {
+            throw new IllegalStateException("No AI providers available");
+        }
+        EmissionTracker tracker = new EmissionTracker(listener);
+        AIGeneratedTables lastFailure = null;
+        RuntimeException lastError = null;
+        for (int i = 0; i < ranked.size(); i++) {
+            AIProvider provider = ranked.get(i);
+            if (i > 0) {
+                fallbacks.increment();
+                log.info("Falling back to AI provider {} for a streamed request", provider.getProviderName());
+            }
+            long start = clock.getAsLong();
+            try {
+                AIGeneratedTables result = provider.streamTables(request, tracker);
+                recordOutcome(provider, start, !result.isFailed());
+                if (!result.isFailed() || tracker.emitted) {
+                    return result;
+                }
+                lastFailure = result;
+                lastError = null;
+            } catch (RuntimeException e) {
+                recordOutcome(provider, start, false);
+                if (tracker.emitted) {
+                    throw e;
+                }
+                lastError = e;
+                lastFailure = null;
+            }
+        }
+        if (lastError != null) {
+            throw lastError;
+        }
+        return lastFailure;
+    }
+
+    @Override
+    public String getProviderName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return providers.stream().anyMatch(AIProvider::isAvailable);
+    }
+
+    /**
+     * @return The available providers, in the order the next request would try them
+     */
+    List<AIProvider> rank() {
+        long now = clock.getAsLong();
+        record Candidate(AIProvider provider, boolean healthy, long p50Nanos) {
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (AIProvider provider : providers) {
+            if (provider.isAvailable()) {
+                ProviderHealth.Snapshot snapshot = health.get(provider.getProviderName()).snapshot();
+                candidates.add(new Candidate(provider, isHealthy(snapshot, now), snapshot.p50Nanos()));
+            }
+        }
+        // List.sort is stable, so equally ranked providers keep their configured order
+        candidates.sort(Comparator.comparing((Candidate c) -> !c.healthy()).thenComparingLong(Candidate::p50Nanos));
+        return candidates.stream().map(Candidate::provider).toList();
+    }
+
+    public RoutingStats getStats() {
+        long now = clock.getAsLong();
+        List<RoutingStats.Provider> stats = new ArrayList<>();
+        List<AIProvider> ordered = new ArrayList<>(rank());
+        providers.stream().filter(provider -> !ordered.contains(provider)).forEach(ordered::add);
+        for (AIProvider provider : ordered) {
+            ProviderHealth.Snapshot snapshot = health.get(provider.getProviderName()).snapshot();
+            stats.add(new RoutingStats.Provider(provider.getProviderName(), provider.isAvailable(),
+                    isHealthy(snapshot, now), snapshot.samples(), snapshot.errorRate(),
+                    snapshot.p50Nanos() / 1_000_000.0, snapshot.p95Nanos() / 1_000_000.0));
+        }
+        return new RoutingStats(hedgesLaunched.sum(), hedgesWon.sum(), fallbacks.sum(), stats);
+    }
+
+    private boolean isHealthy(ProviderHealth.Snapshot snapshot, long now) {
+        return snapshot.samples() < minSamples
+                || snapshot.errorRate() <= maxErrorRate
+                || now - snapshot.lastFailureAt() >= cooldownNanos;
+    }
+
+    private void recordOutcome(AIProvider provider, long start, boolean success) {
+        long now = clock.getAsLong();
+        health.get(provider.getProviderName()).record(now - start, success, now);
+    }
+
+    /**
+     * One routed request: the calls started for it so far and the result they settle.
+     */
+    private final class Attempt {
+
+        private final AIGeneratedTablesRequest request;
+        private final Executor executor;
+        private final List<AIProvider> ranked;
+        private final CompletableFuture<AIGeneratedTables> result = new CompletableFuture<>();
+
+        /** Index of the next provider to try; guarded by this */
+        private int next;
+        private int running;
+        private boolean hedged;
+        private boolean done;
+        private AIGeneratedTables lastFailure;
+        private Throwable lastError;
+
+        Attempt(AIGeneratedTablesRequest request, Executor executor, List<AIProvider> ranked) {
+            this.request = request;
+            this.executor = executor;
+            this.ranked = ranked;
+        }
+
+        void start() {
+            AIProvider primary;
+            synchronized (this) {
+                primary = take();
+            }
+            launch(primary, false);
+            if (hedgeEnabled && ranked.size() > 1) {
+                long delay = hedgeDelayNanos > 0
+                        ? hedgeDelayNanos
+                        : health.get(primary.getProviderName()).snapshot().p95Nanos();
+                if (delay > 0) {
+                    scheduler.schedule(this::hedge, delay, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private void hedge() {
+            AIProvider backup;
+            synchronized (this) {
+                if (done || hedged || running != 1 || next >= ranked.size()) {
+                    return;
+                }
+                hedged = true;
+                backup = take();
+            }
+            hedgesLaunched.increment();
+            log.debug("Hedging slow AI request with provider {}", backup.getProviderName());
+            launch(backup, true);
+        }
+
+        /**
+         * Starts a call, outside the lock: a provider may complete it on this thread.
+         */
+        private void launch(AIProvider provider, boolean hedge) {
+            long start = clock.getAsLong();
+            CompletableFuture<AIGeneratedTables> call;
+            try {
+                call = provider.generateTablesAsync(request, executor);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((response, error) -> complete(provider, start, hedge, response, error));
+        }
+
+        private void complete(AIProvider provider, long start, boolean hedge,
+                              AIGeneratedTables response, Throwable error) {
+            boolean success = error == null && response != null && !response.isFailed();
+            recordOutcome(provider, start, success);
+            AIProvider fallback;
+            synchronized (this) {
+                running--;
+                if (done) {
+                    return;
+                }
+                if (success) {
+                    done = true;
+                    if (hedge) {
+                        hedgesWon.increment();
+                    }
+                    result.complete(response);
+                    return;
+                }
+                if (error != null) {
+                    lastError = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    lastFailure = null;
+                } else {
+                    lastFailure = response;
+                    lastError = null;
+                }
+                if (running > 0) {
+                    return;
+                }
+                if (next >= ranked.size()) {
+                    done = true;
+                    if (lastError != null) {
+                        result.completeExceptionally(lastError);
+                    } else {
+                        result.complete(lastFailure);
+                    }
+                    return;
+                }
+                fallback = take();
+            }
+            fallbacks.increment();
+            log.info("AI provider {} failed, falling back to {}", provider.getProviderName(), fallback.getProviderName());
+            launch(fallback, false);
+        }
+
+        /**
+         * Claims the next provider to call; must hold the lock.
+         */
+        private AIProvider take() {
+            running++;
+            return ranked.get(next++);
+        }
+    }
+
+    /**
+     * Forwards to the client's listener, remembering whether anything was sent.
+     */
+    private static final class EmissionTracker implements AIStreamListener {
+
+        private final AIStreamListener delegate;
+        private volatile boolean emitted;
+
+        EmissionTracker(AIStreamListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onExplanation(String delta) {
+            emitted = true;
+            delegate.onExplanation(delta);
+        }
+
+        @Override
+        public void onAction(TableAction action) {
+            emitted = true;
+            delegate.onAction(action);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.firas.generator.service.ai;
+
+import java.util.List;
+
+/**
+ * Point-in-time statistics of the latency-aware provider router.
+ *
+ * @param hedgesLaunched Backup calls started because the first call was slow
+ * @param hedgesWon Backup calls that answered before the call they backed up
+ * @param fallbacks Calls started because every running call had failed
+ * @param providers Each routed provider, in the order the next request would try them
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record RoutingStats(
+        long hedgesLaunched,
+        long hedgesWon,
+        long fallbacks,
+        List<Provider> providers
+) {
+
+    /**
+     * Rolling health of one routed provider.
+     *
+     * @param provider Provider name
+     * @param available Whether the provider is configured
+     * @param healthy Whether the router currently prefers it over unhealthy providers
+     * @param samples Calls in the rolling window
+     * @param errorRate Share of failed calls in the window
+     * @param p50Ms Median latency of successful calls in the window
+     * @param p95Ms 95th percentile latency of successful calls in the window
+     */
+    public record Provider(
+            String provider,
+            boolean available,
+            boolean healthy,
+            int samples,
+            double errorRate,
+            double p50Ms,
+            double p95Ms
+    ) {
+    }
+}
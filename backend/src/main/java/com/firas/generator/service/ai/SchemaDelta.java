@@ -0,0 +1,83 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.Table;
+import com.firas.generator.util.CanonicalHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Difference between the schema a model already holds and the schema of a new turn,
+ * so that follow-up turns can send only what changed.
+ *
+ * The held schema is remembered as a fingerprint per table (see {@link #fingerprints}),
+ * which is all the diff needs. Tables are matched by name, case-insensitively, like
+ * {@link TableActions}: a table is upserted when it is new or its fingerprint differs,
+ * and removed when its name no longer appears. Table order is not significant.
+ *
+ * @param upsertTables Tables to add, or to replace entirely when one of that name exists
+ * @param removeTables Names of the tables to drop
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record SchemaDelta(List<Table> upsertTables, List<String> removeTables) {
+
+    /**
+     * Fingerprints a schema table by table.
+     *
+     * @param tables The schema
+     * @return Lower-cased table name -> canonical hash of the table, in schema order; null
+     * if a table has no name or two share one, since such a schema cannot be diffed
+     */
+    public static Map<String, String> fingerprints(List<Table> tables) {
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        for (Table table : tables != null ? tables : Collections.<Table>emptyList()) {
+            if (table.getName() == null
+                    || fingerprints.put(table.getName().toLowerCase(Locale.ROOT), CanonicalHash.of(table)) != null) {
+                return null;
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Computes the changes that turn the held schema into the current one.
+     *
+     * @param held Fingerprints of the schema the model holds, from {@link #fingerprints}
+     * @param current The schema of the new turn
+     * @return The delta, or null if the current schema cannot be diffed
+     */
+    public static SchemaDelta between(Map<String, String> held, List<Table> current) {
+        Map<String, String> currentFingerprints = fingerprints(current);
+        if (held == null || currentFingerprints == null) {
+            return null;
+        }
+        List<Table> upserts = new ArrayList<>();
+        for (Table table : current) {
+            String name = table.getName().toLowerCase(Locale.ROOT);
+            if (!currentFingerprints.get(name).equals(held.get(name))) {
+                upserts.add(table);
+            }
+        }
+        List<String> removals = new ArrayList<>();
+        for (String name : held.keySet()) {
+            if (!currentFingerprints.containsKey(name)) {
+                removals.add(name);
+            }
+        }
+        return new SchemaDelta(upserts, removals);
+    }
+
+    /**
+     * @return Whether the current schema equals the held one
+     */
+    public boolean isEmpty() {
+        return upsertTables.isEmpty() && removeTables.isEmpty();
+    }
+}
@@ -0,0 +1,174 @@
+package com.firas.generator.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firas.generator.model.Table;
+import com.firas.generator.util.collections.PersistentTreeMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Immutable version of a session's schema, indexed by table name.
+ *
+ * Tables are held in a {@link PersistentTreeMap} keyed by lower-cased name (names match
+ * case-insensitively, as in {@link TableActions}), each serialized once to JSON. Looking
+ * up, adding, replacing or removing a table takes O(log n), and the new version shares
+ * every other table with the old one, so keeping the versions of past turns costs only
+ * what those turns changed. Tables keep the order in which they were first added.
+ *
+ * Every {@link Table} handed out is a fresh copy; changing it does not affect any
+ * version. Tables without a name cannot be indexed and are ignored.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class SchemaSnapshot {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final SchemaSnapshot EMPTY = new SchemaSnapshot(PersistentTreeMap.empty(), 0);
+
+    /**
+     * A table of the schema.
+     *
+     * @param position Order of the table in the schema
+     * @param json The table, serialized; never modified
+     */
+    private record Entry(long position, byte[] json) {
+    }
+
+    private final PersistentTreeMap<String, Entry> tables;
+    private final long nextPosition;
+
+    private SchemaSnapshot(PersistentTreeMap<String, Entry> tables, long nextPosition) {
+        this.tables = tables;
+        this.nextPosition = nextPosition;
+    }
+
+    /**
+     * Indexes a list of tables; of several tables with the same name, the first is kept.
+     *
+     * @param tables The schema (not modified), or null for an empty one
+     */
+    public static SchemaSnapshot of(List<Table> tables) {
+        SchemaSnapshot snapshot = EMPTY;
+        if (tables != null) {
+            for (Table table : tables) {
+                if (table != null && table.getName() != null && !snapshot.contains(table.getName())) {
+                    snapshot = snapshot.put(table);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    public boolean contains(String name) {
+        return name != null && tables.containsKey(key(name));
+    }
+
+    /**
+     * @return A copy of the named table, or null if absent
+     */
+    public Table get(String name) {
+        Entry entry = name != null ? tables.get(key(name)) : null;
+        return entry != null ? read(entry.json()) : null;
+    }
+
+    /**
+     * @return A version with the table added, or replacing the table of the same name in
+     * its position; a snapshot of the table is taken, later changes to it are not seen
+     */
+    public SchemaSnapshot put(Table table) {
+        if (table.getName() == null) {
+            return this;
+        }
+        String key = key(table.getName());
+        Entry existing = tables.get(key);
+        long position = existing != null ? existing.position() : nextPosition;
+        return new SchemaSnapshot(tables.put(key, new Entry(position, write(table))),
+                existing != null ? nextPosition : nextPosition + 1);
+    }
+
+    /**
+     * @return A version without the named table (this version if it is absent)
+     */
+    public SchemaSnapshot remove(String name) {
+        if (!contains(name)) {
+            return this;
+        }
+        return new SchemaSnapshot(tables.remove(key(name)), nextPosition);
+    }
+
+    /**
+     * @return Fresh copies of the tables, in schema order
+     */
+    public List<Table> toTables() {
+        List<Table> result = new ArrayList<>(tables.size());
+        for (Entry entry : ordered()) {
+            result.add(read(entry.json()));
+        }
+        return result;
+    }
+
+    /**
+     * @return The tables as a JSON array, in schema order, without deserializing them
+     */
+    public byte[] toJson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        boolean first = true;
+        for (Entry entry : ordered()) {
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(entry.json());
+            first = false;
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Visits the serialized form of each table. Versions sharing a table pass the same
+     * array, so callers can tell shared tables apart by identity.
+     */
+    public void forEachSerializedTable(Consumer<byte[]> action) {
+        tables.forEach((name, entry) -> action.accept(entry.json()));
+    }
+
+    private List<Entry> ordered() {
+        List<Entry> entries = tables.values();
+        entries.sort(Comparator.comparingLong(Entry::position));
+        return entries;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] write(Table table) {
+        try {
+            return MAPPER.writeValueAsBytes(table);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot snapshot table " + table.getName(), e);
+        }
+    }
+
+    private static Table read(byte[] json) {
+        try {
+            return MAPPER.readValue(json, Table.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt table snapshot", e);
+        }
+    }
+}
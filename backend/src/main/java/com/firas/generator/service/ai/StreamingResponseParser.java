@@ -0,0 +1,204 @@
+package com.firas.generator.service.ai;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firas.generator.model.AI.TableAction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental parser of a streamed JSON {@code AIGeneratedTables} response.
+ *
+ * The model's output arrives in arbitrary fragments. Each fragment is scanned once,
+ * tracking nesting and string state, so that:
+ * - characters of the top-level "explanation" string are reported as they arrive
+ *   (escape sequences decoded, even when split across fragments)
+ * - each element of the top-level "actions" array is parsed and reported as soon as
+ *   its closing brace arrives
+ *
+ * Text before the first '{' (such as a markdown fence) is ignored, and so is everything
+ * after the top-level object closes. An action that does not parse is skipped; the full
+ * text, available from {@link #getText()}, is still parsed once the stream ends.
+ *
+ * Instances are not thread-safe; use one per response.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Slf4j
+public class StreamingResponseParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final AIStreamListener listener;
+
+    /** Everything received so far */
+    private final StringBuilder text = new StringBuilder();
+
+    /** Position of the next character to scan */
+    private int scanned;
+
+    /** Nesting depth of objects and arrays; the top-level object is depth 1 */
+    private int depth;
+    private boolean started;
+    private boolean finished;
+
+    private boolean inString;
+    private boolean escaped;
+    /** Hex digits of a pending unicode escape, or null */
+    private StringBuilder unicode;
+
+    /** Whether the next top-level string is a key rather than a value */
+    private boolean expectKey;
+    private boolean readingKey;
+    private final StringBuilder key = new StringBuilder();
+    private String currentKey;
+
+    private boolean inActions;
+    private int actionStart = -1;
+
+    public StreamingResponseParser(AIStreamListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Scans a fragment of the response and reports what it completes.
+     *
+     * @param fragment The next piece of the model's output
+     */
+    public void feed(String fragment) {
+        if (fragment == null || fragment.isEmpty()) {
+            return;
+        }
+        text.append(fragment);
+        StringBuilder explanation = new StringBuilder();
+        for (; scanned < text.length() && !finished; scanned++) {
+            char c = text.charAt(scanned);
+            if (inString) {
+                scanStringChar(c, explanation);
+            } else {
+                scanStructuralChar(c);
+            }
+        }
+        if (!explanation.isEmpty()) {
+            listener.onExplanation(explanation.toString());
+        }
+    }
+
+    /**
+     * @return The complete text received so far
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    private void scanStructuralChar(char c) {
+        if (!started) {
+            if (c == '{') {
+                started = true;
+                depth = 1;
+                expectKey = true;
+            }
+            return;
+        }
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                readingKey = depth == 1 && expectKey;
+                if (readingKey) {
+                    key.setLength(0);
+                }
+            }
+            case ':' -> {
+                if (depth == 1) {
+                    expectKey = false;
+                }
+            }
+            case ',' -> {
+                if (depth == 1) {
+                    expectKey = true;
+                    currentKey = null;
+                }
+            }
+            case '{', '[' -> {
+                if (depth == 1 && c == '[' && "actions".equals(currentKey)) {
+                    inActions = true;
+                } else if (depth == 2 && c == '{' && inActions) {
+                    actionStart = scanned;
+                }
+                depth++;
+            }
+            case '}', ']' -> {
+                depth--;
+                if (depth == 2 && c == '}' && actionStart >= 0) {
+                    emitAction(text.substring(actionStart, scanned + 1));
+                    actionStart = -1;
+                } else if (depth == 1 && inActions) {
+                    inActions = false;
+                } else if (depth == 0) {
+                    finished = true;
+                }
+            }
+            default -> {
+                // Whitespace and scalar values carry no structure
+            }
+        }
+    }
+
+    private void scanStringChar(char c, StringBuilder explanation) {
+        boolean streaming = depth == 1 && !readingKey && "explanation".equals(currentKey);
+        if (unicode != null) {
+            unicode.append(c);
+            if (unicode.length() == 4) {
+                char decoded = (char) Integer.parseInt(unicode.toString(), 16);
+                unicode = null;
+                append(decoded, streaming, explanation);
+            }
+            return;
+        }
+        if (escaped) {
+            escaped = false;
+            switch (c) {
+                case 'u' -> unicode = new StringBuilder(4);
+                case 'n' -> append('\n', streaming, explanation);
+                case 't' -> append('\t', streaming, explanation);
+                case 'r' -> append('\r', streaming, explanation);
+                case 'b' -> append('\b', streaming, explanation);
+                case 'f' -> append('\f', streaming, explanation);
+                default -> append(c, streaming, explanation);
+            }
+            return;
+        }
+        if (c == '\\') {
+            escaped = true;
+        } else if (c == '"') {
+            inString = false;
+            if (readingKey) {
+                currentKey = key.toString();
+                readingKey = false;
+            }
+        } else {
+            append(c, streaming, explanation);
+        }
+    }
+
+    private void append(char c, boolean streaming, StringBuilder explanation) {
+        if (readingKey) {
+            key.append(c);
+        } else if (streaming) {
+            explanation.append(c);
+        }
+    }
+
+    private void emitAction(String json) {
+        TableAction action;
+        try {
+            action = MAPPER.readValue(json, TableAction.class);
+        } catch (Exception e) {
+            log.debug("Skipping streamed action that does not parse: {}", e.getMessage());
+            return;
+        }
+        listener.onAction(action);
+    }
+}
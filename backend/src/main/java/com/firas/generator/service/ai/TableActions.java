@@ -0,0 +1,102 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.AI.TableAction;
+import com.firas.generator.model.Table;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies the table actions of an AI response to a schema.
+ *
+ * This is the single definition of what a response does to a session's tables, shared
+ * by the session bookkeeping and by providers that track which schema their model has
+ * already seen. Actions work on a {@link SchemaSnapshot}, so each table lookup, insert
+ * or removal is O(log n) and the result shares its untouched tables with the input.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class TableActions {
+
+    private TableActions() {
+    }
+
+    /**
+     * Applies actions in order; tables are matched by name, case-insensitively.
+     *
+     * @param schema The current schema (not modified)
+     * @param actions The actions to apply; null and untyped actions are skipped
+     * @param maxTables New tables are not added once the schema holds this many
+     * @return The resulting schema
+     */
+    public static SchemaSnapshot apply(SchemaSnapshot schema, List<TableAction> actions, int maxTables) {
+        SchemaSnapshot working = schema;
+        if (actions == null) {
+            return working;
+        }
+
+        for (TableAction action : actions) {
+            if (action == null || action.getType() == null) continue;
+            String type = action.getType().toString().toLowerCase(Locale.ROOT).trim();
+
+            switch (type) {
+                case "create":
+                    if (action.getTables() != null) {
+                        for (Table t : action.getTables()) {
+                            if (t != null && !working.contains(t.getName()) && working.size() < maxTables) {
+                                working = working.put(t);
+                            }
+                        }
+                    }
+                    break;
+
+                case "edit":
+                    if (action.getTables() != null) {
+                        for (Table updated : action.getTables()) {
+                            if (updated == null) continue;
+                            if (working.contains(updated.getName())) {
+                                if (updated.getRelationships() == null) {
+                                    updated.setRelationships(working.get(updated.getName()).getRelationships());
+                                }
+                                working = working.put(updated);
+                            } else if (working.size() < maxTables) {
+                                working = working.put(updated);
+                            }
+                        }
+                    }
+                    break;
+
+                case "delete":
+                    if (action.getTableNames() != null) {
+                        for (String name : action.getTableNames()) {
+                            working = working.remove(name);
+                        }
+                    }
+                    break;
+
+                case "replace":
+                    if (action.getNewSchema() != null) {
+                        List<Table> newSchema = action.getNewSchema();
+                        working = SchemaSnapshot.of(newSchema.subList(0, Math.min(newSchema.size(), maxTables)));
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        return working;
+    }
+
+    /**
+     * Applies actions to a list of tables; see {@link #apply(SchemaSnapshot, List, int)}.
+     *
+     * @param tables The current schema (not modified)
+     * @return Fresh copies of the resulting tables
+     */
+    public static List<Table> apply(List<Table> tables, List<TableAction> actions, int maxTables) {
+        return apply(SchemaSnapshot.of(tables), actions, maxTables).toTables();
+    }
+}
@@ -0,0 +1,108 @@
+package com.firas.generator.service.ai.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared HTTP client layer of the AI providers.
+ *
+ * All providers share one JDK {@link HttpClient}, which keeps connections alive and
+ * reuses them across requests, negotiates HTTP/2 (falling back to HTTP/1.1) and bounds
+ * connection setup by the connect timeout. Each provider gets a {@link ProviderHttpClient}
+ * with its own read timeout, concurrency limit and latency histogram, so a hung
+ * upstream fails after its timeout instead of pinning a thread, and a slow provider
+ * cannot take every thread with it.
+ *
+ * Configuration (each ai.http.X can be overridden per provider as ai.http.{provider}.X,
+ * e.g. ai.http.anthropic.read-timeout-ms):
+ * - ai.http.connect-timeout-ms: TCP/TLS connection setup timeout (shared client only)
+ * - ai.http.http2: negotiate HTTP/2 (shared client only)
+ * - ai.http.read-timeout-ms: time allowed for the response to start
+ * - ai.http.max-concurrent: maximum number of calls in flight
+ * - ai.http.acquire-timeout-ms: how long a blocking call waits for a free slot
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+@Slf4j
+public class AIHttpClientFactory {
+
+    private final Environment environment;
+    private final HttpClient httpClient;
+    private final long readTimeoutMs;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+
+    private final Map<String, ProviderHttpClient> clients = new ConcurrentHashMap<>();
+
+    public AIHttpClientFactory(
+            Environment environment,
+            @Value("${ai.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${ai.http.http2:true}") boolean http2,
+            @Value("${ai.http.read-timeout-ms:120000}") long readTimeoutMs,
+            @Value("${ai.http.max-concurrent:32}") int maxConcurrent,
+            @Value("${ai.http.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.environment = environment;
+        this.readTimeoutMs = readTimeoutMs;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ai-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Returns the client of a provider, creating it with the provider's settings on first use.
+     *
+     * @param provider Provider name, e.g. "anthropic"; used as the configuration prefix
+     * @return The provider's client
+     */
+    public ProviderHttpClient forProvider(String provider) {
+        String key = provider.toLowerCase(Locale.ROOT);
+        return clients.computeIfAbsent(key, name -> {
+            long readTimeout = setting(name, "read-timeout-ms", readTimeoutMs);
+            int limit = (int) setting(name, "max-concurrent", maxConcurrent);
+            long acquireTimeout = setting(name, "acquire-timeout-ms", acquireTimeoutMs);
+            log.info("AI HTTP client for {}: read timeout {} ms, {} concurrent calls", name, readTimeout, limit);
+            return new ProviderHttpClient(name, httpClient, Duration.ofMillis(readTimeout),
+                    Math.max(1, limit), Duration.ofMillis(acquireTimeout));
+        });
+    }
+
+    /**
+     * @return Statistics of every provider client created so far
+     */
+    public List<ProviderHttpStats> getStats() {
+        return clients.values().stream()
+                .map(ProviderHttpClient::getStats)
+                .toList();
+    }
+
+    private long setting(String provider, String name, long defaultValue) {
+        return environment.getProperty("ai.http." + provider + "." + name, Long.class, defaultValue);
+    }
+}
@@ -0,0 +1,16 @@
+package com.firas.generator.service.ai.http;
+
+/**
+ * Thrown when an AI provider already has its maximum number of calls in flight and no
+ * slot frees up within the acquire timeout.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class AIProviderBusyException extends RuntimeException {
+
+    public AIProviderBusyException(String provider, int maxConcurrent) {
+        super(provider + " already has " + maxConcurrent + " requests in flight");
+    }
+}
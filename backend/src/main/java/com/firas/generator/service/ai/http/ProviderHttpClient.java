@@ -0,0 +1,163 @@
+package com.firas.generator.service.ai.http;
+
+import com.firas.generator.util.metrics.LatencyHistogram;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP access of one AI provider: a view of the shared, pooled HTTP client with the
+ * provider's own timeouts, concurrency limit and latency histogram.
+ *
+ * Calls go through either path, both of which are limited and measured:
+ * - {@link #call(Callable)} wraps a blocking {@link #restTemplate()} exchange; it waits
+ *   up to the acquire timeout for a free slot
+ * - {@link #sendAsync} sends a request without blocking the caller; it fails at once
+ *   when no slot is free
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class ProviderHttpClient {
+
+    private final String provider;
+    private final HttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final Duration readTimeout;
+    private final Duration acquireTimeout;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    ProviderHttpClient(String provider, HttpClient httpClient, Duration readTimeout,
+                       int maxConcurrent, Duration acquireTimeout) {
+        this.provider = provider;
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent);
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    /**
+     * @return A RestTemplate over the shared client, with this provider's read timeout.
+     * Use it inside {@link #call(Callable)} so calls are limited and measured.
+     */
+    public RestTemplate restTemplate() {
+        return restTemplate;
+    }
+
+    /**
+     * @return A request builder for the given URL, with this provider's read timeout
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(readTimeout);
+    }
+
+    /**
+     * Runs a blocking call once a concurrency slot is free, recording its latency and outcome.
+     *
+     * @throws AIProviderBusyException if no slot frees up within the acquire timeout
+     * @throws Exception whatever the call throws
+     */
+    public <T> T call(Callable<T> call) throws Exception {
+        acquire();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } catch (Exception e) {
+            countFailure(e);
+            throw e;
+        } finally {
+            latency.recordNanos(System.nanoTime() - start);
+            if (failed) {
+                errors.increment();
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Sends a request asynchronously, recording its latency and outcome. Responses with
+     * an error status complete normally but are counted as errors.
+     *
+     * @return The response future; failed with {@link AIProviderBusyException} if the
+     * concurrency limit is reached
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new AIProviderBusyException(provider, maxConcurrent));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = httpClient.sendAsync(request, bodyHandler);
+        } catch (RuntimeException e) {
+            permits.release();
+            errors.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((result, failure) -> {
+            latency.recordNanos(System.nanoTime() - start);
+            if (failure != null) {
+                countFailure(failure);
+                errors.increment();
+            } else if (result.statusCode() >= 400) {
+                errors.increment();
+            }
+            permits.release();
+        });
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public ProviderHttpStats getStats() {
+        LatencyHistogram.Snapshot snapshot = latency.snapshot();
+        return new ProviderHttpStats(provider, maxConcurrent, maxConcurrent - permits.availablePermits(),
+                snapshot.count(), errors.sum(), timeouts.sum(), rejected.sum(),
+                snapshot.meanMs(), snapshot.p50Ms(), snapshot.p95Ms(), snapshot.p99Ms(), snapshot.maxMs());
+    }
+
+    private void acquire() throws InterruptedException {
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            throw new AIProviderBusyException(provider, maxConcurrent);
+        }
+    }
+
+    private void countFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException || cause instanceof SocketTimeoutException) {
+                timeouts.increment();
+                return;
+            }
+        }
+    }
+}
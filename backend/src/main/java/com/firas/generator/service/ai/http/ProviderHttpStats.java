@@ -0,0 +1,37 @@
+package com.firas.generator.service.ai.http;
+
+/**
+ * Point-in-time statistics of an AI provider's HTTP client.
+ *
+ * @param provider Provider name
+ * @param maxConcurrent Configured limit of concurrent calls
+ * @param inFlight Calls currently running
+ * @param calls Completed calls, successful or not
+ * @param errors Calls that failed (including timeouts and HTTP error statuses)
+ * @param timeouts Calls that failed with a connect or read timeout
+ * @param rejected Calls refused because the concurrency limit was reached
+ * @param meanMs Mean call latency
+ * @param p50Ms Median call latency
+ * @param p95Ms 95th percentile call latency
+ * @param p99Ms 99th percentile call latency
+ * @param maxMs Largest call latency
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record ProviderHttpStats(
+        String provider,
+        int maxConcurrent,
+        int inFlight,
+        long calls,
+        long errors,
+        long timeouts,
+        long rejected,
+        double meanMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs
+) {
+}
@@ -5,6 +5,11 @@ import com.firas.generator.model.*;
 import com.firas.generator.model.AI.AIGeneratedTables;
 import com.firas.generator.model.AI.AIGeneratedTablesRequest;
 import com.firas.generator.service.ai.AIProvider;
+import com.firas.generator.service.ai.AIStreamListener;
+import com.firas.generator.service.ai.StreamingResponseParser;
+import com.firas.generator.service.ai.http.AIHttpClientFactory;
+import com.firas.generator.service.ai.http.ProviderHttpClient;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -12,13 +17,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Component
 @ConditionalOnProperty(name = "ai.anthropic.enabled", havingValue = "true")
 public class AnthropicProvider implements AIProvider {
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final ProviderHttpClient http;
+    private final RestTemplate restTemplate;
 
     @Value("${ai.anthropic.api-key:}")
     private String apiKey;
@@ -29,6 +41,11 @@ public class AnthropicProvider implements AIProvider {
     @Value("${ai.anthropic.api-url:https://api.anthropic.com/v1/messages}")
     private String apiUrl;
 
+    public AnthropicProvider(AIHttpClientFactory httpClients) {
+        this.http = httpClients.forProvider("anthropic");
+        this.restTemplate = http.restTemplate();
+    }
+
     @Override
     public AIGeneratedTables generateTables(AIGeneratedTablesRequest request) {
         String prompt = Optional.ofNullable(request.getPrompt()).orElse("");
@@ -41,46 +58,113 @@ public class AnthropicProvider implements AIProvider {
         }
 
         try {
-            String systemPrompt = buildSystemPrompt();
-            String userPrompt = buildUserPrompt(prompt, currentTables);
-
-            // Build Anthropic request
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("max_tokens", 4096);
-            requestBody.put("system", systemPrompt);
-            requestBody.put("messages", Arrays.asList(
-                    Map.of("role", "user", "content", userPrompt)
-            ));
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(buildRequestBody(prompt, currentTables), buildHeaders());
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("x-api-key", apiKey);
-            headers.set("anthropic-version", "2023-06-01");
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<Map> response = http.call(() -> restTemplate.exchange(
                     apiUrl,
                     HttpMethod.POST,
                     entity,
                     Map.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                List<Map<String, Object>> content = (List<Map<String, Object>>) body.get("content");
-                if (content != null && !content.isEmpty()) {
-                    String text = (String) content.get(0).get("text");
-                    return parseAIResponse(text, sessionId);
-                }
-            }
+            ));
+
+            return toResult(response.getStatusCode() == HttpStatus.OK ? response.getBody() : null, sessionId);
+
+        } catch (Exception e) {
+            return AIGeneratedTables.failure(sessionId,
+                    "Error calling Anthropic API: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the request without blocking the calling thread; the response is parsed on
+     * the HTTP client's threads once it arrives.
+     */
+    @Override
+    public CompletableFuture<AIGeneratedTables> generateTablesAsync(AIGeneratedTablesRequest request, Executor executor) {
+        String prompt = Optional.ofNullable(request.getPrompt()).orElse("");
+        List<Table> currentTables = request.getCurrentTables() != null ?
+                new ArrayList<>(request.getCurrentTables()) : new ArrayList<>();
+        String sessionId = request.getSessionId() != null ? request.getSessionId()
+                : "session-" + UUID.randomUUID().toString().substring(0, 8);
+
+        HttpRequest httpRequest;
+        try {
+            HttpRequest.Builder builder = http.newRequest(URI.create(apiUrl))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(buildRequestBody(prompt, currentTables))));
+            buildHeaders().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+            httpRequest = builder.build();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(AIGeneratedTables.failure(sessionId,
+                    "Error calling Anthropic API: " + e.getMessage()));
+        }
+
+        return http.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        return AIGeneratedTables.failure(sessionId,
+                                "Error calling Anthropic API: HTTP " + response.statusCode());
+                    }
+                    try {
+                        return toResult(objectMapper.readValue(response.body(), Map.class), sessionId);
+                    } catch (IOException e) {
+                        return AIGeneratedTables.failure(sessionId,
+                                "Anthropic API returned no valid response");
+                    }
+                })
+                .exceptionally(e -> AIGeneratedTables.failure(sessionId,
+                        "Error calling Anthropic API: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage())));
+    }
+
+    /**
+     * Streams the completion through the Messages API's server-sent events, feeding each
+     * text delta to an incremental parser that reports the explanation and every table
+     * action as soon as it is complete.
+     */
+    @Override
+    public AIGeneratedTables streamTables(AIGeneratedTablesRequest request, AIStreamListener listener) {
+        String prompt = Optional.ofNullable(request.getPrompt()).orElse("");
+        List<Table> currentTables = request.getCurrentTables() != null ?
+                new ArrayList<>(request.getCurrentTables()) : new ArrayList<>();
+        String sessionId = request.getSessionId();
+
+        if (sessionId == null) {
+            sessionId = "session-" + UUID.randomUUID().toString().substring(0, 8);
+        }
 
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
-                    "Anthropic API returned no valid response");
+        try {
+            Map<String, Object> requestBody = buildRequestBody(prompt, currentTables);
+            requestBody.put("stream", true);
+            HttpHeaders headers = buildHeaders();
+            headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+
+            StreamingResponseParser parser = new StreamingResponseParser(listener);
+            http.call(() -> restTemplate.execute(apiUrl, HttpMethod.POST, httpRequest -> {
+                httpRequest.getHeaders().putAll(headers);
+                objectMapper.writeValue(httpRequest.getBody(), requestBody);
+            }, response -> {
+                ServerSentEventReader.read(response.getBody(), (event, data) -> {
+                    JsonNode node = objectMapper.readTree(data);
+                    String type = node.path("type").asText();
+                    if ("content_block_delta".equals(type)) {
+                        parser.feed(node.path("delta").path("text").asText(""));
+                    } else if ("error".equals(type)) {
+                        throw new IOException(node.path("error").path("message").asText("stream error"));
+                    }
+                    return !"message_stop".equals(type);
+                });
+                return null;
+            }));
+
+            String text = parser.getText();
+            if (text.isBlank()) {
+                return AIGeneratedTables.failure(sessionId,
+                        "Anthropic API returned no valid response");
+            }
+            return parseAIResponse(text, sessionId);
 
         } catch (Exception e) {
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
+            return AIGeneratedTables.failure(sessionId,
                     "Error calling Anthropic API: " + e.getMessage());
         }
     }
@@ -90,11 +174,47 @@ public class AnthropicProvider implements AIProvider {
         return "ANTHROPIC";
     }
 
+    @Override
+    public String getModelName() {
+        return model;
+    }
+
     @Override
     public boolean isAvailable() {
         return apiKey != null && !apiKey.trim().isEmpty();
     }
 
+    private AIGeneratedTables toResult(Map<String, Object> body, String sessionId) {
+        if (body != null) {
+            List<Map<String, Object>> content = (List<Map<String, Object>>) body.get("content");
+            if (content != null && !content.isEmpty()) {
+                String text = (String) content.get(0).get("text");
+                return parseAIResponse(text, sessionId);
+            }
+        }
+        return AIGeneratedTables.failure(sessionId,
+                "Anthropic API returned no valid response");
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt, List<Table> currentTables) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("max_tokens", 4096);
+        requestBody.put("system", buildSystemPrompt());
+        requestBody.put("messages", Arrays.asList(
+                Map.of("role", "user", "content", buildUserPrompt(prompt, currentTables))
+        ));
+        return requestBody;
+    }
+
+    private HttpHeaders buildHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-api-key", apiKey);
+        headers.set("anthropic-version", "2023-06-01");
+        return headers;
+    }
+
     private String buildSystemPrompt() {
         return "You are an SQL schema assistant that outputs ONLY valid JSON matching the AIGeneratedTables structure. "
                 + "Return a JSON object with: sessionId (string), actions (array), explanation (string). "
@@ -126,7 +246,7 @@ public class AnthropicProvider implements AIProvider {
             } catch (Exception ex) {
                 // Fallback
             }
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
+            return AIGeneratedTables.failure(sessionId,
                     "Failed to parse Anthropic response: " + content);
         }
     }
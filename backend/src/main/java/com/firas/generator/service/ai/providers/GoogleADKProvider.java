@@ -6,6 +6,12 @@ import com.firas.generator.model.AI.AIGeneratedTables;
 import com.firas.generator.model.AI.AIGeneratedTablesRequest;
 import com.firas.generator.model.AI.TableAction;
 import com.firas.generator.service.ai.AIProvider;
+import com.firas.generator.service.ai.PromptMetrics;
+import com.firas.generator.service.ai.SchemaDelta;
+import com.firas.generator.service.ai.TableActions;
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
 import com.google.adk.agents.BaseAgent;
 import com.google.adk.agents.LlmAgent;
 import com.google.adk.events.Event;
@@ -16,22 +22,102 @@ import com.google.genai.types.Part;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.toonformat.jtoon.JToon;
 import io.reactivex.rxjava3.core.Flowable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * AI provider backed by a Google ADK agent.
+ *
+ * One runner is shared by all requests, and each of our sessions is mapped to an ADK
+ * session, so follow-up prompts continue the same conversation. The provider remembers
+ * the schema the model holds after each turn (the schema it was sent with its actions
+ * applied), as a fingerprint per table. A follow-up turn then sends only what differs
+ * from it: nothing when the request carries that same schema, otherwise the added or
+ * changed tables and the names of the removed ones (a {@link SchemaDelta}). The full
+ * schema is still sent on a conversation's first turn, when the held schema is unknown,
+ * and whenever the delta would not be smaller. Prompt sizes and turn latencies of each
+ * mode are recorded in {@link PromptMetrics}. Conversations idle for longer than the
+ * configured time, or beyond the configured count, are evicted together with their ADK
+ * session; the next prompt then starts a new conversation with the full schema.
+ *
+ * Configuration:
+ * - ai.google-adk.max-sessions: maximum number of live conversations
+ * - ai.google-adk.session-idle-seconds: inactivity after which a conversation is dropped
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
 @Component
-public class GoogleADKProvider implements AIProvider {
+@Slf4j
+public class GoogleADKProvider implements AIProvider, ManagedCache {
     private static final String USER_ID = "student";
     private static final String NAME = "sql_table_assistent";
+    private static final String MODEL = "gemini-2.5-flash";
 
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final BaseAgent rootAgent;
+    private final InMemoryRunner runner;
 
-    public GoogleADKProvider() {
+    /** Our session id -> the ADK conversation continuing it */
+    private final BoundedCache<String, Conversation> conversations;
+    private final ScheduledExecutorService sweeper;
+    private final PromptMetrics promptMetrics;
+
+    /** Table limit of a session, so the expected schema matches the session's */
+    private final int maxTables;
+
+    /**
+     * An ADK session and the schema its model currently holds.
+     *
+     * @param adkSessionId The ADK session id
+     * @param tableFingerprints Fingerprints of the expected schema's tables
+     *                          ({@link SchemaDelta#fingerprints}), or null if unknown
+     *                          (the next turn then sends the full schema)
+     */
+    private record Conversation(String adkSessionId, Map<String, String> tableFingerprints) {
+    }
+
+    public GoogleADKProvider(
+            PromptMetrics promptMetrics,
+            @Value("${ai.google-adk.max-sessions:256}") int maxSessions,
+            @Value("${ai.google-adk.session-idle-seconds:3600}") long sessionIdleSeconds,
+            @Value("${ai.sessions.max-tables:500}") int maxTables) {
+        this.promptMetrics = promptMetrics;
+        this.maxTables = maxTables;
         this.rootAgent = initAgent();
+        this.runner = new InMemoryRunner(rootAgent);
+        this.conversations = BoundedCache.<String, Conversation>builder("google-adk-sessions")
+                .maximumSize(maxSessions)
+                .expireAfterAccess(Duration.ofSeconds(sessionIdleSeconds))
+                .removalListener((sessionId, conversation) -> deleteAdkSession(conversation))
+                .build();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "google-adk-session-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper.scheduleWithFixedDelay(conversations::cleanUp, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
     }
 
     private BaseAgent initAgent() {
@@ -39,7 +125,7 @@ public class GoogleADKProvider implements AIProvider {
 
         return LlmAgent.builder()
                 .name(NAME)
-                .model("gemini-2.5-flash")
+                .model(MODEL)
                 .description("Agent to assist on SQL schema generation and modification.")
                 .instruction(instruction)
                 .build();
@@ -56,32 +142,77 @@ public class GoogleADKProvider implements AIProvider {
             sessionId = "session-" + UUID.randomUUID().toString().substring(0, 8);
         }
 
-        String payload = buildPayload(prompt, currentTables);
+        Conversation conversation;
+        String adkSessionId;
+        // Looked up and registered atomically, so concurrent first turns share one ADK session
+        synchronized (conversations) {
+            conversation = conversations.get(sessionId);
+            try {
+                adkSessionId = conversation != null ? conversation.adkSessionId()
+                        : runner.sessionService().createSession(NAME, USER_ID).blockingGet().id();
+            } catch (Exception e) {
+                return AIGeneratedTables.failure(sessionId,
+                        "Error creating Google ADK session: " + e.getMessage());
+            }
+            // Until the turn succeeds, the schema the model holds is unknown
+            conversations.put(sessionId, new Conversation(adkSessionId, null));
+        }
 
-        InMemoryRunner runner = new InMemoryRunner(rootAgent);
-        Session session = runner.sessionService().createSession(NAME, USER_ID).blockingGet();
+        SchemaDelta delta = conversation != null
+                ? SchemaDelta.between(conversation.tableFingerprints(), currentTables)
+                : null;
+        String fullPayload = buildPayload(prompt, "currentSchema", toMaps(currentTables));
+        String payload = fullPayload;
+        PromptMetrics.Mode mode = PromptMetrics.Mode.FULL;
+        if (delta != null && delta.isEmpty()) {
+            payload = buildPayload(prompt, "schemaUnchanged", true);
+            mode = PromptMetrics.Mode.UNCHANGED;
+        } else if (delta != null) {
+            String deltaPayload = buildPayload(prompt, "schemaChanges", Map.of(
+                    "upsertTables", toMaps(delta.upsertTables()),
+                    "removeTables", delta.removeTables()));
+            if (deltaPayload.length() < fullPayload.length()) {
+                payload = deltaPayload;
+                mode = PromptMetrics.Mode.DELTA;
+            }
+        }
         Content userMsg = Content.fromParts(Part.fromText(payload));
+        log.debug("Google ADK turn for {} ({} session, {} schema, {} of {} chars)", sessionId,
+                conversation != null ? "continued" : "new", mode, payload.length(), fullPayload.length());
 
         AtomicReference<String> finalAssistantText = new AtomicReference<>("");
+        long start = System.nanoTime();
         try {
-            Flowable<Event> events = runner.runAsync(USER_ID, session.id(), userMsg);
+            Flowable<Event> events = runner.runAsync(USER_ID, adkSessionId, userMsg);
             events.blockingForEach(event -> {
                 if (event.finalResponse()) {
                     finalAssistantText.set(event.stringifyContent());
                 }
             });
         } catch (Exception e) {
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
+            return AIGeneratedTables.failure(sessionId,
                     "Error running Google ADK agent: " + e.getMessage());
         }
 
         String assistantOutput = finalAssistantText.get();
         if (assistantOutput == null || assistantOutput.trim().isEmpty()) {
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
+            return AIGeneratedTables.failure(sessionId,
                     "AI produced no output.");
         }
 
-        return parseAIResponse(assistantOutput, sessionId);
+        AIGeneratedTables result;
+        try {
+            result = parseAIResponse(assistantOutput, sessionId);
+        } catch (Exception e) {
+            // If TOON parsing fails, return an error result
+            return AIGeneratedTables.failure(sessionId,
+                    "Failed to parse AI TOON response. Raw output:\n" + assistantOutput + "\nParse error: " + e.getMessage());
+        }
+
+        promptMetrics.record(getProviderName(), mode, payload.length(), fullPayload.length(), System.nanoTime() - start);
+        List<Table> expected = TableActions.apply(currentTables, result.getActions(), maxTables);
+        conversations.put(sessionId, new Conversation(adkSessionId, SchemaDelta.fingerprints(expected)));
+        return result;
     }
 
     @Override
@@ -89,14 +220,49 @@ public class GoogleADKProvider implements AIProvider {
         return "GOOGLE_ADK";
     }
 
+    @Override
+    public String getModelName() {
+        return MODEL;
+    }
+
     @Override
     public boolean isAvailable() {
         return rootAgent != null;
     }
 
+    @Override
+    public String getName() {
+        return conversations.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return conversations.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        conversations.invalidateAll();
+        log.info("Google ADK sessions flushed");
+    }
+
+    private void deleteAdkSession(Conversation conversation) {
+        try {
+            runner.sessionService().deleteSession(NAME, USER_ID, conversation.adkSessionId()).blockingAwait();
+        } catch (Exception e) {
+            log.debug("Cannot delete Google ADK session {}: {}", conversation.adkSessionId(), e.getMessage());
+        }
+    }
+
     private String buildInstruction() {
         return "You are an SQL schema assistant that outputs ONLY valid TOON format matching the AIGeneratedTables structure.\n"
                 + "INPUT: A user prompt and currentTables (array of Table objects) serialized in TOON.\n"
+                + "On follow-up turns the input may instead contain no currentSchema but either:\n"
+                + "- schemaUnchanged: true. The current schema is then the schema of your previous turn "
+                + "with your previous actions applied.\n"
+                + "- schemaChanges with upsertTables (tables to add, or to replace entirely by name) and removeTables "
+                + "(table names to drop; names match case-insensitively). The current schema is then the schema of "
+                + "your previous turn with your previous actions applied, then these changes applied.\n"
                 + "OUTPUT: A TOON object with EXACTLY these three fields:\n"
                 + "1. sessionId: optional string (can be empty or null)\n"
                 + "2. actions: array of TableAction objects\n"
@@ -267,17 +433,17 @@ public class GoogleADKProvider implements AIProvider {
                 + "explanation: \"Added product categories, payment, reviews, cart, and address tables. Removed the sessions table. Introduced coupons with a many-to-many relation to users using a join table. Reordered and updated the orders table by adding shipping address and order date.\"\n";
     }
 
-    private String buildPayload(String prompt, List<Table> currentTables) {
+    /**
+     * Encodes a turn's input as TOON.
+     *
+     * @param schemaKey How the schema is given: "currentSchema", "schemaChanges" or "schemaUnchanged"
+     * @param schema The value of that key
+     */
+    private String buildPayload(String prompt, String schemaKey, Object schema) {
         try {
-            Map<String, Object> inputMap = new HashMap<>();
+            Map<String, Object> inputMap = new LinkedHashMap<>();
             inputMap.put("userRequest", prompt);
-
-            // Convert List<Table> -> List<Map<String, Object>> using Jackson
-            List<Map<String, Object>> currentTablesMap = objectMapper.convertValue(
-                    currentTables,
-                    new TypeReference<>() {}
-            );
-            inputMap.put("currentSchema", currentTablesMap);
+            inputMap.put(schemaKey, schema);
 
             // Encode Map -> Toon string
             return JToon.encode(inputMap);
@@ -287,29 +453,29 @@ public class GoogleADKProvider implements AIProvider {
         }
     }
 
+    /**
+     * Converts tables to the generic structure JToon encodes.
+     */
+    private List<Map<String, Object>> toMaps(List<Table> tables) {
+        // Convert List<Table> -> List<Map<String, Object>> using Jackson
+        return objectMapper.convertValue(tables, new TypeReference<>() {});
+    }
+
+    /**
+     * Decodes the model's TOON output. The result always carries our session id, which
+     * keys the ADK conversation; the model never sees it, so any id it returns is ignored.
+     */
     private AIGeneratedTables parseAIResponse(String assistantOutput, String sessionId) {
-        try {
-            // Decode Toon string -> Map/List structure
-            Object decodedStructure = JToon.decode(assistantOutput);
-
-            // Convert Map/List structure -> POJO using Jackson
-            AIGeneratedTables aiResult = objectMapper.convertValue(
-                    decodedStructure,
-                    AIGeneratedTables.class
-            );
-
-            // Post-processing and fallback logic
-            if (aiResult.getSessionId() != null && !aiResult.getSessionId().trim().isEmpty()) {
-                sessionId = aiResult.getSessionId();
-            }
+        // Decode Toon string -> Map/List structure
+        Object decodedStructure = JToon.decode(assistantOutput);
 
-            List<TableAction> actions = aiResult.getActions() != null ? aiResult.getActions() : new ArrayList<>();
-            return new AIGeneratedTables(sessionId, actions, aiResult.getExplanation());
+        // Convert Map/List structure -> POJO using Jackson
+        AIGeneratedTables aiResult = objectMapper.convertValue(
+                decodedStructure,
+                AIGeneratedTables.class
+        );
 
-        } catch (Exception e) {
-            // If TOON parsing fails, return an error result
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
-                    "Failed to parse AI TOON response. Raw output:\n" + assistantOutput + "\nParse error: " + e.getMessage());
-        }
+        List<TableAction> actions = aiResult.getActions() != null ? aiResult.getActions() : new ArrayList<>();
+        return new AIGeneratedTables(sessionId, actions, aiResult.getExplanation());
     }
-}
\ No newline at end of file
+}
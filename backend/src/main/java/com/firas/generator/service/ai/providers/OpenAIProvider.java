@@ -4,6 +4,11 @@ import com.firas.generator.model.*;
 import com.firas.generator.model.AI.AIGeneratedTables;
 import com.firas.generator.model.AI.AIGeneratedTablesRequest;
 import com.firas.generator.service.ai.AIProvider;
+import com.firas.generator.service.ai.AIStreamListener;
+import com.firas.generator.service.ai.StreamingResponseParser;
+import com.firas.generator.service.ai.http.AIHttpClientFactory;
+import com.firas.generator.service.ai.http.ProviderHttpClient;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -11,12 +16,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Component
 public class OpenAIProvider implements AIProvider {
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final ProviderHttpClient http;
+    private final RestTemplate restTemplate;
 
     @Value("${ai.openai.api-key:}")
     private String apiKey;
@@ -27,6 +39,11 @@ public class OpenAIProvider implements AIProvider {
     @Value("${ai.openai.api-url:https://api.openai.com/v1/chat/completions}")
     private String apiUrl;
 
+    public OpenAIProvider(AIHttpClientFactory httpClients) {
+        this.http = httpClients.forProvider("openai");
+        this.restTemplate = http.restTemplate();
+    }
+
     @Override
     public AIGeneratedTables generateTables(AIGeneratedTablesRequest request) {
         String prompt = Optional.ofNullable(request.getPrompt()).orElse("");
@@ -39,47 +56,117 @@ public class OpenAIProvider implements AIProvider {
         }
 
         try {
-            String systemPrompt = buildSystemPrompt();
-            String userPrompt = buildUserPrompt(prompt, currentTables);
-
-            // Build OpenAI request
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("messages", Arrays.asList(
-                    Map.of("role", "system", "content", systemPrompt),
-                    Map.of("role", "user", "content", userPrompt)
-            ));
-            requestBody.put("temperature", 0.7);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(buildRequestBody(prompt, currentTables), buildHeaders());
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<Map> response = http.call(() -> restTemplate.exchange(
                     apiUrl,
                     HttpMethod.POST,
                     entity,
                     Map.class
-            );
+            ));
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
-                if (choices != null && !choices.isEmpty()) {
-                    Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                    String content = (String) message.get("content");
+            return toResult(response.getStatusCode() == HttpStatus.OK ? response.getBody() : null, sessionId);
 
-                    return parseAIResponse(content, sessionId);
-                }
-            }
+        } catch (Exception e) {
+            return AIGeneratedTables.failure(sessionId,
+                    "Error calling OpenAI API: " + e.getMessage());
+        }
+    }
 
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
-                    "OpenAI API returned no valid response");
+    /**
+     * Sends the request without blocking the calling thread; the response is parsed on
+     * the HTTP client's threads once it arrives.
+     */
+    @Override
+    public CompletableFuture<AIGeneratedTables> generateTablesAsync(AIGeneratedTablesRequest request, Executor executor) {
+        String prompt = Optional.ofNullable(request.getPrompt()).orElse("");
+        List<Table> currentTables = request.getCurrentTables() != null ?
+                new ArrayList<>(request.getCurrentTables()) : new ArrayList<>();
+        String sessionId = request.getSessionId() != null ? request.getSessionId()
+                : "session-" + UUID.randomUUID().toString().substring(0, 8);
 
+        HttpRequest httpRequest;
+        try {
+            HttpRequest.Builder builder = http.newRequest(URI.create(apiUrl))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(buildRequestBody(prompt, currentTables))));
+            buildHeaders().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+            httpRequest = builder.build();
         } catch (Exception e) {
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
+            return CompletableFuture.completedFuture(AIGeneratedTables.failure(sessionId,
+                    "Error calling OpenAI API: " + e.getMessage()));
+        }
+
+        return http.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        return AIGeneratedTables.failure(sessionId,
+                                "Error calling OpenAI API: HTTP " + response.statusCode());
+                    }
+                    try {
+                        return toResult(objectMapper.readValue(response.body(), Map.class), sessionId);
+                    } catch (IOException e) {
+                        return AIGeneratedTables.failure(sessionId,
+                                "OpenAI API returned no valid response");
+                    }
+                })
+                .exceptionally(e -> AIGeneratedTables.failure(sessionId,
+                        "Error calling OpenAI API: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage())));
+    }
+
+    /**
+     * Streams the completion through the Chat Completions API's server-sent events,
+     * feeding each content delta to an incremental parser that reports the explanation
+     * and every table action as soon as it is complete.
+     */
+    @Override
+    public AIGeneratedTables streamTables(AIGeneratedTablesRequest request, AIStreamListener listener) {
+        String prompt = Optional.ofNullable(request.getPrompt()).orElse("");
+        List<Table> currentTables = request.getCurrentTables() != null ?
+                new ArrayList<>(request.getCurrentTables()) : new ArrayList<>();
+        String sessionId = request.getSessionId();
+
+        if (sessionId == null) {
+            sessionId = "session-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        try {
+            Map<String, Object> requestBody = buildRequestBody(prompt, currentTables);
+            requestBody.put("stream", true);
+            HttpHeaders headers = buildHeaders();
+            headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+
+            StreamingResponseParser parser = new StreamingResponseParser(listener);
+            http.call(() -> restTemplate.execute(apiUrl, HttpMethod.POST, httpRequest -> {
+                httpRequest.getHeaders().putAll(headers);
+                objectMapper.writeValue(httpRequest.getBody(), requestBody);
+            }, response -> {
+                ServerSentEventReader.read(response.getBody(), (event, data) -> {
+                    if ("[DONE]".equals(data)) {
+                        return false;
+                    }
+                    JsonNode node = objectMapper.readTree(data);
+                    if (node.has("error")) {
+                        throw new IOException(node.path("error").path("message").asText("stream error"));
+                    }
+                    JsonNode choices = node.path("choices");
+                    if (!choices.isEmpty()) {
+                        parser.feed(choices.get(0).path("delta").path("content").asText(""));
+                    }
+                    return true;
+                });
+                return null;
+            }));
+
+            String text = parser.getText();
+            if (text.isBlank()) {
+                return AIGeneratedTables.failure(sessionId,
+                        "OpenAI API returned no valid response");
+            }
+            return parseAIResponse(text, sessionId);
+
+        } catch (Exception e) {
+            return AIGeneratedTables.failure(sessionId,
                     "Error calling OpenAI API: " + e.getMessage());
         }
     }
@@ -89,11 +176,48 @@ public class OpenAIProvider implements AIProvider {
         return "OPENAI";
     }
 
+    @Override
+    public String getModelName() {
+        return model;
+    }
+
     @Override
     public boolean isAvailable() {
         return apiKey != null && !apiKey.trim().isEmpty();
     }
 
+    private AIGeneratedTables toResult(Map<String, Object> body, String sessionId) {
+        if (body != null) {
+            List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
+            if (choices != null && !choices.isEmpty()) {
+                Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+                String content = (String) message.get("content");
+
+                return parseAIResponse(content, sessionId);
+            }
+        }
+        return AIGeneratedTables.failure(sessionId,
+                "OpenAI API returned no valid response");
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt, List<Table> currentTables) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", Arrays.asList(
+                Map.of("role", "system", "content", buildSystemPrompt()),
+                Map.of("role", "user", "content", buildUserPrompt(prompt, currentTables))
+        ));
+        requestBody.put("temperature", 0.7);
+        return requestBody;
+    }
+
+    private HttpHeaders buildHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+        return headers;
+    }
+
     private String buildSystemPrompt() {
         return "You are an SQL schema assistant that outputs ONLY valid JSON matching the AIGeneratedTables structure. "
                 + "Return a JSON object with: sessionId (string), actions (array), explanation (string). "
@@ -126,7 +250,7 @@ public class OpenAIProvider implements AIProvider {
             } catch (Exception ex) {
                 // Fallback
             }
-            return new AIGeneratedTables(sessionId, Collections.emptyList(),
+            return AIGeneratedTables.failure(sessionId,
                     "Failed to parse OpenAI response: " + content);
         }
     }
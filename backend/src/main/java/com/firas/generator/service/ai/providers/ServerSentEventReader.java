@@ -0,0 +1,75 @@
+package com.firas.generator.service.ai.providers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal reader of a text/event-stream response body, as returned by the streaming
+ * APIs of the AI providers.
+ *
+ * Lines are read as they arrive; an event is dispatched at each blank line with its
+ * "event" name (null if absent) and its "data" lines joined by '\n'. Comments, ids and
+ * retry hints are ignored.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+final class ServerSentEventReader {
+
+    /**
+     * Receives the events of a stream.
+     */
+    @FunctionalInterface
+    interface Handler {
+        /**
+         * @param event The event name, or null for unnamed events
+         * @param data The event data
+         * @return false to stop reading the stream
+         */
+        boolean onEvent(String event, String data) throws IOException;
+    }
+
+    private ServerSentEventReader() {
+    }
+
+    /**
+     * Reads events until the stream ends or the handler stops it.
+     */
+    static void read(InputStream body, Handler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = null;
+        StringBuilder data = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data != null && !handler.onEvent(event, data.toString())) {
+                    return;
+                }
+                event = null;
+                data = null;
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            if (field.equals("event")) {
+                event = value;
+            } else if (field.equals("data")) {
+                data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+            }
+        }
+        if (data != null) {
+            handler.onEvent(event, data.toString());
+        }
+    }
+}
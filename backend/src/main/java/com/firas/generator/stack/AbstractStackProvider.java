@@ -3,11 +3,8 @@ package com.firas.generator.stack;
 import com.firas.generator.model.FilePreview;
 import com.firas.generator.model.ProjectRequest;
 import com.firas.generator.service.TemplateService;
-import com.firas.generator.util.ZipUtils;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.*;
 import java.util.*;
 
 /**
@@ -18,7 +15,7 @@ import java.util.*;
  * 
  * Common functionality includes:
  * - Project structure creation workflow
- * - ZIP file generation
+ * - ZIP file generation (in-memory, via StackProvider#generateProjectZip)
  * - Type mapping application
  * - File preview reading
  * 
@@ -35,11 +32,9 @@ import java.util.*;
 public abstract class AbstractStackProvider implements StackProvider {
     
     protected final TemplateService templateService;
-    protected final ZipUtils zipUtils;
     
-    protected AbstractStackProvider(TemplateService templateService, ZipUtils zipUtils) {
+    protected AbstractStackProvider(TemplateService templateService) {
         this.templateService = templateService;
-        this.zipUtils = zipUtils;
     }
     
     // ==================== Template Method ====================
@@ -81,16 +76,6 @@ public abstract class AbstractStackProvider implements StackProvider {
         return files;
     }
     
-    /**
-     * Generates project as a ZIP file.
-     * Uses generateProject() and packages the results.
-     */
-    @Override
-    public byte[] generateProjectZip(ProjectRequest request) throws IOException {
-        List<FilePreview> files = generateProject(request);
-        return createZipFromFiles(files, getProjectName(request));
-    }
-    
     // ==================== Abstract Methods ====================
     
     /**
@@ -128,51 +113,11 @@ public abstract class AbstractStackProvider implements StackProvider {
     
     // ==================== Helper Methods ====================
     
-    /**
-     * Creates a ZIP file from the list of file previews.
-     */
-    protected byte[] createZipFromFiles(List<FilePreview> files, String projectName) throws IOException {
-        Path tempDir = Files.createTempDirectory("gen_" + projectName);
-        Path projectDir = tempDir.resolve(projectName);
-        Files.createDirectories(projectDir);
-        
-        try {
-            // Write all files to temp directory
-            for (FilePreview file : files) {
-                Path filePath = projectDir.resolve(file.getPath());
-                Files.createDirectories(filePath.getParent());
-                Files.writeString(filePath, file.getContent(), StandardCharsets.UTF_8);
-            }
-            
-            // Create ZIP
-            return zipUtils.zipDirectory(projectDir.toFile());
-        } finally {
-            // Cleanup temp directory
-            deleteDirectory(tempDir);
-        }
-    }
-    
-    /**
-     * Recursively deletes a directory.
-     */
-    protected void deleteDirectory(Path dir) throws IOException {
-        if (Files.exists(dir)) {
-            Files.walk(dir)
-                .sorted(Comparator.reverseOrder())
-                .forEach(path -> {
-                    try {
-                        Files.delete(path);
-                    } catch (IOException e) {
-                        // Ignore cleanup errors
-                    }
-                });
-        }
-    }
-    
     /**
      * Gets the project name from the request.
      */
-    protected String getProjectName(ProjectRequest request) {
+    @Override
+    public String getProjectName(ProjectRequest request) {
         if (request.getArtifactId() != null && !request.getArtifactId().isEmpty()) {
             return request.getArtifactId();
         }
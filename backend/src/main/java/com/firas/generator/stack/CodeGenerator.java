@@ -17,6 +17,9 @@ import java.util.List;
  * This abstraction enables the Template Method pattern in AbstractStackProvider,
  * where the generation workflow is fixed but individual file generation is delegated.
  * 
+ * Implementations must be stateless with respect to requests: all per-request
+ * configuration arrives through the {@link GenerationContext} argument.
+ * 
  * @author Firas Baklouti
  * @version 1.0
  * @since 2025-12-07
@@ -33,9 +36,10 @@ public interface CodeGenerator {
      * 
      * @param table The table metadata
      * @param packageName The base package/module name
+     * @param context The per-request generation context
      * @return FilePreview containing the generated file
      */
-    FilePreview generateEntity(Table table, String packageName);
+    FilePreview generateEntity(Table table, String packageName, GenerationContext context);
     
     /**
      * Generates a repository/data access class for the given table.
@@ -47,18 +51,20 @@ public interface CodeGenerator {
      * 
      * @param table The table metadata
      * @param packageName The base package/module name
+     * @param context The per-request generation context
      * @return FilePreview containing the generated file
      */
-    FilePreview generateRepository(Table table, String packageName);
+    FilePreview generateRepository(Table table, String packageName, GenerationContext context);
     
     /**
      * Generates a service/business logic class for the given table.
      * 
      * @param table The table metadata
      * @param packageName The base package/module name
+     * @param context The per-request generation context
      * @return FilePreview containing the generated file
      */
-    FilePreview generateService(Table table, String packageName);
+    FilePreview generateService(Table table, String packageName, GenerationContext context);
     
     /**
      * Generates a controller/router for the given table.
@@ -70,27 +76,30 @@ public interface CodeGenerator {
      * 
      * @param table The table metadata
      * @param packageName The base package/module name
+     * @param context The per-request generation context
      * @return FilePreview containing the generated file
      */
-    FilePreview generateController(Table table, String packageName);
+    FilePreview generateController(Table table, String packageName, GenerationContext context);
     
     /**
      * Generates a DTO (Data Transfer Object) class for the given table.
      * 
      * @param table The table metadata
      * @param packageName The base package/module name
+     * @param context The per-request generation context
      * @return FilePreview containing the generated file
      */
-    FilePreview generateDto(Table table, String packageName);
+    FilePreview generateDto(Table table, String packageName, GenerationContext context);
     
     /**
      * Generates a mapper class for entity-DTO conversion.
      * 
      * @param table The table metadata
      * @param packageName The base package/module name
+     * @param context The per-request generation context
      * @return FilePreview containing the generated file
      */
-    FilePreview generateMapper(Table table, String packageName);
+    FilePreview generateMapper(Table table, String packageName, GenerationContext context);
     
     /**
      * Generates all CRUD code files for the given tables based on request flags.
@@ -108,29 +117,64 @@ public interface CodeGenerator {
             return files;
         }
         
+        GenerationContext context = GenerationContext.from(request);
         for (Table table : request.getTables()) {
-            if (table.isJoinTable()) {
-                continue; // Skip join tables
-            }
-            
-            if (request.isIncludeEntity()) {
-                files.add(generateEntity(table, request.getPackageName()));
-            }
-            if (request.isIncludeRepository()) {
-                files.add(generateRepository(table, request.getPackageName()));
-            }
-            if (request.isIncludeService()) {
-                files.add(generateService(table, request.getPackageName()));
-            }
-            if (request.isIncludeController()) {
-                files.add(generateController(table, request.getPackageName()));
-            }
-            if (request.isIncludeDto()) {
-                files.add(generateDto(table, request.getPackageName()));
-            }
-            if (request.isIncludeMapper()) {
-                files.add(generateMapper(table, request.getPackageName()));
-            }
+            files.addAll(generateCrudForTable(table, request, context));
+        }
+        
+        return files;
+    }
+    
+    /**
+     * Generates all CRUD code files like {@link #generateAllCrud(ProjectRequest)}, but renders
+     * the tables in parallel on the given executor. Output order is identical to the
+     * sequential variant.
+     * 
+     * @param request The project request containing tables and generation flags
+     * @param renderExecutor Executor used to render tables concurrently
+     * @return List of all generated FilePreview objects
+     */
+    default List<FilePreview> generateAllCrud(ProjectRequest request, TableRenderExecutor renderExecutor) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
+        GenerationContext context = GenerationContext.from(request);
+        return renderExecutor.renderAll(request.getTables(), table -> generateCrudForTable(table, request, context));
+    }
+    
+    /**
+     * Generates the CRUD code files of a single table based on request flags.
+     * Join tables produce no files.
+     * 
+     * @param table The table metadata
+     * @param request The project request containing generation flags
+     * @param context The per-request generation context
+     * @return List of generated FilePreview objects for this table
+     */
+    default List<FilePreview> generateCrudForTable(Table table, ProjectRequest request, GenerationContext context) {
+        java.util.List<FilePreview> files = new java.util.ArrayList<>();
+        
+        if (table.isJoinTable()) {
+            return files; // Skip join tables
+        }
+        
+        if (request.isIncludeEntity()) {
+            files.add(generateEntity(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeRepository()) {
+            files.add(generateRepository(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeService()) {
+            files.add(generateService(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeController()) {
+            files.add(generateController(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeDto()) {
+            files.add(generateDto(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeMapper()) {
+            files.add(generateMapper(table, request.getPackageName(), context));
         }
         
         return files;
@@ -0,0 +1,337 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.DependencyGroup;
+import com.firas.generator.model.DependencyMetadata;
+import com.firas.generator.model.DependencySearchHit;
+import com.firas.generator.model.DependencySearchResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, prebuilt search index over a dependency catalog.
+ *
+ * Built once per catalog version and shared by all readers without locking. It offers:
+ * - an id map for O(1) lookups and validation
+ * - a sorted token dictionary for prefix search over id, name, artifactId and description words
+ * - a trigram index for infix search (e.g. "sql" matches "PostgreSQL" and "MySQL")
+ * - per-group match counts (facets)
+ *
+ * A query is split into lowercase alphanumeric terms, and a dependency matches when every
+ * term matches one of its words by prefix or, for terms of three or more characters, its
+ * text by substring. Results are ranked by where the terms matched (id, then name, then
+ * artifactId, then description; whole-word prefixes before substrings); ties keep
+ * catalog order.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class DependencyIndex {
+
+    /** Index of an empty catalog */
+    public static final DependencyIndex EMPTY = of(List.of());
+
+    /** Largest page a search returns */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int SCORE_ID = 100;
+    private static final int SCORE_NAME_START = 30;
+    private static final int SCORE_NAME_WORD = 20;
+    private static final int SCORE_ARTIFACT_WORD = 10;
+    private static final int SCORE_NAME_SUBSTRING = 8;
+    private static final int SCORE_DESCRIPTION_WORD = 4;
+    private static final int SCORE_SUBSTRING = 1;
+
+    /** Indexed dependencies in catalog order */
+    private final List<Entry> entries;
+
+    private final Map<String, Entry> byId;
+
+    /** Sorted distinct words of all dependencies, and for each the entries containing it */
+    private final String[] words;
+    private final int[][] wordPostings;
+
+    /** Entries containing each trigram of their searchable text */
+    private final Map<String, int[]> trigramPostings;
+
+    /** Group names in catalog order */
+    private final List<String> groupNames;
+
+    private DependencyIndex(List<Entry> entries, List<String> groupNames) {
+        this.entries = entries;
+        this.groupNames = groupNames;
+
+        Map<String, Entry> ids = new HashMap<>();
+        Map<String, BitSet> wordSets = new TreeMap<>();
+        Map<String, BitSet> trigramSets = new HashMap<>();
+        for (Entry entry : entries) {
+            ids.putIfAbsent(entry.id, entry);
+            for (String word : entry.allWords()) {
+                wordSets.computeIfAbsent(word, w -> new BitSet()).set(entry.position);
+            }
+            String text = entry.text;
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                trigramSets.computeIfAbsent(text.substring(i, i + 3), t -> new BitSet()).set(entry.position);
+            }
+        }
+        this.byId = Map.copyOf(ids);
+
+        this.words = wordSets.keySet().toArray(new String[0]);
+        this.wordPostings = new int[words.length][];
+        int w = 0;
+        for (BitSet postings : wordSets.values()) {
+            wordPostings[w++] = postings.stream().toArray();
+        }
+
+        Map<String, int[]> trigrams = new HashMap<>(trigramSets.size() * 2);
+        trigramSets.forEach((trigram, postings) -> trigrams.put(trigram, postings.stream().toArray()));
+        this.trigramPostings = trigrams;
+    }
+
+    /**
+     * Builds the index of a catalog.
+     *
+     * @param groups The dependency groups, in display order
+     * @return A new index
+     */
+    public static DependencyIndex of(List<DependencyGroup> groups) {
+        List<Entry> entries = new ArrayList<>();
+        List<String> groupNames = new ArrayList<>();
+        for (DependencyGroup group : groups) {
+            groupNames.add(group.getName());
+            for (DependencyMetadata dependency : group.getDependencies()) {
+                if (dependency.getId() != null) {
+                    entries.add(new Entry(entries.size(), group.getName(), dependency));
+                }
+            }
+        }
+        return new DependencyIndex(List.copyOf(entries), List.copyOf(groupNames));
+    }
+
+    /**
+     * @return The dependency with the given id, or null if unknown
+     */
+    public DependencyMetadata get(String id) {
+        Entry entry = id != null ? byId.get(id) : null;
+        return entry != null ? entry.dependency : null;
+    }
+
+    /**
+     * @return true if a dependency with the given id exists
+     */
+    public boolean contains(String id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    /**
+     * @return Number of indexed dependencies
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Searches the catalog.
+     *
+     * @param query Free-text query; blank lists every dependency in catalog order
+     * @param group Restricts results to one group (facets still count all groups); null for all
+     * @param page Zero-based page number
+     * @param size Page size, capped at {@value #MAX_PAGE_SIZE}
+     * @return The requested page of hits, the total match count and per-group facet counts
+     * @throws IllegalArgumentException if page is negative or size is not positive
+     */
+    public DependencySearchResult search(String query, String group, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        size = Math.min(size, MAX_PAGE_SIZE);
+
+        List<String> terms = terms(query);
+        int[] scores = new int[entries.size()];
+        BitSet matches = new BitSet(entries.size());
+        matches.set(0, entries.size());
+        for (String term : terms) {
+            matches.and(candidates(term));
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                int score = entries.get(i).score(term);
+                if (score == 0) {
+                    matches.clear(i);
+                } else {
+                    scores[i] += score;
+                }
+            }
+        }
+
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        for (String name : groupNames) {
+            facets.put(name, 0);
+        }
+        List<Entry> hits = new ArrayList<>();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            Entry entry = entries.get(i);
+            facets.merge(entry.group, 1, Integer::sum);
+            if (group == null || group.isBlank() || group.equals(entry.group)) {
+                hits.add(entry);
+            }
+        }
+        facets.values().removeIf(count -> count == 0);
+        if (!terms.isEmpty()) {
+            hits.sort(Comparator.comparingInt((Entry entry) -> -scores[entry.position])
+                    .thenComparingInt(entry -> entry.position));
+        }
+
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<DependencySearchHit> items = new ArrayList<>(to - from);
+        for (Entry entry : hits.subList(from, to)) {
+            items.add(new DependencySearchHit(entry.group, scores[entry.position], entry.dependency));
+        }
+        return new DependencySearchResult(query, group, page, size, hits.size(), items, facets);
+    }
+
+    /**
+     * Entries possibly matching a term: words starting with it, plus texts containing
+     * all of its trigrams. Candidates are confirmed by {@link Entry#score}.
+     */
+    private BitSet candidates(String term) {
+        BitSet result = new BitSet(entries.size());
+        int from = Arrays.binarySearch(words, term);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        for (int i = from; i < words.length && words[i].startsWith(term); i++) {
+            for (int position : wordPostings[i]) {
+                result.set(position);
+            }
+        }
+
+        if (term.length() >= 3) {
+            BitSet infix = null;
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                int[] postings = trigramPostings.get(term.substring(i, i + 3));
+                if (postings == null) {
+                    infix = null;
+                    break;
+                }
+                BitSet set = new BitSet(entries.size());
+                for (int position : postings) {
+                    set.set(position);
+                }
+                if (infix == null) {
+                    infix = set;
+                } else {
+                    infix.and(set);
+                }
+            }
+            if (infix != null) {
+                result.or(infix);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits text into lowercase alphanumeric words.
+     */
+    static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String part : text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+            if (!part.isEmpty()) {
+                terms.add(part);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * A dependency with its pre-lowercased searchable fields.
+     */
+    private static final class Entry {
+        private final int position;
+        private final String group;
+        private final DependencyMetadata dependency;
+        private final String id;
+        private final String name;
+        private final List<String> idWords;
+        private final List<String> nameWords;
+        private final List<String> artifactWords;
+        private final List<String> descriptionWords;
+        /** id, name, artifactId and description, lowercased, for substring matching */
+        private final String text;
+
+        private Entry(int position, String group, DependencyMetadata dependency) {
+            this.position = position;
+            this.group = group;
+            this.dependency = dependency;
+            this.id = dependency.getId();
+            this.name = lower(dependency.getName());
+            this.idWords = terms(id);
+            this.nameWords = terms(dependency.getName());
+            this.artifactWords = terms(dependency.getArtifactId());
+            this.descriptionWords = terms(dependency.getDescription());
+            this.text = String.join(" ", lower(id), name, lower(dependency.getArtifactId()), lower(dependency.getDescription()));
+        }
+
+        private List<String> allWords() {
+            List<String> all = new ArrayList<>(idWords);
+            all.addAll(nameWords);
+            all.addAll(artifactWords);
+            all.addAll(descriptionWords);
+            return all;
+        }
+
+        /**
+         * @return How well the term matches this dependency; 0 if it does not match
+         */
+        private int score(String term) {
+            if (id.equalsIgnoreCase(term)) {
+                return SCORE_ID;
+            }
+            if (name.startsWith(term)) {
+                return SCORE_NAME_START;
+            }
+            if (startsAny(nameWords, term) || startsAny(idWords, term)) {
+                return SCORE_NAME_WORD;
+            }
+            if (startsAny(artifactWords, term)) {
+                return SCORE_ARTIFACT_WORD;
+            }
+            if (term.length() >= 3 && name.contains(term)) {
+                return SCORE_NAME_SUBSTRING;
+            }
+            if (startsAny(descriptionWords, term)) {
+                return SCORE_DESCRIPTION_WORD;
+            }
+            return term.length() >= 3 && text.contains(term) ? SCORE_SUBSTRING : 0;
+        }
+
+        private static boolean startsAny(List<String> words, String term) {
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.firas.generator.stack;
 
+import com.firas.generator.model.DependencyCatalogStatus;
 import com.firas.generator.model.DependencyGroup;
 
 import java.util.List;
@@ -28,6 +29,16 @@ public interface DependencyProvider {
      */
     List<DependencyGroup> getAllGroups();
     
+    /**
+     * Returns the search index over the dependencies. Providers with a changing catalog
+     * should build it once per catalog version; the default builds it on every call.
+     * 
+     * @return Index for id lookups and search
+     */
+    default DependencyIndex getIndex() {
+        return DependencyIndex.of(getAllGroups());
+    }
+    
     /**
      * Checks if this provider has been initialized with dependencies.
      * 
@@ -39,4 +50,13 @@ public interface DependencyProvider {
      * Refreshes the dependency cache by re-fetching from the source.
      */
     void refresh();
+
+    /**
+     * Describes the origin and freshness of the dependencies.
+     *
+     * @return The catalog status, or null if this provider does not track it
+     */
+    default DependencyCatalogStatus getCatalogStatus() {
+        return null;
+    }
 }
@@ -0,0 +1,127 @@
+package com.firas.generator.stack;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.model.config.MicroservicesConfig;
+import com.firas.generator.model.config.SecurityConfig;
+import com.firas.generator.model.config.SpringConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, per-request configuration passed explicitly to code generators.
+ *
+ * Replaces thread-bound configuration: because nothing is stored on the generator
+ * itself, one context can be shared by every thread rendering the same request,
+ * and a context can be cached and reused across requests with the same configuration.
+ *
+ * The Spring and security configs are deep-copied when the context is created, so
+ * later changes to the request never reach a render in progress. The getters return
+ * read-only views of those copies: their lists and maps are unmodifiable, and
+ * generators must not call their setters.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class GenerationContext {
+
+    /** Copies config objects through their JSON form */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /** Spring Boot specific configuration (never null) */
+    private final SpringConfig springConfig;
+
+    /** Security configuration, or null when security is not configured */
+    private final SecurityConfig securityConfig;
+
+    private GenerationContext(SpringConfig springConfig, SecurityConfig securityConfig) {
+        this.springConfig = Objects.requireNonNull(springConfig, "springConfig");
+        this.securityConfig = securityConfig;
+    }
+
+    /**
+     * Creates a context from the effective configuration of a project request.
+     *
+     * @param request The project request
+     * @return A new context holding copies of the request's Spring and security configuration
+     */
+    public static GenerationContext from(ProjectRequest request) {
+        return of(request.getEffectiveSpringConfig(), request.getSecurityConfig());
+    }
+
+    /**
+     * Creates a context from explicit configuration objects.
+     *
+     * @param springConfig Spring configuration; defaults are used when null
+     * @param securityConfig Security configuration, may be null
+     * @return A new context holding copies of the given configuration
+     */
+    public static GenerationContext of(SpringConfig springConfig, SecurityConfig securityConfig) {
+        return new GenerationContext(
+                readOnlyCopy(springConfig != null ? springConfig : new SpringConfig()),
+                securityConfig != null ? readOnlyCopy(securityConfig) : null);
+    }
+
+    /**
+     * @return Read-only view of the Spring configuration (never null)
+     */
+    public SpringConfig getSpringConfig() { return springConfig; }
+
+    /**
+     * @return Read-only view of the security configuration, or null when security is not configured
+     */
+    public SecurityConfig getSecurityConfig() { return securityConfig; }
+
+    /**
+     * @return true if a security configuration is present and enabled
+     */
+    public boolean isSecurityEnabled() {
+        return securityConfig != null && securityConfig.isEnabled();
+    }
+
+    private static SpringConfig readOnlyCopy(SpringConfig config) {
+        SpringConfig copy = deepCopy(config, SpringConfig.class);
+        MicroservicesConfig microservices = copy.getMicroservicesConfig();
+        if (microservices != null && microservices.getServiceTableMapping() != null) {
+            microservices.getServiceTableMapping().replaceAll((service, tables) -> readOnly(tables));
+            microservices.setServiceTableMapping(Collections.unmodifiableMap(microservices.getServiceTableMapping()));
+        }
+        return copy;
+    }
+
+    private static SecurityConfig readOnlyCopy(SecurityConfig config) {
+        SecurityConfig copy = deepCopy(config, SecurityConfig.class);
+        copy.setOauth2Providers(readOnly(copy.getOauth2Providers()));
+        copy.setPermissions(readOnly(copy.getPermissions()));
+        if (copy.getDefinedRoles() != null) {
+            copy.getDefinedRoles().forEach(role -> role.setPermissions(readOnly(role.getPermissions())));
+        }
+        copy.setDefinedRoles(readOnly(copy.getDefinedRoles()));
+        copy.setRules(readOnly(copy.getRules()));
+        copy.setSocialLogins(readOnly(copy.getSocialLogins()));
+        if (copy.getSocialProviderConfigs() != null) {
+            copy.setSocialProviderConfigs(Collections.unmodifiableMap(copy.getSocialProviderConfigs()));
+        }
+        return copy;
+    }
+
+    private static <T> T deepCopy(T value, Class<T> type) {
+        try {
+            return MAPPER.readValue(MAPPER.writeValueAsBytes(value), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot copy " + type.getSimpleName(), e);
+        }
+    }
+
+    private static <T> List<T> readOnly(List<T> list) {
+        return list != null ? Collections.unmodifiableList(list) : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.FilePreview;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes groups of generated files ("fragments") between renders of the same project.
+ *
+ * A provider splits its output into fragments (e.g. build files, security files, one
+ * fragment per table) and identifies each one by an id plus a hash of exactly the
+ * inputs its files depend on. When a fragment with the same id and input hash was
+ * rendered before, the memo returns the previous files instead of invoking the
+ * renderer.
+ *
+ * Input hashes must be computed from the request as received, before rendering
+ * mutates it (see {@link RequestFingerprint}). Implementations must be thread-safe:
+ * table fragments are rendered in parallel.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public interface RenderMemo {
+
+    /** Memo that never reuses anything and does not require input hashes */
+    RenderMemo NONE = new RenderMemo() {
+        @Override
+        public boolean isTracking() {
+            return false;
+        }
+
+        @Override
+        public List<FilePreview> fragment(String fragmentId, String inputHash, Supplier<List<FilePreview>> renderer) {
+            return renderer.get();
+        }
+    };
+
+    /**
+     * @return true if fragments may be reused, i.e. callers need to compute input hashes
+     */
+    default boolean isTracking() {
+        return true;
+    }
+
+    /**
+     * Returns the files of a fragment, rendering them only if its inputs changed.
+     *
+     * @param fragmentId Stable identifier of the fragment within the project
+     * @param inputHash Hash of every input the fragment's files depend on (ignored when not tracking)
+     * @param renderer Renders the fragment's files
+     * @return The fragment's files, reused or freshly rendered
+     */
+    List<FilePreview> fragment(String fragmentId, String inputHash, Supplier<List<FilePreview>> renderer);
+}
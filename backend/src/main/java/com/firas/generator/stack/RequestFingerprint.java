@@ -0,0 +1,93 @@
+package com.firas.generator.stack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.util.CanonicalHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Content hashes of the independent parts of a {@link ProjectRequest}, used as
+ * {@link RenderMemo} fragment keys.
+ *
+ * The request is split into its settings (everything except the tables: stack,
+ * Spring/security/frontend configs, dependencies, flags) and one hash per table.
+ * Keys combine only the parts a fragment depends on, so editing one table changes
+ * the keys of that table's fragment and of the fragments that span all tables,
+ * but not those of the other tables or of the build files.
+ *
+ * Must be created before rendering, since providers mutate the request
+ * (type mappings, injected security columns, auto-added dependencies).
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class RequestFingerprint {
+
+    private final String settingsHash;
+    private final List<String> tableHashes;
+    private final String tablesHash;
+
+    private RequestFingerprint(String settingsHash, List<String> tableHashes) {
+        this.settingsHash = settingsHash;
+        this.tableHashes = tableHashes;
+        this.tablesHash = CanonicalHash.sha256(String.join("|", tableHashes));
+    }
+
+    /**
+     * Fingerprints the request in its current state.
+     *
+     * @param request The project request, before any rendering
+     * @return The fingerprint
+     */
+    public static RequestFingerprint of(ProjectRequest request) {
+        ObjectNode tree = (ObjectNode) CanonicalHash.tree(request);
+        JsonNode tables = tree.remove("tables");
+
+        List<String> tableHashes = new ArrayList<>();
+        if (tables != null && tables.isArray()) {
+            for (JsonNode table : tables) {
+                tableHashes.add(CanonicalHash.of(table));
+            }
+        }
+        return new RequestFingerprint(CanonicalHash.of(tree), Collections.unmodifiableList(tableHashes));
+    }
+
+    /**
+     * Key for fragments that depend only on the request settings (and the given extra values).
+     */
+    public String settingsKey(Object... extra) {
+        return combine(settingsHash, null, extra);
+    }
+
+    /**
+     * Key for a fragment that depends on the settings and a single table.
+     *
+     * @param index Position of the table in the request
+     */
+    public String tableKey(int index, Object... extra) {
+        return combine(settingsHash, tableHashes.get(index), extra);
+    }
+
+    /**
+     * Key for fragments that depend on the settings and every table.
+     */
+    public String projectKey(Object... extra) {
+        return combine(settingsHash, tablesHash, extra);
+    }
+
+    private static String combine(String settings, String tables, Object[] extra) {
+        StringBuilder sb = new StringBuilder(settings);
+        if (tables != null) {
+            sb.append('|').append(tables);
+        }
+        for (Object value : extra) {
+            sb.append('|').append(value);
+        }
+        return CanonicalHash.sha256(sb.toString());
+    }
+}
@@ -2,8 +2,12 @@ package com.firas.generator.stack;
 
 import com.firas.generator.model.FilePreview;
 import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.util.FileSink;
+import com.firas.generator.util.ZipStreamSink;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -48,14 +52,88 @@ public interface StackProvider {
      */
     List<FilePreview> generateProject(ProjectRequest request) throws IOException;
     
+    /**
+     * Generates all project files and pushes each one to the given sink as soon as
+     * it is rendered. This is used for streaming downloads, where files are written
+     * to the response without first collecting the whole project in memory.
+     * 
+     * The default implementation delegates to {@link #generateProject(ProjectRequest)};
+     * providers with large outputs should override it to emit files incrementally.
+     * 
+     * @param request The project configuration
+     * @param sink Receiver for the generated files, in output order
+     * @throws IOException If an error occurs during generation or while writing to the sink
+     */
+    default void generateProject(ProjectRequest request, FileSink sink) throws IOException {
+        sink.acceptAll(generateProject(request));
+    }
+    
+    /**
+     * Generates all project files, reusing unchanged fragments from the given memo.
+     * This is used for incremental previews, where consecutive renders of the same
+     * project usually differ in a single table or setting.
+     * 
+     * The default implementation treats the whole project as one fragment keyed by
+     * the full request; providers should override it with finer-grained fragments.
+     * 
+     * @param request The project configuration
+     * @param sink Receiver for the generated files, in output order
+     * @param memo Fragment memo of the preview session ({@link RenderMemo#NONE} to always render)
+     * @throws IOException If an error occurs during generation or while writing to the sink
+     */
+    default void generateProject(ProjectRequest request, FileSink sink, RenderMemo memo) throws IOException {
+        if (!memo.isTracking()) {
+            generateProject(request, sink);
+            return;
+        }
+        String key = RequestFingerprint.of(request).projectKey();
+        try {
+            sink.acceptAll(memo.fragment("project", key, () -> {
+                try {
+                    return generateProject(request);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
     /**
      * Generates the project and packages it as a ZIP file.
      * 
+     * Files are written as ZIP entries while they are rendered, entirely in memory;
+     * nothing is staged on disk.
+     * 
      * @param request The project configuration
      * @return Byte array containing the ZIP file
      * @throws IOException If an error occurs during generation or ZIP creation
      */
-    byte[] generateProjectZip(ProjectRequest request) throws IOException;
+    default byte[] generateProjectZip(ProjectRequest request) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipStreamSink zip = new ZipStreamSink(baos, getProjectName(request))) {
+            generateProject(request, zip);
+            zip.finish();
+        }
+        return baos.toByteArray();
+    }
+    
+    /**
+     * Gets the project name used as the root folder of the generated archive.
+     * 
+     * @param request The project configuration
+     * @return artifactId, else the slugified project name, else "{stackId}-project"
+     */
+    default String getProjectName(ProjectRequest request) {
+        if (request.getArtifactId() != null && !request.getArtifactId().isEmpty()) {
+            return request.getArtifactId();
+        }
+        if (request.getName() != null && !request.getName().isEmpty()) {
+            return request.getName().toLowerCase().replace(" ", "-");
+        }
+        return getStackType().getId() + "-project";
+    }
     
     // ==================== Sub-Components ====================
     
@@ -0,0 +1,161 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.FilePreview;
+import com.firas.generator.util.FileSink;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Renders independent per-table file groups in parallel on a bounded, shared pool.
+ *
+ * Output order is deterministic: results are always emitted in the order of the
+ * input list, regardless of which render finishes first. Each request keeps at most
+ * {@code 2 * parallelism} renders in flight, so a streaming consumer never has to
+ * buffer more than that many tables worth of files.
+ *
+ * Small inputs (fewer than {@code generator.render.min-parallel-tables} items) and a
+ * parallelism of 1 fall back to sequential rendering on the calling thread. When the
+ * shared queue is full, renders run on the calling thread instead of being rejected.
+ *
+ * Configuration:
+ * - generator.render.parallelism: worker threads (0 = number of CPU cores)
+ * - generator.render.min-parallel-tables: minimum table count before rendering in parallel
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+public class TableRenderExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(TableRenderExecutor.class);
+
+    private final int parallelism;
+    private final int minParallelItems;
+    private final ThreadPoolExecutor executor;
+
+    public TableRenderExecutor(
+            @Value("${generator.render.parallelism:0}") int parallelism,
+            @Value("${generator.render.min-parallel-tables:8}") int minParallelItems) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.minParallelItems = Math.max(1, minParallelItems);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                this.parallelism, this.parallelism,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.parallelism * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "table-render-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        log.info("Table rendering parallelism: {} (parallel from {} tables)", this.parallelism, this.minParallelItems);
+    }
+
+    /**
+     * Renders every item and returns the concatenated files in input order.
+     *
+     * @param items The items to render (typically tables)
+     * @param renderer Renders the files for a single item; must be thread-safe
+     * @return All generated files, grouped by item, in input order
+     */
+    public <T> List<FilePreview> renderAll(List<T> items, Function<T, List<FilePreview>> renderer) {
+        List<FilePreview> files = new ArrayList<>();
+        try {
+            renderAll(items, renderer, files::add);
+        } catch (IOException e) {
+            // Unreachable: collecting into a list never throws
+            throw new IllegalStateException(e);
+        }
+        return files;
+    }
+
+    /**
+     * Renders every item and pushes the resulting files to the sink in input order.
+     *
+     * @param items The items to render (typically tables)
+     * @param renderer Renders the files for a single item; must be thread-safe
+     * @param sink Receiver of the generated files
+     * @throws IOException If the sink fails to accept a file
+     */
+    public <T> void renderAll(List<T> items, Function<T, List<FilePreview>> renderer, FileSink sink) throws IOException {
+        if (!isParallel(items.size())) {
+            for (T item : items) {
+                sink.acceptAll(renderer.apply(item));
+            }
+            return;
+        }
+
+        int window = parallelism * 2;
+        Deque<Future<List<FilePreview>>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            while (next < items.size() || !inFlight.isEmpty()) {
+                while (next < items.size() && inFlight.size() < window) {
+                    T item = items.get(next++);
+                    inFlight.addLast(executor.submit(() -> renderer.apply(item)));
+                }
+                sink.acceptAll(await(inFlight.removeFirst()));
+            }
+        } finally {
+            // Only non-empty after a failure: stop remaining renders
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * @return true if a list of the given size would be rendered in parallel
+     */
+    public boolean isParallel(int itemCount) {
+        return parallelism > 1 && itemCount >= minParallelItems;
+    }
+
+    /**
+     * @return The configured maximum number of concurrent renders
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<FilePreview> await(Future<List<FilePreview>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering tables", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Table rendering failed", cause);
+        }
+    }
+}
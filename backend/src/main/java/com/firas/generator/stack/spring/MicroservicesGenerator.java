@@ -3,6 +3,7 @@ package com.firas.generator.stack.spring;
 import com.firas.generator.model.*;
 import com.firas.generator.model.config.*;
 import com.firas.generator.service.TemplateService;
+import com.firas.generator.stack.GenerationContext;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -107,9 +108,10 @@ public class MicroservicesGenerator {
      * Generates the complete microservices project structure.
      *
      * @param request the project request
+     * @param context the per-request generation context used for CRUD code
      * @return list of all generated file previews
      */
-    public List<FilePreview> generateMicroservicesProject(ProjectRequest request) {
+    public List<FilePreview> generateMicroservicesProject(ProjectRequest request, GenerationContext context) {
         List<FilePreview> files = new ArrayList<>();
 
         SpringConfig springConfig = request.getEffectiveSpringConfig();
@@ -137,7 +139,7 @@ public class MicroservicesGenerator {
 
         // 5. Per-service modules
         for (ServiceDefinition service : services) {
-            files.addAll(generateServiceModule(service, request, springConfig, msConfig, services));
+            files.addAll(generateServiceModule(service, request, context, springConfig, msConfig, services));
         }
 
         // 6. Docker Compose
@@ -231,6 +233,7 @@ public class MicroservicesGenerator {
      */
     private List<FilePreview> generateServiceModule(ServiceDefinition service,
                                                      ProjectRequest request,
+                                                     GenerationContext context,
                                                      SpringConfig springConfig,
                                                      MicroservicesConfig msConfig,
                                                      List<ServiceDefinition> allServices) {
@@ -274,28 +277,18 @@ public class MicroservicesGenerator {
                 moduleName + "/src/main/java/" + packagePath + "/" + appClassName + ".java",
                 appContent, "java"));
 
-        // Configure code generator with the request's Spring and security settings
-        codeGenerator.setSpringConfig(springConfig);
-        if (request.getSecurityConfig() != null && request.getSecurityConfig().isEnabled()) {
-            codeGenerator.setSecurityConfig(request.getSecurityConfig());
-        }
-
-        try {
-            // Generate CRUD code for each table in this service
-            for (Table table : service.getTables()) {
-                if (table.isJoinTable()) {
-                    continue;
-                }
-                generateCrudForTable(table, service, request, moduleName, files);
+        // Generate CRUD code for each table in this service
+        for (Table table : service.getTables()) {
+            if (table.isJoinTable()) {
+                continue;
             }
-
-            // Generate Feign clients for cross-service relationships
-            List<FilePreview> feignClients = generateFeignClients(service, allServices, request);
-            files.addAll(feignClients);
-        } finally {
-            codeGenerator.clearConfig();
+            generateCrudForTable(table, service, request, context, moduleName, files);
         }
 
+        // Generate Feign clients for cross-service relationships
+        List<FilePreview> feignClients = generateFeignClients(service, allServices, request);
+        files.addAll(feignClients);
+
         return files;
     }
 
@@ -304,28 +297,28 @@ public class MicroservicesGenerator {
      * file path with the service module directory.
      */
     private void generateCrudForTable(Table table, ServiceDefinition service,
-                                       ProjectRequest request, String moduleName,
-                                       List<FilePreview> files) {
+                                       ProjectRequest request, GenerationContext context,
+                                       String moduleName, List<FilePreview> files) {
         String pkg = service.getPackageName();
 
         if (request.isIncludeEntity()) {
-            files.add(prefixPath(moduleName, codeGenerator.generateEntity(table, pkg)));
+            files.add(prefixPath(moduleName, codeGenerator.generateEntity(table, pkg, context)));
         }
         if (request.isIncludeRepository()) {
-            files.add(prefixPath(moduleName, codeGenerator.generateRepository(table, pkg)));
+            files.add(prefixPath(moduleName, codeGenerator.generateRepository(table, pkg, context)));
         }
         if (request.isIncludeService()) {
-            files.add(prefixPath(moduleName, codeGenerator.generateService(table, pkg)));
+            files.add(prefixPath(moduleName, codeGenerator.generateService(table, pkg, context)));
         }
         if (request.isIncludeController()) {
-            files.add(prefixPath(moduleName, codeGenerator.generateController(table, pkg)));
+            files.add(prefixPath(moduleName, codeGenerator.generateController(table, pkg, context)));
         }
         if (request.isIncludeDto() || request.isIncludeController() || request.isIncludeService()) {
-            files.add(prefixPath(moduleName, codeGenerator.generateDto(table, pkg)));
+            files.add(prefixPath(moduleName, codeGenerator.generateDto(table, pkg, context)));
         }
         if (request.isIncludeMapper() || request.isIncludeDto()
                 || request.isIncludeController() || request.isIncludeService()) {
-            files.add(prefixPath(moduleName, codeGenerator.generateMapper(table, pkg)));
+            files.add(prefixPath(moduleName, codeGenerator.generateMapper(table, pkg, context)));
         }
     }
 
@@ -8,6 +8,7 @@ import com.firas.generator.model.config.SecurityRule;
 import com.firas.generator.model.config.SpringConfig;
 import com.firas.generator.service.TemplateService;
 import com.firas.generator.stack.CodeGenerator;
+import com.firas.generator.stack.GenerationContext;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -27,6 +28,10 @@ import java.util.stream.Collectors;
  * - DDD: Domain-Driven Design (domain/user/entity/, domain/user/repository/)
  * - HEXAGONAL: Hexagonal/Clean Architecture (domain/model/, infrastructure/adapter/)
  * 
+ * Holds no per-request state: the project structure, language, database and security
+ * settings are read from the {@link GenerationContext} passed to each method, so a
+ * single request can render on many threads at once.
+ * 
  * @author Firas Baklouti
  * @version 1.1
  * @since 2025-12-07
@@ -38,34 +43,16 @@ public class SpringCodeGenerator implements CodeGenerator {
 
     private final TemplateService templateService;
 
-    // Thread-safe configuration holders (scoped per request)
-    private final ThreadLocal<SecurityConfig> securityConfig = new ThreadLocal<>();
-
-    private final ThreadLocal<SpringConfig> springConfig = new ThreadLocal<>();
-
     public SpringCodeGenerator(TemplateService templateService) {
         this.templateService = templateService;
     }
 
-    public void setSecurityConfig(SecurityConfig config) {
-        this.securityConfig.set(config);
-    }
-
-    public void setSpringConfig(SpringConfig config) {
-        this.springConfig.set(config);
-    }
-
-    public void clearConfig() {
-        this.securityConfig.remove();
-        this.springConfig.remove();
-    }
-
     /**
-     * Gets the current project structure from springConfig, or LAYERED as default.
+     * Gets the project structure from the context's springConfig, or LAYERED as default.
      */
-    private ProjectStructure getProjectStructure() {
-        SpringConfig config = springConfig.get();
-        if (config != null && config.getProjectStructure() != null) {
+    private ProjectStructure getProjectStructure(GenerationContext context) {
+        SpringConfig config = context.getSpringConfig();
+        if (config.getProjectStructure() != null) {
             return config.getProjectStructure();
         }
         return ProjectStructure.LAYERED;
@@ -74,24 +61,22 @@ public class SpringCodeGenerator implements CodeGenerator {
     /**
      * Checks if the current database type is MongoDB.
      */
-    private boolean isMongoDB() {
-        SpringConfig config = springConfig.get();
-        return config != null && "mongodb".equalsIgnoreCase(config.getDatabaseType());
+    private boolean isMongoDB(GenerationContext context) {
+        return "mongodb".equalsIgnoreCase(context.getSpringConfig().getDatabaseType());
     }
 
     /**
      * Checks if the current language is Kotlin.
      */
-    private boolean isKotlin() {
-        SpringConfig config = springConfig.get();
-        return config != null && "kotlin".equalsIgnoreCase(config.getLanguage());
+    private boolean isKotlin(GenerationContext context) {
+        return "kotlin".equalsIgnoreCase(context.getSpringConfig().getLanguage());
     }
 
     /**
      * Returns the file extension based on the current language.
      */
-    private String getFileExtension() {
-        return isKotlin() ? ".kt" : ".java";
+    private String getFileExtension(GenerationContext context) {
+        return isKotlin(context) ? ".kt" : ".java";
     }
     
     /**
@@ -102,18 +87,20 @@ public class SpringCodeGenerator implements CodeGenerator {
      * @param fileType Type of file: "entity", "repository", "service", "controller", "dto", "mapper"
      * @param suffix Filename suffix (e.g., "Repository", "Service", "Controller")
      * @param isTest Whether this is a test file
+     * @param context The per-request generation context
      * @return The file path
      */
-    private String generatePath(String packageName, Table table, String fileType, String suffix, boolean isTest) {
-        String sourceDir = isKotlin() ? "src/main/kotlin/" : "src/main/java/";
-        String testDir = isKotlin() ? "src/test/kotlin/" : "src/test/java/";
+    private String generatePath(String packageName, Table table, String fileType, String suffix, boolean isTest,
+                                GenerationContext context) {
+        String sourceDir = isKotlin(context) ? "src/main/kotlin/" : "src/main/java/";
+        String testDir = isKotlin(context) ? "src/test/kotlin/" : "src/test/java/";
         String baseDir = isTest ? testDir : sourceDir;
         String packagePath = packageName.replace(".", "/");
         String className = table.getClassName();
         String featureName = className.toLowerCase();
-        String fileName = className + suffix + getFileExtension();
+        String fileName = className + suffix + getFileExtension(context);
         
-        ProjectStructure structure = getProjectStructure();
+        ProjectStructure structure = getProjectStructure(context);
         
         return switch (structure) {
             case LAYERED -> 
@@ -159,9 +146,9 @@ public class SpringCodeGenerator implements CodeGenerator {
      * Gets the effective package name for the file based on structure.
      * This is used in templates to set the correct package declaration.
      */
-    private String getEffectivePackage(String basePackage, Table table, String fileType) {
+    private String getEffectivePackage(String basePackage, Table table, String fileType, GenerationContext context) {
         String featureName = table.getClassName().toLowerCase();
-        ProjectStructure structure = getProjectStructure();
+        ProjectStructure structure = getProjectStructure(context);
         
         return switch (structure) {
             case LAYERED -> basePackage + "." + fileType;
@@ -185,69 +172,69 @@ public class SpringCodeGenerator implements CodeGenerator {
     }
     
     @Override
-    public FilePreview generateEntity(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "entity");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "entity");
+    public FilePreview generateEntity(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "entity", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "entity", context);
         
         String template;
-        if (isKotlin()) {
+        if (isKotlin(context)) {
             template = TEMPLATE_DIR + "kotlin/Entity.kt.ftl";
-        } else if (isMongoDB()) {
+        } else if (isMongoDB(context)) {
             template = TEMPLATE_DIR + "MongoEntity.ftl";
         } else {
             template = TEMPLATE_DIR + "Entity.ftl";
         }
         String content = templateService.processTemplateToString(template, model);
-        String path = generatePath(packageName, table, "entity", "", false);
+        String path = generatePath(packageName, table, "entity", "", false, context);
         
-        return new FilePreview(path, content, isKotlin() ? "kotlin" : "java");
+        return new FilePreview(path, content, isKotlin(context) ? "kotlin" : "java");
     }
     
     @Override
-    public FilePreview generateRepository(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "repository");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "repository");
+    public FilePreview generateRepository(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "repository", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "repository", context);
         
         String template;
-        if (isKotlin()) {
+        if (isKotlin(context)) {
             template = TEMPLATE_DIR + "kotlin/Repository.kt.ftl";
-        } else if (isMongoDB()) {
+        } else if (isMongoDB(context)) {
             template = TEMPLATE_DIR + "MongoRepository.ftl";
         } else {
             template = TEMPLATE_DIR + "Repository.ftl";
         }
         String content = templateService.processTemplateToString(template, model);
-        String path = generatePath(packageName, table, "repository", "Repository", false);
+        String path = generatePath(packageName, table, "repository", "Repository", false, context);
         
-        return new FilePreview(path, content, isKotlin() ? "kotlin" : "java");
+        return new FilePreview(path, content, isKotlin(context) ? "kotlin" : "java");
     }
     
     @Override
-    public FilePreview generateService(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "service");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "service");
+    public FilePreview generateService(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "service", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "service", context);
         
         String template;
-        if (isKotlin()) {
+        if (isKotlin(context)) {
             template = TEMPLATE_DIR + "kotlin/Service.kt.ftl";
-        } else if (isMongoDB()) {
+        } else if (isMongoDB(context)) {
             template = TEMPLATE_DIR + "MongoService.ftl";
         } else {
             template = TEMPLATE_DIR + "Service.ftl";
         }
         String content = templateService.processTemplateToString(template, model);
-        String path = generatePath(packageName, table, "service", "Service", false);
+        String path = generatePath(packageName, table, "service", "Service", false, context);
         
-        return new FilePreview(path, content, isKotlin() ? "kotlin" : "java");
+        return new FilePreview(path, content, isKotlin(context) ? "kotlin" : "java");
     }
     
     @Override
-    public FilePreview generateController(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "controller");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "controller");
+    public FilePreview generateController(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "controller", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "controller", context);
         
         // Add security configuration to controller model
-        SecurityConfig secConfig = securityConfig.get();
+        SecurityConfig secConfig = context.getSecurityConfig();
         if (secConfig != null && secConfig.isEnabled()) {
             model.put("securityEnabled", true);
 
@@ -274,31 +261,31 @@ public class SpringCodeGenerator implements CodeGenerator {
             model.put("securityEnabled", false);
         }
         
-        String template = isKotlin() ? TEMPLATE_DIR + "kotlin/Controller.kt.ftl" : TEMPLATE_DIR + "Controller.ftl";
+        String template = isKotlin(context) ? TEMPLATE_DIR + "kotlin/Controller.kt.ftl" : TEMPLATE_DIR + "Controller.ftl";
         String content = templateService.processTemplateToString(template, model);
-        String path = generatePath(packageName, table, "controller", "Controller", false);
+        String path = generatePath(packageName, table, "controller", "Controller", false, context);
         
-        return new FilePreview(path, content, isKotlin() ? "kotlin" : "java");
+        return new FilePreview(path, content, isKotlin(context) ? "kotlin" : "java");
     }
     
     @Override
-    public FilePreview generateDto(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "dto");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "dto");
+    public FilePreview generateDto(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "dto", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "dto", context);
 
         String content = templateService.processTemplateToString(TEMPLATE_DIR + "Dto.ftl", model);
-        String path = generatePath(packageName, table, "dto", "Dto", false);
+        String path = generatePath(packageName, table, "dto", "Dto", false, context);
 
         return new FilePreview(path, content, "java");
     }
 
     @Override
-    public FilePreview generateMapper(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "mapper");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "mapper");
+    public FilePreview generateMapper(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "mapper", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "mapper", context);
 
         String content = templateService.processTemplateToString(TEMPLATE_DIR + "Mapper.ftl", model);
-        String path = generatePath(packageName, table, "mapper", "Mapper", false);
+        String path = generatePath(packageName, table, "mapper", "Mapper", false, context);
 
         return new FilePreview(path, content, "java");
     }
@@ -306,12 +293,12 @@ public class SpringCodeGenerator implements CodeGenerator {
     /**
      * Generates a MapStruct-based mapper interface for a table.
      */
-    public FilePreview generateMapStructMapper(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "mapper");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "mapper");
+    public FilePreview generateMapStructMapper(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "mapper", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "mapper", context);
 
         String content = templateService.processTemplateToString(TEMPLATE_DIR + "MapStructMapper.ftl", model);
-        String path = generatePath(packageName, table, "mapper", "Mapper", false);
+        String path = generatePath(packageName, table, "mapper", "Mapper", false, context);
 
         return new FilePreview(path, content, "java");
     }
@@ -319,12 +306,12 @@ public class SpringCodeGenerator implements CodeGenerator {
     /**
      * Generates a JUnit test for the repository layer.
      */
-    public FilePreview generateRepositoryTest(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "repository");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "repository");
+    public FilePreview generateRepositoryTest(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "repository", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "repository", context);
         
         String content = templateService.processTemplateToString(TEMPLATE_DIR + "RepositoryTest.ftl", model);
-        String path = generatePath(packageName, table, "repository", "RepositoryTest", true);
+        String path = generatePath(packageName, table, "repository", "RepositoryTest", true, context);
         
         return new FilePreview(path, content, "java");
     }
@@ -332,12 +319,12 @@ public class SpringCodeGenerator implements CodeGenerator {
     /**
      * Generates a JUnit test for the controller layer using MockMvc.
      */
-    public FilePreview generateControllerTest(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "controller");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "controller");
+    public FilePreview generateControllerTest(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "controller", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "controller", context);
 
         // Add security configuration for test generation
-        SecurityConfig secConfig = securityConfig.get();
+        SecurityConfig secConfig = context.getSecurityConfig();
         if (secConfig != null && secConfig.isEnabled()) {
             model.put("securityEnabled", true);
             model.put("authType", secConfig.getAuthenticationType());
@@ -346,7 +333,7 @@ public class SpringCodeGenerator implements CodeGenerator {
         }
 
         String content = templateService.processTemplateToString(TEMPLATE_DIR + "ControllerTest.ftl", model);
-        String path = generatePath(packageName, table, "controller", "ControllerTest", true);
+        String path = generatePath(packageName, table, "controller", "ControllerTest", true, context);
 
         return new FilePreview(path, content, "java");
     }
@@ -354,11 +341,11 @@ public class SpringCodeGenerator implements CodeGenerator {
     /**
      * Generates a Rest-Assured based controller test for a table.
      */
-    public FilePreview generateRestAssuredTest(Table table, String packageName) {
-        String effectivePackage = getEffectivePackage(packageName, table, "controller");
-        Map<String, Object> model = createModel(table, packageName, effectivePackage, "controller");
+    public FilePreview generateRestAssuredTest(Table table, String packageName, GenerationContext context) {
+        String effectivePackage = getEffectivePackage(packageName, table, "controller", context);
+        Map<String, Object> model = createModel(table, packageName, effectivePackage, "controller", context);
 
-        SecurityConfig secConfig = securityConfig.get();
+        SecurityConfig secConfig = context.getSecurityConfig();
         if (secConfig != null && secConfig.isEnabled()) {
             model.put("securityEnabled", true);
             model.put("authType", secConfig.getAuthenticationType());
@@ -367,7 +354,7 @@ public class SpringCodeGenerator implements CodeGenerator {
         }
 
         String content = templateService.processTemplateToString(TEMPLATE_DIR + "RestAssuredTest.ftl", model);
-        String path = generatePath(packageName, table, "controller", "RestAssuredTest", true);
+        String path = generatePath(packageName, table, "controller", "RestAssuredTest", true, context);
 
         return new FilePreview(path, content, "java");
     }
@@ -379,22 +366,24 @@ public class SpringCodeGenerator implements CodeGenerator {
      * @param basePackageName The base package name from project configuration
      * @param effectivePackage The effective package based on project structure
      * @param fileType The type of file being generated
+     * @param context The per-request generation context
      * @return Model map for template processing
      */
-    private Map<String, Object> createModel(Table table, String basePackageName, String effectivePackage, String fileType) {
+    private Map<String, Object> createModel(Table table, String basePackageName, String effectivePackage, String fileType,
+                                            GenerationContext context) {
         Map<String, Object> model = new HashMap<>();
         model.put("table", table);
         model.put("packageName", effectivePackage);
         model.put("basePackageName", basePackageName);
-        model.put("projectStructure", getProjectStructure().getId());
+        model.put("projectStructure", getProjectStructure(context).getId());
 
         // Add effective packages for all layers (for cross-layer imports)
-        model.put("entityPackage", getEffectivePackage(basePackageName, table, "entity"));
-        model.put("repositoryPackage", getEffectivePackage(basePackageName, table, "repository"));
-        model.put("servicePackage", getEffectivePackage(basePackageName, table, "service"));
-        model.put("controllerPackage", getEffectivePackage(basePackageName, table, "controller"));
-        model.put("dtoPackage", getEffectivePackage(basePackageName, table, "dto"));
-        model.put("mapperPackage", getEffectivePackage(basePackageName, table, "mapper"));
+        model.put("entityPackage", getEffectivePackage(basePackageName, table, "entity", context));
+        model.put("repositoryPackage", getEffectivePackage(basePackageName, table, "repository", context));
+        model.put("servicePackage", getEffectivePackage(basePackageName, table, "service", context));
+        model.put("controllerPackage", getEffectivePackage(basePackageName, table, "controller", context));
+        model.put("dtoPackage", getEffectivePackage(basePackageName, table, "dto", context));
+        model.put("mapperPackage", getEffectivePackage(basePackageName, table, "mapper", context));
 
         if (table.getMetadata() != null) {
             model.putAll(table.getMetadata());
@@ -1,27 +1,60 @@
 package com.firas.generator.stack.spring;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.firas.generator.model.DependencyCatalogStatus;
 import com.firas.generator.model.DependencyGroup;
 import com.firas.generator.model.DependencyMetadata;
+import com.firas.generator.stack.DependencyIndex;
 import com.firas.generator.stack.DependencyProvider;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Dependency provider for Spring Boot.
- * 
- * Wraps the existing DependencyRegistry which fetches dependencies
- * from the Spring Initializr API (start.spring.io).
- * 
+ *
+ * Serves the dependency catalog of the Spring Initializr API (start.spring.io),
+ * offline-first: at startup the catalog is loaded from the on-disk snapshot of the
+ * last successful fetch, or from the snapshot bundled on the classpath, so startup
+ * never waits for (or fails on) the network.
+ *
+ * The catalog is then refreshed in the background with a conditional request
+ * (If-None-Match / If-Modified-Since). A changed catalog is swapped in atomically,
+ * groups and search index together, and written back to the on-disk snapshot; a 304 only
+ * marks the current catalog as verified. Failed refreshes keep the current catalog.
+ *
+ * Configuration:
+ * - generator.dependencies.initializr-url: base URL of the Initializr API
+ * - generator.dependencies.remote-refresh: fetch from the Initializr at all (false for air-gapped hosts)
+ * - generator.dependencies.refresh-interval-minutes: period of background refreshes (0 = only at startup)
+ * - generator.dependencies.fetch-timeout-ms: timeout of a single fetch
+ * - generator.dependencies.snapshot-file: on-disk snapshot location (blank = bundled snapshot only)
+ *
  * @author Firas Baklouti
  * @version 1.0
  * @since 2025-12-07
@@ -31,105 +64,279 @@ public class SpringDependencyProvider implements DependencyProvider {
 
     private static final Logger log = LoggerFactory.getLogger(SpringDependencyProvider.class);
 
+    /** Classpath location of the catalog shipped with the application */
+    private static final String BUNDLED_CATALOG = "catalog/spring-dependencies.json";
+
+    private static final String METADATA_PATH = "/metadata/config";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     /** WebClient for making HTTP requests to Spring Initializr API */
-    private final WebClient webClient = WebClient.create("https://start.spring.io");
+    private final WebClient webClient;
+
+    private final boolean remoteRefresh;
+    private final long refreshIntervalMinutes;
+    private final Duration fetchTimeout;
+    private final Path snapshotFile;
+    private final ScheduledExecutorService refresher;
+
+    /** Catalog currently served; replaced as a whole so readers never see a partial update */
+    private volatile Catalog catalog = Catalog.EMPTY;
 
-    /** Map of dependency ID to dependency metadata for quick lookup */
-    private final Map<String, DependencyMetadata> dependencyMap = new HashMap<>();
+    private volatile Instant lastAttemptAt;
+    private volatile String lastError;
 
-    /** List of all dependency groups */
-    private final List<DependencyGroup> groups = new ArrayList<>();
+    public SpringDependencyProvider(
+            @Value("${generator.dependencies.initializr-url:https://start.spring.io}") String initializrUrl,
+            @Value("${generator.dependencies.remote-refresh:true}") boolean remoteRefresh,
+            @Value("${generator.dependencies.refresh-interval-minutes:360}") long refreshIntervalMinutes,
+            @Value("${generator.dependencies.fetch-timeout-ms:10000}") long fetchTimeoutMs,
+            @Value("${generator.dependencies.snapshot-file:${user.home}/.firas-generator/spring-dependencies.json}") String snapshotFile) {
+        this.webClient = WebClient.builder()
+                .baseUrl(initializrUrl)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+                .build();
+        this.remoteRefresh = remoteRefresh;
+        this.refreshIntervalMinutes = refreshIntervalMinutes;
+        this.fetchTimeout = Duration.ofMillis(fetchTimeoutMs);
+        this.snapshotFile = snapshotFile == null || snapshotFile.isBlank() ? null : Paths.get(snapshotFile);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dependency-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     /**
-     * Initializes the dependency registry by fetching data from Spring Initializr.
+     * Loads the local catalog and schedules the background refresh.
      * This method is called automatically after bean construction.
      */
     @PostConstruct
     public void initialize() {
-        initializeDynamicDependencies();
+        catalog = loadLocalCatalog();
+        log.info("Loaded {} Spring dependencies from the {} catalog", catalog.index().size(), catalog.source());
+
+        if (!remoteRefresh) {
+            return;
+        }
+        if (refreshIntervalMinutes > 0) {
+            refresher.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
     }
 
     /**
-     * Fetches dependencies from Spring Initializr API dynamically.
-     *
-     * This method makes an HTTP request to the Spring Initializr metadata endpoint
-     * to retrieve the latest available dependencies and their metadata. The dependencies
-     * are organized into groups and stored in memory for quick access.
+     * Retrieves all dependency groups.
      *
-     * @throws RuntimeException if the API request fails or returns invalid data
+     * @return List of all dependency groups with their associated dependencies
      */
-    private void initializeDynamicDependencies() {
-        try {
-            JsonNode root = webClient.get()
-                    .uri("/metadata/config")
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .block();
-
-            if (root == null || !root.has("dependencies")) {
-                throw new RuntimeException("Invalid response from Spring Initializr API");
-            }
+    public List<DependencyGroup> getAllGroups() {
+        return catalog.groups();
+    }
 
-            JsonNode dependenciesNode = root.get("dependencies").get("content");
-            for (JsonNode dependency : dependenciesNode) {
-                DependencyGroup group = new DependencyGroup(dependency.get("name").asText());
+    /**
+     * Retrieves a specific dependency by its ID.
+     *
+     * @param id The unique identifier of the dependency
+     * @return The DependencyMetadata object, or null if not found
+     */
+    public DependencyMetadata getDependencyById(String id) {
+        return catalog.index().get(id);
+    }
 
-                for (JsonNode dep : dependency.get("content")) {
-                    DependencyMetadata dependencyMetadata=new DependencyMetadata();
-                    dependencyMetadata.setId(dep.get("id")!=null?dep.get("id").asText():"");
-                    dependencyMetadata.setName(dep.get("name")!=null?dep.get("name").asText():"");
-                    dependencyMetadata.setArtifactId(dep.get("artifactId")!=null?dep.get("artifactId").asText():"");
-                    dependencyMetadata.setVersion(dep.get("version")!=null?dep.get("version").asText():"");
-                    dependencyMetadata.setGroupId(dep.get("groupId")!=null?dep.get("groupId").asText():"");
-                    dependencyMetadata.setDescription(dep.get("description")!=null?dep.get("description").asText():"");
-                    dependencyMetadata.setStarter(dep.get("starter")!=null && dep.get("starter").asBoolean(false));
+    @Override
+    public DependencyIndex getIndex() {
+        return catalog.index();
+    }
 
+    @Override
+    public boolean isInitialized() {
+        return !catalog.groups().isEmpty();
+    }
 
-                    group.addDependency(dependencyMetadata);
-                    dependencyMap.put(dependencyMetadata.getId(), dependencyMetadata);
-                }
-                groups.add(group);
+    /**
+     * Fetches the catalog from Spring Initializr if it changed since the current one.
+     * Runs on the calling thread; failures are logged and keep the current catalog.
+     */
+    @Override
+    public synchronized void refresh() {
+        Catalog current = catalog;
+        try {
+            ResponseEntity<String> response = webClient.get()
+                    .uri(METADATA_PATH)
+                    .headers(headers -> {
+                        if (current.etag() != null) {
+                            headers.setIfNoneMatch(current.etag());
+                        }
+                        if (current.lastModified() != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, current.lastModified());
+                        }
+                    })
+                    .exchangeToMono(clientResponse -> clientResponse.toEntity(String.class))
+                    .block(fetchTimeout);
 
+            if (response == null) {
+                throw new IllegalStateException("No response from Spring Initializr");
             }
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                catalog = current.verified(Instant.now());
+                log.debug("Spring dependency catalog is up to date");
+            } else if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                JsonNode root = MAPPER.readTree(response.getBody());
+                Catalog fetched = parseCatalog(root, "remote",
+                        response.getHeaders().getETag(),
+                        response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED),
+                        Instant.now());
+                catalog = fetched;
+                log.info("Refreshed {} Spring dependencies from Spring Initializr", fetched.index().size());
+                writeSnapshot(root, fetched);
+            } else {
+                throw new IllegalStateException("Unexpected response from Spring Initializr: " + response.getStatusCode());
+            }
+            lastError = null;
+        } catch (Exception e) {
+            lastError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.warn("Failed to refresh dependencies from Spring Initializr, keeping the {} catalog: {}",
+                    current.source(), lastError);
+            log.debug("Spring Initializr refresh failure", e);
+        } finally {
+            lastAttemptAt = Instant.now();
+        }
+    }
 
+    @Override
+    public DependencyCatalogStatus getCatalogStatus() {
+        Catalog current = catalog;
+        Long ageSeconds = current.verifiedAt() != null
+                ? Duration.between(current.verifiedAt(), Instant.now()).getSeconds()
+                : null;
+        return new DependencyCatalogStatus(current.source(), current.index().size(),
+                current.verifiedAt(), ageSeconds, lastAttemptAt, lastError);
+    }
 
+    // ==================== Local catalog ====================
 
-
+    /**
+     * Loads the on-disk snapshot if present and readable, otherwise the bundled catalog.
+     */
+    private Catalog loadLocalCatalog() {
+        if (snapshotFile != null && Files.isRegularFile(snapshotFile)) {
+            try {
+                JsonNode snapshot = MAPPER.readTree(snapshotFile.toFile());
+                Catalog loaded = parseCatalog(snapshot.get("metadata"), "snapshot",
+                        text(snapshot, "etag"), text(snapshot, "lastModified"),
+                        snapshot.hasNonNull("verifiedAt") ? Instant.parse(snapshot.get("verifiedAt").asText()) : null);
+                if (!loaded.groups().isEmpty()) {
+                    return loaded;
+                }
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable dependency snapshot {}: {}", snapshotFile, e.getMessage());
+            }
+        }
+        try (InputStream in = new ClassPathResource(BUNDLED_CATALOG).getInputStream()) {
+            return parseCatalog(MAPPER.readTree(in), "bundled", null, null, null);
         } catch (Exception e) {
-            log.warn("Failed to fetch dependencies from Spring Initializr. " +
-                    "The dependency listing feature will be unavailable until the API is reachable.", e);
+            log.warn("Bundled dependency catalog {} could not be loaded", BUNDLED_CATALOG, e);
+            return Catalog.EMPTY;
         }
     }
 
     /**
-     * Retrieves all dependency groups.
-     *
-     * @return List of all dependency groups with their associated dependencies
+     * Writes the fetched catalog to the snapshot file. The file is replaced atomically,
+     * so a crash mid-write never leaves a truncated snapshot behind.
      */
-    public List<DependencyGroup> getAllGroups() {
-        return groups;
+    private void writeSnapshot(JsonNode root, Catalog fetched) {
+        if (snapshotFile == null) {
+            return;
+        }
+        ObjectNode snapshot = MAPPER.createObjectNode();
+        snapshot.put("etag", fetched.etag());
+        snapshot.put("lastModified", fetched.lastModified());
+        snapshot.put("verifiedAt", fetched.verifiedAt().toString());
+        snapshot.putObject("metadata").set("dependencies", root.get("dependencies"));
+        try {
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try {
+                MAPPER.writeValue(temp.toFile(), snapshot);
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write dependency snapshot {}: {}", snapshotFile, e.getMessage());
+        }
     }
 
+    // ==================== Parsing ====================
+
     /**
-     * Retrieves a specific dependency by its ID.
+     * Builds a catalog from Spring Initializr metadata.
      *
-     * @param id The unique identifier of the dependency
-     * @return The DependencyMetadata object, or null if not found
+     * @throws IllegalArgumentException if the metadata has no dependency groups
      */
-    public DependencyMetadata getDependencyById(String id) {
-        return dependencyMap.get(id);
+    private static Catalog parseCatalog(JsonNode root, String source, String etag, String lastModified, Instant verifiedAt) {
+        if (root == null || !root.has("dependencies") || !root.get("dependencies").has("content")) {
+            throw new IllegalArgumentException("Invalid Spring Initializr metadata");
+        }
+
+        List<DependencyGroup> groups = new ArrayList<>();
+        JsonNode dependenciesNode = root.get("dependencies").get("content");
+        for (JsonNode dependency : dependenciesNode) {
+            DependencyGroup group = new DependencyGroup(dependency.get("name").asText());
+
+            for (JsonNode dep : dependency.get("content")) {
+                DependencyMetadata dependencyMetadata = new DependencyMetadata();
+                dependencyMetadata.setId(text(dep, "id", ""));
+                dependencyMetadata.setName(text(dep, "name", ""));
+                dependencyMetadata.setArtifactId(text(dep, "artifactId", ""));
+                dependencyMetadata.setVersion(text(dep, "version", ""));
+                dependencyMetadata.setGroupId(text(dep, "groupId", ""));
+                dependencyMetadata.setDescription(text(dep, "description", ""));
+                dependencyMetadata.setStarter(dep.get("starter") != null && dep.get("starter").asBoolean(false));
+
+                group.addDependency(dependencyMetadata);
+            }
+            groups.add(group);
+        }
+        if (groups.isEmpty()) {
+            throw new IllegalArgumentException("Spring Initializr metadata contains no dependencies");
+        }
+        return new Catalog(List.copyOf(groups), DependencyIndex.of(groups), source, etag, lastModified, verifiedAt);
     }
 
-    @Override
-    public boolean isInitialized() {
-        // Check if dependency registry has loaded groups
-        List<DependencyGroup> groups = getAllGroups();
-        return groups != null && !groups.isEmpty();
+    private static String text(JsonNode node, String field) {
+        return text(node, field, null);
     }
 
-    @Override
-    public void refresh() {
-        initialize();
+    private static String text(JsonNode node, String field, String fallback) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : fallback;
     }
 
+    /**
+     * Immutable catalog snapshot: the groups, their search index and the validators
+     * needed for conditional refreshes.
+     */
+    private record Catalog(
+            List<DependencyGroup> groups,
+            DependencyIndex index,
+            String source,
+            String etag,
+            String lastModified,
+            Instant verifiedAt) {
+
+        static final Catalog EMPTY = new Catalog(List.of(), DependencyIndex.EMPTY, "none", null, null, null);
+
+        Catalog verified(Instant at) {
+            return new Catalog(groups, index, source, etag, lastModified, at);
+        }
+    }
 }
@@ -9,18 +9,14 @@ import com.firas.generator.model.config.ArchitectureType;
 import com.firas.generator.model.config.SpringConfig;
 import com.firas.generator.service.TemplateService;
 import com.firas.generator.stack.*;
-import com.firas.generator.util.ZipUtils;
-import java.io.File;
-import org.apache.commons.io.FileUtils;
+import com.firas.generator.util.FileSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 
 @Component
 public class SpringStackProvider implements StackProvider {
@@ -33,18 +29,21 @@ public class SpringStackProvider implements StackProvider {
     private final SpringTypeMapper typeMapper;
     private final SpringDependencyProvider dependencyProvider;
     private final MicroservicesGenerator microservicesGenerator;
+    private final TableRenderExecutor tableRenderExecutor;
     
     public SpringStackProvider(
             TemplateService templateService,
             SpringCodeGenerator codeGenerator,
             SpringTypeMapper typeMapper,
             SpringDependencyProvider dependencyProvider,
-            MicroservicesGenerator microservicesGenerator) {
+            MicroservicesGenerator microservicesGenerator,
+            TableRenderExecutor tableRenderExecutor) {
         this.templateService = templateService;
         this.codeGenerator = codeGenerator;
         this.typeMapper = typeMapper;
         this.dependencyProvider = dependencyProvider;
         this.microservicesGenerator = microservicesGenerator;
+        this.tableRenderExecutor = tableRenderExecutor;
     }
     
     @Override
@@ -74,40 +73,168 @@ public class SpringStackProvider implements StackProvider {
     
     @Override
     public List<FilePreview> generateProject(ProjectRequest request) throws IOException {
+        List<FilePreview> files = new ArrayList<>();
+        generateProject(request, files::add);
+        return files;
+    }
+
+    @Override
+    public void generateProject(ProjectRequest request, FileSink sink) throws IOException {
+        generateProject(request, sink, RenderMemo.NONE);
+    }
+
+    /**
+     * Generates the project as memoizable fragments, in output order:
+     * - build: build files, main class, application config, .gitignore (settings, table presence)
+     * - security: security files (settings and all tables, for the principal entity)
+     * - config: CORS, exception handler and OpenAPI config (settings)
+     * - e2e: E2E HTTP test file (settings and all tables)
+     * - table:{name}: CRUD and test files of one table (settings and that table; all tables for the principal)
+     * - testcontainers, docker: (settings, table presence)
+     * - migrations: (settings and all tables)
+     * A microservices project is a single fragment.
+     */
+    @Override
+    public void generateProject(ProjectRequest request, FileSink sink, RenderMemo memo) throws IOException {
+        // Fingerprint before any of the request mutations below
+        RequestFingerprint fingerprint = memo.isTracking() ? RequestFingerprint.of(request) : null;
+        boolean hasTables = request.getTables() != null && !request.getTables().isEmpty();
+
         // Apply type mappings to all columns
         applyTypeMappings(request);
 
-        // Set Spring config on code generator for project structure support
-        codeGenerator.setSpringConfig(request.getEffectiveSpringConfig());
-
         // Branch to microservices generation if configured
         SpringConfig springConfig = request.getEffectiveSpringConfig();
+        GenerationContext context = GenerationContext.of(springConfig, request.getSecurityConfig());
         if (springConfig.getArchitectureType() == ArchitectureType.MICROSERVICES) {
-            return microservicesGenerator.generateMicroservicesProject(request);
+            sink.acceptAll(memo.fragment("microservices", key(fingerprint, RequestFingerprint::projectKey),
+                    () -> microservicesGenerator.generateMicroservicesProject(request, context)));
+            return;
         }
 
-        List<FilePreview> files = new ArrayList<>();
+        // Normalize and auto-include dependencies; later fragments (e.g. Docker) read the result,
+        // so this must run even when the build fragment is reused
+        boolean gradle = "gradle".equalsIgnoreCase(springConfig.getBuildTool());
+        List<DependencyMetadata> pomDependencies = gradle ? null : resolvePomDependencies(request);
 
-        try {
-        
         // Generate project structure files
-        if ("gradle".equalsIgnoreCase(springConfig.getBuildTool())) {
-            files.add(generateGradleBuild(request));
-            files.add(generateSettingsGradle(request));
-        } else {
-            files.add(generatePom(request));
+        sink.acceptAll(memo.fragment("build", key(fingerprint, fp -> fp.settingsKey(hasTables)), () -> {
+            List<FilePreview> files = new ArrayList<>();
+            if (gradle) {
+                files.add(generateGradleBuild(request));
+                files.add(generateSettingsGradle(request));
+            } else {
+                files.add(generatePom(request, pomDependencies));
+            }
+            files.add(generateMainClass(request));
+            if ("yml".equalsIgnoreCase(springConfig.getConfigFormat())) {
+                files.add(generateApplicationYml(request));
+                files.add(generateApplicationDevYml(request));
+            } else {
+                files.add(generateApplicationProperties(request));
+                files.add(generateApplicationDevProperties(request));
+            }
+            files.add(generateGitignore());
+            return files;
+        }));
+
+        // Handle security configuration specific table modifications
+        prepareSecurityTables(request);
+
+        // Generate Security Config if enabled
+        if (request.getSecurityConfig() != null && request.getSecurityConfig().isEnabled()) {
+            sink.acceptAll(memo.fragment("security", key(fingerprint, RequestFingerprint::projectKey), () -> {
+                List<FilePreview> files = generateExtendedSecurityFiles(request);
+                files.add(generateSecurityConfig(request));
+                return files;
+            }));
         }
-        files.add(generateMainClass(request));
-        if ("yml".equalsIgnoreCase(springConfig.getConfigFormat())) {
-            files.add(generateApplicationYml(request));
-            files.add(generateApplicationDevYml(request));
-        } else {
-            files.add(generateApplicationProperties(request));
-            files.add(generateApplicationDevProperties(request));
+
+        // Generate CORS configuration, Global Exception Handler and OpenAPI/Swagger configuration
+        sink.acceptAll(memo.fragment("config", key(fingerprint, RequestFingerprint::settingsKey), () -> List.of(
+                generateCorsConfig(request),
+                generateGlobalExceptionHandler(request),
+                generateOpenApiConfig(request))));
+
+        // Generate E2E HTTP test file
+        sink.acceptAll(memo.fragment("e2e", key(fingerprint, RequestFingerprint::projectKey),
+                () -> List.of(generateE2EHttp(request))));
+
+        // Generate CRUD code if tables are provided
+        if (hasTables) {
+            boolean includeDto = request.isIncludeDto() || request.isIncludeController() || request.isIncludeService();
+            boolean includeMapper = request.isIncludeMapper() || includeDto;
+
+            // Check for MapStruct in dependencies
+            List<DependencyMetadata> deps = request.getDependencies();
+            boolean hasMapStruct = deps != null && deps.stream()
+                    .anyMatch(dep -> "mapstruct".equals(dep.getId())
+                            || (dep.getArtifactId() != null && dep.getArtifactId().contains("mapstruct")));
+
+            // Check for Rest-Assured in dependencies
+            boolean hasRestAssured = deps != null && deps.stream()
+                    .anyMatch(dep -> "rest-assured".equals(dep.getId())
+                            || (dep.getArtifactId() != null && dep.getArtifactId().contains("rest-assured")));
+
+            // Check for Testcontainers in dependencies
+            boolean hasTestcontainers = deps != null && deps.stream()
+                    .anyMatch(dep -> "testcontainers".equals(dep.getId())
+                            || (dep.getArtifactId() != null && dep.getArtifactId().contains("testcontainers")));
+
+            // Render tables in parallel; every render thread shares the same immutable context.
+            // The principal table is modified based on the other tables, so its key covers all of them.
+            List<Table> tables = request.getTables();
+            List<Integer> indexes = new ArrayList<>(tables.size());
+            for (int i = 0; i < tables.size(); i++) {
+                indexes.add(i);
+            }
+            tableRenderExecutor.renderAll(indexes, i -> {
+                Table table = tables.get(i);
+                String tableKey = key(fingerprint, fp -> isPrincipalTable(table, request) ? fp.projectKey() : fp.tableKey(i));
+                return memo.fragment("table:" + table.getName(), tableKey,
+                        () -> generateTableFiles(table, request, context, includeDto, includeMapper, hasMapStruct, hasRestAssured));
+            }, sink);
+
+            // Generate Testcontainers config if enabled
+            if (request.isIncludeTests() && hasTestcontainers) {
+                sink.acceptAll(memo.fragment("testcontainers", key(fingerprint, fp -> fp.settingsKey(hasTables)),
+                        () -> generateTestcontainersFiles(request)));
+            }
+        }
+        
+        // Generate Docker files if enabled
+        if (request.isIncludeDocker()) {
+            sink.acceptAll(memo.fragment("docker", key(fingerprint, fp -> fp.settingsKey(hasTables)),
+                    () -> generateDockerFiles(request)));
         }
-        files.add(generateGitignore());
 
-        // Handle security configuration specific table modifications
+        // Generate migration files if enabled
+        if (springConfig.getMigrationTool() != null && !"none".equalsIgnoreCase(springConfig.getMigrationTool())) {
+            sink.acceptAll(memo.fragment("migrations", key(fingerprint, RequestFingerprint::projectKey),
+                    () -> generateMigrationFiles(request, springConfig)));
+        }
+    }
+
+    /**
+     * Computes a fragment key, or null when the memo does not track inputs.
+     */
+    private static String key(RequestFingerprint fingerprint, Function<RequestFingerprint, String> keyFunction) {
+        return fingerprint != null ? keyFunction.apply(fingerprint) : null;
+    }
+
+    /**
+     * @return true if security is enabled and the table is its principal entity
+     */
+    private static boolean isPrincipalTable(Table table, ProjectRequest request) {
+        com.firas.generator.model.config.SecurityConfig security = request.getSecurityConfig();
+        return security != null && security.isEnabled()
+                && table.getName() != null && table.getName().equalsIgnoreCase(security.getPrincipalEntity());
+    }
+
+    /**
+     * Injects the security metadata, columns and relationships into the principal table.
+     */
+    private void prepareSecurityTables(ProjectRequest request) {
         if (request.getSecurityConfig() != null && request.getSecurityConfig().isEnabled() && request.getTables() != null) {
             com.firas.generator.model.config.SecurityConfig security = request.getSecurityConfig();
             request.getTables().stream()
@@ -232,133 +359,70 @@ public class SpringStackProvider implements StackProvider {
                     }
                 });
         }
+    }
 
-        // Generate Security Config if enabled
-        if (request.getSecurityConfig() != null && request.getSecurityConfig().isEnabled()) {
-            files.addAll(generateExtendedSecurityFiles(request));
-            files.add(generateSecurityConfig(request));
-
-            // Set security config on code generator for @PreAuthorize annotations
-            codeGenerator.setSecurityConfig(request.getSecurityConfig());
+    // ==================== Spring-Specific Generation Methods ====================
+    
+    /**
+     * Generates all CRUD (and optional test) files for a single table.
+     * Join tables produce no files. Safe to call concurrently for different tables.
+     */
+    private List<FilePreview> generateTableFiles(Table table, ProjectRequest request, GenerationContext context,
+                                                 boolean includeDto, boolean includeMapper,
+                                                 boolean hasMapStruct, boolean hasRestAssured) {
+        List<FilePreview> files = new ArrayList<>();
+        if (table.isJoinTable()) {
+            return files; // Skip join tables
         }
-
-        // Generate CORS configuration
-        files.add(generateCorsConfig(request));
-
-        // Generate Global Exception Handler
-        files.add(generateGlobalExceptionHandler(request));
-
-        // Generate OpenAPI/Swagger configuration
-        files.add(generateOpenApiConfig(request));
-
-        // Generate E2E HTTP test file
-        files.add(generateE2EHttp(request));
-
-        // Generate CRUD code if tables are provided
-        if (request.getTables() != null && !request.getTables().isEmpty()) {
-            boolean includeDto = request.isIncludeDto() || request.isIncludeController() || request.isIncludeService();
-            boolean includeMapper = request.isIncludeMapper() || includeDto;
-
-            // Check for MapStruct in dependencies
-            List<DependencyMetadata> deps = request.getDependencies();
-            boolean hasMapStruct = deps != null && deps.stream()
-                    .anyMatch(dep -> "mapstruct".equals(dep.getId())
-                            || (dep.getArtifactId() != null && dep.getArtifactId().contains("mapstruct")));
-
-            // Check for Rest-Assured in dependencies
-            boolean hasRestAssured = deps != null && deps.stream()
-                    .anyMatch(dep -> "rest-assured".equals(dep.getId())
-                            || (dep.getArtifactId() != null && dep.getArtifactId().contains("rest-assured")));
-
-            // Check for Testcontainers in dependencies
-            boolean hasTestcontainers = deps != null && deps.stream()
-                    .anyMatch(dep -> "testcontainers".equals(dep.getId())
-                            || (dep.getArtifactId() != null && dep.getArtifactId().contains("testcontainers")));
-
-            for (Table table : request.getTables()) {
-                if (table.isJoinTable()) {
-                    continue; // Skip join tables
-                }
-                
-                if (request.isIncludeEntity()) {
-                    files.add(codeGenerator.generateEntity(table, request.getPackageName()));
-                }
-                if (request.isIncludeRepository()) {
-                    files.add(codeGenerator.generateRepository(table, request.getPackageName()));
-                }
-                if (request.isIncludeService()) {
-                    files.add(codeGenerator.generateService(table, request.getPackageName()));
-                }
-                if (request.isIncludeController()) {
-                    files.add(codeGenerator.generateController(table, request.getPackageName()));
-                }
-                if (includeDto) {
-                    files.add(codeGenerator.generateDto(table, request.getPackageName()));
-                }
-                if (includeMapper) {
-                    if (hasMapStruct) {
-                        files.add(codeGenerator.generateMapStructMapper(table, request.getPackageName()));
-                    } else {
-                        files.add(codeGenerator.generateMapper(table, request.getPackageName()));
-                    }
-                }
-                
-                // Generate tests if enabled
-                if (request.isIncludeTests()) {
-                    if (request.isIncludeRepository()) {
-                        files.add(codeGenerator.generateRepositoryTest(table, request.getPackageName()));
-                    }
-                    if (request.isIncludeController()) {
-                        if (hasRestAssured) {
-                            files.add(codeGenerator.generateRestAssuredTest(table, request.getPackageName()));
-                        } else {
-                            files.add(codeGenerator.generateControllerTest(table, request.getPackageName()));
-                        }
-                    }
-                }
-            }
-
-            // Generate Testcontainers config if enabled
-            if (request.isIncludeTests() && hasTestcontainers) {
-                files.addAll(generateTestcontainersFiles(request));
+        
+        if (request.isIncludeEntity()) {
+            files.add(codeGenerator.generateEntity(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeRepository()) {
+            files.add(codeGenerator.generateRepository(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeService()) {
+            files.add(codeGenerator.generateService(table, request.getPackageName(), context));
+        }
+        if (request.isIncludeController()) {
+            files.add(codeGenerator.generateController(table, request.getPackageName(), context));
+        }
+        if (includeDto) {
+            files.add(codeGenerator.generateDto(table, request.getPackageName(), context));
+        }
+        if (includeMapper) {
+            if (hasMapStruct) {
+                files.add(codeGenerator.generateMapStructMapper(table, request.getPackageName(), context));
+            } else {
+                files.add(codeGenerator.generateMapper(table, request.getPackageName(), context));
             }
         }
         
-        // Generate Docker files if enabled
-        if (request.isIncludeDocker()) {
-            files.addAll(generateDockerFiles(request));
-        }
-
-        // Generate migration files if enabled
-        SpringConfig config = request.getEffectiveSpringConfig();
-        if (config.getMigrationTool() != null && !"none".equalsIgnoreCase(config.getMigrationTool())) {
-            files.addAll(generateMigrationFiles(request, config));
+        // Generate tests if enabled
+        if (request.isIncludeTests()) {
+            if (request.isIncludeRepository()) {
+                files.add(codeGenerator.generateRepositoryTest(table, request.getPackageName(), context));
+            }
+            if (request.isIncludeController()) {
+                if (hasRestAssured) {
+                    files.add(codeGenerator.generateRestAssuredTest(table, request.getPackageName(), context));
+                } else {
+                    files.add(codeGenerator.generateControllerTest(table, request.getPackageName(), context));
+                }
+            }
         }
-
         return files;
-        } finally {
-            codeGenerator.clearConfig();
-        }
-    }
-
-    @Override
-    public byte[] generateProjectZip(ProjectRequest request) throws IOException {
-        List<FilePreview> files = generateProject(request);
-        return createZipFromFiles(files, getProjectName(request));
     }
     
-    // ==================== Spring-Specific Generation Methods ====================
     
     /**
-     * Generates the Maven pom.xml file.
+     * Normalizes the requested dependencies and auto-includes the ones required by the
+     * project features (web, JPA, security, validation, database drivers, springdoc).
+     * Updates the request's dependency list in place when there is one.
+     *
+     * @return The dependencies to declare in the pom.xml
      */
-    private FilePreview generatePom(ProjectRequest request) {
-        SpringConfig config = request.getEffectiveSpringConfig();
-
-        Map<String, Object> model = new HashMap<>();
-        model.put("request", request);
-        model.put("springConfig", config);
-
+    private List<DependencyMetadata> resolvePomDependencies(ProjectRequest request) {
         List<DependencyMetadata> dependencies = request.getDependencies();
         if (dependencies == null) {
             dependencies = new ArrayList<>();
@@ -504,7 +568,18 @@ public class SpringStackProvider implements StackProvider {
             springdocDep.setVersion(springdocVersion);
             dependencies.add(springdocDep);
         }
+        return dependencies;
+    }
 
+    /**
+     * Generates the Maven pom.xml file.
+     */
+    private FilePreview generatePom(ProjectRequest request, List<DependencyMetadata> dependencies) {
+        SpringConfig config = request.getEffectiveSpringConfig();
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("request", request);
+        model.put("springConfig", config);
         model.put("dependencies", dependencies);
 
         // Check if Lombok is in dependencies
@@ -764,7 +839,8 @@ public class SpringStackProvider implements StackProvider {
      * Gets the project name from the request.
      * Uses artifactId from SpringConfig or falls back to project name.
      */
-    private String getProjectName(ProjectRequest request) {
+    @Override
+    public String getProjectName(ProjectRequest request) {
         SpringConfig config = request.getEffectiveSpringConfig();
         
         if (config.getArtifactId() != null && !config.getArtifactId().isEmpty()) {
@@ -776,35 +852,6 @@ public class SpringStackProvider implements StackProvider {
         return "spring-project";
     }
     
-    /**
-     * Creates a ZIP file from the list of file previews.
-     */
-    private byte[] createZipFromFiles(List<FilePreview> files, String projectName) throws IOException {
-        Path tempDir = Files.createTempDirectory("spring-gen-");
-        File projectDir = new File(tempDir.toFile(), projectName);
-        projectDir.mkdirs();
-        
-        try {
-            // Write all files to temp directory
-            for (FilePreview file : files) {
-                Path filePath = projectDir.toPath().resolve(file.getPath());
-                Files.createDirectories(filePath.getParent());
-                Files.writeString(filePath, file.getContent(), StandardCharsets.UTF_8);
-            }
-            
-            // Create ZIP
-            return ZipUtils.zipDirectory(projectDir);
-        } finally {
-            // Cleanup temp directory
-            try {
-                FileUtils.deleteDirectory(tempDir.toFile());
-            } catch (IOException e) {
-                log.warn("Failed to clean up temp directory: {}", tempDir, e);
-            }
-        }
-
-    }
-
     private List<FilePreview> generateExtendedSecurityFiles(ProjectRequest request) {
         List<FilePreview> files = new ArrayList<>();
         com.firas.generator.model.config.SecurityConfig security = request.getSecurityConfig();
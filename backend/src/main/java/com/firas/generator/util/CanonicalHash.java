@@ -0,0 +1,80 @@
+package com.firas.generator.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing content-addressed keys.
+ *
+ * Objects are serialized to JSON with alphabetically sorted properties and map keys,
+ * so two structurally equal requests always produce the same SHA-256 digest regardless
+ * of field order in the incoming payload.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class CanonicalHash {
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .build();
+
+    private CanonicalHash() {
+    }
+
+    /**
+     * Computes the SHA-256 hex digest of the canonical JSON form of an object.
+     *
+     * @param value Object to hash (must be Jackson-serializable)
+     * @return 64-character lowercase hex digest
+     * @throws IllegalArgumentException if the object cannot be serialized
+     */
+    public static String of(Object value) {
+        try {
+            return sha256(CANONICAL_MAPPER.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot compute canonical hash", e);
+        }
+    }
+
+    /**
+     * Converts an object to its canonical JSON tree (sorted properties and map keys).
+     *
+     * The tree can be split before hashing, e.g. to hash parts of a request separately;
+     * passing the tree or any of its nodes to {@link #of(Object)} keeps the canonical order.
+     *
+     * @param value Object to convert (must be Jackson-serializable)
+     * @return Canonical JSON tree
+     * @throws IllegalArgumentException if the object cannot be serialized
+     */
+    public static JsonNode tree(Object value) {
+        return CANONICAL_MAPPER.valueToTree(value);
+    }
+
+    /**
+     * Computes the SHA-256 hex digest of a string's UTF-8 bytes.
+     *
+     * @param text Text to hash
+     * @return 64-character lowercase hex digest
+     */
+    public static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
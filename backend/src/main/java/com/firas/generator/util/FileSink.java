@@ -0,0 +1,40 @@
+package com.firas.generator.util;
+
+import com.firas.generator.model.FilePreview;
+
+import java.io.IOException;
+
+/**
+ * Receiver for generated files.
+ * 
+ * Generators push each file to a sink as soon as it has been rendered, so the
+ * caller decides whether files are collected into a list (preview) or written
+ * straight to an archive (download) without keeping the whole project on the heap.
+ * 
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@FunctionalInterface
+public interface FileSink {
+
+    /**
+     * Accepts a single generated file.
+     * 
+     * @param file The rendered file
+     * @throws IOException If the file cannot be written to the underlying target
+     */
+    void accept(FilePreview file) throws IOException;
+
+    /**
+     * Accepts every file of the given list, in order.
+     * 
+     * @param files The rendered files
+     * @throws IOException If a file cannot be written to the underlying target
+     */
+    default void acceptAll(Iterable<FilePreview> files) throws IOException {
+        for (FilePreview file : files) {
+            accept(file);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.firas.generator.util;
+
+import com.firas.generator.model.FilePreview;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link FileSink} that writes each accepted file as a ZIP entry directly onto an
+ * output stream (typically the servlet response).
+ * 
+ * Every entry is prefixed with the project name so the archive extracts into a
+ * single root folder. {@link #finish()} completes the archive; closing the sink
+ * without finishing it (e.g. when generation failed half-way) leaves the archive
+ * without its central directory, so a client never mistakes a partial download for
+ * a complete project. Either way the target stream stays open; its owner remains
+ * responsible for closing it.
+ * 
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class ZipStreamSink implements FileSink, Closeable {
+
+    private final DetachableOutputStream target;
+    private final ZipOutputStream zos;
+    private final String projectName;
+    private int entryCount;
+    private boolean finished;
+
+    /**
+     * @param out The stream receiving the archive bytes
+     * @param projectName Name of the root folder in the ZIP
+     */
+    public ZipStreamSink(OutputStream out, String projectName) {
+        if (projectName == null || projectName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Project name cannot be null or empty");
+        }
+        this.target = new DetachableOutputStream(out);
+        this.zos = new ZipOutputStream(target);
+        this.projectName = projectName;
+    }
+
+    @Override
+    public void accept(FilePreview file) throws IOException {
+        if (file == null || file.getPath() == null) {
+            return;
+        }
+
+        // Normalize path
+        String filePath = file.getPath().replace("\\", "/");
+        if (filePath.startsWith("/")) {
+            filePath = filePath.substring(1);
+        }
+
+        // Create entry with project name prefix
+        zos.putNextEntry(new ZipEntry(projectName + "/" + filePath));
+
+        // Write content
+        String content = file.getContent() != null ? file.getContent() : "";
+        zos.write(content.getBytes(StandardCharsets.UTF_8));
+        zos.closeEntry();
+        entryCount++;
+    }
+
+    /**
+     * @return Number of entries written so far
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Writes the ZIP central directory and flushes the target stream.
+     */
+    public void finish() throws IOException {
+        zos.finish();
+        zos.flush();
+        finished = true;
+    }
+
+    /**
+     * Releases the archive; an unfinished archive is abandoned without its central directory.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            target.detach();
+        }
+        zos.close();
+    }
+
+    /**
+     * Passes writes through to the target until detached, and never closes it.
+     */
+    private static final class DetachableOutputStream extends FilterOutputStream {
+
+        private boolean detached;
+
+        DetachableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        void detach() {
+            detached = true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!detached) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!detached) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!detached) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.firas.generator.model.FilePreview;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -61,6 +61,29 @@ public class ZipUtils {
         }
     }
     
+    /**
+     * Writes a list of FilePreview objects as a ZIP archive onto the given stream.
+     * 
+     * Unlike {@link #createZipFromFilePreviews(List, String)} the archive is never
+     * materialized in memory; entries are written as they are encoded. The target
+     * stream is left open.
+     * 
+     * @param files List of FilePreview objects with paths and contents
+     * @param projectName Name of the root folder in the ZIP
+     * @param out Stream receiving the ZIP bytes
+     * @throws IOException If an error occurs while writing the archive
+     */
+    public static void writeZipFromFilePreviews(List<FilePreview> files, String projectName, OutputStream out) throws IOException {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("Files list cannot be null or empty");
+        }
+        
+        try (ZipStreamSink zip = new ZipStreamSink(out, projectName)) {
+            zip.acceptAll(files);
+            zip.finish();
+        }
+    }
+    
     /**
      * Creates a ZIP file from a list of FilePreview objects.
      * 
@@ -82,33 +105,12 @@ public class ZipUtils {
             throw new IllegalArgumentException("Project name cannot be null or empty");
         }
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ZipOutputStream zos = new ZipOutputStream(baos)) {
-            
-            for (FilePreview file : files) {
-                if (file == null || file.getPath() == null) {
-                    continue;
-                }
-                
-                // Normalize path
-                String filePath = file.getPath().replace("\\", "/");
-                if (filePath.startsWith("/")) {
-                    filePath = filePath.substring(1);
-                }
-                
-                // Create entry with project name prefix
-                String entryPath = projectName + "/" + filePath;
-                zos.putNextEntry(new ZipEntry(entryPath));
-                
-                // Write content
-                String content = file.getContent() != null ? file.getContent() : "";
-                zos.write(content.getBytes(StandardCharsets.UTF_8));
-                zos.closeEntry();
-            }
-            
-            zos.finish();
-            return baos.toByteArray();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipStreamSink zip = new ZipStreamSink(baos, projectName)) {
+            zip.acceptAll(files);
+            zip.finish();
         }
+        return baos.toByteArray();
     }
 }
 
@@ -0,0 +1,298 @@
+package com.firas.generator.util.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe LRU cache bounded by entry count and total weight, with optional TTL.
+ *
+ * Entries are evicted in least-recently-used order once either bound is exceeded.
+ * A value heavier than the whole weight budget is never stored. Expired entries are
+ * dropped lazily on access and during eviction sweeps, or eagerly by {@link #cleanUp()}.
+ * An optional removal listener is told about every entry that leaves the cache other
+ * than by being replaced.
+ *
+ * All operations take the cache's monitor, which keeps the implementation simple;
+ * callers must not perform expensive work (such as rendering) while holding a value
+ * obtained from the cache in a way that requires the lock.
+ *
+ * @param <K> key type
+ * @param <V> value type; values should be immutable since they are shared between callers
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class BoundedCache<K, V> implements ManagedCache {
+
+    private final String name;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final boolean expireAfterAccess;
+    private final ToLongFunction<V> weigher;
+    private final LongSupplier clock;
+    private final BiConsumer<K, V> removalListener;
+
+    /** Access-ordered: iteration starts at the least recently used entry */
+    private final LinkedHashMap<K, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalWeight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    private BoundedCache(Builder<K, V> builder) {
+        this.name = builder.name;
+        this.maxEntries = builder.maxEntries;
+        this.maxWeight = builder.maxWeight;
+        this.ttlNanos = builder.ttl != null ? builder.ttl.toNanos() : 0L;
+        this.expireAfterAccess = builder.expireAfterAccess;
+        this.weigher = builder.weigher;
+        this.clock = builder.clock;
+        this.removalListener = builder.removalListener;
+    }
+
+    public static <K, V> Builder<K, V> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    /**
+     * Returns the cached value, or null if absent or expired.
+     */
+    public synchronized V get(K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (isExpired(entry, now)) {
+            removeEntry(key, entry);
+            expirations++;
+            misses++;
+            return null;
+        }
+        if (expireAfterAccess) {
+            entry.touchedAt = now;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, evicting least-recently-used entries as needed.
+     *
+     * @return true if the value was stored, false if it alone exceeds the weight budget
+     */
+    public synchronized boolean put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxWeight) {
+            return false;
+        }
+        CacheEntry<V> previous = entries.remove(key);
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        entries.put(key, new CacheEntry<>(value, weight, clock.getAsLong()));
+        totalWeight += weight;
+        evictIfNeeded();
+        return true;
+    }
+
+    /**
+     * Returns the cached value, or stores and returns the one created by the factory if
+     * the key is absent or expired. The factory runs under the cache's lock and must be cheap.
+     */
+    public synchronized V computeIfAbsent(K key, Function<K, V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes a single entry.
+     */
+    public synchronized void invalidate(K key) {
+        CacheEntry<V> entry = entries.remove(key);
+        if (entry != null) {
+            totalWeight -= entry.weight;
+            notifyRemoval(key, entry);
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        if (removalListener != null) {
+            entries.forEach(this::notifyRemoval);
+        }
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Drops all expired entries now rather than on a later access or write, so that
+     * idle entries are released (and their removal listener run) without traffic.
+     */
+    public synchronized void cleanUp() {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<K, CacheEntry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, CacheEntry<V>> entry = it.next();
+            if (isExpired(entry.getValue(), now)) {
+                it.remove();
+                totalWeight -= entry.getValue().weight;
+                expirations++;
+                notifyRemoval(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, entries.size(), totalWeight, maxEntries, maxWeight,
+                hits, misses, evictions, expirations);
+    }
+
+    /**
+     * @return The maximum weight of a single value that can be stored
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    private void evictIfNeeded() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<K, CacheEntry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext() && (entries.size() > maxEntries || totalWeight > maxWeight || ttlNanos > 0)) {
+            Map.Entry<K, CacheEntry<V>> eldest = it.next();
+            boolean expired = isExpired(eldest.getValue(), now);
+            boolean overBudget = entries.size() > maxEntries || totalWeight > maxWeight;
+            if (!expired && !overBudget) {
+                break;
+            }
+            it.remove();
+            totalWeight -= eldest.getValue().weight;
+            if (expired) {
+                expirations++;
+            } else {
+                evictions++;
+            }
+            notifyRemoval(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private boolean isExpired(CacheEntry<V> entry, long now) {
+        return ttlNanos > 0 && now - entry.touchedAt >= ttlNanos;
+    }
+
+    private void removeEntry(K key, CacheEntry<V> entry) {
+        entries.remove(key);
+        totalWeight -= entry.weight;
+        notifyRemoval(key, entry);
+    }
+
+    private void notifyRemoval(K key, CacheEntry<V> entry) {
+        if (removalListener != null) {
+            removalListener.accept(key, entry.value);
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long weight;
+        private long touchedAt;
+
+        private CacheEntry(V value, long weight, long touchedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.touchedAt = touchedAt;
+        }
+    }
+
+    /**
+     * Builder for {@link BoundedCache}. Unbounded dimensions default to Long/Integer MAX.
+     */
+    public static final class Builder<K, V> {
+        private final String name;
+        private int maxEntries = Integer.MAX_VALUE;
+        private long maxWeight = Long.MAX_VALUE;
+        private ToLongFunction<V> weigher = value -> 1L;
+        private Duration ttl;
+        private boolean expireAfterAccess;
+        private LongSupplier clock = System::nanoTime;
+        private BiConsumer<K, V> removalListener;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder<K, V> maximumSize(int maxEntries) {
+            this.maxEntries = Math.max(0, maxEntries);
+            return this;
+        }
+
+        public Builder<K, V> maximumWeight(long maxWeight, ToLongFunction<V> weigher) {
+            this.maxWeight = Math.max(0, maxWeight);
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Entries expire a fixed time after they were written.
+         */
+        public Builder<K, V> expireAfterWrite(Duration ttl) {
+            this.ttl = ttl;
+            this.expireAfterAccess = false;
+            return this;
+        }
+
+        /**
+         * Entries expire after being idle (neither read nor written) for the given time.
+         */
+        public Builder<K, V> expireAfterAccess(Duration ttl) {
+            this.ttl = ttl;
+            this.expireAfterAccess = true;
+            return this;
+        }
+
+        /**
+         * Overrides the nanosecond clock; intended for tests.
+         */
+        public Builder<K, V> clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Called with each entry that is evicted, expires or is invalidated. It runs while
+         * the cache's lock is held, so it must be cheap and must not use the cache.
+         */
+        public Builder<K, V> removalListener(BiConsumer<K, V> removalListener) {
+            this.removalListener = removalListener;
+            return this;
+        }
+
+        public BoundedCache<K, V> build() {
+            return new BoundedCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.firas.generator.util.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Point-in-time statistics of a {@link ManagedCache}.
+ *
+ * @param name Cache name
+ * @param size Current number of entries
+ * @param weight Current total weight (bytes for byte-weighted caches)
+ * @param maxSize Configured maximum number of entries
+ * @param maxWeight Configured maximum total weight
+ * @param hits Lookups that returned a value
+ * @param misses Lookups that found nothing or an expired entry
+ * @param evictions Entries removed to stay within the size or weight bounds
+ * @param expirations Entries removed because their TTL elapsed
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record CacheStats(
+        String name,
+        long size,
+        long weight,
+        long maxSize,
+        long maxWeight,
+        long hits,
+        long misses,
+        long evictions,
+        long expirations
+) {
+    /**
+     * @return hits / (hits + misses), or 0 when the cache was never queried
+     */
+    @JsonProperty("hitRate")
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
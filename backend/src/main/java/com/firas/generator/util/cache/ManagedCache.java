@@ -0,0 +1,29 @@
+package com.firas.generator.util.cache;
+
+/**
+ * A named cache that can be inspected and flushed through the admin API.
+ *
+ * Services owning a cache expose it as a Spring bean of this type (or implement it
+ * themselves) so that {@code CacheAdminController} discovers it automatically.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public interface ManagedCache {
+
+    /**
+     * @return Unique cache name, used in the admin endpoint paths
+     */
+    String getName();
+
+    /**
+     * @return A point-in-time snapshot of the cache's size and hit/miss/eviction counters
+     */
+    CacheStats getStats();
+
+    /**
+     * Removes every entry from the cache. Counters are kept.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,138 @@
+package com.firas.generator.util.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent computations of the same key into a single execution.
+ *
+ * The first caller for a key (the leader) runs the loader; callers arriving while it
+ * is in flight (followers) block until it finishes and receive the leader's value.
+ * Nothing is retained once the flight lands, so this complements rather than replaces
+ * a cache: it only deduplicates work that overlaps in time.
+ *
+ * A failed flight is not shared: the leader sees its own exception, and each follower
+ * falls back to computing the value on its own, outside of any flight, so a failure
+ * specific to the leader never fails the other callers. A flight whose loader returns
+ * null is not shared either, which lets a leader opt out (e.g. when the value is too
+ * large to keep); its followers fall back the same way. Falling back never elects a new
+ * leader, so followers of an unshared flight run in parallel rather than one by one.
+ *
+ * @param <K> key type
+ * @param <V> value type; values are shared between callers and should be immutable
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Computes the value of a flight.
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    /**
+     * Outcome of {@link #execute}.
+     *
+     * @param value The computed value; null if the loader (or fallback) that ran returned null
+     * @param shared true if the value was computed by another caller's flight
+     */
+    public record Result<V>(V value, boolean shared) {
+    }
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs the loader, or waits for an identical flight already in progress. A follower
+     * whose flight is not shared runs the loader itself.
+     *
+     * @param key Identifies the computation
+     * @param loader Computes the value
+     * @return The value and whether it came from another caller's flight
+     * @throws E If the loader failed for this caller
+     * @throws IllegalStateException If interrupted while waiting for another flight
+     */
+    public <E extends Exception> Result<V> execute(K key, Loader<V, E> loader) throws E {
+        return execute(key, loader, loader);
+    }
+
+    /**
+     * Runs the loader, or waits for an identical flight already in progress.
+     *
+     * @param key Identifies the computation
+     * @param loader Computes the value; only invoked when this caller becomes the leader
+     * @param fallback Invoked instead when this caller followed a flight that was not
+     *                 shared (it failed or returned null); runs outside of any flight
+     * @return The value and whether it came from another caller's flight
+     * @throws E If the loader or the fallback failed for this caller
+     * @throws IllegalStateException If interrupted while waiting for another flight
+     */
+    public <E extends Exception> Result<V> execute(K key, Loader<V, E> loader, Loader<V, E> fallback) throws E {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing == null) {
+            return new Result<>(lead(key, flight, loader), false);
+        }
+        try {
+            V value = existing.get();
+            if (value != null) {
+                coalesced.incrementAndGet();
+                return new Result<>(value, true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name + " flight", e);
+        } catch (ExecutionException e) {
+            // The leader failed; its failure is its own
+        }
+        fallbacks.incrementAndGet();
+        return new Result<>(fallback.load(), false);
+    }
+
+    private <E extends Exception> V lead(K key, CompletableFuture<V> flight, Loader<V, E> loader) throws E {
+        executions.incrementAndGet();
+        V value;
+        try {
+            value = loader.load();
+        } catch (Throwable t) {
+            // Unregister before completing so later callers start a new flight
+            flights.remove(key, flight);
+            flight.completeExceptionally(t);
+            throw t;
+        }
+        flights.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    /**
+     * @return Number of callers currently waiting for the key's flight
+     */
+    int waitingFor(K key) {
+        CompletableFuture<V> flight = flights.get(key);
+        return flight != null ? flight.getNumberOfDependents() : 0;
+    }
+
+    /**
+     * @return A point-in-time snapshot of the in-flight count and counters
+     */
+    public SingleFlightStats getStats() {
+        return new SingleFlightStats(name, flights.size(), executions.get(), coalesced.get(), fallbacks.get());
+    }
+}
@@ -0,0 +1,23 @@
+package com.firas.generator.util.cache;
+
+/**
+ * Point-in-time statistics of a {@link SingleFlight}.
+ *
+ * @param name Flight group name
+ * @param inFlight Computations currently running
+ * @param executions Computations actually run (by a leader)
+ * @param coalesced Callers served by another caller's computation, i.e. computations saved
+ * @param fallbacks Followers that computed the value themselves because their leader failed or did not share it
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record SingleFlightStats(
+        String name,
+        long inFlight,
+        long executions,
+        long coalesced,
+        long fallbacks
+) {
+}
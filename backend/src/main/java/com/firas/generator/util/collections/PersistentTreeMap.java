@@ -0,0 +1,188 @@
+package com.firas.generator.util.collections;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable sorted map with structural sharing: every update returns a new map that
+ * shares all untouched nodes with the old one.
+ *
+ * The map is a treap whose priorities are derived from the keys' hashes, so its shape
+ * depends only on its contents and lookups, insertions and removals take O(log n)
+ * expected time. An update copies only the O(log n) nodes on the path to the changed
+ * key, which makes keeping many versions (for example an undo history) cheap.
+ *
+ * Keys must be immutable and must not be null; values should be immutable too, since
+ * they are shared between versions.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class PersistentTreeMap<K extends Comparable<K>, V> {
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentTreeMap EMPTY = new PersistentTreeMap<>(null, 0);
+
+    private record Node<K, V>(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+    }
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentTreeMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<K>, V> PersistentTreeMap<K, V> empty() {
+        return (PersistentTreeMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The value of the key, or null if absent
+     */
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key());
+            if (cmp == 0) {
+                return node.value();
+            }
+            node = cmp < 0 ? node.left() : node.right();
+        }
+        return null;
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return A map with the key set to the value; this map is unchanged
+     */
+    public PersistentTreeMap<K, V> put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int newSize = containsKey(key) ? size : size + 1;
+        return new PersistentTreeMap<>(insert(root, key, value, priority(key)), newSize);
+    }
+
+    /**
+     * @return A map without the key (this map if the key is absent)
+     */
+    public PersistentTreeMap<K, V> remove(K key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        return new PersistentTreeMap<>(delete(root, key), size - 1);
+    }
+
+    /**
+     * Visits the entries in key order.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Deque<Node<K, V>> stack = new ArrayDeque<>();
+        Node<K, V> node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left();
+            }
+            node = stack.pop();
+            action.accept(node.key(), node.value());
+            node = node.right();
+        }
+    }
+
+    /**
+     * @return The values in key order
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> insert(Node<K, V> node, K key, V value, int priority) {
+        if (node == null) {
+            return new Node<>(key, value, priority, null, null);
+        }
+        int cmp = key.compareTo(node.key());
+        if (cmp == 0) {
+            return new Node<>(key, value, node.priority(), node.left(), node.right());
+        }
+        if (cmp < 0) {
+            Node<K, V> left = insert(node.left(), key, value, priority);
+            if (left.priority() > node.priority()) {
+                // Rotate right: the new child rises above its parent
+                return new Node<>(left.key(), left.value(), left.priority(), left.left(),
+                        new Node<>(node.key(), node.value(), node.priority(), left.right(), node.right()));
+            }
+            return new Node<>(node.key(), node.value(), node.priority(), left, node.right());
+        }
+        Node<K, V> right = insert(node.right(), key, value, priority);
+        if (right.priority() > node.priority()) {
+            // Rotate left
+            return new Node<>(right.key(), right.value(), right.priority(),
+                    new Node<>(node.key(), node.value(), node.priority(), node.left(), right.left()), right.right());
+        }
+        return new Node<>(node.key(), node.value(), node.priority(), node.left(), right);
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> delete(Node<K, V> node, K key) {
+        int cmp = key.compareTo(node.key());
+        if (cmp == 0) {
+            return merge(node.left(), node.right());
+        }
+        if (cmp < 0) {
+            return new Node<>(node.key(), node.value(), node.priority(), delete(node.left(), key), node.right());
+        }
+        return new Node<>(node.key(), node.value(), node.priority(), node.left(), delete(node.right(), key));
+    }
+
+    /**
+     * Joins two treaps whose keys are all smaller (left) and all larger (right).
+     */
+    private static <K extends Comparable<K>, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority() > right.priority()) {
+            return new Node<>(left.key(), left.value(), left.priority(), left.left(), merge(left.right(), right));
+        }
+        return new Node<>(right.key(), right.value(), right.priority(), merge(left, right.left()), right.right());
+    }
+
+    /**
+     * Scrambles the key's hash, so that similar keys still get independent priorities.
+     */
+    private static int priority(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
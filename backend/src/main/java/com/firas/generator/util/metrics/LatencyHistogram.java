@@ -0,0 +1,132 @@
+package com.firas.generator.util.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets.
+ *
+ * Bucket bounds grow by 20% from 100 microseconds up to about half an hour, so any
+ * percentile is reported within 20% of the true value while the histogram stays a fixed
+ * array of counters. Recording is a bucket lookup and a few atomic increments, cheap
+ * enough for every request.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class LatencyHistogram {
+
+    private static final long MIN_BOUND_MICROS = 100;
+    private static final double GROWTH = 1.2;
+    private static final long MAX_BOUND_MICROS = 30L * 60 * 1_000_000;
+
+    /** Inclusive upper bound of each bucket; the last bucket takes everything larger */
+    private static final long[] BOUNDS_MICROS = bounds();
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Point-in-time summary of a histogram, in milliseconds.
+     *
+     * @param count Number of recorded values
+     * @param meanMs Mean latency
+     * @param p50Ms Median latency
+     * @param p95Ms 95th percentile
+     * @param p99Ms 99th percentile
+     * @param maxMs Largest recorded latency
+     */
+    public record Snapshot(long count, double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos Elapsed time in nanoseconds; negative values count as zero
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucketOf(micros));
+        total.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * @return Number of recorded values
+     */
+    public long count() {
+        return total.sum();
+    }
+
+    /**
+     * Returns an estimate of a percentile: the upper bound of the bucket holding it,
+     * capped at the largest recorded value.
+     *
+     * @param quantile Between 0 and 1, e.g. 0.95
+     * @return The latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double percentileMs(double quantile) {
+        long[] snapshot = copyCounts();
+        return percentileMs(snapshot, Arrays.stream(snapshot).sum(), quantile);
+    }
+
+    public Snapshot snapshot() {
+        long[] snapshot = copyCounts();
+        long count = Arrays.stream(snapshot).sum();
+        double mean = count == 0 ? 0 : sumMicros.sum() / 1000.0 / count;
+        return new Snapshot(count, mean,
+                percentileMs(snapshot, count, 0.50),
+                percentileMs(snapshot, count, 0.95),
+                percentileMs(snapshot, count, 0.99),
+                maxMicros.get() / 1000.0);
+    }
+
+    private double percentileMs(long[] snapshot, long count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long bound = i < BOUNDS_MICROS.length ? BOUNDS_MICROS[i] : Long.MAX_VALUE;
+                return Math.min(bound, maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMicros.get() / 1000.0;
+    }
+
+    private long[] copyCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    private static int bucketOf(long micros) {
+        int index = Arrays.binarySearch(BOUNDS_MICROS, micros);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static long[] bounds() {
+        long[] bounds = new long[128];
+        int n = 0;
+        double bound = MIN_BOUND_MICROS;
+        while (bound < MAX_BOUND_MICROS) {
+            long rounded = (long) Math.ceil(bound);
+            if (n == 0 || rounded > bounds[n - 1]) {
+                bounds[n++] = rounded;
+            }
+            bound *= GROWTH;
+        }
+        return Arrays.copyOf(bounds, n);
+    }
+}
@@ -0,0 +1,1143 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.Table;
+import com.firas.generator.util.sql.SqlTokenizer.Token;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process DDL parser for the MySQL and PostgreSQL dialects.
+ *
+ * Builds the same raw table model as the JDBC path of {@link SqlParser} (tables sorted by
+ * name, columns in declaration order with type, nullability, auto-increment, primary key,
+ * unique and foreign key flags) without executing the script against a database server.
+ * Class names, field names, Java types and relationships are filled in by {@link SqlParser}.
+ *
+ * Supported statements:
+ * - CREATE TABLE with inline and table-level constraints
+ * - CREATE [UNIQUE] INDEX
+ * - ALTER TABLE ADD/DROP/MODIFY/CHANGE/ALTER/RENAME COLUMN, ADD/DROP CONSTRAINT,
+ *   ADD/DROP PRIMARY KEY, ADD/DROP FOREIGN KEY, RENAME TO
+ * - DROP TABLE, RENAME TABLE
+ * Every other statement (INSERT, SET, CREATE VIEW/TYPE/SEQUENCE/FUNCTION, ...) is ignored.
+ *
+ * Type names are normalized to the upper-case base type (VARCHAR(255) becomes VARCHAR,
+ * PostgreSQL aliases such as int8 or character varying become BIGINT and VARCHAR). A column
+ * is unique when it alone forms a unique constraint or index, including a single-column
+ * primary key; unlike the JDBC path, members of composite unique keys are not flagged.
+ *
+ * Instances are not thread-safe; use one parser per script.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class DdlParser {
+
+    /** Keywords that start a column constraint; they end a column's type */
+    private static final Set<String> COLUMN_CONSTRAINT_KEYWORDS = Set.of(
+            "NOT", "NULL", "PRIMARY", "UNIQUE", "DEFAULT", "AUTO_INCREMENT", "REFERENCES", "CHECK",
+            "CONSTRAINT", "COMMENT", "COLLATE", "GENERATED", "AS", "ON", "CHARACTER", "CHARSET",
+            "KEY", "VISIBLE", "INVISIBLE", "STORAGE", "COLUMN_FORMAT", "SRID", "IDENTITY");
+
+    /** Type aliases normalized to the names understood by the type mappers */
+    private static final Map<String, String> TYPE_ALIASES = Map.ofEntries(
+            Map.entry("INT2", "SMALLINT"),
+            Map.entry("INT4", "INTEGER"),
+            Map.entry("INT8", "BIGINT"),
+            Map.entry("SERIAL", "INTEGER"),
+            Map.entry("SERIAL4", "INTEGER"),
+            Map.entry("SMALLSERIAL", "SMALLINT"),
+            Map.entry("SERIAL2", "SMALLINT"),
+            Map.entry("BIGSERIAL", "BIGINT"),
+            Map.entry("SERIAL8", "BIGINT"),
+            Map.entry("FLOAT4", "REAL"),
+            Map.entry("FLOAT8", "DOUBLE"),
+            Map.entry("DOUBLE PRECISION", "DOUBLE"),
+            Map.entry("BOOL", "BOOLEAN"),
+            Map.entry("CHARACTER VARYING", "VARCHAR"),
+            Map.entry("CHAR VARYING", "VARCHAR"),
+            Map.entry("NATIONAL CHARACTER VARYING", "VARCHAR"),
+            Map.entry("NVARCHAR", "VARCHAR"),
+            Map.entry("CHARACTER", "CHAR"),
+            Map.entry("NATIONAL CHARACTER", "CHAR"),
+            Map.entry("NCHAR", "CHAR"),
+            Map.entry("BPCHAR", "CHAR"),
+            Map.entry("DEC", "DECIMAL"),
+            Map.entry("FIXED", "DECIMAL"),
+            Map.entry("TIMESTAMPTZ", "TIMESTAMP"),
+            Map.entry("TIMESTAMP WITH TIME ZONE", "TIMESTAMP"),
+            Map.entry("TIMESTAMP WITHOUT TIME ZONE", "TIMESTAMP"),
+            Map.entry("TIMETZ", "TIME"),
+            Map.entry("TIME WITH TIME ZONE", "TIME"),
+            Map.entry("TIME WITHOUT TIME ZONE", "TIME"),
+            Map.entry("BYTEA", "VARBINARY"));
+
+    private final String dialect;
+    private final boolean postgres;
+
+    /** Tables by lower-case name, in declaration order */
+    private final Map<String, TableDef> tables = new LinkedHashMap<>();
+
+    /**
+     * @param dialect "mysql" or "postgresql"
+     */
+    public DdlParser(String dialect) {
+        this.dialect = dialect != null ? dialect : "mysql";
+        this.postgres = "postgresql".equalsIgnoreCase(this.dialect);
+    }
+
+    /**
+     * Parses a DDL script.
+     *
+     * @param sql The SQL script
+     * @return Tables by name, sorted by name
+     * @throws IllegalArgumentException if the script contains an unterminated string, identifier or comment
+     */
+    public Map<String, Table> parse(CharSequence sql) {
+        try {
+            return parse(new StringReader(sql.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a DDL script from a stream. Data statements are skipped without being tokenized,
+     * so the cost of a dump is dominated by its DDL.
+     *
+     * @param script The SQL script
+     * @return Tables by name, sorted by name
+     * @throws IOException If reading the script fails
+     * @throws IllegalArgumentException if the script contains an unterminated string, identifier or comment
+     */
+    public Map<String, Table> parse(Reader script) throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(script, dialect);
+        String text;
+        while ((text = reader.next()) != null) {
+            parseStatementText(text);
+        }
+        return build();
+    }
+
+    /**
+     * Parses statements already split by {@link SqlStatementReader}.
+     *
+     * @param statements The statements, without delimiters
+     * @return Tables by name, sorted by name
+     * @throws IllegalArgumentException if a statement contains an unterminated string, identifier or comment
+     */
+    public Map<String, Table> parseStatements(List<String> statements) {
+        for (String text : statements) {
+            parseStatementText(text);
+        }
+        return build();
+    }
+
+    private void parseStatementText(String text) {
+        List<Token> statement = new SqlTokenizer(text, dialect).nextStatement();
+        if (statement != null) {
+            parseStatement(new Cursor(statement));
+        }
+    }
+
+    // ==================================================================================
+    // STATEMENTS
+    // ==================================================================================
+
+    private void parseStatement(Cursor c) {
+        if (c.accept("CREATE")) {
+            parseCreate(c);
+        } else if (c.accept("ALTER")) {
+            if (c.accept("TABLE")) {
+                parseAlterTable(c);
+            }
+        } else if (c.accept("DROP")) {
+            if (c.accept("TABLE")) {
+                parseDropTable(c);
+            }
+        } else if (c.accept("RENAME")) {
+            if (c.accept("TABLE")) {
+                parseRenameTable(c);
+            }
+        }
+    }
+
+    private void parseCreate(Cursor c) {
+        c.accept("OR");
+        c.accept("REPLACE");
+        while (c.acceptAny("TEMPORARY", "TEMP", "UNLOGGED", "GLOBAL", "LOCAL")) {
+            // table modifiers do not change the schema model
+        }
+        if (c.accept("TABLE")) {
+            parseCreateTable(c);
+            return;
+        }
+        boolean unique = c.accept("UNIQUE");
+        c.acceptAny("FULLTEXT", "SPATIAL");
+        if (c.accept("INDEX")) {
+            parseCreateIndex(c, unique);
+        }
+    }
+
+    private void parseCreateTable(Cursor c) {
+        acceptIfNotExists(c);
+        String name = qualifiedName(c);
+        if (name == null || !c.peekSymbol('(')) {
+            return; // CREATE TABLE ... AS SELECT / LIKE: structure unknown
+        }
+        TableDef table = new TableDef(name);
+        tables.put(key(name), table);
+
+        for (Cursor element : c.parenthesizedList()) {
+            if (isTableConstraint(element)) {
+                parseTableConstraint(table, element);
+            } else if (element.accept("LIKE")) {
+                TableDef source = tables.get(key(qualifiedName(element)));
+                if (source != null) {
+                    source.columns.values().forEach(col -> table.addColumn(copy(col)));
+                }
+            } else {
+                parseColumnDefinition(table, element, null);
+            }
+        }
+    }
+
+    private void parseCreateIndex(Cursor c, boolean unique) {
+        c.accept("CONCURRENTLY");
+        acceptIfNotExists(c);
+        String indexName = c.peek("ON") ? null : identifier(c);
+        if (!c.accept("ON")) {
+            return;
+        }
+        c.accept("ONLY");
+        TableDef table = tables.get(key(qualifiedName(c)));
+        if (c.accept("USING")) {
+            c.next();
+        }
+        if (table == null || !c.peekSymbol('(') || !unique) {
+            return;
+        }
+        List<String> columns = indexColumns(c);
+        if (columns != null) {
+            table.uniques.add(new KeyDef(indexName, columns));
+        }
+    }
+
+    private void parseAlterTable(Cursor c) {
+        acceptIfExists(c);
+        c.accept("ONLY");
+        String name = qualifiedName(c);
+        TableDef table = name != null ? tables.get(key(name)) : null;
+        if (table == null) {
+            return;
+        }
+        for (Cursor action : c.commaSeparated()) {
+            parseAlterAction(table, action);
+        }
+    }
+
+    private void parseAlterAction(TableDef table, Cursor c) {
+        if (c.accept("ADD")) {
+            if (isTableConstraint(c)) {
+                parseTableConstraint(table, c);
+            } else {
+                c.accept("COLUMN");
+                acceptIfNotExists(c);
+                if (c.peekSymbol('(')) {
+                    // MySQL: ADD (col1 def, col2 def)
+                    for (Cursor element : c.parenthesizedList()) {
+                        parseColumnDefinition(table, element, null);
+                    }
+                } else {
+                    parseColumnDefinition(table, c, null);
+                }
+            }
+        } else if (c.accept("DROP")) {
+            parseDropAction(table, c);
+        } else if (c.accept("MODIFY")) {
+            c.accept("COLUMN");
+            ColumnDef existing = table.columns.get(key(c.peekIdentifier()));
+            parseColumnDefinition(table, c, existing);
+        } else if (c.accept("CHANGE")) {
+            c.accept("COLUMN");
+            ColumnDef existing = table.columns.get(key(identifier(c)));
+            String newName = c.peekIdentifier();
+            if (existing != null && newName != null) {
+                String oldName = existing.column.getName();
+                parseColumnDefinition(table, c, existing);
+                renameColumn(table, oldName, newName);
+            }
+        } else if (c.accept("ALTER")) {
+            c.accept("COLUMN");
+            ColumnDef column = table.columns.get(key(identifier(c)));
+            if (column != null) {
+                parseAlterColumn(column, c);
+            }
+        } else if (c.accept("RENAME")) {
+            if (c.acceptAny("TO", "AS")) {
+                renameTable(table, qualifiedName(c));
+            } else if (c.accept("COLUMN") || c.peekIdentifier() != null && !c.peek("CONSTRAINT") && !c.peek("INDEX") && !c.peek("KEY")) {
+                String oldName = identifier(c);
+                if (c.accept("TO")) {
+                    String newName = identifier(c);
+                    ColumnDef column = table.columns.get(key(oldName));
+                    if (column != null && newName != null) {
+                        table.renameColumnKey(oldName, newName);
+                        column.column.setName(newName);
+                        renameColumn(table, oldName, newName);
+                    }
+                }
+            }
+        }
+    }
+
+    private void parseDropAction(TableDef table, Cursor c) {
+        if (c.accept("PRIMARY")) {
+            c.accept("KEY");
+            table.primaryKey = null;
+        } else if (c.accept("FOREIGN")) {
+            c.accept("KEY");
+            String name = identifier(c);
+            table.foreignKeys.removeIf(fk -> name != null && name.equalsIgnoreCase(fk.name));
+        } else if (c.acceptAny("INDEX", "KEY")) {
+            String name = identifier(c);
+            table.uniques.removeIf(unique -> name != null && name.equalsIgnoreCase(unique.name));
+        } else if (c.accept("CONSTRAINT")) {
+            acceptIfExists(c);
+            table.dropConstraint(identifier(c));
+        } else if (!c.acceptAny("CHECK", "DEFAULT")) {
+            c.accept("COLUMN");
+            acceptIfExists(c);
+            String name = identifier(c);
+            if (name != null) {
+                table.dropColumn(name);
+            }
+        }
+    }
+
+    private void parseAlterColumn(ColumnDef column, Cursor c) {
+        if (c.accept("SET")) {
+            if (c.accept("NOT")) {
+                c.accept("NULL");
+                column.column.setNullable(false);
+            } else if (c.accept("DATA")) {
+                c.accept("TYPE");
+                column.column.setType(parseType(c, column.column));
+            } else if (c.accept("DEFAULT") && skipDefault(c)) {
+                // pg_dump attaches serial sequences this way
+                column.column.setAutoIncrement(true);
+            }
+        } else if (c.accept("DROP")) {
+            if (c.accept("NOT")) {
+                column.column.setNullable(true);
+            } else if (c.accept("IDENTITY")) {
+                column.column.setAutoIncrement(false);
+            }
+        } else if (c.accept("TYPE")) {
+            column.column.setType(parseType(c, column.column));
+        } else if (c.accept("ADD")) {
+            if (c.accept("GENERATED") && c.skipUntil("IDENTITY")) {
+                column.column.setAutoIncrement(true);
+            }
+        }
+    }
+
+    private void parseDropTable(Cursor c) {
+        acceptIfExists(c);
+        for (Cursor name : c.commaSeparated()) {
+            String tableName = qualifiedName(name);
+            if (tableName != null) {
+                tables.remove(key(tableName));
+            }
+        }
+    }
+
+    private void parseRenameTable(Cursor c) {
+        for (Cursor pair : c.commaSeparated()) {
+            TableDef table = tables.get(key(qualifiedName(pair)));
+            if (table != null && pair.accept("TO")) {
+                renameTable(table, qualifiedName(pair));
+            }
+        }
+    }
+
+    // ==================================================================================
+    // COLUMNS AND CONSTRAINTS
+    // ==================================================================================
+
+    /**
+     * Parses "name type constraints..." and adds the column, or replaces {@code existing}.
+     */
+    private void parseColumnDefinition(TableDef table, Cursor c, ColumnDef existing) {
+        String name = identifier(c);
+        if (name == null || c.atEnd()) {
+            return;
+        }
+        Column column = new Column();
+        column.setName(name);
+        column.setNullable(true);
+        column.setType(parseType(c, column));
+
+        ColumnDef def = new ColumnDef(column);
+        if (existing != null) {
+            table.replaceColumn(existing, def);
+        } else {
+            table.addColumn(def);
+        }
+
+        String constraintName = null;
+        while (!c.atEnd()) {
+            if (c.accept("CONSTRAINT")) {
+                constraintName = identifier(c);
+                continue;
+            }
+            if (c.accept("NOT")) {
+                c.accept("NULL");
+                column.setNullable(false);
+            } else if (c.accept("NULL")) {
+                column.setNullable(true);
+            } else if (c.accept("PRIMARY")) {
+                c.accept("KEY");
+                table.primaryKey = new KeyDef(constraintName, List.of(name));
+            } else if (c.accept("UNIQUE")) {
+                c.acceptAny("KEY", "INDEX");
+                table.uniques.add(new KeyDef(constraintName, List.of(name)));
+            } else if (c.accept("KEY")) {
+                // MySQL: "col INT KEY" is a primary key
+                table.primaryKey = new KeyDef(constraintName, List.of(name));
+            } else if (c.accept("AUTO_INCREMENT")) {
+                column.setAutoIncrement(true);
+            } else if (c.accept("DEFAULT")) {
+                if (skipDefault(c)) {
+                    column.setAutoIncrement(true);
+                }
+            } else if (c.accept("REFERENCES")) {
+                ForeignKeyDef fk = parseReferences(c, constraintName, List.of(name));
+                if (fk != null) {
+                    table.foreignKeys.add(fk);
+                }
+            } else if (c.accept("GENERATED")) {
+                // GENERATED {ALWAYS | BY DEFAULT} AS IDENTITY, or GENERATED ALWAYS AS (expr)
+                c.acceptAny("ALWAYS", "BY");
+                c.accept("DEFAULT");
+                c.accept("AS");
+                if (c.accept("IDENTITY")) {
+                    column.setAutoIncrement(true);
+                    column.setNullable(false);
+                }
+                c.skipParenthesized();
+            } else if (c.accept("ON")) {
+                // MySQL: ON UPDATE CURRENT_TIMESTAMP
+                c.accept("UPDATE");
+                skipDefault(c);
+            } else if (c.acceptAny("COMMENT", "COLLATE", "CHARSET", "STORAGE", "COLUMN_FORMAT", "SRID")) {
+                c.next();
+            } else if (c.accept("CHARACTER")) {
+                c.accept("SET");
+                c.next();
+            } else if (c.accept("FIRST")) {
+                // MySQL: ADD/MODIFY/CHANGE ... FIRST
+                table.moveColumn(def, null);
+            } else if (c.accept("AFTER")) {
+                String after = identifier(c);
+                if (after != null) {
+                    table.moveColumn(def, after);
+                }
+            } else if (c.accept("SERIAL")) {
+                // MySQL: SERIAL DEFAULT VALUE
+                c.accept("DEFAULT");
+                c.accept("VALUE");
+                column.setAutoIncrement(true);
+                column.setNullable(false);
+                table.uniques.add(new KeyDef(constraintName, List.of(name)));
+            } else {
+                // CHECK (...), AS (...) [STORED|VIRTUAL], VISIBLE, or anything unknown
+                c.next();
+                c.skipParenthesized();
+            }
+            constraintName = null;
+        }
+    }
+
+    /**
+     * Parses a column type and returns its normalized name.
+     * Marks serial types as auto-increment (and NOT NULL, as PostgreSQL does).
+     */
+    private String parseType(Cursor c, Column column) {
+        Token first = c.next();
+        if (first == null) {
+            return "";
+        }
+        StringBuilder type = new StringBuilder(first.text().toUpperCase(Locale.ROOT));
+
+        // Multi-word types
+        while (!c.atEnd() && c.peekType()) {
+            type.append(' ').append(c.next().text().toUpperCase(Locale.ROOT));
+        }
+
+        List<String> args = c.peekSymbol('(') ? c.parenthesizedWords() : List.of();
+        // TIMESTAMP(3) WITH TIME ZONE
+        while (!c.atEnd() && c.peekType()) {
+            type.append(' ').append(c.next().text().toUpperCase(Locale.ROOT));
+        }
+        // PostgreSQL arrays: INTEGER[]
+        while (c.peekSymbol('[')) {
+            c.next();
+            while (!c.atEnd() && !c.acceptSymbol(']')) {
+                c.next();
+            }
+        }
+        // MySQL numeric modifiers
+        while (c.acceptAny("UNSIGNED", "SIGNED", "ZEROFILL")) {
+            // not part of the base type
+        }
+
+        String name = type.toString();
+        if (name.equals("SERIAL") && !postgres) {
+            // MySQL: SERIAL = BIGINT UNSIGNED NOT NULL AUTO_INCREMENT UNIQUE
+            column.setAutoIncrement(true);
+            column.setNullable(false);
+            return "BIGINT";
+        }
+        if (postgres && name.contains("SERIAL")) {
+            column.setAutoIncrement(true);
+            column.setNullable(false);
+        }
+        if (name.equals("TINYINT") && args.equals(List.of("1")) && !postgres) {
+            return "BOOLEAN";
+        }
+        if (name.equals("INTEGER") && !postgres) {
+            return "INT";
+        }
+        return TYPE_ALIASES.getOrDefault(name, name);
+    }
+
+    /**
+     * Skips a DEFAULT expression.
+     *
+     * @return true if the default draws from a sequence (nextval), i.e. the column is auto-increment
+     */
+    private boolean skipDefault(Cursor c) {
+        boolean sequence = false;
+        boolean first = true;
+        while (!c.atEnd()) {
+            Token token = c.peekToken();
+            if (!first && token.type() == SqlTokenizer.TokenType.WORD
+                    && COLUMN_CONSTRAINT_KEYWORDS.contains(token.text().toUpperCase(Locale.ROOT))) {
+                return sequence;
+            }
+            if (token.is("nextval")) {
+                sequence = true;
+            }
+            if (token.isSymbol('(')) {
+                c.skipParenthesized();
+            } else {
+                c.next();
+                c.skipParenthesized();
+            }
+            first = token.isSymbol('-') || token.isSymbol('+') || token.isSymbol(':');
+        }
+        return sequence;
+    }
+
+    private boolean isTableConstraint(Cursor c) {
+        return c.peek("CONSTRAINT") || c.peek("PRIMARY") || c.peek("FOREIGN") || c.peek("CHECK")
+                || c.peek("INDEX") || c.peek("KEY") || c.peek("FULLTEXT") || c.peek("SPATIAL")
+                || c.peek("EXCLUDE") || c.peek("UNIQUE");
+    }
+
+    private void parseTableConstraint(TableDef table, Cursor c) {
+        String name = null;
+        if (c.accept("CONSTRAINT")) {
+            name = c.peek("PRIMARY") || c.peek("UNIQUE") || c.peek("FOREIGN") || c.peek("CHECK") ? null : identifier(c);
+        }
+        if (c.accept("PRIMARY")) {
+            c.accept("KEY");
+            skipIndexName(c);
+            List<String> columns = indexColumns(c);
+            if (columns != null) {
+                table.primaryKey = new KeyDef(name, columns);
+            }
+        } else if (c.accept("UNIQUE")) {
+            c.acceptAny("KEY", "INDEX");
+            String indexName = skipIndexName(c);
+            List<String> columns = indexColumns(c);
+            if (columns != null) {
+                table.uniques.add(new KeyDef(name != null ? name : indexName, columns));
+            }
+        } else if (c.accept("FOREIGN")) {
+            c.accept("KEY");
+            String indexName = skipIndexName(c);
+            List<String> columns = indexColumns(c);
+            if (columns != null && c.accept("REFERENCES")) {
+                ForeignKeyDef fk = parseReferences(c, name != null ? name : indexName, columns);
+                if (fk != null) {
+                    table.foreignKeys.add(fk);
+                }
+            }
+        }
+        // CHECK, plain INDEX/KEY, FULLTEXT, SPATIAL and EXCLUDE do not affect the model
+    }
+
+    /**
+     * Parses "table [(columns)] [MATCH ...] [ON DELETE ...] [ON UPDATE ...]".
+     */
+    private ForeignKeyDef parseReferences(Cursor c, String name, List<String> columns) {
+        String refTable = qualifiedName(c);
+        if (refTable == null) {
+            return null;
+        }
+        List<String> refColumns = c.peekSymbol('(') ? indexColumns(c) : List.of();
+        while (true) {
+            if (c.accept("MATCH") || c.accept("INITIALLY")) {
+                c.next();
+            } else if (c.peek("ON") && (c.peekTokenAt(1) != null
+                    && (c.peekTokenAt(1).is("DELETE") || c.peekTokenAt(1).is("UPDATE")))) {
+                // ON DELETE|UPDATE {CASCADE | RESTRICT | NO ACTION | SET NULL | SET DEFAULT}
+                c.next();
+                c.next();
+                if (c.acceptAny("SET", "NO")) {
+                    c.next();
+                } else {
+                    c.next();
+                }
+            } else if (c.peek("NOT") && c.peekTokenAt(1) != null && c.peekTokenAt(1).is("DEFERRABLE")) {
+                c.next();
+                c.next();
+            } else if (!c.accept("DEFERRABLE")) {
+                break;
+            }
+        }
+        return new ForeignKeyDef(name, columns, refTable, refColumns != null ? refColumns : List.of());
+    }
+
+    /**
+     * Skips an optional index name (and MySQL "USING BTREE") before a column list.
+     *
+     * @return The index name, or null
+     */
+    private String skipIndexName(Cursor c) {
+        String name = null;
+        if (!c.peekSymbol('(') && !c.peek("USING")) {
+            name = identifier(c);
+        }
+        if (c.accept("USING")) {
+            c.next();
+        }
+        return name;
+    }
+
+    /**
+     * Parses "(col [(len)] [ASC|DESC], ...)".
+     *
+     * @return The column names, or null if the list contains an expression
+     */
+    private List<String> indexColumns(Cursor c) {
+        List<String> columns = new ArrayList<>();
+        for (Cursor element : c.parenthesizedList()) {
+            if (element.peekToken() == null || !element.peekToken().isIdentifier() || element.peekSymbolAt(1, '(') && !isPrefixLength(element)) {
+                return null;
+            }
+            columns.add(identifier(element));
+        }
+        return columns;
+    }
+
+    /** MySQL prefix index: name(10) */
+    private boolean isPrefixLength(Cursor element) {
+        Token token = element.peekTokenAt(2);
+        return token != null && token.type() == SqlTokenizer.TokenType.NUMBER;
+    }
+
+    // ==================================================================================
+    // RENAMES
+    // ==================================================================================
+
+    private void renameColumn(TableDef table, String oldName, String newName) {
+        if (oldName.equalsIgnoreCase(newName)) {
+            return;
+        }
+        if (table.primaryKey != null) {
+            table.primaryKey = table.primaryKey.rename(oldName, newName);
+        }
+        table.uniques.replaceAll(unique -> unique.rename(oldName, newName));
+        table.foreignKeys.replaceAll(fk -> fk.renameColumn(oldName, newName));
+        for (TableDef other : tables.values()) {
+            other.foreignKeys.replaceAll(fk -> fk.refTable.equalsIgnoreCase(table.name)
+                    ? fk.renameRefColumn(oldName, newName) : fk);
+        }
+    }
+
+    private void renameTable(TableDef table, String newName) {
+        if (newName == null) {
+            return;
+        }
+        String oldName = table.name;
+        tables.remove(key(oldName));
+        table.name = newName;
+        tables.put(key(newName), table);
+        for (TableDef other : tables.values()) {
+            other.foreignKeys.replaceAll(fk -> fk.refTable.equalsIgnoreCase(oldName) ? fk.withRefTable(newName) : fk);
+        }
+    }
+
+    // ==================================================================================
+    // MODEL
+    // ==================================================================================
+
+    private Map<String, Table> build() {
+        List<TableDef> sorted = new ArrayList<>(tables.values());
+        sorted.sort((a, b) -> a.name.compareTo(b.name));
+
+        Map<String, Table> result = new LinkedHashMap<>();
+        for (TableDef def : sorted) {
+            Table table = new Table();
+            table.setName(def.name);
+
+            List<String> primaryKey = def.primaryKey != null ? def.primaryKey.columns : List.of();
+            for (ColumnDef columnDef : def.columns.values()) {
+                Column column = columnDef.column;
+                String name = column.getName();
+                if (containsIgnoreCase(primaryKey, name)) {
+                    column.setPrimaryKey(true);
+                    column.setNullable(false);
+                }
+                if (primaryKey.size() == 1 && primaryKey.get(0).equalsIgnoreCase(name)
+                        || def.uniques.stream().anyMatch(u -> u.columns.size() == 1 && u.columns.get(0).equalsIgnoreCase(name))) {
+                    column.setUnique(true);
+                }
+                table.addColumn(column);
+            }
+
+            for (ForeignKeyDef fk : def.foreignKeys) {
+                TableDef ref = tables.get(key(fk.refTable));
+                String refTableName = ref != null ? ref.name : fk.refTable;
+                List<String> refColumns = fk.refColumns;
+                if (refColumns.isEmpty() && ref != null && ref.primaryKey != null) {
+                    refColumns = ref.primaryKey.columns;
+                }
+                for (int i = 0; i < fk.columns.size(); i++) {
+                    ColumnDef columnDef = def.columns.get(key(fk.columns.get(i)));
+                    if (columnDef == null) {
+                        continue;
+                    }
+                    columnDef.column.setForeignKey(true);
+                    columnDef.column.setReferencedTable(refTableName);
+                    columnDef.column.setReferencedColumn(i < refColumns.size() ? resolveColumnName(ref, refColumns.get(i)) : null);
+                }
+            }
+            result.put(def.name, table);
+        }
+        return result;
+    }
+
+    private static String resolveColumnName(TableDef table, String name) {
+        if (table == null) {
+            return name;
+        }
+        ColumnDef column = table.columns.get(key(name));
+        return column != null ? column.column.getName() : name;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String v : values) {
+            if (v.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Column copy(ColumnDef def) {
+        Column source = def.column;
+        Column column = new Column();
+        column.setName(source.getName());
+        column.setType(source.getType());
+        column.setNullable(source.isNullable());
+        column.setAutoIncrement(source.isAutoIncrement());
+        return column;
+    }
+
+    // ==================================================================================
+    // HELPERS
+    // ==================================================================================
+
+    private void acceptIfNotExists(Cursor c) {
+        if (c.peek("IF")) {
+            c.next();
+            c.accept("NOT");
+            c.accept("EXISTS");
+        }
+    }
+
+    private void acceptIfExists(Cursor c) {
+        if (c.peek("IF")) {
+            c.next();
+            c.accept("EXISTS");
+        }
+    }
+
+    /**
+     * Reads a possibly schema-qualified name and returns its last part.
+     */
+    private String qualifiedName(Cursor c) {
+        String name = identifier(c);
+        while (name != null && c.acceptSymbol('.')) {
+            name = identifier(c);
+        }
+        return name;
+    }
+
+    /**
+     * Reads an identifier; unquoted PostgreSQL identifiers are folded to lower case.
+     */
+    private String identifier(Cursor c) {
+        Token token = c.peekToken();
+        if (token == null || !token.isIdentifier()) {
+            return null;
+        }
+        c.next();
+        return normalize(token);
+    }
+
+    private String normalize(Token token) {
+        return postgres && token.type() == SqlTokenizer.TokenType.WORD
+                ? token.text().toLowerCase(Locale.ROOT) : token.text();
+    }
+
+    private static String key(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private record KeyDef(String name, List<String> columns) {
+        KeyDef rename(String oldName, String newName) {
+            return new KeyDef(name, renamed(columns, oldName, newName));
+        }
+    }
+
+    private record ForeignKeyDef(String name, List<String> columns, String refTable, List<String> refColumns) {
+        ForeignKeyDef renameColumn(String oldName, String newName) {
+            return new ForeignKeyDef(name, renamed(columns, oldName, newName), refTable, refColumns);
+        }
+
+        ForeignKeyDef renameRefColumn(String oldName, String newName) {
+            return new ForeignKeyDef(name, columns, refTable, renamed(refColumns, oldName, newName));
+        }
+
+        ForeignKeyDef withRefTable(String newRefTable) {
+            return new ForeignKeyDef(name, columns, newRefTable, refColumns);
+        }
+    }
+
+    private static List<String> renamed(List<String> names, String oldName, String newName) {
+        List<String> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(name.equalsIgnoreCase(oldName) ? newName : name);
+        }
+        return result;
+    }
+
+    private static final class ColumnDef {
+        private final Column column;
+
+        private ColumnDef(Column column) {
+            this.column = column;
+        }
+    }
+
+    private static final class TableDef {
+        private String name;
+        private final Map<String, ColumnDef> columns = new LinkedHashMap<>();
+        private KeyDef primaryKey;
+        private final List<KeyDef> uniques = new ArrayList<>();
+        private final List<ForeignKeyDef> foreignKeys = new ArrayList<>();
+
+        private TableDef(String name) {
+            this.name = name;
+        }
+
+        private void addColumn(ColumnDef column) {
+            columns.put(key(column.column.getName()), column);
+        }
+
+        private void addColumn(Column column) {
+            addColumn(new ColumnDef(column));
+        }
+
+        /**
+         * Replaces a column definition in place, keeping its position.
+         */
+        private void replaceColumn(ColumnDef existing, ColumnDef replacement) {
+            Map<String, ColumnDef> copy = new LinkedHashMap<>(columns);
+            columns.clear();
+            for (Map.Entry<String, ColumnDef> entry : copy.entrySet()) {
+                if (entry.getValue() == existing) {
+                    addColumn(replacement);
+                } else {
+                    columns.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        /**
+         * Moves a column to the front, or right after another column (MySQL FIRST / AFTER);
+         * an unknown anchor column leaves the order unchanged.
+         */
+        private void moveColumn(ColumnDef column, String afterColumn) {
+            String movedKey = key(column.column.getName());
+            String anchorKey = afterColumn != null ? key(afterColumn) : null;
+            if (anchorKey != null && (anchorKey.equals(movedKey) || !columns.containsKey(anchorKey))) {
+                return;
+            }
+            Map<String, ColumnDef> copy = new LinkedHashMap<>(columns);
+            copy.remove(movedKey);
+            columns.clear();
+            if (anchorKey == null) {
+                columns.put(movedKey, column);
+            }
+            for (Map.Entry<String, ColumnDef> entry : copy.entrySet()) {
+                columns.put(entry.getKey(), entry.getValue());
+                if (entry.getKey().equals(anchorKey)) {
+                    columns.put(movedKey, column);
+                }
+            }
+        }
+
+        private void renameColumnKey(String oldName, String newName) {
+            Map<String, ColumnDef> copy = new LinkedHashMap<>(columns);
+            columns.clear();
+            for (Map.Entry<String, ColumnDef> entry : copy.entrySet()) {
+                columns.put(entry.getKey().equals(key(oldName)) ? key(newName) : entry.getKey(), entry.getValue());
+            }
+        }
+
+        private void dropColumn(String columnName) {
+            columns.remove(key(columnName));
+            if (primaryKey != null && containsIgnoreCase(primaryKey.columns, columnName)) {
+                primaryKey = null;
+            }
+            uniques.removeIf(unique -> containsIgnoreCase(unique.columns, columnName));
+            foreignKeys.removeIf(fk -> containsIgnoreCase(fk.columns, columnName));
+        }
+
+        private void dropConstraint(String constraintName) {
+            if (constraintName == null) {
+                return;
+            }
+            if (primaryKey != null && (constraintName.equalsIgnoreCase(primaryKey.name)
+                    || constraintName.equalsIgnoreCase(name + "_pkey"))) {
+                primaryKey = null;
+            }
+            uniques.removeIf(unique -> constraintName.equalsIgnoreCase(unique.name));
+            foreignKeys.removeIf(fk -> constraintName.equalsIgnoreCase(fk.name));
+        }
+    }
+
+    /**
+     * Read position within the tokens of one statement (or of a part of it).
+     */
+    private final class Cursor {
+        private final List<Token> tokens;
+        private int pos;
+
+        private Cursor(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean atEnd() {
+            return pos >= tokens.size();
+        }
+
+        Token peekToken() {
+            return peekTokenAt(0);
+        }
+
+        Token peekTokenAt(int offset) {
+            int index = pos + offset;
+            return index < tokens.size() ? tokens.get(index) : null;
+        }
+
+        Token next() {
+            return atEnd() ? null : tokens.get(pos++);
+        }
+
+        boolean peek(String keyword) {
+            Token token = peekToken();
+            return token != null && token.is(keyword);
+        }
+
+        boolean peekSymbol(char symbol) {
+            return peekSymbolAt(0, symbol);
+        }
+
+        boolean peekSymbolAt(int offset, char symbol) {
+            Token token = peekTokenAt(offset);
+            return token != null && token.isSymbol(symbol);
+        }
+
+        /**
+         * @return The next token as an identifier (without consuming it), or null
+         */
+        String peekIdentifier() {
+            Token token = peekToken();
+            if (token == null || !token.isIdentifier()) {
+                return null;
+            }
+            return normalize(token);
+        }
+
+        /**
+         * @return true if the next word continues a multi-word type name
+         */
+        boolean peekType() {
+            Token token = peekToken();
+            if (token == null || token.type() != SqlTokenizer.TokenType.WORD) {
+                return false;
+            }
+            String word = token.text().toUpperCase(Locale.ROOT);
+            return switch (word) {
+                case "PRECISION", "VARYING", "ZONE" -> true;
+                case "WITH", "WITHOUT" -> peekTokenAt(1) != null && peekTokenAt(1).is("TIME");
+                case "TIME" -> pos > 0 && (tokens.get(pos - 1).is("WITH") || tokens.get(pos - 1).is("WITHOUT"));
+                case "CHARACTER", "CHAR" -> pos > 0 && tokens.get(pos - 1).is("NATIONAL");
+                default -> false;
+            };
+        }
+
+        boolean accept(String keyword) {
+            if (peek(keyword)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean acceptAny(String... keywords) {
+            for (String keyword : keywords) {
+                if (accept(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean acceptSymbol(char symbol) {
+            if (peekSymbol(symbol)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Skips tokens up to and including the keyword.
+         *
+         * @return true if the keyword was found
+         */
+        boolean skipUntil(String keyword) {
+            while (!atEnd()) {
+                if (next().is(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Skips a balanced parenthesized group if the cursor is at '('.
+         */
+        void skipParenthesized() {
+            if (!peekSymbol('(')) {
+                return;
+            }
+            int depth = 0;
+            while (!atEnd()) {
+                Token token = next();
+                if (token.isSymbol('(')) {
+                    depth++;
+                } else if (token.isSymbol(')') && --depth == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads the plain text of the tokens of a parenthesized group, e.g. the arguments of VARCHAR(255).
+         */
+        List<String> parenthesizedWords() {
+            List<String> words = new ArrayList<>();
+            for (Cursor element : parenthesizedList()) {
+                StringBuilder sb = new StringBuilder();
+                element.tokens.subList(element.pos, element.tokens.size()).forEach(t -> sb.append(t.text()));
+                words.add(sb.toString());
+            }
+            return words;
+        }
+
+        /**
+         * Splits a parenthesized group at its top-level commas and advances past it.
+         */
+        List<Cursor> parenthesizedList() {
+            if (!acceptSymbol('(')) {
+                return List.of();
+            }
+            int start = pos;
+            int depth = 1;
+            while (!atEnd()) {
+                Token token = tokens.get(pos);
+                if (token.isSymbol('(')) {
+                    depth++;
+                } else if (token.isSymbol(')') && --depth == 0) {
+                    break;
+                }
+                pos++;
+            }
+            List<Cursor> elements = split(tokens.subList(start, pos));
+            acceptSymbol(')');
+            return elements;
+        }
+
+        /**
+         * Splits the remaining tokens at their top-level commas and advances to the end.
+         */
+        List<Cursor> commaSeparated() {
+            List<Cursor> elements = split(tokens.subList(pos, tokens.size()));
+            pos = tokens.size();
+            return elements;
+        }
+
+        private List<Cursor> split(List<Token> range) {
+            List<Cursor> elements = new ArrayList<>();
+            int depth = 0;
+            int start = 0;
+            for (int i = 0; i < range.size(); i++) {
+                Token token = range.get(i);
+                if (token.isSymbol('(')) {
+                    depth++;
+                } else if (token.isSymbol(')')) {
+                    depth--;
+                } else if (token.isSymbol(',') && depth == 0) {
+                    if (i > start) {
+                        elements.add(new Cursor(range.subList(start, i)));
+                    }
+                    start = i + 1;
+                }
+            }
+            if (range.size() > start) {
+                elements.add(new Cursor(range.subList(start, range.size())));
+            }
+            return elements;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Table;
+
+import java.util.List;
+
+/**
+ * Result of parsing a SQL script.
+ *
+ * @param tables The parsed tables (owned by the caller)
+ * @param cacheHit true if the tables came from {@link ParsedSchemaCache} instead of a fresh parse
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public record ParsedSchema(List<Table> tables, boolean cacheHit) {
+}
@@ -0,0 +1,130 @@
+package com.firas.generator.util.sql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firas.generator.model.Table;
+import com.firas.generator.util.CanonicalHash;
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.CacheStats;
+import com.firas.generator.util.cache.ManagedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * LRU/TTL cache of parse results keyed by normalized SQL text, dialect and parse mode.
+ *
+ * Scripts that differ only in whitespace, comments or data statements share an entry
+ * (see {@link SqlTokenizer#normalize}). Entries are stored as serialized snapshots, so callers
+ * always receive fresh {@link Table} objects they are free to modify, and the cache's
+ * weight is the snapshot's size in bytes.
+ *
+ * Configuration:
+ * - sql.parser.cache.enabled: turn the cache on/off
+ * - sql.parser.cache.max-entries: maximum number of cached schemas
+ * - sql.parser.cache.max-bytes: maximum total size of cached snapshots
+ * - sql.parser.cache.ttl-seconds: time-to-live of a cached schema
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+@Component
+@Slf4j
+public class ParsedSchemaCache implements ManagedCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Table>> TABLE_LIST = new TypeReference<>() {
+    };
+
+    private final boolean enabled;
+    private final BoundedCache<String, byte[]> snapshots;
+
+    public ParsedSchemaCache(
+            @Value("${sql.parser.cache.enabled:true}") boolean enabled,
+            @Value("${sql.parser.cache.max-entries:128}") int maxEntries,
+            @Value("${sql.parser.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${sql.parser.cache.ttl-seconds:1800}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.snapshots = BoundedCache.<String, byte[]>builder("parsed-schemas")
+                .maximumSize(maxEntries)
+                .maximumWeight(maxBytes, snapshot -> snapshot.length)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Computes the cache key of a script already split by {@link SqlStatementReader}.
+     * Data statements are not part of the key, since they do not change the schema.
+     *
+     * @return The key, or null if a statement cannot be tokenized (such scripts are not cached)
+     */
+    public String key(List<String> statements, String dialect, SqlParseMode mode) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            String normalizedDialect = dialect != null ? dialect.toLowerCase() : "mysql";
+            StringBuilder normalized = new StringBuilder(mode + "\n" + normalizedDialect + "\n");
+            for (String statement : statements) {
+                normalized.append(SqlTokenizer.normalize(statement, normalizedDialect));
+            }
+            return CanonicalHash.sha256(normalized.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return A fresh copy of the cached tables, or null on a miss
+     */
+    public List<Table> get(String key) {
+        if (key == null) {
+            return null;
+        }
+        byte[] snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(snapshot, TABLE_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt parsed-schema snapshot", e);
+        }
+    }
+
+    /**
+     * Stores a snapshot of the tables; later changes to the list or its tables are not seen.
+     */
+    public void put(String key, List<Table> tables) {
+        if (key == null) {
+            return;
+        }
+        try {
+            snapshots.put(key, MAPPER.writeValueAsBytes(tables));
+        } catch (IOException e) {
+            log.warn("Cannot snapshot parsed schema, not caching it", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return snapshots.getName();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return snapshots.getStats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+        log.info("Parsed-schema cache flushed");
+    }
+}
@@ -0,0 +1,76 @@
+package com.firas.generator.util.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A per-request scratch schema holding the tables of one executed DDL script.
+ *
+ * Owns a pooled connection: {@link #close()} first runs the dialect-specific
+ * cleanup (dropping the schema or rolling back its transaction) and then returns
+ * the connection to its pool, even if the cleanup fails.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public final class ScratchSchema implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ScratchSchema.class);
+
+    /**
+     * Removes the scratch schema using the connection it was created on.
+     */
+    @FunctionalInterface
+    public interface Cleanup {
+        void run(Connection connection) throws SQLException;
+    }
+
+    private final Connection connection;
+    private final String catalog;
+    private final String schema;
+    private final Cleanup cleanup;
+    private boolean closed;
+
+    /**
+     * @param connection Connection the script was executed on
+     * @param catalog Catalog to read metadata from (null for the connection's current catalog)
+     * @param schema Schema to read metadata from (null when the dialect has no schemas)
+     * @param cleanup Drops the scratch schema
+     */
+    public ScratchSchema(Connection connection, String catalog, String schema, Cleanup cleanup) {
+        this.connection = connection;
+        this.catalog = catalog;
+        this.schema = schema;
+        this.cleanup = cleanup;
+    }
+
+    public Connection getConnection() { return connection; }
+    public String getCatalog() { return catalog; }
+    public String getSchema() { return schema; }
+
+    /**
+     * @return The name of the scratch schema or database
+     */
+    public String getName() {
+        return schema != null ? schema : catalog;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            cleanup.run(connection);
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Failed to clean up scratch schema {}", getName(), e);
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package com.firas.generator.util.sql;
 
-import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
+/**
+ * Executes a DDL script on a real database so its metadata can be read over JDBC.
+ *
+ * Every call works in its own uniquely named scratch schema (or database), so
+ * concurrent requests never see or destroy each other's tables.
+ */
 public interface SqlConnection {
-    public Connection getConnection(String sql) throws SQLException;
+
+    /**
+     * Creates an isolated scratch schema and executes the statements in it.
+     *
+     * @param statements The script's schema statements, as split by {@link SqlStatementReader}
+     * @return The scratch schema; closing it drops the schema and releases the connection
+     * @throws SQLException If the scratch schema cannot be created
+     */
+    ScratchSchema open(List<String> statements) throws SQLException;
 }
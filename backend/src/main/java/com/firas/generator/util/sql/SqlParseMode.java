@@ -0,0 +1,37 @@
+package com.firas.generator.util.sql;
+
+import java.util.Locale;
+
+/**
+ * Strategy used by {@link SqlParser} to turn a DDL script into table metadata.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public enum SqlParseMode {
+
+    /** Parse the DDL in-process with {@link DdlParser}; no database server needed */
+    OFFLINE,
+
+    /** Execute the DDL against a scratch MySQL/PostgreSQL database and read its JDBC metadata */
+    JDBC;
+
+    /**
+     * Resolves a mode from its (case-insensitive) name.
+     *
+     * @param value "offline" or "jdbc"
+     * @param defaultMode Mode used when the value is null or blank
+     * @throws IllegalArgumentException if the value names no mode
+     */
+    public static SqlParseMode from(String value, SqlParseMode defaultMode) {
+        if (value == null || value.isBlank()) {
+            return defaultMode;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown SQL parse mode: " + value + " (expected offline or jdbc)");
+        }
+    }
+}
@@ -5,8 +5,13 @@ import com.firas.generator.stack.TypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.sql.*;
 import java.util.*;
 
@@ -18,10 +23,18 @@ public class SqlParser {
     private final SqlConnectionFactory sqlConnectionFactory;
     private final TypeMapper typeMapper;
 
+    private final ParsedSchemaCache cache;
+
+    /** Mode used when a request does not choose one (sql.parser.mode) */
+    private final SqlParseMode defaultMode;
+
     @Autowired
-    public SqlParser(SqlConnectionFactory sqlConnectionFactory, TypeMapper typeMapper) {
+    public SqlParser(SqlConnectionFactory sqlConnectionFactory, TypeMapper typeMapper, ParsedSchemaCache cache,
+                     @Value("${sql.parser.mode:offline}") String defaultMode) {
         this.sqlConnectionFactory = sqlConnectionFactory;
         this.typeMapper = typeMapper;
+        this.cache = cache;
+        this.defaultMode = SqlParseMode.from(defaultMode, SqlParseMode.OFFLINE);
     }
 
     public List<Table> parseSql(String sql) throws SQLException {
@@ -29,137 +42,343 @@ public class SqlParser {
     }
 
     public List<Table> parseSql(String sql, String dialect) throws SQLException {
-        SqlConnection conn = sqlConnectionFactory.get(dialect);
-        return loadMetadata(conn.getConnection(sql));
+        return parseSql(sql, dialect, defaultMode);
+    }
+
+    /**
+     * Parses a DDL script with the given strategy.
+     *
+     * @param sql The DDL script
+     * @param dialect "mysql" or "postgresql"
+     * @param mode OFFLINE parses in-process; JDBC executes the script on a scratch database
+     * @return The tables with their columns, keys and relationships
+     * @throws SQLException If the JDBC path fails to reach the database
+     * @throws IllegalArgumentException If the offline parser finds an unterminated string or comment
+     */
+    public List<Table> parseSql(String sql, String dialect, SqlParseMode mode) throws SQLException {
+        return parse(sql, dialect, mode).tables();
+    }
+
+    /**
+     * Parses a DDL script, answering from the parsed-schema cache when the same script
+     * (ignoring whitespace and comments) was parsed before with the same dialect and mode.
+     *
+     * @param sql The DDL script
+     * @param dialect "mysql" or "postgresql"
+     * @param mode Parsing strategy, or null for the configured default
+     * @return The tables and whether they came from the cache
+     * @throws SQLException If the JDBC path fails to reach the database
+     */
+    public ParsedSchema parse(String sql, String dialect, SqlParseMode mode) throws SQLException {
+        try {
+            return parse(new StringReader(sql), dialect, mode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
+    /**
+     * Parses a DDL script read from a stream.
+     *
+     * The script is split by {@link SqlStatementReader}: data statements are skipped while
+     * reading, so only the script's DDL is ever held in memory.
+     *
+     * @param script The DDL script
+     * @param dialect "mysql" or "postgresql"
+     * @param mode Parsing strategy, or null for the configured default
+     * @return The tables and whether they came from the cache
+     * @throws SQLException If the JDBC path fails to reach the database
+     * @throws IOException If reading the script fails
+     * @throws IllegalArgumentException If the script has an unterminated string, identifier or comment
+     */
+    public ParsedSchema parse(Reader script, String dialect, SqlParseMode mode) throws SQLException, IOException {
+        SqlParseMode effectiveMode = mode != null ? mode : defaultMode;
+        List<String> statements = new SqlStatementReader(script, dialect).readAll();
+        String key = cache.key(statements, dialect, effectiveMode);
+        List<Table> cached = cache.get(key);
+        if (cached != null) {
+            log.debug("Parsed-schema cache hit for {}", key);
+            return new ParsedSchema(cached, true);
+        }
+        List<Table> tables = parseUncached(statements, dialect, effectiveMode);
+        cache.put(key, tables);
+        return new ParsedSchema(tables, false);
+    }
 
+    private List<Table> parseUncached(List<String> statements, String dialect, SqlParseMode mode) throws SQLException {
+        if (mode == SqlParseMode.JDBC) {
+            try (ScratchSchema scratch = sqlConnectionFactory.get(dialect).open(statements)) {
+                return loadMetadata(scratch.getConnection(), scratch.getCatalog(), scratch.getSchema());
+            }
+        }
+        return complete(new DdlParser(dialect).parseStatements(statements));
+    }
 
+    /**
+     * Parses a DDL script in-process, without a database server.
+     */
+    public List<Table> parseOffline(String sql, String dialect) {
+        return complete(new DdlParser(dialect).parse(sql));
+    }
 
+    /**
+     * Fills in class names, field names, Java types and relationships of offline-parsed tables.
+     */
+    private List<Table> complete(Map<String, Table> tableMap) {
+        for (Table table : tableMap.values()) {
+            table.setClassName(toClassName(table.getName()));
+            for (Column col : table.getColumns()) {
+                col.setFieldName(toFieldName(col.getName()));
+                col.setJavaType(typeMapper.mapSqlType(col.getType()));
+            }
+        }
+        buildRelations(tableMap);
+        return new ArrayList<>(tableMap.values());
+    }
 
     public List<Table> loadMetadata(Connection connection) throws SQLException {
+        return loadMetadata(connection, safe(() -> connection.getCatalog()), safe(() -> connection.getSchema()));
+    }
 
-        DatabaseMetaData meta = connection.getMetaData();
+    /**
+     * Reads tables, columns, keys and relationships from one catalog/schema of the connection.
+     *
+     * @param connection Open connection
+     * @param catalog Catalog to read (null for all)
+     * @param schema Schema to read (null for all; ignored on MySQL)
+     * @return The tables with their columns, keys and relationships
+     */
+    public List<Table> loadMetadata(Connection connection, String catalog, String schema) throws SQLException {
 
-        String catalog = safe(() -> connection.getCatalog());
-        String schema = safe(() -> connection.getSchema());
+        DatabaseMetaData meta = connection.getMetaData();
+        String schemaPattern = fixSchema(meta, schema);
 
         Map<String, Table> tableMap = new LinkedHashMap<>();
+        // table name -> column name -> column, so key lookups do not scan column lists
+        Map<String, Map<String, Column>> columnIndex = new HashMap<>();
 
         // ---------------------------------------------------------
         // 1) LOAD TABLES
         // ---------------------------------------------------------
-        try (ResultSet rs = meta.getTables(catalog, fixSchema(meta, schema), "%", new String[]{"TABLE"})) {
+        try (ResultSet rs = meta.getTables(catalog, schemaPattern, "%", new String[]{"TABLE"})) {
             while (rs.next()) {
                 String tableName = rs.getString("TABLE_NAME");
-                if (tableName == null) continue;
+                if (tableName == null || !inScope(rs, catalog, schemaPattern)) continue;
 
                 Table table = new Table();
                 table.setName(tableName);
                 table.setClassName(toClassName(tableName));
                 tableMap.put(tableName, table);
+                columnIndex.put(tableName, new HashMap<>());
             }
         }
 
         // ---------------------------------------------------------
-        // 2) LOAD COLUMNS
+        // 2) LOAD COLUMNS (one query for the whole schema)
         // ---------------------------------------------------------
-        for (Table table : tableMap.values()) {
+        try (ResultSet rs = meta.getColumns(catalog, schemaPattern, "%", "%")) {
+            while (rs.next()) {
+                Table table = tableMap.get(rs.getString("TABLE_NAME"));
+                if (table == null || !inScope(rs, catalog, schemaPattern)) continue; // views, other schemas
 
-            try (ResultSet rs = meta.getColumns(catalog, fixSchema(meta, schema), table.getName(), "%")) {
-                while (rs.next()) {
+                Column col = new Column();
 
-                    Column col = new Column();
+                String colName = rs.getString("COLUMN_NAME");
+                col.setName(colName);
+                col.setFieldName(toFieldName(colName));
 
-                    String colName = rs.getString("COLUMN_NAME");
-                    col.setName(colName);
-                    col.setFieldName(toFieldName(colName));
+                String sqlType = rs.getString("TYPE_NAME");
+                col.setType(sqlType != null ? sqlType : "");
 
-                    String sqlType = rs.getString("TYPE_NAME");
-                    col.setType(sqlType != null ? sqlType : "");
+                col.setJavaType(typeMapper.mapSqlType(sqlType));
 
-                    col.setJavaType(typeMapper.mapSqlType(sqlType));
+                // Auto-increment detection
+                String autoInc = safe(() -> rs.getString("IS_AUTOINCREMENT"));
+                col.setAutoIncrement("YES".equalsIgnoreCase(autoInc));
 
-                    // Auto-increment detection
-                    String autoInc = safe(() -> rs.getString("IS_AUTOINCREMENT"));
-                    col.setAutoIncrement("YES".equalsIgnoreCase(autoInc));
+                int nullable = rs.getInt("NULLABLE");
+                col.setNullable(nullable != DatabaseMetaData.columnNoNulls);
 
-                    int nullable = rs.getInt("NULLABLE");
-                    col.setNullable(nullable != DatabaseMetaData.columnNoNulls);
+                table.addColumn(col);
+                columnIndex.get(table.getName()).put(colName, col);
+            }
+        }
 
-                    table.addColumn(col);
-                }
+        // ---------------------------------------------------------
+        // 3) KEYS AND UNIQUE INDEXES
+        // ---------------------------------------------------------
+        String product = safe(() -> meta.getDatabaseProductName());
+        product = product != null ? product.toLowerCase() : "";
+        // In PostgreSQL a failed query aborts the surrounding transaction (e.g. the scratch
+        // schema's), which would fail the fallback too; a savepoint keeps it usable
+        Savepoint savepoint = null;
+        try {
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                loadMysqlKeys(connection, catalog, columnIndex);
+            } else if (product.contains("postgresql")) {
+                savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+                loadPostgresKeys(connection, schema, columnIndex);
+            } else {
+                loadKeysPerTable(meta, catalog, schemaPattern, columnIndex);
+            }
+        } catch (SQLException e) {
+            log.debug("Bulk key introspection failed for {}, falling back to per-table metadata", product, e);
+            if (savepoint != null) {
+                connection.rollback(savepoint);
             }
+            loadKeysPerTable(meta, catalog, schemaPattern, columnIndex);
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
         }
 
         // ---------------------------------------------------------
-        // 3) PRIMARY KEYS
+        // 4) RELATIONSHIPS
         // ---------------------------------------------------------
-        for (Table table : tableMap.values()) {
-            try (ResultSet rs = meta.getPrimaryKeys(catalog, fixSchema(meta, schema), table.getName())) {
+        buildRelations(tableMap);
+
+        return new ArrayList<>(tableMap.values());
+    }
+
+    /**
+     * Loads primary, foreign and unique keys of a MySQL database in two information_schema queries.
+     */
+    private void loadMysqlKeys(Connection connection, String catalog,
+                               Map<String, Map<String, Column>> columnIndex) throws SQLException {
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT TABLE_NAME, COLUMN_NAME, INDEX_NAME FROM information_schema.STATISTICS"
+                        + " WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) AND NON_UNIQUE = 0")) {
+            ps.setString(1, catalog);
+            try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    String pkCol = rs.getString("COLUMN_NAME");
-                    for (Column col : table.getColumns()) {
-                        if (col.getName().equals(pkCol)) {
-                            col.setPrimaryKey(true);
-                        }
+                    Column col = lookup(columnIndex, rs.getString(1), rs.getString(2));
+                    if (col == null) continue;
+                    col.setUnique(true);
+                    if ("PRIMARY".equals(rs.getString(3))) {
+                        col.setPrimaryKey(true);
                     }
                 }
             }
         }
 
-        // ---------------------------------------------------------
-        // 4) FOREIGN KEYS
-        // ---------------------------------------------------------
-        for (Table table : tableMap.values()) {
-            try (ResultSet rs = meta.getImportedKeys(catalog, fixSchema(meta, schema), table.getName())) {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT TABLE_NAME, COLUMN_NAME, REFERENCED_TABLE_NAME, REFERENCED_COLUMN_NAME"
+                        + " FROM information_schema.KEY_COLUMN_USAGE"
+                        + " WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) AND REFERENCED_TABLE_NAME IS NOT NULL")) {
+            ps.setString(1, catalog);
+            try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    String fkCol = rs.getString("FKCOLUMN_NAME");
-                    String refTable = rs.getString("PKTABLE_NAME");
-                    String refCol = rs.getString("PKCOLUMN_NAME");
-
-                    for (Column col : table.getColumns()) {
-                        if (col.getName().equals(fkCol)) {
-                            col.setForeignKey(true);
-                            col.setReferencedTable(refTable);
-                            col.setReferencedColumn(refCol);
-                        }
+                    markForeignKey(lookup(columnIndex, rs.getString(1), rs.getString(2)), rs.getString(3), rs.getString(4));
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads primary, foreign and unique keys of a PostgreSQL schema in two pg_catalog queries.
+     */
+    private void loadPostgresKeys(Connection connection, String schema,
+                                  Map<String, Map<String, Column>> columnIndex) throws SQLException {
+
+        try (PreparedStatement ps = connection.prepareStatement("""
+                SELECT t.relname, a.attname, i.indisprimary
+                FROM pg_index i
+                JOIN pg_class t ON t.oid = i.indrelid
+                JOIN pg_namespace n ON n.oid = t.relnamespace
+                JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = ANY(i.indkey)
+                WHERE i.indisunique AND n.nspname = COALESCE(?, current_schema())
+                """)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Column col = lookup(columnIndex, rs.getString(1), rs.getString(2));
+                    if (col == null) continue;
+                    col.setUnique(true);
+                    if (rs.getBoolean(3)) {
+                        col.setPrimaryKey(true);
                     }
                 }
             }
         }
 
-        // ---------------------------------------------------------
-        // 5) UNIQUE INDEXES
-        // ---------------------------------------------------------
-        for (Table table : tableMap.values()) {
+        try (PreparedStatement ps = connection.prepareStatement("""
+                SELECT src.relname, sa.attname, ref.relname, ra.attname
+                FROM pg_constraint c
+                JOIN pg_namespace n ON n.oid = c.connamespace
+                JOIN pg_class src ON src.oid = c.conrelid
+                JOIN pg_class ref ON ref.oid = c.confrelid
+                CROSS JOIN LATERAL unnest(c.conkey, c.confkey) AS k(col, refcol)
+                JOIN pg_attribute sa ON sa.attrelid = c.conrelid AND sa.attnum = k.col
+                JOIN pg_attribute ra ON ra.attrelid = c.confrelid AND ra.attnum = k.refcol
+                WHERE c.contype = 'f' AND n.nspname = COALESCE(?, current_schema())
+                """)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    markForeignKey(lookup(columnIndex, rs.getString(1), rs.getString(2)), rs.getString(3), rs.getString(4));
+                }
+            }
+        }
+    }
+
+    /**
+     * Portable fallback: standard DatabaseMetaData key calls, one set per table.
+     */
+    private void loadKeysPerTable(DatabaseMetaData meta, String catalog, String schemaPattern,
+                                  Map<String, Map<String, Column>> columnIndex) throws SQLException {
+
+        for (Map.Entry<String, Map<String, Column>> entry : columnIndex.entrySet()) {
+            String tableName = entry.getKey();
+            Map<String, Column> columns = entry.getValue();
 
-            try (ResultSet rs = meta.getIndexInfo(catalog, fixSchema(meta, schema), table.getName(), false, false)) {
+            try (ResultSet rs = meta.getPrimaryKeys(catalog, schemaPattern, tableName)) {
                 while (rs.next()) {
+                    Column col = columns.get(rs.getString("COLUMN_NAME"));
+                    if (col != null) col.setPrimaryKey(true);
+                }
+            }
 
-                    boolean nonUnique = rs.getBoolean("NON_UNIQUE");
-                    if (nonUnique) continue;
+            try (ResultSet rs = meta.getImportedKeys(catalog, schemaPattern, tableName)) {
+                while (rs.next()) {
+                    markForeignKey(columns.get(rs.getString("FKCOLUMN_NAME")),
+                            rs.getString("PKTABLE_NAME"), rs.getString("PKCOLUMN_NAME"));
+                }
+            }
 
+            try (ResultSet rs = meta.getIndexInfo(catalog, schemaPattern, tableName, true, false)) {
+                while (rs.next()) {
+                    if (rs.getBoolean("NON_UNIQUE")) continue;
                     String colName = rs.getString("COLUMN_NAME");
-                    if (colName == null) continue;
-
-                    for (Column col : table.getColumns()) {
-                        if (col.getName().equals(colName)) {
-                            col.setUnique(true);
-                        }
-                    }
+                    Column col = colName != null ? columns.get(colName) : null;
+                    if (col != null) col.setUnique(true);
                 }
             } catch (Exception e) {
-                log.debug("Failed to load unique indexes for table: {}", table.getName(), e);
+                log.debug("Failed to load unique indexes for table: {}", tableName, e);
             }
         }
+    }
 
-        // ---------------------------------------------------------
-        // 6) RELATIONSHIPS
-        // ---------------------------------------------------------
-        buildRelations(tableMap);
+    private static Column lookup(Map<String, Map<String, Column>> columnIndex, String table, String column) {
+        Map<String, Column> columns = columnIndex.get(table);
+        return columns != null ? columns.get(column) : null;
+    }
 
-        return new ArrayList<>(tableMap.values());
+    private static void markForeignKey(Column col, String refTable, String refCol) {
+        if (col == null) return;
+        col.setForeignKey(true);
+        col.setReferencedTable(refTable);
+        col.setReferencedColumn(refCol);
+    }
+
+    /**
+     * Table patterns treat '_' as a wildcard; drop rows from similarly named catalogs/schemas.
+     */
+    private static boolean inScope(ResultSet rs, String catalog, String schema) throws SQLException {
+        String rowCatalog = rs.getString("TABLE_CAT");
+        String rowSchema = rs.getString("TABLE_SCHEM");
+        return (catalog == null || rowCatalog == null || catalog.equals(rowCatalog))
+                && (schema == null || rowSchema == null || schema.equals(rowSchema));
     }
 
     // ==================================================================================
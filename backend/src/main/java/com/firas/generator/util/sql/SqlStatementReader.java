@@ -0,0 +1,438 @@
+package com.firas.generator.util.sql;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming, quote-aware reader that splits a SQL script into executable statements.
+ *
+ * The script is read through a small fixed buffer, so a multi-megabyte dump is never held
+ * in memory as a whole. A delimiter only ends a statement outside of string literals,
+ * quoted identifiers, comments and (PostgreSQL) dollar-quoted bodies. Comments are dropped;
+ * MySQL versioned comments ({@code /*!40101 ... *}{@code /}) are unwrapped, because MySQL
+ * executes their content.
+ *
+ * Data statements (INSERT, UPDATE, COPY ... FROM stdin with its data block, SELECT, ...)
+ * do not affect the schema: they are scanned only to find their end and are never buffered,
+ * so reading time and memory are dominated by the DDL, not by the data.
+ *
+ * Dialect differences:
+ * - MySQL: `backtick` identifiers, "double-quoted" strings, '#' line comments, backslash
+ *   escapes, DELIMITER commands (as written by mysqldump for triggers and routines)
+ * - PostgreSQL: "double-quoted" identifiers, $tag$ dollar quoting, E'...' escape strings,
+ *   nested block comments, COPY data blocks terminated by a "\." line
+ *
+ * Instances are not thread-safe.
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class SqlStatementReader implements Closeable {
+
+    /** Statements that only read or write data; they are skipped without buffering */
+    private static final Set<String> DATA_STATEMENTS = Set.of(
+            "INSERT", "REPLACE", "UPDATE", "DELETE", "MERGE", "UPSERT", "COPY", "SELECT", "WITH",
+            "VALUES", "TRUNCATE", "LOCK", "UNLOCK", "CALL", "LOAD", "HANDLER");
+
+    private static final Pattern COPY_FROM_STDIN = Pattern.compile("(?is).*\\bFROM\\s+STDIN\\b.*");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final boolean mysql;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    private String delimiter = ";";
+    private int skippedStatements;
+
+    /**
+     * The last two characters scanned in the current statement, tracked whether or not the
+     * statement is buffered, so that lexical decisions (e.g. E'...' strings) also work
+     * while a data statement is skipped
+     */
+    private char last = ' ';
+    private char beforeLast = ' ';
+
+    /**
+     * @param reader The script
+     * @param dialect "mysql" or "postgresql" (anything other than "postgresql" is treated as MySQL)
+     */
+    public SqlStatementReader(Reader reader, String dialect) {
+        this.reader = reader;
+        this.mysql = !"postgresql".equalsIgnoreCase(dialect);
+    }
+
+    /**
+     * Reads the next schema statement.
+     *
+     * @return The statement text without its delimiter and comments, or null at the end of the script
+     * @throws IOException If the underlying reader fails
+     * @throws IllegalArgumentException If a string, quoted identifier or comment is not terminated
+     */
+    public String next() throws IOException {
+        while (true) {
+            Statement statement = readStatement();
+            if (statement == null) {
+                return null;
+            }
+            if (statement.text != null) {
+                return statement.text;
+            }
+        }
+    }
+
+    /**
+     * Reads all remaining schema statements. Only the DDL is kept in memory.
+     *
+     * @return The statements in script order
+     * @throws IOException If the underlying reader fails
+     * @throws IllegalArgumentException If a string, quoted identifier or comment is not terminated
+     */
+    public List<String> readAll() throws IOException {
+        List<String> statements = new ArrayList<>();
+        String statement;
+        while ((statement = next()) != null) {
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    /**
+     * @return The number of data statements skipped so far
+     */
+    public int getSkippedStatements() {
+        return skippedStatements;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // ==================================================================================
+    // STATEMENT SCANNER
+    // ==================================================================================
+
+    /** A scanned statement; text is null for skipped data statements */
+    private record Statement(String text) {
+    }
+
+    private Statement readStatement() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        String firstWord = null;
+        boolean skipping = false;
+        boolean copy = false;
+        boolean versionedComment = false;
+        last = ' ';
+        beforeLast = ' ';
+
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                break;
+            }
+
+            // Classify the statement by its first word as soon as the word is complete
+            if (firstWord == null && !isWordPart(c) && !sb.isEmpty()) {
+                firstWord = firstWord(sb);
+                if (mysql && "DELIMITER".equals(firstWord)) {
+                    delimiter = readLine().trim();
+                    if (delimiter.isEmpty()) {
+                        delimiter = ";";
+                    }
+                    sb.setLength(0);
+                    firstWord = null;
+                    continue;
+                }
+                copy = "COPY".equals(firstWord);
+                skipping = DATA_STATEMENTS.contains(firstWord) && !copy;
+                if (skipping) {
+                    sb.setLength(0);
+                }
+            }
+
+            if (startsWith(delimiter)) {
+                pos += delimiter.length();
+                if (firstWord == null && !sb.isEmpty()) {
+                    firstWord = firstWord(sb);
+                    copy = "COPY".equals(firstWord);
+                    skipping = DATA_STATEMENTS.contains(firstWord) && !copy;
+                }
+                if (skipping || copy) {
+                    if (copy && COPY_FROM_STDIN.matcher(sb).matches()) {
+                        skipCopyData();
+                    }
+                    skippedStatements++;
+                    return new Statement(null);
+                }
+                String text = sb.toString().trim();
+                if (text.isEmpty()) {
+                    sb.setLength(0);
+                    firstWord = null;
+                    continue;
+                }
+                return new Statement(text);
+            }
+
+            if (c == '\'' ) {
+                boolean escapes = mysql || isEscapeStringPrefix();
+                copyQuoted('\'', escapes, sb, skipping);
+            } else if (c == '"') {
+                copyQuoted('"', mysql, sb, skipping);
+            } else if (c == '`' && mysql) {
+                copyQuoted('`', false, sb, skipping);
+            } else if (c == '$' && !mysql && copyDollarQuoted(sb, skipping)) {
+                // dollar-quoted body copied
+            } else if (c == '-' && peek(1) == '-' || c == '#' && mysql) {
+                readLine();
+                appendSeparator(sb, '\n', skipping);
+            } else if (c == '/' && peek(1) == '*') {
+                if (mysql && peek(2) == '!') {
+                    pos += 3;
+                    while (Character.isDigit(peek(0))) {
+                        pos++;
+                    }
+                    versionedComment = true;
+                } else {
+                    skipBlockComment();
+                    appendSeparator(sb, ' ', skipping);
+                }
+            } else if (versionedComment && c == '*' && peek(1) == '/') {
+                pos += 2;
+                versionedComment = false;
+                appendSeparator(sb, ' ', skipping);
+            } else {
+                pos++;
+                if (sb.isEmpty() && !skipping && Character.isWhitespace(c)) {
+                    continue;
+                }
+                append(sb, (char) c, skipping);
+            }
+        }
+
+        // End of script: the last statement may lack a delimiter
+        if (firstWord == null && !sb.isEmpty()) {
+            firstWord = firstWord(sb);
+            skipping = DATA_STATEMENTS.contains(firstWord);
+        }
+        if (skipping || copy) {
+            skippedStatements++;
+            return new Statement(null);
+        }
+        String text = sb.toString().trim();
+        return text.isEmpty() ? null : new Statement(text);
+    }
+
+    private void copyQuoted(char quote, boolean backslashEscapes, StringBuilder sb, boolean skipping) throws IOException {
+        append(sb, quote, skipping);
+        pos++;
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                throw new IllegalArgumentException("Unterminated " + quote + " quote");
+            }
+            pos++;
+            append(sb, (char) c, skipping);
+            if (c == '\\' && backslashEscapes) {
+                int escaped = peek(0);
+                if (escaped >= 0) {
+                    pos++;
+                    append(sb, (char) escaped, skipping);
+                }
+            } else if (c == quote) {
+                if (peek(0) == quote) {
+                    pos++;
+                    append(sb, quote, skipping);
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies a $tag$...$tag$ body.
+     *
+     * @return false (position unchanged) if the '$' does not open a dollar quote
+     */
+    private boolean copyDollarQuoted(StringBuilder sb, boolean skipping) throws IOException {
+        int tagEnd = 1;
+        while (isWordPart(peek(tagEnd)) && peek(tagEnd) != '$' && tagEnd < 64) {
+            tagEnd++;
+        }
+        if (peek(tagEnd) != '$' || tagEnd > 1 && Character.isDigit(peek(1))) {
+            return false; // $1 parameter or a lone '$'
+        }
+        StringBuilder tag = new StringBuilder();
+        for (int i = 0; i <= tagEnd; i++) {
+            tag.append((char) peek(i));
+        }
+        String delimiterTag = tag.toString();
+        for (int i = 0; i < delimiterTag.length(); i++) {
+            append(sb, delimiterTag.charAt(i), skipping);
+        }
+        pos += delimiterTag.length();
+        while (!startsWith(delimiterTag)) {
+            int c = peek(0);
+            if (c < 0) {
+                throw new IllegalArgumentException("Unterminated dollar quote " + delimiterTag);
+            }
+            pos++;
+            append(sb, (char) c, skipping);
+        }
+        for (int i = 0; i < delimiterTag.length(); i++) {
+            append(sb, delimiterTag.charAt(i), skipping);
+        }
+        pos += delimiterTag.length();
+        return true;
+    }
+
+    private void skipBlockComment() throws IOException {
+        int depth = 0;
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                throw new IllegalArgumentException("Unterminated comment");
+            }
+            if (c == '/' && peek(1) == '*') {
+                depth++;
+                pos += 2;
+            } else if (c == '*' && peek(1) == '/') {
+                depth--;
+                pos += 2;
+                // PostgreSQL nests block comments, MySQL does not
+                if (depth == 0 || mysql) {
+                    return;
+                }
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Skips the data block following COPY ... FROM stdin, up to and including the "\." line.
+     */
+    private void skipCopyData() throws IOException {
+        readLine(); // rest of the COPY line
+        while (peek(0) >= 0) {
+            if (readLine().equals("\\.")) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads up to the end of the line, consuming the line terminator.
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = peek(0)) >= 0) {
+            pos++;
+            if (c == '\n') {
+                break;
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Appends whitespace standing in for a comment, unless the statement has not started yet.
+     */
+    private void appendSeparator(StringBuilder sb, char c, boolean skipping) {
+        if (!sb.isEmpty() || skipping) {
+            append(sb, c, skipping);
+        }
+    }
+
+    /**
+     * Records a scanned character, and buffers it unless the statement is being skipped.
+     */
+    private void append(StringBuilder sb, char c, boolean skipping) {
+        beforeLast = last;
+        last = c;
+        if (!skipping) {
+            sb.append(c);
+        }
+    }
+
+    private static String firstWord(StringBuilder sb) {
+        int start = 0;
+        while (start < sb.length() && Character.isWhitespace(sb.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sb.length() && isWordPart(sb.charAt(end))) {
+            end++;
+        }
+        return sb.substring(start, end).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return true if the quote about to be read opens a PostgreSQL E'...' escape string
+     */
+    private boolean isEscapeStringPrefix() {
+        return Character.toUpperCase(last) == 'E' && !isWordPart(beforeLast);
+    }
+
+    private static boolean isWordPart(int c) {
+        return c >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '$');
+    }
+
+    // ==================================================================================
+    // BUFFER
+    // ==================================================================================
+
+    private boolean startsWith(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            if (peek(i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The character at pos + offset, or -1 past the end of the script
+     */
+    private int peek(int offset) throws IOException {
+        if (pos + offset >= limit) {
+            fill(offset + 1);
+        }
+        return pos + offset < limit ? buffer[pos + offset] : -1;
+    }
+
+    /**
+     * Ensures at least {@code needed} characters are buffered after pos, unless the script ends first.
+     */
+    private void fill(int needed) throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        while (!eof && limit < needed) {
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.firas.generator.util.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quote- and comment-aware tokenizer that splits a SQL script into statements.
+ *
+ * Statements are produced one at a time, so a script is never split into an
+ * intermediate list of strings. A ';' only terminates a statement outside of string
+ * literals, quoted identifiers, comments and (PostgreSQL) dollar-quoted bodies.
+ *
+ * Dialect differences:
+ * - MySQL: `backtick` identifiers, "double-quoted" strings, '#' line comments,
+ *   backslash escapes inside strings
+ * - PostgreSQL: "double-quoted" identifiers, $tag$ dollar-quoted strings, E'...' escape
+ *   strings with backslash escapes
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public class SqlTokenizer {
+
+    /**
+     * Kind of a lexical token.
+     */
+    public enum TokenType {
+        /** Unquoted identifier or keyword */
+        WORD,
+        /** Quoted identifier (quotes removed) */
+        QUOTED_IDENTIFIER,
+        /** String literal (quotes removed, escapes resolved) */
+        STRING,
+        /** Numeric literal */
+        NUMBER,
+        /** Single punctuation or operator character */
+        SYMBOL
+    }
+
+    /**
+     * A lexical token.
+     *
+     * @param type The token kind
+     * @param text The token text
+     */
+    public record Token(TokenType type, String text) {
+
+        /**
+         * @return true if this is an unquoted word equal to the keyword (case-insensitive)
+         */
+        public boolean is(String keyword) {
+            return type == TokenType.WORD && text.equalsIgnoreCase(keyword);
+        }
+
+        /**
+         * @return true if this is the given symbol
+         */
+        public boolean isSymbol(char symbol) {
+            return type == TokenType.SYMBOL && text.length() == 1 && text.charAt(0) == symbol;
+        }
+
+        /**
+         * @return true if this token can name a table or column
+         */
+        public boolean isIdentifier() {
+            return type == TokenType.WORD || type == TokenType.QUOTED_IDENTIFIER;
+        }
+    }
+
+    private final CharSequence sql;
+    private final boolean mysql;
+    private int pos;
+
+    /**
+     * @param sql The SQL script
+     * @param dialect "mysql" or "postgresql" (anything other than "postgresql" is treated as MySQL)
+     */
+    public SqlTokenizer(CharSequence sql, String dialect) {
+        this.sql = sql;
+        this.mysql = !"postgresql".equalsIgnoreCase(dialect);
+    }
+
+    /**
+     * Produces a canonical form of a script: whitespace, comments and empty statements are
+     * dropped, so two scripts differing only in formatting normalize to the same string.
+     * Each token is encoded with its type and length, so e.g. 'a' and "a" never collide.
+     *
+     * @param sql The SQL script
+     * @param dialect "mysql" or "postgresql"
+     * @return The canonical form
+     * @throws IllegalArgumentException if a string, quoted identifier or comment is not terminated
+     */
+    public static String normalize(CharSequence sql, String dialect) {
+        SqlTokenizer tokenizer = new SqlTokenizer(sql, dialect);
+        StringBuilder out = new StringBuilder(sql.length());
+        List<Token> statement;
+        while ((statement = tokenizer.nextStatement()) != null) {
+            for (Token token : statement) {
+                out.append(token.type().ordinal()).append(token.text().length()).append(':').append(token.text());
+            }
+            out.append(';');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Tokenizes the next non-empty statement.
+     *
+     * @return The statement's tokens without the terminating ';', or null at the end of the script
+     * @throws IllegalArgumentException if a string, quoted identifier or comment is not terminated
+     */
+    public List<Token> nextStatement() {
+        List<Token> tokens = new ArrayList<>();
+        while (true) {
+            Token token = nextToken();
+            if (token == null) {
+                return tokens.isEmpty() ? null : tokens;
+            }
+            if (token.isSymbol(';')) {
+                if (!tokens.isEmpty()) {
+                    return tokens;
+                }
+                continue;
+            }
+            tokens.add(token);
+        }
+    }
+
+    /**
+     * Reads the next token, skipping whitespace and comments.
+     *
+     * @return The token, or null at the end of the script
+     */
+    private Token nextToken() {
+        skipWhitespaceAndComments();
+        if (pos >= sql.length()) {
+            return null;
+        }
+
+        char c = sql.charAt(pos);
+        if (c == '\'') {
+            return new Token(TokenType.STRING, readQuoted('\'', mysql));
+        }
+        if (c == '"') {
+            return mysql
+                    ? new Token(TokenType.STRING, readQuoted('"', true))
+                    : new Token(TokenType.QUOTED_IDENTIFIER, readQuoted('"', false));
+        }
+        if (c == '`' && mysql) {
+            return new Token(TokenType.QUOTED_IDENTIFIER, readQuoted('`', false));
+        }
+        if (c == '$' && !mysql) {
+            String body = readDollarQuoted();
+            if (body != null) {
+                return new Token(TokenType.STRING, body);
+            }
+        }
+        if (Character.isDigit(c) || (c == '.' && pos + 1 < sql.length() && Character.isDigit(sql.charAt(pos + 1)))) {
+            int start = pos;
+            while (pos < sql.length() && (Character.isLetterOrDigit(sql.charAt(pos)) || sql.charAt(pos) == '.')) {
+                pos++;
+            }
+            return new Token(TokenType.NUMBER, sql.subSequence(start, pos).toString());
+        }
+        if ((c == 'E' || c == 'e') && !mysql && peek(1) == '\'') {
+            // PostgreSQL escape string E'...': backslash escapes apply, as in MySQL strings
+            pos++;
+            return new Token(TokenType.STRING, readQuoted('\'', true));
+        }
+        if (isWordStart(c)) {
+            int start = pos;
+            while (pos < sql.length() && isWordPart(sql.charAt(pos))) {
+                pos++;
+            }
+            return new Token(TokenType.WORD, sql.subSequence(start, pos).toString());
+        }
+        pos++;
+        return new Token(TokenType.SYMBOL, String.valueOf(c));
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (pos < sql.length()) {
+            char c = sql.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '-' && peek(1) == '-' || c == '#' && mysql) {
+                while (pos < sql.length() && sql.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else if (c == '/' && peek(1) == '*') {
+                skipBlockComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipBlockComment() {
+        int start = pos;
+        int depth = 0;
+        while (pos < sql.length()) {
+            if (sql.charAt(pos) == '/' && peek(1) == '*') {
+                depth++;
+                pos += 2;
+            } else if (sql.charAt(pos) == '*' && peek(1) == '/') {
+                depth--;
+                pos += 2;
+                // PostgreSQL nests block comments, MySQL does not
+                if (depth == 0 || mysql) {
+                    return;
+                }
+            } else {
+                pos++;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated comment starting at offset " + start);
+    }
+
+    /**
+     * Reads a quoted string or identifier; a doubled quote stands for one quote character.
+     */
+    private String readQuoted(char quote, boolean backslashEscapes) {
+        int start = pos;
+        StringBuilder sb = new StringBuilder();
+        pos++;
+        while (pos < sql.length()) {
+            char c = sql.charAt(pos++);
+            if (c == '\\' && backslashEscapes && pos < sql.length()) {
+                sb.append(sql.charAt(pos++));
+            } else if (c == quote) {
+                if (pos < sql.length() && sql.charAt(pos) == quote) {
+                    sb.append(quote);
+                    pos++;
+                } else {
+                    return sb.toString();
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated " + quote + " quote starting at offset " + start);
+    }
+
+    /**
+     * Reads a PostgreSQL dollar-quoted string ($$...$$ or $tag$...$tag$).
+     *
+     * @return The body, or null (position unchanged) if the '$' does not open a dollar quote
+     */
+    private String readDollarQuoted() {
+        int start = pos;
+        int tagEnd = pos + 1;
+        while (tagEnd < sql.length() && isWordPart(sql.charAt(tagEnd)) && sql.charAt(tagEnd) != '$') {
+            tagEnd++;
+        }
+        if (tagEnd >= sql.length() || sql.charAt(tagEnd) != '$') {
+            return null;
+        }
+        String tag = sql.subSequence(start, tagEnd + 1).toString();
+        int bodyStart = tagEnd + 1;
+        int end = indexOf(tag, bodyStart);
+        if (end < 0) {
+            throw new IllegalArgumentException("Unterminated dollar quote starting at offset " + start);
+        }
+        pos = end + tag.length();
+        return sql.subSequence(bodyStart, end).toString();
+    }
+
+    private int indexOf(String text, int from) {
+        for (int i = from; i <= sql.length() - text.length(); i++) {
+            boolean match = true;
+            for (int j = 0; j < text.length(); j++) {
+                if (sql.charAt(i + j) != text.charAt(j)) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private char peek(int offset) {
+        int index = pos + offset;
+        return index < sql.length() ? sql.charAt(index) : '\0';
+    }
+
+    private static boolean isWordStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -1,15 +1,30 @@
 package com.firas.generator.util.sql.implementation;
 
-import com.firas.generator.util.sql.SqlConnection;
+import com.firas.generator.util.sql.ScratchSchema;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * MySQL scratch schemas: every script runs in its own temporary database.
+ *
+ * MySQL DDL is not transactional, so the database is dropped explicitly when the
+ * scratch schema is closed. Databases left behind by a crashed instance are dropped
+ * when the pool is created, once they are older than sql.parser.scratch.max-age-seconds.
+ */
 @Component
-public class MysqlConnection implements SqlConnection {
+public class MysqlConnection extends PooledScratchConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(MysqlConnection.class);
 
     @Value("${mysql.host}")
     private String host;
@@ -23,47 +38,66 @@ public class MysqlConnection implements SqlConnection {
     @Value("${mysql.password}")
     private String pass;
 
-    @Value("${mysql.database}")
-    private String dbName;
+    @Override
+    protected String jdbcUrl() {
+        // rewriteBatchedStatements sends a batch of DDL statements in one round trip
+        return "jdbc:mysql://" + host + ":" + port
+                + "/?useSSL=true&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true";
+    }
 
     @Override
-    public Connection getConnection(String sql) throws SQLException {
-        // Debug logging
-        System.out.println("MySQL Connection Config:");
-        System.out.println("  Host: " + this.host);
-        System.out.println("  Port: " + this.port);
-        System.out.println("  User: " + this.user);
-        System.out.println("  Database: " + this.dbName);
+    protected String user() {
+        return user;
+    }
 
-        // 1. Drop/Create DB using root connection
-        String adminUrl =
-                "jdbc:mysql://" + host + ":" + port + "/?useSSL=true&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+    @Override
+    protected String password() {
+        return pass;
+    }
 
-        try (Connection rootConn = DriverManager.getConnection(adminUrl, user, pass)) {
-            rootConn.prepareStatement("DROP DATABASE IF EXISTS " + dbName).execute();
-            rootConn.prepareStatement("CREATE DATABASE " + dbName).execute();
+    @Override
+    public ScratchSchema open(List<String> statements) throws SQLException {
+        String database = newScratchName();
+        Connection conn = borrowConnection();
+        ScratchSchema scratch = new ScratchSchema(conn, database, null, c -> dropDatabase(c, database));
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE DATABASE `" + database + "`");
+                // USE rather than setCatalog: the pool would otherwise try to restore a null catalog
+                stmt.execute("USE `" + database + "`");
+            }
+            executeScript(conn, statements);
+            return scratch;
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(scratch, e);
+            throw e;
         }
+    }
 
-        // 2. Open connection to new DB
-        String url =
-                "jdbc:mysql://" + host + ":" + port + "/" + dbName + "?useSSL=true&allowPublicKeyRetrieval=true&serverTimezone=UTC";
-
-        Connection conn = DriverManager.getConnection(url, user, pass);
-
-        // 3. Execute SQL dump
-        for (String stmt : sql.split(";")) {
-            String trimmed = stmt.trim();
-            if (!trimmed.isEmpty()) {
-                try {
-                    conn.prepareStatement(trimmed).execute();
-                } catch (SQLException e) {
-                    System.err.println("SQL Exec error: " + trimmed);
-                    e.printStackTrace();
+    @Override
+    protected void onPoolCreated(HikariDataSource dataSource) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            List<String> stale = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT SCHEMA_NAME FROM information_schema.SCHEMATA"
+                         + " WHERE SCHEMA_NAME LIKE 'sqlparse%'")) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    if (isStaleScratchName(name)) {
+                        stale.add(name);
+                    }
                 }
             }
+            for (String database : stale) {
+                dropDatabase(conn, database);
+                log.info("Dropped leftover scratch database {}", database);
+            }
         }
+    }
 
-        // 4. Return the OPEN connection
-        return conn;
+    private static void dropDatabase(Connection conn, String database) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP DATABASE IF EXISTS `" + database + "`");
+        }
     }
 }
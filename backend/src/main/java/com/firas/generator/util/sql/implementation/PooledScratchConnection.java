@@ -0,0 +1,235 @@
+package com.firas.generator.util.sql.implementation;
+
+import com.firas.generator.util.sql.ScratchSchema;
+import com.firas.generator.util.sql.SqlConnection;
+import com.firas.generator.util.sql.SqlStatementReader;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Base class for {@link SqlConnection}s that execute scripts in per-request scratch
+ * schemas on a pooled connection.
+ *
+ * The pool is created lazily on first use, so the application starts without a
+ * reachable database. Scratch names embed their creation time
+ * ({@code sqlparse_<epochSeconds>_<random>}), which lets subclasses recognize and
+ * drop schemas left behind by a crashed instance.
+ *
+ * Statements (as split by {@link SqlStatementReader}) are executed in JDBC batches.
+ * Statements that would escape the scratch schema (USE, CREATE/DROP DATABASE or
+ * SCHEMA, SET search_path, transaction control) are skipped; statements that fail are
+ * logged and skipped so one unsupported statement does not lose the rest of the script.
+ *
+ * Configuration:
+ * - sql.parser.pool.max-size: maximum pooled connections per dialect
+ * - sql.parser.pool.connection-timeout-ms: how long a request waits for a connection
+ * - sql.parser.scratch.max-age-seconds: age after which leftover scratch schemas are dropped
+ *
+ * @author Firas Baklouti
+ * @version 1.0
+ * @since 2025-12-07
+ */
+public abstract class PooledScratchConnection implements SqlConnection {
+
+    /** Prefix of every scratch schema/database name */
+    protected static final String SCRATCH_PREFIX = "sqlparse_";
+
+    private static final Pattern SCRATCH_NAME = Pattern.compile(SCRATCH_PREFIX + "(\\d+)_[0-9a-f]+");
+
+    private static final Pattern ESCAPING_STATEMENT = Pattern.compile(
+            "^(use|begin|start\\s+transaction|commit|end|rollback|savepoint|release"
+                    + "|set\\s+(session\\s+)?search_path|(create|drop|alter)\\s+(database|schema))\\b.*",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Value("${sql.parser.pool.max-size:8}")
+    private int maxPoolSize;
+
+    @Value("${sql.parser.pool.connection-timeout-ms:10000}")
+    private long connectionTimeoutMs;
+
+    @Value("${sql.parser.scratch.max-age-seconds:3600}")
+    protected long scratchMaxAgeSeconds;
+
+    private volatile HikariDataSource dataSource;
+
+    /** Statements sent to the server per JDBC batch */
+    protected static final int BATCH_SIZE = 64;
+
+    /**
+     * @return The JDBC URL pooled connections are opened with
+     */
+    protected abstract String jdbcUrl();
+
+    protected abstract String user();
+
+    protected abstract String password();
+
+    /**
+     * Called once after the pool has been created, e.g. to drop leftover scratch schemas.
+     */
+    protected void onPoolCreated(HikariDataSource dataSource) throws SQLException {
+    }
+
+    /**
+     * Called once before the pool is created, e.g. to create the target database.
+     */
+    protected void beforePoolCreated() throws SQLException {
+    }
+
+    /**
+     * @return A connection from the dialect's pool
+     */
+    protected Connection borrowConnection() throws SQLException {
+        return dataSource().getConnection();
+    }
+
+    private HikariDataSource dataSource() throws SQLException {
+        HikariDataSource ds = dataSource;
+        if (ds != null) {
+            return ds;
+        }
+        synchronized (this) {
+            if (dataSource == null) {
+                beforePoolCreated();
+
+                HikariConfig config = new HikariConfig();
+                config.setPoolName(getClass().getSimpleName() + "-pool");
+                config.setJdbcUrl(jdbcUrl());
+                config.setUsername(user());
+                config.setPassword(password());
+                config.setMaximumPoolSize(Math.max(1, maxPoolSize));
+                config.setMinimumIdle(0);
+                config.setConnectionTimeout(connectionTimeoutMs);
+                // Do not fail fast: the pool is usable once the server becomes reachable
+                config.setInitializationFailTimeout(-1);
+
+                HikariDataSource created = new HikariDataSource(config);
+                try {
+                    onPoolCreated(created);
+                } catch (SQLException e) {
+                    log.warn("Scratch schema cleanup on startup failed", e);
+                }
+                dataSource = created;
+                log.info("Created scratch connection pool {} (max {} connections)",
+                        config.getPoolName(), config.getMaximumPoolSize());
+            }
+            return dataSource;
+        }
+    }
+
+    /**
+     * Sends the script's schema statements to the connection in batches.
+     */
+    protected void executeScript(Connection connection, List<String> statements) throws SQLException {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        for (String statement : statements) {
+            if (ESCAPING_STATEMENT.matcher(statement).matches()) {
+                log.debug("Skipping statement outside the scratch schema: {}", abbreviate(statement));
+                continue;
+            }
+            batch.add(statement);
+            if (batch.size() == BATCH_SIZE) {
+                executeBatch(connection, batch);
+                batch.clear();
+            }
+        }
+        executeBatch(connection, batch);
+    }
+
+    /**
+     * Executes the statements as one JDBC batch. Statements the driver reports as failed
+     * or did not reach are retried one by one, so one unsupported statement does not lose
+     * the rest of the script.
+     */
+    protected void executeBatch(Connection connection, List<String> statements) throws SQLException {
+        if (statements.isEmpty()) {
+            return;
+        }
+        try (Statement stmt = connection.createStatement()) {
+            for (String statement : statements) {
+                stmt.addBatch(statement);
+            }
+            stmt.executeBatch();
+        } catch (BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+            log.debug("Batch of {} statements partially failed ({}), retrying failed statements one by one",
+                    statements.size(), e.getMessage());
+            for (int i = 0; i < statements.size(); i++) {
+                if (i >= counts.length || counts[i] == Statement.EXECUTE_FAILED) {
+                    executeStatement(connection, statements.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a single statement, logging and skipping it if it fails.
+     */
+    protected void executeStatement(Connection connection, String statement) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(statement);
+        } catch (SQLException e) {
+            log.debug("Failed to execute statement: {} ({})", abbreviate(statement), e.getMessage());
+        }
+    }
+
+    /**
+     * @return A new unique scratch schema name
+     */
+    protected static String newScratchName() {
+        String random = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        return SCRATCH_PREFIX + (System.currentTimeMillis() / 1000) + "_" + random;
+    }
+
+    /**
+     * @return true if the name is a scratch schema created more than max-age seconds ago
+     */
+    protected boolean isStaleScratchName(String name) {
+        Matcher matcher = SCRATCH_NAME.matcher(name.toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            return false;
+        }
+        long createdAt = Long.parseLong(matcher.group(1));
+        return System.currentTimeMillis() / 1000 - createdAt > scratchMaxAgeSeconds;
+    }
+
+    /**
+     * Cleans up a scratch schema whose preparation failed; cleanup errors are attached to the cause.
+     */
+    protected static void closeAfterFailure(ScratchSchema scratch, Exception cause) {
+        try {
+            scratch.close();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static String abbreviate(String statement) {
+        return statement.length() > 80 ? statement.substring(0, 80) + "..." : statement;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        HikariDataSource ds = dataSource;
+        if (ds != null) {
+            ds.close();
+        }
+    }
+}
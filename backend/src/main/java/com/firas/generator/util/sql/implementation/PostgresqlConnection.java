@@ -1,16 +1,34 @@
 package com.firas.generator.util.sql.implementation;
 
-import com.firas.generator.util.sql.SqlConnection;
+import com.firas.generator.util.sql.ScratchSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
-
+import java.util.List;
+
+/**
+ * PostgreSQL scratch schemas: every script runs in its own schema inside one open transaction.
+ *
+ * PostgreSQL DDL is transactional, so closing the scratch schema simply rolls the
+ * transaction back; nothing is ever committed, and a connection that dies mid-request
+ * leaves nothing behind. Statements are sent in batches under a savepoint; a failing
+ * batch is replayed statement by statement so one bad statement does not abort the rest
+ * of the script. The configured database is created once,
+ * before the pool is, if it does not exist yet.
+ */
 @Component
-public class PostgresqlConnection implements SqlConnection {
+public class PostgresqlConnection extends PooledScratchConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresqlConnection.class);
 
     @Value("${postgresql.database}")
     private String dbName;
@@ -25,70 +43,96 @@ public class PostgresqlConnection implements SqlConnection {
     private String host;
 
     @Override
-    public Connection getConnection(String sql) throws SQLException {
-        System.out.println("=== PostgreSQL Parser ===");
-        System.out.println("Host: " + host);
-        System.out.println("DB: " + dbName);
-        System.out.println("User: " + user);
+    protected String jdbcUrl() {
+        return "jdbc:postgresql://" + host + "/" + dbName + "?sslmode=require";
+    }
 
-        // --- 1. ADMIN CONNECTION (OK TO CLOSE) ---
-        String adminUrl = "jdbc:postgresql://" + host + "/postgres?sslmode=require";
-        System.out.println("Admin URL: " + adminUrl);
+    @Override
+    protected String user() {
+        return user;
+    }
 
-        try (Connection adminConn = DriverManager.getConnection(adminUrl, user, pass);
-             Statement stmt = adminConn.createStatement()) {
-
-            // Kill existing connections
-            try {
-                stmt.execute("""
-                    SELECT pg_terminate_backend(pg_stat_activity.pid)
-                    FROM pg_stat_activity
-                    WHERE pg_stat_activity.datname = '%s'
-                    AND pid <> pg_backend_pid()
-                    """.formatted(dbName)
-                );
-            } catch (SQLException e) {
-                System.err.println("Warning terminating connections: " + e.getMessage());
-            }
+    @Override
+    protected String password() {
+        return pass;
+    }
 
-            // Drop DB
-            try {
-                stmt.execute("DROP DATABASE IF EXISTS " + dbName);
-                System.out.println("Dropped database: " + dbName);
-            } catch (SQLException e) {
-                System.err.println("Could not drop database: " + e.getMessage());
+    @Override
+    public ScratchSchema open(List<String> statements) throws SQLException {
+        String schema = newScratchName();
+        Connection conn = borrowConnection();
+        ScratchSchema scratch = new ScratchSchema(conn, null, schema, PostgresqlConnection::rollback);
+        try {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE SCHEMA " + schema);
+                stmt.execute("SET LOCAL search_path TO " + schema);
             }
+            executeScript(conn, statements);
+            return scratch;
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(scratch, e);
+            throw e;
+        }
+    }
 
-            // Create DB
-            try {
-                stmt.execute("CREATE DATABASE " + dbName);
-                System.out.println("Created database: " + dbName);
-            } catch (SQLException e) {
-                System.err.println("Could not create database: " + e.getMessage());
+    /**
+     * Runs the batch under one savepoint; if any statement fails, the whole batch is rolled
+     * back and replayed statement by statement, each under its own savepoint.
+     */
+    @Override
+    protected void executeBatch(Connection connection, List<String> statements) throws SQLException {
+        if (statements.isEmpty()) {
+            return;
+        }
+        Savepoint savepoint = connection.setSavepoint();
+        try (Statement stmt = connection.createStatement()) {
+            for (String statement : statements) {
+                stmt.addBatch(statement);
+            }
+            stmt.executeBatch();
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            connection.rollback(savepoint);
+            log.debug("Batch of {} statements failed ({}), replaying one by one", statements.size(), e.getMessage());
+            for (String statement : statements) {
+                executeStatement(connection, statement);
             }
         }
+    }
 
-        // --- 2. OPEN FINAL CONNECTION (MUST NOT BE CLOSED!) ---
-        String url = "jdbc:postgresql://" + host + "/" + dbName + "?sslmode=require";
-        System.out.println("Target URL: " + url);
-
-        Connection conn = DriverManager.getConnection(url, user, pass);
-
-        // --- 3. EXECUTE ALL SQL STATEMENTS ---
-        for (String stmt : sql.split(";")) {
-            String trimmed = stmt.trim();
-            if (!trimmed.isEmpty()) {
-                try {
-                    System.out.println("Executing PostgreSQL: " + (trimmed.length() > 80 ? trimmed.substring(0, 80) + "..." : trimmed));
-                    conn.prepareStatement(trimmed).execute();
-                } catch (SQLException e) {
-                    System.err.println("Failed to execute: " + trimmed);
-                    e.printStackTrace();
+    @Override
+    protected void executeStatement(Connection connection, String statement) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(statement);
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            connection.rollback(savepoint);
+            log.debug("Failed to execute PostgreSQL statement: {} ({})", statement, e.getMessage());
+        }
+    }
+
+    @Override
+    protected void beforePoolCreated() throws SQLException {
+        String adminUrl = "jdbc:postgresql://" + host + "/postgres?sslmode=require";
+        try (Connection adminConn = DriverManager.getConnection(adminUrl, user, pass);
+             PreparedStatement exists = adminConn.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            exists.setString(1, dbName);
+            try (ResultSet rs = exists.executeQuery()) {
+                if (rs.next()) {
+                    return;
                 }
             }
+            try (Statement stmt = adminConn.createStatement()) {
+                stmt.execute("CREATE DATABASE \"" + dbName.replace("\"", "\"\"") + "\"");
+                log.info("Created database: {}", dbName);
+            }
         }
+    }
 
-        // --- 4. RETURN AN OPEN CONNECTION ---
-        return conn;
+    private static void rollback(Connection conn) throws SQLException {
+        conn.rollback();
+        conn.setAutoCommit(true);
     }
 }
@@ -0,0 +1,26 @@
+package com.firas.generator.controller;
+
+import com.firas.generator.util.cache.BoundedCache;
+import com.firas.generator.util.cache.ManagedCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheAdminControllerTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(ManagedCache.class, () -> BoundedCache.<String, String>builder("test").build())
+            .withUserConfiguration(CacheAdminController.class);
+
+    @Test
+    public void shouldNotExposeAdminEndpointsByDefault() {
+        contextRunner.run(context -> assertTrue(context.getBeansOfType(CacheAdminController.class).isEmpty()));
+    }
+
+    @Test
+    public void shouldExposeAdminEndpointsWhenEnabled() {
+        contextRunner.withPropertyValues("generator.admin.caches.enabled=true")
+                .run(context -> assertEquals(1, context.getBeansOfType(CacheAdminController.class).size()));
+    }
+}
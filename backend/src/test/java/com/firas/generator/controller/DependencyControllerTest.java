@@ -0,0 +1,33 @@
+package com.firas.generator.controller;
+
+import com.firas.generator.stack.StackProviderFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class DependencyControllerTest {
+
+    private final MockMvc mvc = MockMvcBuilders
+            .standaloneSetup(new DependencyController(new StackProviderFactory(List.of())))
+            .build();
+
+    @Test
+    public void shouldRejectNegativePageWith400() throws Exception {
+        mvc.perform(get("/api/dependencies/search").param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Page must not be negative"));
+    }
+
+    @Test
+    public void shouldRejectNonPositiveSizeWith400() throws Exception {
+        mvc.perform(get("/api/dependencies/search").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Page size must be positive"));
+    }
+}
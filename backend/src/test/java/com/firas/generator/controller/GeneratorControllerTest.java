@@ -0,0 +1,84 @@
+package com.firas.generator.controller;
+
+import com.firas.generator.model.FilePreview;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.service.ProjectGenerationService;
+import com.firas.generator.stack.StackProvider;
+import com.firas.generator.util.FileSink;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GeneratorControllerTest {
+
+    private final FailingGenerationService generation = new FailingGenerationService();
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new GeneratorController(generation)).build();
+
+    @Test
+    public void shouldRejectInvalidRequestBeforeStreaming() throws Exception {
+        mvc.perform(post("/api/generate/project").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"artifactId\":\"  \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Project name cannot be null or empty"));
+        assertEquals(0, generation.renders);
+    }
+
+    @Test
+    public void shouldNotFinishArchiveWhenGenerationFailsMidStream() throws Exception {
+        MvcResult started = mvc.perform(post("/api/generate/project").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"artifactId\":\"demo\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5_000);
+
+        byte[] body = started.getResponse().getContentAsByteArray();
+        assertTrue(body.length > 0, "the first entry was streamed");
+        // End of central directory signature (PK\5\6) is only written by a finished archive
+        assertFalse(containsEndOfCentralDirectory(body));
+        assertThrows(Exception.class, () -> mvc.perform(asyncDispatch(started)));
+    }
+
+    private static boolean containsEndOfCentralDirectory(byte[] zip) {
+        for (int i = 0; i + 3 < zip.length; i++) {
+            if (zip[i] == 'P' && zip[i + 1] == 'K' && zip[i + 2] == 5 && zip[i + 3] == 6) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Streams one file, then fails as a broken template would.
+     */
+    private static final class FailingGenerationService extends ProjectGenerationService {
+
+        volatile int renders;
+
+        FailingGenerationService() {
+            super(null, null, null, null, false, 1, 1, 1, false);
+        }
+
+        @Override
+        public StackProvider resolveStackProvider(ProjectRequest request) {
+            return null;
+        }
+
+        @Override
+        public void generateFiles(ProjectRequest request, FileSink sink) throws IOException {
+            renders++;
+            sink.accept(new FilePreview("README.md", "# " + request.getArtifactId(), "markdown"));
+            throw new IOException("template missing");
+        }
+    }
+}
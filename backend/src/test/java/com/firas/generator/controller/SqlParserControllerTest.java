@@ -0,0 +1,60 @@
+package com.firas.generator.controller;
+
+import com.firas.generator.stack.spring.SpringTypeMapper;
+import com.firas.generator.util.sql.ParsedSchemaCache;
+import com.firas.generator.util.sql.SqlParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class SqlParserControllerTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    public void setUp() {
+        SqlParser sqlParser = new SqlParser(null, new SpringTypeMapper(),
+                new ParsedSchemaCache(true, 16, 1 << 20, 600), "offline");
+        SqlParserController controller = new SqlParserController(sqlParser);
+        ReflectionTestUtils.setField(controller, "maxScriptBytes", 1024L);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void shouldParsePostedScript() throws Exception {
+        mvc.perform(post("/api/sqlParser").contentType(MediaType.TEXT_PLAIN)
+                        .content("CREATE TABLE users (id BIGINT PRIMARY KEY);"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("users"));
+    }
+
+    @Test
+    public void shouldRejectUnknownModeWith400() throws Exception {
+        mvc.perform(post("/api/sqlParser").param("mode", "fast").contentType(MediaType.TEXT_PLAIN)
+                        .content("CREATE TABLE users (id BIGINT PRIMARY KEY);"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown SQL parse mode: fast (expected offline or jdbc)"));
+    }
+
+    @Test
+    public void shouldRejectUnterminatedLiteralWith400() throws Exception {
+        mvc.perform(post("/api/sqlParser").contentType(MediaType.TEXT_PLAIN)
+                        .content("CREATE TABLE users (name VARCHAR(10) DEFAULT 'oops);"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unterminated ' quote"));
+    }
+
+    @Test
+    public void shouldRejectOversizedScriptWith413() throws Exception {
+        mvc.perform(post("/api/sqlParser").contentType(MediaType.TEXT_PLAIN)
+                        .content("-- " + "x".repeat(2048)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+}
@@ -0,0 +1,69 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.AI.AIGeneratedTables;
+import com.firas.generator.model.AI.TableAction;
+import com.firas.generator.model.AI.TableActionType;
+import com.firas.generator.model.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AIResponseCacheTest {
+
+    private final AIResponseCache cache = new AIResponseCache(true, 16, 1 << 20, 3600);
+
+    @Test
+    public void equivalentPromptsOnTheSameTablesShareAnEntry() {
+        String key = cache.keyFor("ANTHROPIC", "model-a", "  Blog with\n comments ", false, List.of(table("users")));
+        cache.put(key, response("posts"));
+
+        String same = cache.keyFor("ANTHROPIC", "model-a", "blog WITH comments", false, List.of(table("users")));
+        AIGeneratedTables hit = cache.get(same);
+
+        assertNotNull(hit);
+        assertNull(hit.getSessionId());
+        assertEquals("posts", hit.getActions().get(0).getTables().get(0).getName());
+        assertNotSame(hit, cache.get(same), "each hit is a fresh copy");
+        assertEquals(2, cache.getStats().hits());
+    }
+
+    @Test
+    public void keyCoversProviderModelTablesAndDestructiveFlag() {
+        String key = cache.keyFor("ANTHROPIC", "model-a", "blog", false, List.of());
+
+        assertNotEquals(key, cache.keyFor("OPENAI", "model-a", "blog", false, List.of()));
+        assertNotEquals(key, cache.keyFor("ANTHROPIC", "model-b", "blog", false, List.of()));
+        assertNotEquals(key, cache.keyFor("ANTHROPIC", "model-a", "blog", true, List.of()));
+        assertNotEquals(key, cache.keyFor("ANTHROPIC", "model-a", "blog", false, List.of(table("users"))));
+    }
+
+    @Test
+    public void failedResponsesAreNotCached() {
+        String key = cache.keyFor("ANTHROPIC", "model-a", "blog", false, List.of());
+        cache.put(key, AIGeneratedTables.failure("s1", "Error: quota exceeded"));
+
+        assertNull(cache.get(key));
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    public void disabledCacheHasNoKeys() {
+        AIResponseCache disabled = new AIResponseCache(false, 16, 1 << 20, 3600);
+
+        assertNull(disabled.keyFor("ANTHROPIC", "model-a", "blog", false, List.of()));
+        assertNull(disabled.get(null));
+    }
+
+    private static AIGeneratedTables response(String tableName) {
+        TableAction action = new TableAction(TableActionType.create, List.of(table(tableName)), null, null);
+        return new AIGeneratedTables("s1", List.of(action), "Adds " + tableName);
+    }
+
+    private static Table table(String name) {
+        Table table = new Table();
+        table.setName(name);
+        return table;
+    }
+}
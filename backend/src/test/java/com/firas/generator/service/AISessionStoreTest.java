@@ -0,0 +1,91 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AISessionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldReturnIndependentCopies() {
+        AISessionStore store = new AISessionStore(16, 1 << 20, 20, 3600, "", 3600);
+        List<Table> tables = new ArrayList<>(List.of(table("users")));
+        store.put("s1", tables);
+        tables.get(0).setName("changed");
+
+        List<Table> loaded = store.get("s1");
+        assertEquals("users", loaded.get(0).getName());
+        loaded.get(0).setName("changed");
+        assertEquals("users", store.get("s1").get(0).getName());
+        assertNull(store.get("unknown"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedSessionsWhenFull() {
+        AISessionStore store = new AISessionStore(2, 1 << 20, 20, 3600, "", 3600);
+        store.put("s1", List.of(table("a")));
+        store.put("s2", List.of(table("b")));
+        store.put("s3", List.of(table("c")));
+
+        assertNull(store.get("s1"));
+        assertNotNull(store.get("s3"));
+        assertEquals(1, store.getStats().evictions());
+    }
+
+    @Test
+    public void shouldReloadSpilledSessionsAfterEvictionAndRestart() {
+        String spillDir = tempDir.toString();
+        AISessionStore store = new AISessionStore(1, 1 << 20, 20, 3600, spillDir, 3600);
+        store.put("s1", List.of(table("orders")));
+        store.put("s2", List.of(table("items")));
+
+        // s1 was evicted from memory but is still on disk
+        assertEquals("orders", store.get("s1").get(0).getName());
+
+        AISessionStore restarted = new AISessionStore(1, 1 << 20, 20, 3600, spillDir, 3600);
+        assertEquals("items", restarted.get("s2").get(0).getName());
+
+        restarted.invalidateAll();
+        assertNull(restarted.get("s1"));
+    }
+
+    @Test
+    public void shouldUndoAndRedoCommittedVersions() {
+        AISessionStore store = new AISessionStore(16, 1 << 20, 2, 3600, "", 3600);
+        store.put("s1", List.of(table("a")));
+        store.put("s1", List.of(table("a"), table("b")));
+        store.put("s1", List.of(table("a"), table("b"), table("c")));
+        store.put("s1", List.of(table("d")));
+
+        // Only two earlier versions are kept
+        assertEquals(List.of("a", "b", "c"), names(store.undo("s1")));
+        assertEquals(List.of("a", "b"), names(store.undo("s1")));
+        assertNull(store.undo("s1"));
+        assertEquals(List.of("a", "b", "c"), names(store.redo("s1")));
+
+        // A new version discards what could have been redone
+        store.put("s1", List.of(table("e")));
+        assertNull(store.redo("s1"));
+        assertEquals(List.of("e"), names(store.get("s1")));
+        assertNull(store.undo("unknown"));
+    }
+
+    private static List<String> names(List<Table> tables) {
+        return tables.stream().map(Table::getName).toList();
+    }
+
+    private static Table table(String name) {
+        Table table = new Table();
+        table.setName(name);
+        return table;
+    }
+}
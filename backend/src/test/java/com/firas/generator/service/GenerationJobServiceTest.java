@@ -0,0 +1,265 @@
+package com.firas.generator.service;
+
+import com.firas.generator.controller.GenerationJobController;
+import com.firas.generator.model.FilePreview;
+import com.firas.generator.model.GenerationJobState;
+import com.firas.generator.model.GenerationJobStatus;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.stack.StackProvider;
+import com.firas.generator.util.FileSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GenerationJobServiceTest {
+
+    private final FakeGenerationService generation = new FakeGenerationService();
+    private final GenerationJobService jobs = new GenerationJobService(generation, 1, 1, 16, 1 << 20, 600, 60_000);
+
+    @AfterEach
+    public void tearDown() {
+        generation.release.countDown();
+        jobs.shutdown();
+    }
+
+    @Test
+    public void shouldRejectWith429AndRetryAfterWhenPoolIsFull() throws Exception {
+        jobs.submit(request("running"));
+        assertTrue(generation.started.await(5, TimeUnit.SECONDS));
+        jobs.submit(request("queued"));
+
+        GenerationQueueFullException rejected = assertThrows(GenerationQueueFullException.class,
+                () -> jobs.submit(request("rejected")));
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new GenerationJobController(jobs)).build();
+        mvc.perform(post("/api/generate/jobs").contentType(MediaType.APPLICATION_JSON).content("{\"artifactId\":\"x\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void shouldRejectUnknownStackWith400() throws Exception {
+        generation.unsupportedStack = true;
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new GenerationJobController(jobs)).build();
+        mvc.perform(post("/api/generate/jobs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"artifactId\":\"x\",\"stackType\":\"NODE\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("No provider available for stack: NODE"));
+        assertTrue(generation.rendered.isEmpty());
+    }
+
+    @Test
+    public void shouldCancelQueuedJobWithoutRunningIt() throws Exception {
+        String running = jobs.submit(request("running")).getId();
+        assertTrue(generation.started.await(5, TimeUnit.SECONDS));
+        String queued = jobs.submit(request("queued")).getId();
+
+        assertEquals(GenerationJobState.CANCELLED, jobs.cancel(queued).getState());
+        generation.release.countDown();
+
+        assertEquals(GenerationJobState.SUCCEEDED, awaitTerminal(running).getState());
+        // The queue slot was freed, so another job fits
+        String next = jobs.submit(request("next")).getId();
+        assertEquals(GenerationJobState.SUCCEEDED, awaitTerminal(next).getState());
+        assertEquals(GenerationJobState.CANCELLED, jobs.getStatus(queued).getState());
+        assertEquals(List.of("running", "next"), generation.rendered);
+    }
+
+    @Test
+    public void shouldCancelRunningJobAndInterruptItsWorker() throws Exception {
+        String id = jobs.submit(request("running")).getId();
+        assertTrue(generation.started.await(5, TimeUnit.SECONDS));
+
+        GenerationJobStatus status = jobs.cancel(id);
+
+        assertEquals(GenerationJobState.CANCELLED, status.getState());
+        assertTrue(generation.interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(GenerationJobState.CANCELLED, jobs.getStatus(id).getState());
+        assertNull(jobs.getResult(id));
+    }
+
+    @Test
+    public void terminalStatesShouldNeverChange() throws Exception {
+        generation.release.countDown();
+        String succeeded = jobs.submit(request("ok")).getId();
+        assertEquals(GenerationJobState.SUCCEEDED, awaitTerminal(succeeded).getState());
+        byte[] zip = jobs.getResult(succeeded);
+        assertEquals('P', zip[0]);
+        assertEquals('K', zip[1]);
+
+        generation.failure = new IOException("template missing");
+        String failed = jobs.submit(request("broken")).getId();
+        GenerationJobStatus failedStatus = awaitTerminal(failed);
+        assertEquals(GenerationJobState.FAILED, failedStatus.getState());
+        assertEquals("template missing", failedStatus.getError());
+
+        assertEquals(GenerationJobState.SUCCEEDED, jobs.cancel(succeeded).getState());
+        assertSame(zip, jobs.getResult(succeeded));
+        assertEquals(GenerationJobState.FAILED, jobs.cancel(failed).getState());
+        assertNull(jobs.getResult(failed));
+    }
+
+    @Test
+    public void subscribersShouldReceiveProgressThenOneFinalEvent() throws Exception {
+        GenerationJob job = new GenerationJob("job", "demo", request("demo"));
+        RecordingEmitter early = new RecordingEmitter(null);
+        job.subscribe(early);
+
+        assertTrue(job.start());
+        job.fileGenerated();
+        assertTrue(job.succeed(new byte[0]));
+        assertFalse(job.cancel());
+        job.fileGenerated();
+
+        RecordingEmitter late = new RecordingEmitter(null);
+        job.subscribe(late);
+
+        List<String> events = early.events;
+        assertEquals("progress", events.get(0));
+        assertEquals("succeeded", events.get(events.size() - 2));
+        assertEquals("complete", events.get(events.size() - 1));
+        assertTrue(events.subList(0, events.size() - 2).stream().allMatch("progress"::equals));
+        assertEquals(List.of("succeeded", "complete"), late.events);
+    }
+
+    @Test
+    public void slowSubscriberShouldNotBlockStateChanges() throws Exception {
+        GenerationJob job = new GenerationJob("job", "demo", request("demo"));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        job.subscribe(new RecordingEmitter(event -> {
+            if (!event.equals("progress")) {
+                sending.countDown();
+                unblock.await();
+            }
+        }));
+        job.start();
+
+        CompletableFuture<Boolean> finishing = CompletableFuture.supplyAsync(() -> job.succeed(new byte[0]));
+        try {
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            // Needs the job's lock, which the stuck send must not be holding
+            CompletableFuture<Boolean> cancelling = CompletableFuture.supplyAsync(job::cancel);
+            assertFalse(cancelling.get(5, TimeUnit.SECONDS));
+            assertEquals(GenerationJobState.SUCCEEDED, job.toStatus().getState());
+        } finally {
+            unblock.countDown();
+        }
+        assertTrue(finishing.get(5, TimeUnit.SECONDS));
+    }
+
+    private GenerationJobStatus awaitTerminal(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        GenerationJobStatus status = jobs.getStatus(jobId);
+        while (!status.getState().isTerminal()) {
+            assertTrue(System.nanoTime() < deadline, "job did not finish: " + status.getState());
+            Thread.sleep(5);
+            status = jobs.getStatus(jobId);
+        }
+        return status;
+    }
+
+    private static ProjectRequest request(String artifactId) {
+        ProjectRequest request = new ProjectRequest();
+        request.setArtifactId(artifactId);
+        return request;
+    }
+
+    /**
+     * Renders one file per request; the first render waits for {@link #release}.
+     */
+    private static final class FakeGenerationService extends ProjectGenerationService {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final List<String> rendered = new CopyOnWriteArrayList<>();
+        volatile IOException failure;
+        volatile boolean unsupportedStack;
+
+        FakeGenerationService() {
+            super(null, null, null, null, false, 1, 1, 1, false);
+        }
+
+        @Override
+        public StackProvider resolveStackProvider(ProjectRequest request) {
+            if (unsupportedStack) {
+                throw new IllegalArgumentException("No provider available for stack: " + request.getStackType());
+            }
+            return null;
+        }
+
+        @Override
+        public void generateFiles(ProjectRequest request, FileSink sink) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IllegalStateException("Generation job cancelled", e);
+            }
+            rendered.add(request.getArtifactId());
+            sink.accept(new FilePreview("README.md", "# " + request.getArtifactId(), "markdown"));
+        }
+    }
+
+    /**
+     * Records the names of the events sent to it, and its completion.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        interface OnSend {
+            void accept(String event) throws InterruptedException;
+        }
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        private final OnSend onSend;
+
+        RecordingEmitter(OnSend onSend) {
+            this.onSend = onSend;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            Set<DataWithMediaType> parts = builder.build();
+            String text = parts.iterator().next().getData().toString();
+            String event = text.substring("event:".length(), text.indexOf('\n'));
+            if (onSend != null) {
+                try {
+                    onSend.accept(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+
+        @Override
+        public synchronized void complete() {
+            events.add("complete");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.firas.generator.service;
+
+import com.firas.generator.model.FilePreview;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreviewManifestTest {
+
+    @Test
+    public void shouldIgnoreFileOrderInManifestHash() {
+        FilePreview a = new FilePreview("a.txt", "A", "text");
+        FilePreview b = new FilePreview("b.txt", "B", "text");
+
+        assertEquals(PreviewManifest.of(List.of(a, b)).getHash(), PreviewManifest.of(List.of(b, a)).getHash());
+    }
+
+    @Test
+    public void shouldReportAddedChangedAndRemovedFiles() {
+        PreviewManifest base = PreviewManifest.of(List.of(
+                new FilePreview("same.txt", "same", "text"),
+                new FilePreview("changed.txt", "old", "text"),
+                new FilePreview("removed.txt", "gone", "text")));
+
+        List<FilePreview> files = List.of(
+                new FilePreview("same.txt", "same", "text"),
+                new FilePreview("changed.txt", "new", "text"),
+                new FilePreview("added.txt", "added", "text"));
+        PreviewManifest current = PreviewManifest.of(files);
+
+        List<FilePreview> changed = current.changedSince(base, files);
+        assertEquals(List.of("changed.txt", "added.txt"), changed.stream().map(FilePreview::getPath).toList());
+        assertEquals(List.of("removed.txt"), current.removedSince(base));
+        assertNotEquals(base.getHash(), current.getHash());
+    }
+}
@@ -0,0 +1,191 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.AI.AIGeneratedTables;
+import com.firas.generator.model.AI.AIGeneratedTablesRequest;
+import com.firas.generator.model.AI.TableAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingAIProviderTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AIGeneratedTablesRequest request = new AIGeneratedTablesRequest("add users", List.of(), "s-1", false);
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void routesToTheFastestProvider() {
+        FakeProvider slow = new FakeProvider("SLOW", () -> answer("slow", 300));
+        FakeProvider fast = new FakeProvider("FAST", () -> answer("fast", 50));
+        RoutingAIProvider router = router(List.of(slow, fast), false, 0);
+
+        // Unmeasured providers rank first, in configured order, so both get measured
+        assertEquals("slow", router.generateTables(request).getExplanation());
+        assertEquals("fast", router.generateTables(request).getExplanation());
+        assertEquals("fast", router.generateTables(request).getExplanation());
+        assertEquals("fast", router.generateTables(request).getExplanation());
+        assertEquals(1, slow.calls);
+    }
+
+    @Test
+    void fallsBackOnFailedResponseAndException() {
+        FakeProvider failing = new FakeProvider("FAILING", () -> CompletableFuture.completedFuture(
+                AIGeneratedTables.failure("s-1", "Error: quota exceeded")));
+        FakeProvider throwing = new FakeProvider("THROWING", () -> CompletableFuture.failedFuture(
+                new IllegalStateException("down")));
+        FakeProvider healthy = new FakeProvider("HEALTHY", () -> answer("ok", 10));
+        RoutingAIProvider router = router(List.of(failing, throwing, healthy), false, 0);
+
+        assertEquals("ok", router.generateTables(request).getExplanation());
+        assertEquals(2, router.getStats().fallbacks());
+    }
+
+    @Test
+    void returnsTheLastFailureWhenEveryProviderFails() {
+        FakeProvider throwing = new FakeProvider("THROWING", () -> CompletableFuture.failedFuture(
+                new IllegalStateException("down")));
+        FakeProvider failing = new FakeProvider("FAILING", () -> CompletableFuture.completedFuture(
+                AIGeneratedTables.failure("s-1", "Error: quota exceeded")));
+        RoutingAIProvider router = router(List.of(throwing, failing), false, 0);
+
+        AIGeneratedTables result = router.generateTables(request);
+
+        assertTrue(result.isFailed());
+        assertEquals("Error: quota exceeded", result.getExplanation());
+    }
+
+    @Test
+    void hedgedCallWinsWhenThePrimaryIsSlow() throws Exception {
+        CompletableFuture<AIGeneratedTables> stuck = new CompletableFuture<>();
+        FakeProvider primary = new FakeProvider("PRIMARY", () -> stuck);
+        FakeProvider backup = new FakeProvider("BACKUP", () -> answer("backup", 0));
+        RoutingAIProvider router = router(List.of(primary, backup), true, 20 * MS);
+
+        AIGeneratedTables result = router.generateTablesAsync(request, Runnable::run).get(5, TimeUnit.SECONDS);
+
+        assertEquals("backup", result.getExplanation());
+        assertEquals(1, router.getStats().hedgesLaunched());
+        assertEquals(1, router.getStats().hedgesWon());
+
+        // The late primary answer is ignored
+        stuck.complete(new AIGeneratedTables("s-1", List.of(), "primary"));
+        assertEquals(1, primary.calls);
+    }
+
+    @Test
+    void skipsUnhealthyProviderUntilCooldownPasses() {
+        boolean[] down = {true};
+        FakeProvider flaky = new FakeProvider("FLAKY", () -> down[0]
+                ? CompletableFuture.failedFuture(new IllegalStateException("down"))
+                : answer("flaky", 1));
+        FakeProvider steady = new FakeProvider("STEADY", () -> answer("steady", 500));
+        RoutingAIProvider router = router(List.of(flaky, steady), false, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("steady", router.generateTables(request).getExplanation());
+        }
+        int flakyCalls = flaky.calls;
+        assertEquals("steady", router.generateTables(request).getExplanation());
+        assertEquals(flakyCalls, flaky.calls, "unhealthy provider is ranked last");
+        assertFalse(router.getStats().providers().stream()
+                .filter(p -> p.provider().equals("FLAKY"))
+                .findFirst().orElseThrow().healthy());
+
+        down[0] = false;
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertEquals("flaky", router.generateTables(request).getExplanation());
+    }
+
+    @Test
+    void streamFallsBackOnlyBeforeAnythingWasSent() {
+        FakeProvider failing = new FakeProvider("FAILING", () -> CompletableFuture.failedFuture(
+                new IllegalStateException("down")));
+        FakeProvider healthy = new FakeProvider("HEALTHY", () -> answer("ok", 10));
+        RoutingAIProvider router = router(List.of(failing, healthy), false, 0);
+        List<String> deltas = new ArrayList<>();
+
+        AIGeneratedTables result = router.streamTables(request, new AIStreamListener() {
+            @Override
+            public void onExplanation(String delta) {
+                deltas.add(delta);
+            }
+
+            @Override
+            public void onAction(TableAction action) {
+            }
+        });
+
+        assertEquals("ok", result.getExplanation());
+        assertEquals(List.of("ok"), deltas);
+    }
+
+    private RoutingAIProvider router(List<AIProvider> providers, boolean hedge, long hedgeDelayNanos) {
+        Executor direct = Runnable::run;
+        return new RoutingAIProvider(providers, 10, 5, 0.5, TimeUnit.SECONDS.toNanos(30),
+                hedge, hedgeDelayNanos, clock::get, scheduler, direct);
+    }
+
+    /**
+     * Answers after advancing the fake clock by the given latency.
+     */
+    private CompletableFuture<AIGeneratedTables> answer(String explanation, long latencyMs) {
+        clock.addAndGet(latencyMs * MS);
+        return CompletableFuture.completedFuture(new AIGeneratedTables("s-1", List.of(), explanation));
+    }
+
+    private static final class FakeProvider implements AIProvider {
+
+        private final String name;
+        private final Supplier<CompletableFuture<AIGeneratedTables>> response;
+        private volatile int calls;
+
+        FakeProvider(String name, Supplier<CompletableFuture<AIGeneratedTables>> response) {
+            this.name = name;
+            this.response = response;
+        }
+
+        @Override
+        public AIGeneratedTables generateTables(AIGeneratedTablesRequest request) {
+            try {
+                return generateTablesAsync(request, Runnable::run).join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+
+        @Override
+        public CompletableFuture<AIGeneratedTables> generateTablesAsync(AIGeneratedTablesRequest request, Executor executor) {
+            calls++;
+            return response.get();
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+}
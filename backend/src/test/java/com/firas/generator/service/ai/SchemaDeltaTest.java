@@ -0,0 +1,52 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaDeltaTest {
+
+    @Test
+    void reportsAddedChangedAndRemovedTables() {
+        Map<String, String> held = SchemaDelta.fingerprints(List.of(table("users", "id"), table("orders", "id"),
+                table("sessions", "id")));
+
+        SchemaDelta delta = SchemaDelta.between(held, List.of(table("users", "id"), table("orders", "id", "total"),
+                table("payments", "id")));
+
+        assertEquals(List.of("orders", "payments"), delta.upsertTables().stream().map(Table::getName).toList());
+        assertEquals(List.of("sessions"), delta.removeTables());
+    }
+
+    @Test
+    void sameSchemaInAnotherOrderIsEmpty() {
+        Map<String, String> held = SchemaDelta.fingerprints(List.of(table("users", "id"), table("orders", "id")));
+
+        assertTrue(SchemaDelta.between(held, List.of(table("orders", "id"), table("users", "id"))).isEmpty());
+    }
+
+    @Test
+    void unnamedOrDuplicateTablesCannotBeDiffed() {
+        Map<String, String> held = SchemaDelta.fingerprints(List.of(table("users", "id")));
+
+        assertNull(SchemaDelta.fingerprints(List.of(table("users", "id"), table("USERS", "id"))));
+        assertNull(SchemaDelta.between(held, List.of(table(null, "id"))));
+        assertNull(SchemaDelta.between(null, List.of(table("users", "id"))));
+    }
+
+    private static Table table(String name, String... columnNames) {
+        Table table = new Table();
+        table.setName(name);
+        for (String columnName : columnNames) {
+            Column column = new Column();
+            column.setName(columnName);
+            table.getColumns().add(column);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,66 @@
+package com.firas.generator.service.ai;
+
+import com.firas.generator.model.AI.TableAction;
+import com.firas.generator.model.AI.TableActionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingResponseParserTest {
+
+    private static final String RESPONSE = "```json\n{\"sessionId\": \"s-1\", \"explanation\": \"Adds \\\"users\\\"\\nand caf\\u00e9 {tables}\", "
+            + "\"actions\": [{\"type\": \"create\", \"tables\": [{\"name\": \"users\", \"columns\": []}]}, "
+            + "{\"type\": \"delete\", \"tableNames\": [\"old]\"]}]}\n```";
+
+    private final List<String> deltas = new ArrayList<>();
+    private final List<TableAction> actions = new ArrayList<>();
+    private final StreamingResponseParser parser = new StreamingResponseParser(new AIStreamListener() {
+        @Override
+        public void onExplanation(String delta) {
+            deltas.add(delta);
+        }
+
+        @Override
+        public void onAction(TableAction action) {
+            actions.add(action);
+        }
+    });
+
+    @Test
+    void reportsExplanationAndActionsFedOneCharacterAtATime() {
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            parser.feed(RESPONSE.substring(i, i + 1));
+        }
+
+        assertEquals("Adds \"users\"\nand café {tables}", String.join("", deltas));
+        assertEquals(2, actions.size());
+        assertEquals(TableActionType.create, actions.get(0).getType());
+        assertEquals("users", actions.get(0).getTables().get(0).getName());
+        assertEquals(TableActionType.delete, actions.get(1).getType());
+        assertEquals(List.of("old]"), actions.get(1).getTableNames());
+        assertEquals(RESPONSE, parser.getText());
+    }
+
+    @Test
+    void reportsEachActionAsSoonAsItCloses() {
+        int firstActionEnd = RESPONSE.indexOf("]}]}") + 4;
+        parser.feed(RESPONSE.substring(0, firstActionEnd));
+        assertEquals(1, actions.size());
+
+        parser.feed(RESPONSE.substring(firstActionEnd));
+        assertEquals(2, actions.size());
+    }
+
+    @Test
+    void ignoresNestedExplanationKeysAndMalformedActions() {
+        parser.feed("{\"actions\": [{\"type\": \"unknown\"}, {\"type\": \"edit\", \"explanation\": \"nested\"}]");
+        parser.feed(", \"explanation\": \"top\"}");
+
+        assertEquals(List.of("top"), deltas);
+        assertEquals(1, actions.size());
+        assertEquals(TableActionType.edit, actions.get(0).getType());
+    }
+}
@@ -0,0 +1,129 @@
+package com.firas.generator.service.ai.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the provider HTTP clients against a local stub server.
+ */
+class ProviderHttpClientTest {
+
+    private HttpServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AIHttpClientFactory httpClients;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, "{\"ok\": true}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{}");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("ai.http.stub.read-timeout-ms", "300")
+                .withProperty("ai.http.stub.max-concurrent", "1");
+        httpClients = new AIHttpClientFactory(environment, 1000, true, 5000, 8, 100);
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void recordsLatencyOfBlockingAndAsyncCalls() throws Exception {
+        ProviderHttpClient http = httpClients.forProvider("Stub");
+
+        ResponseEntity<String> blocking = http.call(() -> http.restTemplate().getForEntity(url("/ok"), String.class));
+        HttpResponse<String> async = http.sendAsync(http.newRequest(URI.create(url("/ok"))).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, blocking.getStatusCode().value());
+        assertEquals(200, async.statusCode());
+        ProviderHttpStats stats = http.getStats();
+        assertEquals("stub", stats.provider());
+        assertEquals(2, stats.calls());
+        assertEquals(0, stats.errors());
+        assertEquals(0, stats.inFlight());
+        assertTrue(stats.p95Ms() > 0);
+        assertEquals(1, httpClients.getStats().size());
+    }
+
+    @Test
+    void hungUpstreamTimesOut() {
+        ProviderHttpClient http = httpClients.forProvider("stub");
+
+        CompletableFuture<HttpResponse<String>> response = http.sendAsync(
+                http.newRequest(URI.create(url("/slow"))).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpTimeoutException.class, failure.getCause());
+        assertEquals(1, http.getStats().timeouts());
+        assertEquals(1, http.getStats().errors());
+        assertThrows(Exception.class, () -> http.call(() -> http.restTemplate().getForObject(url("/slow"), String.class)));
+        assertEquals(2, http.getStats().timeouts());
+    }
+
+    @Test
+    void rejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        ProviderHttpClient http = httpClients.forProvider("stub");
+        CompletableFuture<HttpResponse<String>> first = http.sendAsync(
+                http.newRequest(URI.create(url("/slow"))).timeout(Duration.ofSeconds(5)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        CompletableFuture<HttpResponse<String>> second = http.sendAsync(
+                http.newRequest(URI.create(url("/ok"))).GET().build(), HttpResponse.BodyHandlers.ofString());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AIProviderBusyException.class, failure.getCause());
+        assertThrows(AIProviderBusyException.class, () -> http.call(() -> "unreachable"));
+        assertEquals(2, http.getStats().rejected());
+        assertEquals(1, http.getStats().inFlight());
+
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(0, http.getStats().inFlight());
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.firas.generator.service.ai.providers;
+
+import com.firas.generator.model.AI.AIGeneratedTables;
+import com.firas.generator.model.AI.AIGeneratedTablesRequest;
+import com.firas.generator.model.AI.TableAction;
+import com.firas.generator.service.ai.AIStreamListener;
+import com.firas.generator.service.ai.http.AIHttpClientFactory;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the streaming providers against a local server replaying canned event streams.
+ */
+class StreamingProviderTest {
+
+    /** The model's output, split into the fragments the mock server streams */
+    private static final String[] FRAGMENTS = {
+            "{\"sessionId\": \"\", \"expla", "nation\": \"Creates the ", "users table\", \"actions\": [",
+            "{\"type\": \"create\", \"tables\": [{\"name\": \"us", "ers\"}]}", "]}"
+    };
+
+    private final AIHttpClientFactory httpClients =
+            new AIHttpClientFactory(new MockEnvironment(), 1000, true, 5000, 4, 1000);
+    private HttpServer server;
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private final List<String> explanation = new ArrayList<>();
+    private final List<TableAction> actions = new ArrayList<>();
+    private final AIStreamListener listener = new AIStreamListener() {
+        @Override
+        public void onExplanation(String delta) {
+            explanation.add(delta);
+        }
+
+        @Override
+        public void onAction(TableAction action) {
+            actions.add(action);
+        }
+    };
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void anthropicStreamsExplanationAndActions() {
+        StringBuilder events = new StringBuilder("event: message_start\ndata: {\"type\": \"message_start\"}\n\n");
+        for (String fragment : FRAGMENTS) {
+            events.append("event: content_block_delta\ndata: {\"type\": \"content_block_delta\", \"index\": 0, ")
+                    .append("\"delta\": {\"type\": \"text_delta\", \"text\": ").append(quote(fragment)).append("}}\n\n");
+        }
+        events.append("event: message_stop\ndata: {\"type\": \"message_stop\"}\n\n");
+        serve(events.toString());
+
+        AnthropicProvider provider = new AnthropicProvider(httpClients);
+        configure(provider);
+        AIGeneratedTables result = provider.streamTables(request(), listener);
+
+        assertStreamed(result);
+        assertTrue(requestBody.get().contains("\"stream\":true"));
+    }
+
+    @Test
+    void openAIStreamsExplanationAndActions() {
+        StringBuilder events = new StringBuilder();
+        for (String fragment : FRAGMENTS) {
+            events.append("data: {\"choices\": [{\"index\": 0, \"delta\": {\"content\": ")
+                    .append(quote(fragment)).append("}}]}\n\n");
+        }
+        events.append("data: [DONE]\n\n");
+        serve(events.toString());
+
+        OpenAIProvider provider = new OpenAIProvider(httpClients);
+        configure(provider);
+        AIGeneratedTables result = provider.streamTables(request(), listener);
+
+        assertStreamed(result);
+        assertTrue(requestBody.get().contains("\"stream\":true"));
+    }
+
+    @Test
+    void streamErrorBecomesErrorResult() {
+        serve("event: error\ndata: {\"type\": \"error\", \"error\": {\"type\": \"overloaded_error\", \"message\": \"Overloaded\"}}\n\n");
+
+        AnthropicProvider provider = new AnthropicProvider(httpClients);
+        configure(provider);
+        AIGeneratedTables result = provider.streamTables(request(), listener);
+
+        assertTrue(result.getActions().isEmpty());
+        assertTrue(result.getExplanation().contains("Overloaded"));
+    }
+
+    private void assertStreamed(AIGeneratedTables result) {
+        assertEquals("Creates the users table", String.join("", explanation));
+        assertTrue(explanation.size() > 1, "explanation should arrive in several deltas");
+        assertEquals(1, actions.size());
+        assertEquals("users", actions.get(0).getTables().get(0).getName());
+        assertEquals("Creates the users table", result.getExplanation());
+        assertEquals(1, result.getActions().size());
+    }
+
+    private void serve(String events) {
+        server.createContext("/v1", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(events.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    private void configure(Object provider) {
+        ReflectionTestUtils.setField(provider, "apiKey", "test-key");
+        ReflectionTestUtils.setField(provider, "model", "test-model");
+        ReflectionTestUtils.setField(provider, "apiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/stream");
+    }
+
+    private static AIGeneratedTablesRequest request() {
+        AIGeneratedTablesRequest request = new AIGeneratedTablesRequest();
+        request.setPrompt("Create a users table");
+        request.setSessionId("session-test");
+        return request;
+    }
+
+    private static String quote(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,75 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.DependencyGroup;
+import com.firas.generator.model.DependencyMetadata;
+import com.firas.generator.model.DependencySearchHit;
+import com.firas.generator.model.DependencySearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyIndexTest {
+
+    private final DependencyIndex index = DependencyIndex.of(List.of(
+            new DependencyGroup("Web", List.of(
+                    dependency("web", "Spring Web", "Build web applications using Spring MVC.", "spring-boot-starter-web"),
+                    dependency("webflux", "Spring Reactive Web", "Build reactive web applications.", "spring-boot-starter-webflux"))),
+            new DependencyGroup("SQL", List.of(
+                    dependency("data-jpa", "Spring Data JPA", "Persist data in SQL stores with JPA.", "spring-boot-starter-data-jpa"),
+                    dependency("mysql", "MySQL Driver", "MySQL JDBC driver.", "mysql-connector-j"),
+                    dependency("postgresql", "PostgreSQL Driver", "PostgreSQL JDBC driver.", "postgresql")))));
+
+    @Test
+    public void shouldLookUpDependenciesById() {
+        assertEquals("mysql-connector-j", index.get("mysql").getArtifactId());
+        assertTrue(index.contains("web"));
+        assertFalse(index.contains("nope"));
+        assertNull(index.get(null));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    public void shouldRankExactIdAndNameMatchesFirst() {
+        DependencySearchResult result = index.search("web", null, 0, 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals("web", result.getItems().get(0).getDependency().getId());
+        assertEquals("webflux", result.getItems().get(1).getDependency().getId());
+    }
+
+    @Test
+    public void shouldMatchInfixTermsAndRequireAllTerms() {
+        List<String> ids = ids(index.search("sql", null, 0, 10));
+        assertTrue(ids.containsAll(List.of("mysql", "postgresql", "data-jpa")));
+
+        assertEquals(List.of("postgresql"), ids(index.search("postgres jdbc", null, 0, 10)));
+        assertEquals(0, index.search("mongo", null, 0, 10).getTotal());
+    }
+
+    @Test
+    public void shouldPageAndFilterByGroupWhileCountingAllFacets() {
+        DependencySearchResult all = index.search("", null, 1, 2);
+        assertEquals(5, all.getTotal());
+        assertEquals(List.of("data-jpa", "mysql"), ids(all));
+
+        DependencySearchResult sqlOnly = index.search("spring", "SQL", 0, 10);
+        assertEquals(List.of("data-jpa"), ids(sqlOnly));
+        assertEquals(2, sqlOnly.getFacets().get("Web"));
+        assertEquals(1, sqlOnly.getFacets().get("SQL"));
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("web", null, -1, 10));
+    }
+
+    private static List<String> ids(DependencySearchResult result) {
+        return result.getItems().stream()
+                .map(DependencySearchHit::getDependency)
+                .map(DependencyMetadata::getId)
+                .toList();
+    }
+
+    private static DependencyMetadata dependency(String id, String name, String description, String artifactId) {
+        return new DependencyMetadata(id, name, description, "org.example", artifactId);
+    }
+}
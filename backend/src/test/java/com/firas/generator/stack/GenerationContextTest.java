@@ -0,0 +1,82 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.model.config.MicroservicesConfig;
+import com.firas.generator.model.config.SecurityConfig;
+import com.firas.generator.model.config.SecurityRule;
+import com.firas.generator.model.config.SpringConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationContextTest {
+
+    @Test
+    public void shouldNotSeeChangesMadeToTheRequestAfterCreation() {
+        ProjectRequest request = request();
+        GenerationContext context = GenerationContext.from(request);
+
+        request.getSpringConfig().setBootVersion("2.7.18");
+        request.getSecurityConfig().setEnabled(false);
+        request.getSecurityConfig().getRules().get(0).setPath("/changed/**");
+        request.getSecurityConfig().getRules().add(rule("/extra/**"));
+
+        assertEquals("3.2.0", context.getSpringConfig().getBootVersion());
+        assertTrue(context.isSecurityEnabled());
+        assertEquals(1, context.getSecurityConfig().getRules().size());
+        assertEquals("/api/**", context.getSecurityConfig().getRules().get(0).getPath());
+    }
+
+    @Test
+    public void shouldExposeReadOnlyCollections() {
+        GenerationContext context = GenerationContext.from(request());
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> context.getSecurityConfig().getRules().add(rule("/extra/**")));
+        Map<String, List<String>> mapping = context.getSpringConfig().getMicroservicesConfig().getServiceTableMapping();
+        assertThrows(UnsupportedOperationException.class, () -> mapping.put("billing", List.of("invoice")));
+        assertThrows(UnsupportedOperationException.class, () -> mapping.get("users").add("orders"));
+    }
+
+    @Test
+    public void shouldDefaultMissingConfig() {
+        GenerationContext context = GenerationContext.of(null, null);
+
+        assertNotNull(context.getSpringConfig());
+        assertNull(context.getSecurityConfig());
+        assertFalse(context.isSecurityEnabled());
+    }
+
+    private static ProjectRequest request() {
+        MicroservicesConfig microservices = new MicroservicesConfig();
+        Map<String, List<String>> mapping = new HashMap<>();
+        mapping.put("users", new ArrayList<>(List.of("user")));
+        microservices.setServiceTableMapping(mapping);
+
+        SpringConfig spring = new SpringConfig();
+        spring.setBootVersion("3.2.0");
+        spring.setMicroservicesConfig(microservices);
+
+        SecurityConfig security = new SecurityConfig();
+        security.setEnabled(true);
+        security.setRules(new ArrayList<>(List.of(rule("/api/**"))));
+
+        ProjectRequest request = new ProjectRequest();
+        request.setSpringConfig(spring);
+        request.setSecurityConfig(security);
+        return request;
+    }
+
+    private static SecurityRule rule(String path) {
+        SecurityRule rule = new SecurityRule();
+        rule.setPath(path);
+        rule.setMethod("ALL");
+        rule.setRule("AUTHENTICATED");
+        return rule;
+    }
+}
@@ -0,0 +1,69 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.ProjectRequest;
+import com.firas.generator.model.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestFingerprintTest {
+
+    @Test
+    public void shouldOnlyChangeKeysOfTheEditedTable() {
+        RequestFingerprint before = RequestFingerprint.of(request("varchar(100)"));
+        RequestFingerprint after = RequestFingerprint.of(request("varchar(255)"));
+
+        assertEquals(before.settingsKey(true), after.settingsKey(true));
+        assertEquals(before.tableKey(0), after.tableKey(0));
+        assertNotEquals(before.tableKey(1), after.tableKey(1));
+        assertNotEquals(before.projectKey(), after.projectKey());
+    }
+
+    @Test
+    public void shouldChangeEveryKeyWhenSettingsChange() {
+        ProjectRequest edited = request("varchar(100)");
+        edited.setPackageName("com.example.other");
+
+        RequestFingerprint before = RequestFingerprint.of(request("varchar(100)"));
+        RequestFingerprint after = RequestFingerprint.of(edited);
+
+        assertNotEquals(before.settingsKey(), after.settingsKey());
+        assertNotEquals(before.tableKey(0), after.tableKey(0));
+        assertNotEquals(before.tableKey(1), after.tableKey(1));
+    }
+
+    @Test
+    public void shouldDistinguishExtraInputs() {
+        RequestFingerprint fingerprint = RequestFingerprint.of(request("varchar(100)"));
+
+        assertNotEquals(fingerprint.settingsKey(true), fingerprint.settingsKey(false));
+        assertEquals(fingerprint.settingsKey(true), RequestFingerprint.of(request("varchar(100)")).settingsKey(true));
+    }
+
+    private static ProjectRequest request(String emailType) {
+        ProjectRequest request = new ProjectRequest();
+        request.setName("Demo");
+        request.setPackageName("com.example.demo");
+        List<Table> tables = new ArrayList<>();
+        tables.add(table("customer", "name", "varchar(100)"));
+        tables.add(table("orders", "email", emailType));
+        request.setTables(tables);
+        return request;
+    }
+
+    private static Table table(String name, String columnName, String columnType) {
+        Table table = new Table();
+        table.setName(name);
+        table.setClassName(Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        Column column = new Column();
+        column.setName(columnName);
+        column.setFieldName(columnName);
+        column.setType(columnType);
+        table.addColumn(column);
+        return table;
+    }
+}
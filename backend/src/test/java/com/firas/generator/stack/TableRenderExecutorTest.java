@@ -0,0 +1,132 @@
+package com.firas.generator.stack;
+
+import com.firas.generator.model.FilePreview;
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class TableRenderExecutorTest {
+
+    private static final int FILES_PER_TABLE = 8;
+
+    private final TableRenderExecutor parallel = new TableRenderExecutor(4, 2);
+    private final TableRenderExecutor sequential = new TableRenderExecutor(1, 2);
+
+    @AfterEach
+    public void tearDown() {
+        parallel.shutdown();
+        sequential.shutdown();
+    }
+
+    @Test
+    public void shouldKeepInputOrderWhenRenderingInParallel() {
+        List<Integer> items = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+
+        List<FilePreview> files = parallel.renderAll(items, i -> {
+            // Later items finish first to shake out ordering bugs
+            sleepQuietly((200 - i) % 3);
+            return List.of(new FilePreview("file-" + i + "-a", "", "text"), new FilePreview("file-" + i + "-b", "", "text"));
+        });
+
+        List<String> expected = new ArrayList<>();
+        items.forEach(i -> {
+            expected.add("file-" + i + "-a");
+            expected.add("file-" + i + "-b");
+        });
+        assertEquals(expected, files.stream().map(FilePreview::getPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldPropagateRenderFailures() {
+        List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> parallel.renderAll(items, i -> {
+            if (i == 17) {
+                throw new IllegalStateException("boom");
+            }
+            return List.of(new FilePreview("f" + i, "", "text"));
+        }));
+        assertEquals("boom", error.getMessage());
+    }
+
+    @Test
+    public void shouldRenderSmallInputsSequentially() {
+        assertFalse(parallel.isParallel(1));
+        assertTrue(parallel.isParallel(2));
+        assertFalse(sequential.isParallel(1_000));
+    }
+
+    /**
+     * Measures sequential vs parallel FreeMarker rendering of {@value #FILES_PER_TABLE}
+     * files per table for 10, 100 and 1000 tables, and checks both produce identical output.
+     */
+    @Test
+    @Tag("benchmark")
+    public void measureSequentialVersusParallelRendering() throws Exception {
+        Configuration cfg = new Configuration(Configuration.VERSION_2_3_32);
+        StringTemplateLoader loader = new StringTemplateLoader();
+        loader.putTemplate("entity", "package ${pkg};\n\n"
+                + "public class ${name} {\n"
+                + "<#list 1..40 as i>    private String field${i}; // ${name?upper_case}\n</#list>"
+                + "}\n");
+        cfg.setTemplateLoader(loader);
+        Template template = cfg.getTemplate("entity");
+
+        for (int tableCount : new int[]{10, 100, 1000}) {
+            List<Integer> tables = IntStream.range(0, tableCount).boxed().collect(Collectors.toList());
+            java.util.function.Function<Integer, List<FilePreview>> renderer = t -> {
+                List<FilePreview> files = new ArrayList<>();
+                for (int f = 0; f < FILES_PER_TABLE; f++) {
+                    try {
+                        StringWriter out = new StringWriter();
+                        template.process(Map.of("pkg", "com.example", "name", "Table" + t + "File" + f), out);
+                        files.add(new FilePreview("Table" + t + "/File" + f + ".java", out.toString(), "java"));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return files;
+            };
+
+            // Warm-up
+            sequential.renderAll(tables, renderer);
+            parallel.renderAll(tables, renderer);
+
+            long start = System.nanoTime();
+            List<FilePreview> sequentialFiles = sequential.renderAll(tables, renderer);
+            long sequentialNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<FilePreview> parallelFiles = parallel.renderAll(tables, renderer);
+            long parallelNanos = System.nanoTime() - start;
+
+            log.info("[render-benchmark] {} tables ({} files): sequential={} ms, parallel({})={} ms",
+                    tableCount, sequentialFiles.size(), sequentialNanos / 1_000_000,
+                    parallel.getParallelism(), parallelNanos / 1_000_000);
+
+            assertEquals(sequentialFiles, parallelFiles, "Parallel output must match sequential output");
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
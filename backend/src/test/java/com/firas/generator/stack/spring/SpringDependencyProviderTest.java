@@ -0,0 +1,71 @@
+package com.firas.generator.stack.spring;
+
+import com.firas.generator.model.DependencyCatalogStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpringDependencyProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldStartFromBundledCatalogWithoutNetwork() {
+        SpringDependencyProvider provider = offlineProvider(tempDir.resolve("missing.json"));
+        provider.initialize();
+
+        assertTrue(provider.isInitialized());
+        assertNotNull(provider.getDependencyById("web"));
+        assertEquals("spring-boot-starter-data-jpa", provider.getDependencyById("data-jpa").getArtifactId());
+
+        DependencyCatalogStatus status = provider.getCatalogStatus();
+        assertEquals("bundled", status.getSource());
+        assertNull(status.getAgeSeconds());
+        provider.shutdown();
+    }
+
+    @Test
+    public void shouldPreferOnDiskSnapshot() throws Exception {
+        Path snapshot = tempDir.resolve("spring-dependencies.json");
+        Files.writeString(snapshot, """
+                {"etag": "\\"abc\\"", "verifiedAt": "2025-12-01T00:00:00Z",
+                 "metadata": {"dependencies": {"content": [
+                   {"name": "Custom", "content": [
+                     {"id": "acme", "name": "Acme Starter", "groupId": "com.acme", "artifactId": "acme-starter"}
+                   ]}
+                 ]}}}
+                """);
+        SpringDependencyProvider provider = offlineProvider(snapshot);
+        provider.initialize();
+
+        assertEquals(1, provider.getAllGroups().size());
+        assertEquals("acme-starter", provider.getDependencyById("acme").getArtifactId());
+        assertNull(provider.getDependencyById("web"));
+
+        DependencyCatalogStatus status = provider.getCatalogStatus();
+        assertEquals("snapshot", status.getSource());
+        assertTrue(status.getAgeSeconds() > 0);
+        provider.shutdown();
+    }
+
+    @Test
+    public void shouldFallBackToBundledCatalogWhenSnapshotIsCorrupt() throws Exception {
+        Path snapshot = tempDir.resolve("spring-dependencies.json");
+        Files.writeString(snapshot, "{ truncated");
+        SpringDependencyProvider provider = offlineProvider(snapshot);
+        provider.initialize();
+
+        assertEquals("bundled", provider.getCatalogStatus().getSource());
+        assertNotNull(provider.getDependencyById("web"));
+        provider.shutdown();
+    }
+
+    private static SpringDependencyProvider offlineProvider(Path snapshot) {
+        return new SpringDependencyProvider("http://localhost:1", false, 0, 1000, snapshot.toString());
+    }
+}
@@ -0,0 +1,171 @@
+package com.firas.generator.util;
+
+import com.firas.generator.model.FilePreview;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the former temp-directory archive path (write every file to disk, then
+ * {@link ZipUtils#zipDirectory}) with the in-memory {@link ZipStreamSink} path used by
+ * {@code StackProvider#generateProjectZip}.
+ *
+ * Both archives must contain exactly the same entries; the benchmark (run with
+ * -Pbenchmark) logs per-run latency, the disk/in-memory latency ratio and, on Linux,
+ * the read/write syscalls and characters each path issued according to /proc/self/io.
+ * Those counters are process-wide, so they include any concurrent JVM activity, and
+ * they do not count open, mkdir or unlink calls. Where /proc/self/io is unavailable
+ * only latency is reported.
+ */
+@Slf4j
+public class ZipArchiveBenchmarkTest {
+
+    private static final int FILE_COUNT = 2_000;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    public void inMemoryArchiveMatchesDiskArchive() throws Exception {
+        List<FilePreview> files = sampleProject(200);
+
+        Map<String, String> entries = readEntries(zipInMemory(files, "demo"));
+
+        assertEquals(readEntries(zipViaDisk(files, "demo")), entries, "Both paths must produce the same entries");
+        assertEquals(files.size(), entries.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkInMemoryAgainstDisk() throws Exception {
+        List<FilePreview> files = sampleProject(FILE_COUNT);
+
+        // Warm-up
+        zipViaDisk(files, "demo");
+        zipInMemory(files, "demo");
+
+        long diskNanos = 0;
+        long memoryNanos = 0;
+        Map<String, Long> diskIo = new TreeMap<>();
+        Map<String, Long> memoryIo = new TreeMap<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Map<String, Long> before = readProcessIo();
+            long start = System.nanoTime();
+            zipViaDisk(files, "demo");
+            diskNanos += System.nanoTime() - start;
+            addDelta(diskIo, before, readProcessIo());
+
+            before = readProcessIo();
+            start = System.nanoTime();
+            zipInMemory(files, "demo");
+            memoryNanos += System.nanoTime() - start;
+            addDelta(memoryIo, before, readProcessIo());
+        }
+
+        log.info("[zip-benchmark] {} files: disk={} ms, in-memory={} ms, disk/in-memory={}",
+                files.size(), diskNanos / 1_000_000 / ITERATIONS, memoryNanos / 1_000_000 / ITERATIONS,
+                String.format("%.2f", (double) diskNanos / memoryNanos));
+        if (diskIo.isEmpty()) {
+            log.info("[zip-benchmark] /proc/self/io not available; file operations not measured");
+        } else {
+            log.info("[zip-benchmark] per request: disk syscr={} syscw={} rchar={} wchar={}; "
+                            + "in-memory syscr={} syscw={} rchar={} wchar={}",
+                    perRun(diskIo, "syscr"), perRun(diskIo, "syscw"), perRun(diskIo, "rchar"), perRun(diskIo, "wchar"),
+                    perRun(memoryIo, "syscr"), perRun(memoryIo, "syscw"), perRun(memoryIo, "rchar"), perRun(memoryIo, "wchar"));
+        }
+    }
+
+    /**
+     * Reads this process's cumulative I/O counters, or an empty map when the platform has no /proc/self/io.
+     */
+    private static Map<String, Long> readProcessIo() {
+        Path io = Path.of("/proc/self/io");
+        if (!Files.isReadable(io)) {
+            return Map.of();
+        }
+        try {
+            Map<String, Long> counters = new TreeMap<>();
+            for (String line : Files.readAllLines(io)) {
+                int colon = line.indexOf(':');
+                counters.put(line.substring(0, colon), Long.parseLong(line.substring(colon + 1).trim()));
+            }
+            return counters;
+        } catch (IOException | RuntimeException e) {
+            return Map.of();
+        }
+    }
+
+    private static void addDelta(Map<String, Long> totals, Map<String, Long> before, Map<String, Long> after) {
+        for (Map.Entry<String, Long> counter : after.entrySet()) {
+            Long start = before.get(counter.getKey());
+            if (start != null) {
+                totals.merge(counter.getKey(), counter.getValue() - start, Long::sum);
+            }
+        }
+    }
+
+    private static long perRun(Map<String, Long> totals, String counter) {
+        return totals.getOrDefault(counter, 0L) / ITERATIONS;
+    }
+
+    private List<FilePreview> sampleProject(int count) {
+        List<FilePreview> files = new ArrayList<>();
+        String body = "public class Sample {\n    private Long id;\n}\n".repeat(40);
+        for (int i = 0; i < count; i++) {
+            files.add(new FilePreview("src/main/java/com/example/pkg" + (i % 50) + "/Sample" + i + ".java", body, "java"));
+        }
+        return files;
+    }
+
+    /**
+     * Reproduces the removed provider implementation: temp dir, write files, zip, delete.
+     */
+    private byte[] zipViaDisk(List<FilePreview> files, String projectName) throws IOException {
+        Path tempDir = Files.createTempDirectory("zip-bench-");
+        Path projectDir = tempDir.resolve(projectName);
+        try {
+            for (FilePreview file : files) {
+                Path filePath = projectDir.resolve(file.getPath());
+                Files.createDirectories(filePath.getParent());
+                Files.writeString(filePath, file.getContent(), StandardCharsets.UTF_8);
+            }
+            return ZipUtils.zipDirectory(projectDir.toFile());
+        } finally {
+            FileUtils.deleteDirectory(tempDir.toFile());
+        }
+    }
+
+    private byte[] zipInMemory(List<FilePreview> files, String projectName) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipStreamSink zip = new ZipStreamSink(baos, projectName)) {
+            zip.acceptAll(files);
+            zip.finish();
+        }
+        return baos.toByteArray();
+    }
+
+    private Map<String, String> readEntries(byte[] zip) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,50 @@
+package com.firas.generator.util;
+
+import com.firas.generator.model.FilePreview;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZipStreamSinkTest {
+
+    @Test
+    public void finishedArchiveShouldBeComplete() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipStreamSink zip = new ZipStreamSink(out, "demo")) {
+            zip.accept(new FilePreview("README.md", "# demo", "markdown"));
+            zip.finish();
+        }
+
+        try (ZipFile zipFile = open(out.toByteArray())) {
+            assertNotNull(zipFile.getEntry("demo/README.md"));
+        }
+    }
+
+    @Test
+    public void unfinishedArchiveShouldNotBeReadable() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalStateException.class, () -> {
+            try (ZipStreamSink zip = new ZipStreamSink(out, "demo")) {
+                zip.accept(new FilePreview("README.md", "# demo", "markdown"));
+                throw new IllegalStateException("template missing");
+            }
+        });
+
+        assertTrue(out.size() > 0, "entries written before the failure were streamed");
+        assertThrows(ZipException.class, () -> open(out.toByteArray()).close());
+    }
+
+    private static ZipFile open(byte[] bytes) throws IOException {
+        Path file = Files.createTempFile("zip-sink-", ".zip");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+        return new ZipFile(file.toFile());
+    }
+}
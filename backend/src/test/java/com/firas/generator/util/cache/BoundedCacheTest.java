@@ -0,0 +1,134 @@
+package com.firas.generator.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test")
+                .maximumSize(2)
+                .clock(now::get)
+                .build();
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.get("a")); // "b" is now least recently used
+        cache.put("c", "3");
+
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.getStats().evictions());
+    }
+
+    @Test
+    public void shouldEvictByWeightAndRejectOversizedValues() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test")
+                .maximumWeight(10, String::length)
+                .clock(now::get)
+                .build();
+
+        assertTrue(cache.put("a", "12345"));
+        assertTrue(cache.put("b", "12345"));
+        assertTrue(cache.put("c", "123"));
+        assertFalse(cache.put("huge", "12345678901"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.size());
+        assertEquals(8, stats.weight());
+        assertNull(cache.get("a"));
+        assertNull(cache.get("huge"));
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterWrite() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test")
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .clock(now::get)
+                .build();
+
+        cache.put("a", "1");
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("1", cache.get("a"));
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertNull(cache.get("a"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.expirations());
+        assertEquals(0.5, stats.hitRate(), 0.0001);
+    }
+
+    @Test
+    public void shouldRefreshIdleTimeoutOnAccess() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test")
+                .expireAfterAccess(Duration.ofSeconds(10))
+                .clock(now::get)
+                .build();
+
+        cache.put("a", "1");
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(Duration.ofSeconds(6).toNanos());
+            assertEquals("1", cache.get("a"));
+        }
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void computeIfAbsentShouldStoreOnlyMissingOrExpiredValues() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test")
+                .expireAfterAccess(Duration.ofSeconds(10))
+                .clock(now::get)
+                .build();
+
+        String first = cache.computeIfAbsent("a", key -> new String("1"));
+        assertSame(first, cache.computeIfAbsent("a", key -> new String("2")));
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals("3", cache.computeIfAbsent("a", key -> "3"));
+        assertEquals("3", cache.get("a"));
+    }
+
+    @Test
+    public void shouldFlushAllEntries() {
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test").build();
+        cache.put("a", "1");
+        cache.invalidateAll();
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    public void shouldNotifyRemovalsButNotReplacements() {
+        List<String> removed = new ArrayList<>();
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder("test")
+                .maximumSize(2)
+                .expireAfterAccess(Duration.ofSeconds(10))
+                .removalListener((key, value) -> removed.add(key + "=" + value))
+                .clock(now::get)
+                .build();
+
+        cache.put("a", "1");
+        cache.put("a", "2");
+        cache.put("b", "3");
+        cache.put("c", "4");
+        assertEquals(List.of("a=2"), removed);
+
+        cache.invalidate("b");
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        cache.cleanUp();
+        assertEquals(List.of("a=2", "b=3", "c=4"), removed);
+        assertEquals(0, cache.getStats().size());
+    }
+}
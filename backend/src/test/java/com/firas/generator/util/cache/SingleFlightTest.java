@@ -0,0 +1,149 @@
+package com.firas.generator.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    public void shouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int followers = 7;
+
+        ExecutorService pool = Executors.newFixedThreadPool(followers + 1);
+        try {
+            Future<SingleFlight.Result<String>> leader = pool.submit(() -> flight.execute("key", () -> {
+                loads.incrementAndGet();
+                leading.countDown();
+                release.await();
+                return "value";
+            }));
+            assertTrue(leading.await(5, TimeUnit.SECONDS));
+
+            List<Future<SingleFlight.Result<String>>> results = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                results.add(pool.submit(() -> flight.execute("key", () -> {
+                    loads.incrementAndGet();
+                    return "own";
+                })));
+            }
+            awaitWaiting(flight, "key", followers);
+            release.countDown();
+
+            assertFalse(leader.get(5, TimeUnit.SECONDS).shared());
+            for (Future<SingleFlight.Result<String>> result : results) {
+                assertEquals(new SingleFlight.Result<>("value", true), result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+
+            SingleFlightStats stats = flight.getStats();
+            assertEquals(1, stats.executions());
+            assertEquals(followers, stats.coalesced());
+            assertEquals(0, stats.fallbacks());
+            assertEquals(0, stats.inFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void followersOfAFailedFlightFallBackInsteadOfFailing() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test");
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<SingleFlight.Result<String>> leader = pool.submit(() -> flight.execute("key", () -> {
+                leading.countDown();
+                release.await();
+                throw new IOException("client went away");
+            }));
+            assertTrue(leading.await(5, TimeUnit.SECONDS));
+
+            Future<SingleFlight.Result<String>> follower = pool.submit(() ->
+                    flight.execute("key", () -> "led", () -> "fallback"));
+            awaitWaiting(flight, "key", 1);
+            release.countDown();
+
+            Exception failure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+            assertEquals(new SingleFlight.Result<>("fallback", false), follower.get(5, TimeUnit.SECONDS));
+
+            SingleFlightStats stats = flight.getStats();
+            assertEquals(1, stats.executions());
+            assertEquals(0, stats.coalesced());
+            assertEquals(1, stats.fallbacks());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void followersOfAnUnsharedFlightFallBackInParallel() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test");
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int followers = 4;
+        // Each fallback waits for all the others, so this only completes if none waits for another flight
+        CountDownLatch allFallingBack = new CountDownLatch(followers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(followers + 1);
+        try {
+            Future<SingleFlight.Result<String>> leader = pool.submit(() -> flight.execute("key", () -> {
+                leading.countDown();
+                release.await();
+                return null;
+            }));
+            assertTrue(leading.await(5, TimeUnit.SECONDS));
+
+            List<Future<SingleFlight.Result<String>>> results = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                results.add(pool.submit(() -> flight.execute("key", () -> "led", () -> {
+                    allFallingBack.countDown();
+                    assertTrue(allFallingBack.await(5, TimeUnit.SECONDS));
+                    return "own";
+                })));
+            }
+            awaitWaiting(flight, "key", followers);
+            release.countDown();
+
+            assertEquals(new SingleFlight.Result<String>(null, false), leader.get(5, TimeUnit.SECONDS));
+            for (Future<SingleFlight.Result<String>> result : results) {
+                assertEquals(new SingleFlight.Result<>("own", false), result.get(5, TimeUnit.SECONDS));
+            }
+
+            SingleFlightStats stats = flight.getStats();
+            assertEquals(1, stats.executions());
+            assertEquals(followers, stats.fallbacks());
+            assertEquals(0, stats.inFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits until the given number of callers are blocked on the key's flight.
+     */
+    private static void awaitWaiting(SingleFlight<String, String> flight, String key, int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.waitingFor(key) < count) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the flight");
+            Thread.onSpinWait();
+        }
+    }
+}
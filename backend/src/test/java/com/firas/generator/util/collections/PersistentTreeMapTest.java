@@ -0,0 +1,49 @@
+package com.firas.generator.util.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentTreeMapTest {
+
+    @Test
+    public void shouldLeaveEarlierVersionsUnchanged() {
+        PersistentTreeMap<String, Integer> v1 = PersistentTreeMap.<String, Integer>empty().put("b", 2).put("a", 1);
+        PersistentTreeMap<String, Integer> v2 = v1.put("c", 3).put("a", 10);
+        PersistentTreeMap<String, Integer> v3 = v2.remove("b");
+
+        assertEquals(List.of(1, 2), v1.values());
+        assertEquals(List.of(10, 2, 3), v2.values());
+        assertEquals(List.of(10, 3), v3.values());
+        assertEquals(2, v3.size());
+        assertNull(v3.get("b"));
+        assertSame(v3, v3.remove("missing"));
+    }
+
+    @Test
+    public void shouldMatchTreeMapUnderRandomUpdates() {
+        Random random = new Random(42);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        PersistentTreeMap<Integer, Integer> map = PersistentTreeMap.empty();
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+
+        PersistentTreeMap<Integer, Integer> result = map;
+        assertEquals(expected.size(), result.size());
+        assertEquals(new ArrayList<>(expected.values()), result.values());
+        expected.forEach((key, value) -> assertEquals(value, result.get(key)));
+    }
+}
@@ -0,0 +1,208 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.RelationshipType;
+import com.firas.generator.model.Table;
+import com.firas.generator.stack.spring.SpringTypeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class DdlParserTest {
+
+    private final SqlParser sqlParser = new SqlParser(null, new SpringTypeMapper(), new ParsedSchemaCache(false, 0, 0, 0), "offline");
+
+    @Test
+    public void shouldParseHardSchemaOffline() throws Exception {
+        String sql = Files.readString(Paths.get("src/test/resources/hard_schema.sql"));
+
+        Map<String, Table> tables = byName(sqlParser.parseOffline(sql, "mysql"));
+
+        assertEquals(6, tables.size());
+
+        Table userRoles = tables.get("user_roles");
+        assertTrue(userRoles.isJoinTable());
+        assertEquals(2, userRoles.getColumns().stream().filter(Column::isForeignKey).count());
+        assertEquals(2, userRoles.getColumns().stream().filter(Column::isPrimaryKey).count());
+
+        Column orderId = column(tables.get("order_items"), "order_id");
+        assertTrue(orderId.isForeignKey());
+        assertEquals("orders", orderId.getReferencedTable());
+        assertEquals("id", orderId.getReferencedColumn());
+        assertFalse(orderId.isNullable());
+        assertEquals("Long", orderId.getJavaType());
+        assertEquals("orderId", orderId.getFieldName());
+
+        Column username = column(tables.get("users"), "username");
+        assertTrue(username.isUnique());
+        assertEquals("VARCHAR", username.getType());
+
+        assertEquals("BigDecimal", column(tables.get("products"), "price").getJavaType());
+        assertTrue(tables.get("users").getRelationships().stream()
+                .anyMatch(r -> r.getType() == RelationshipType.MANY_TO_MANY && "roles".equals(r.getTargetTable())));
+        assertTrue(tables.get("users").getRelationships().stream()
+                .anyMatch(r -> r.getType() == RelationshipType.ONE_TO_MANY && "orders".equals(r.getTargetTable())));
+    }
+
+    @Test
+    public void shouldParsePostgresDumpConstructs() {
+        String sql = """
+                SET search_path = public;
+                CREATE FUNCTION touch() RETURNS trigger AS $body$ BEGIN RETURN NEW; END; $body$ LANGUAGE plpgsql;
+                CREATE TABLE public."Customer" (
+                    id integer NOT NULL,
+                    full_name character varying(255) NOT NULL,
+                    created timestamp with time zone DEFAULT now()
+                );
+                ALTER TABLE ONLY public."Customer" ALTER COLUMN id SET DEFAULT nextval('customer_id_seq'::regclass);
+                ALTER TABLE ONLY public."Customer" ADD CONSTRAINT "Customer_pkey" PRIMARY KEY (id);
+                CREATE TABLE Orders (
+                    id bigserial PRIMARY KEY,
+                    customer_id int REFERENCES "Customer"(id) ON DELETE CASCADE NOT NULL,
+                    note text DEFAULT 'a;b'
+                );
+                INSERT INTO orders (note) VALUES ('x;y');
+                """;
+
+        Map<String, Table> tables = byName(sqlParser.parseOffline(sql, "postgresql"));
+
+        assertEquals(List.of("Customer", "orders"), List.copyOf(tables.keySet()));
+        Column id = column(tables.get("Customer"), "id");
+        assertTrue(id.isPrimaryKey());
+        assertTrue(id.isAutoIncrement());
+        assertEquals("VARCHAR", column(tables.get("Customer"), "full_name").getType());
+        assertEquals("LocalDateTime", column(tables.get("Customer"), "created").getJavaType());
+
+        Column orderId = column(tables.get("orders"), "id");
+        assertEquals("BIGINT", orderId.getType());
+        assertTrue(orderId.isAutoIncrement());
+
+        Column customerId = column(tables.get("orders"), "customer_id");
+        assertEquals("Customer", customerId.getReferencedTable());
+        assertFalse(customerId.isNullable());
+    }
+
+    @Test
+    public void shouldApplyMysqlAlterStatements() {
+        String sql = """
+                CREATE TABLE `book` (
+                  `id` bigint NOT NULL,
+                  `isbn` varchar(20),
+                  `author_id` int unsigned,
+                  KEY `idx_author` (`author_id`)
+                ) ENGINE=InnoDB;
+                CREATE TABLE author (id INT UNSIGNED PRIMARY KEY AUTO_INCREMENT);
+                ALTER TABLE book ADD PRIMARY KEY (id), MODIFY id BIGINT NOT NULL AUTO_INCREMENT,
+                    ADD UNIQUE INDEX uk_isbn (isbn),
+                    ADD CONSTRAINT fk_book_author FOREIGN KEY (author_id) REFERENCES author (id);
+                ALTER TABLE book CHANGE COLUMN isbn isbn13 VARCHAR(13) NOT NULL;
+                ALTER TABLE book DROP FOREIGN KEY fk_book_author;
+                """;
+
+        Table book = byName(sqlParser.parseOffline(sql, "mysql")).get("book");
+
+        Column id = column(book, "id");
+        assertTrue(id.isPrimaryKey());
+        assertTrue(id.isAutoIncrement());
+        Column isbn = column(book, "isbn13");
+        assertTrue(isbn.isUnique());
+        assertFalse(isbn.isNullable());
+        assertFalse(column(book, "author_id").isForeignKey());
+    }
+
+    @Test
+    public void shouldHonourColumnPositionsInMysqlAlterStatements() {
+        String sql = """
+                CREATE TABLE account (id BIGINT PRIMARY KEY, email VARCHAR(255));
+                ALTER TABLE account ADD COLUMN name VARCHAR(100) NOT NULL AFTER id,
+                    ADD COLUMN tenant_id BIGINT FIRST, ADD COLUMN note TEXT AFTER missing;
+                ALTER TABLE account MODIFY email VARCHAR(320) AFTER tenant_id;
+                """;
+
+        Table account = byName(sqlParser.parseOffline(sql, "mysql")).get("account");
+
+        assertEquals(List.of("tenant_id", "email", "id", "name", "note"),
+                account.getColumns().stream().map(Column::getName).toList());
+    }
+
+    @Test
+    public void shouldKeepTableConstraintsAfterEscapeStringDefaults() {
+        String sql = """
+                CREATE TABLE public.t1 (
+                    id integer NOT NULL,
+                    note text DEFAULT E'it\\'s; fine',
+                    CONSTRAINT t1_pk PRIMARY KEY (id)
+                );
+                """;
+
+        Table t1 = byName(sqlParser.parseOffline(sql, "postgresql")).get("t1");
+
+        Column id = column(t1, "id");
+        assertTrue(id.isPrimaryKey());
+        assertFalse(id.isNullable());
+        assertEquals(2, t1.getColumns().size());
+    }
+
+    @Test
+    public void shouldRejectUnterminatedString() {
+        assertThrows(IllegalArgumentException.class,
+                () -> sqlParser.parseOffline("CREATE TABLE t (name VARCHAR(10) DEFAULT 'x);", "mysql"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkOfflineParsing() {
+        for (int tableCount : new int[]{10, 100, 1000}) {
+            String sql = generateSchema(tableCount);
+            // Warm up
+            sqlParser.parseOffline(sql, "mysql");
+
+            long start = System.nanoTime();
+            List<Table> tables = sqlParser.parseOffline(sql, "mysql");
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            assertEquals(tableCount, tables.size());
+            log.info("Offline DDL parse: {} tables in {} us ({} us per table)", tableCount, micros, micros / tableCount);
+        }
+    }
+
+    static String generateSchema(int tableCount) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < tableCount; i++) {
+            sql.append("CREATE TABLE t").append(i).append(" (\n")
+                    .append("  id BIGINT PRIMARY KEY AUTO_INCREMENT,\n")
+                    .append("  name VARCHAR(100) NOT NULL UNIQUE,\n")
+                    .append("  price DECIMAL(10, 2) DEFAULT 0 CHECK (price >= 0),\n")
+                    .append("  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP");
+            if (i > 0) {
+                sql.append(",\n  parent_id BIGINT,\n")
+                        .append("  CONSTRAINT fk_t").append(i).append(" FOREIGN KEY (parent_id) REFERENCES t")
+                        .append(i - 1).append("(id)");
+            }
+            sql.append("\n);\n");
+        }
+        return sql.toString();
+    }
+
+    private static Map<String, Table> byName(List<Table> tables) {
+        return tables.stream().collect(Collectors.toMap(Table::getName, Function.identity(),
+                (a, b) -> a, java.util.LinkedHashMap::new));
+    }
+
+    private static Column column(Table table, String name) {
+        return table.getColumns().stream()
+                .filter(c -> c.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Missing column " + name + " in " + table.getName()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Table;
+import com.firas.generator.stack.spring.SpringTypeMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParsedSchemaCacheTest {
+
+    private final ParsedSchemaCache cache = new ParsedSchemaCache(true, 16, 1 << 20, 600);
+    private final SqlParser sqlParser = new SqlParser(null, new SpringTypeMapper(), cache, "offline");
+
+    @Test
+    public void keyShouldIgnoreWhitespaceAndComments() throws Exception {
+        String sql = "CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(50) DEFAULT 'a  b');";
+        String reformatted = """
+                -- users table
+                CREATE TABLE users (
+                    id   BIGINT PRIMARY KEY, /* surrogate key */
+                    name VARCHAR(50) DEFAULT 'a  b'
+                );;
+                """;
+
+        assertEquals(key(sql, "mysql", SqlParseMode.OFFLINE), key(reformatted, "MySQL", SqlParseMode.OFFLINE));
+        assertNotEquals(key(sql, "mysql", SqlParseMode.OFFLINE), key(sql.replace("'a  b'", "'a b'"), "mysql", SqlParseMode.OFFLINE));
+        assertNotEquals(key(sql, "mysql", SqlParseMode.OFFLINE), key(sql, "postgresql", SqlParseMode.OFFLINE));
+        assertNotEquals(key(sql, "mysql", SqlParseMode.OFFLINE), key(sql, "mysql", SqlParseMode.JDBC));
+        assertEquals(key(sql, "mysql", SqlParseMode.OFFLINE),
+                key(sql + " INSERT INTO users VALUES (1, 'x');", "mysql", SqlParseMode.OFFLINE));
+        assertNull(cache.key(List.of("CREATE TABLE t (name VARCHAR(10) DEFAULT 'x);"), "mysql", SqlParseMode.OFFLINE));
+    }
+
+    @Test
+    public void shouldNotKeyScriptsWhenDisabled() throws Exception {
+        ParsedSchemaCache disabled = new ParsedSchemaCache(false, 16, 1 << 20, 600);
+
+        assertNull(disabled.key(statements("CREATE TABLE t (id INT);", "mysql"), "mysql", SqlParseMode.OFFLINE));
+    }
+
+    @Test
+    public void shouldServeIsolatedSnapshotsOnHit() throws Exception {
+        String sql = "CREATE TABLE users (id BIGINT PRIMARY KEY); CREATE TABLE orders (id BIGINT PRIMARY KEY,"
+                + " user_id BIGINT, FOREIGN KEY (user_id) REFERENCES users(id));";
+
+        ParsedSchema first = sqlParser.parse(sql, "mysql", SqlParseMode.OFFLINE);
+        assertFalse(first.cacheHit());
+        first.tables().get(0).setName("changed");
+
+        ParsedSchema second = sqlParser.parse(sql + "\n-- again", "mysql", SqlParseMode.OFFLINE);
+        assertTrue(second.cacheHit());
+        List<Table> tables = second.tables();
+        assertEquals("orders", tables.get(0).getName());
+        assertEquals(1, tables.get(0).getRelationships().size());
+        assertTrue(tables.get(0).getColumns().get(1).isForeignKey());
+
+        tables.get(0).getColumns().clear();
+        assertEquals(2, sqlParser.parse(sql, "mysql", null).tables().get(0).getColumns().size());
+        assertEquals(2, cache.getStats().hits());
+    }
+
+    /**
+     * Keys a script the way {@link SqlParser} does: split by {@link SqlStatementReader} first.
+     */
+    private String key(String sql, String dialect, SqlParseMode mode) throws IOException {
+        return cache.key(statements(sql, dialect), dialect, mode);
+    }
+
+    private static List<String> statements(String sql, String dialect) throws IOException {
+        return new SqlStatementReader(new StringReader(sql), dialect).readAll();
+    }
+}
@@ -0,0 +1,112 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the offline DDL parser with the JDBC path. Needs a reachable MySQL server
+ * (mysql.* properties); run with -Pbenchmark -Dsqlparser.jdbc=true.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfSystemProperty(named = "sqlparser.jdbc", matches = "true")
+public class SqlParserBenchmarkTest {
+
+    @Autowired
+    private SqlParser sqlParser;
+
+    @Test
+    public void offlineParserShouldMatchJdbcPath() throws Exception {
+        String sql = Files.readString(Paths.get("src/test/resources/hard_schema.sql"));
+
+        Map<String, Table> jdbc = byName(sqlParser.parseSql(sql, "mysql", SqlParseMode.JDBC));
+        Map<String, Table> offline = byName(sqlParser.parseSql(sql, "mysql", SqlParseMode.OFFLINE));
+
+        assertEquals(jdbc.keySet(), offline.keySet());
+        for (Table expected : jdbc.values()) {
+            Table actual = offline.get(expected.getName());
+            assertEquals(expected.isJoinTable(), actual.isJoinTable(), expected.getName());
+            assertEquals(expected.getRelationships().size(), actual.getRelationships().size(), expected.getName());
+            assertEquals(names(expected), names(actual), expected.getName());
+            for (int i = 0; i < expected.getColumns().size(); i++) {
+                Column e = expected.getColumns().get(i);
+                Column a = actual.getColumns().get(i);
+                String where = expected.getName() + "." + e.getName();
+                assertEquals(e.getJavaType(), a.getJavaType(), where);
+                assertEquals(e.isPrimaryKey(), a.isPrimaryKey(), where);
+                assertEquals(e.isNullable(), a.isNullable(), where);
+                assertEquals(e.isForeignKey(), a.isForeignKey(), where);
+                assertEquals(e.getReferencedTable(), a.getReferencedTable(), where);
+                assertEquals(e.getReferencedColumn(), a.getReferencedColumn(), where);
+                assertEquals(e.isAutoIncrement(), a.isAutoIncrement(), where);
+            }
+        }
+    }
+
+    @Test
+    public void benchmarkJdbcAgainstOffline() throws Exception {
+        for (int tableCount : new int[]{10, 100}) {
+            String sql = DdlParserTest.generateSchema(tableCount);
+
+            long start = System.nanoTime();
+            List<Table> jdbc = sqlParser.parseSql(sql, "mysql", SqlParseMode.JDBC);
+            long jdbcMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            List<Table> offline = sqlParser.parseSql(sql, "mysql", SqlParseMode.OFFLINE);
+            long offlineMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(jdbc.size(), offline.size());
+            log.info("{} tables: jdbc {} ms, offline {} ms ({}x)", tableCount, jdbcMillis, offlineMillis,
+                    String.format("%.1f", (double) jdbcMillis / Math.max(1, offlineMillis)));
+        }
+    }
+
+    @Test
+    public void concurrentJdbcParsesShouldNotInterfere() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Table>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String sql = DdlParserTest.generateSchema(5 + i);
+                results.add(executor.submit(() -> sqlParser.parseSql(sql, "mysql", SqlParseMode.JDBC)));
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < threads; i++) {
+                assertEquals(5 + i, results.get(i).get().size());
+            }
+            log.info("{} concurrent jdbc parses in {} ms", threads, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> names(Table table) {
+        return table.getColumns().stream().map(Column::getName).collect(Collectors.toList());
+    }
+
+    private static Map<String, Table> byName(List<Table> tables) {
+        return tables.stream().collect(Collectors.toMap(Table::getName, Function.identity()));
+    }
+}
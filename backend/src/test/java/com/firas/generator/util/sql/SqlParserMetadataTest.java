@@ -0,0 +1,93 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.Table;
+import com.firas.generator.stack.spring.SpringTypeMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlParserMetadataTest {
+
+    private final SqlParser sqlParser = new SqlParser(null, new SpringTypeMapper(),
+            new ParsedSchemaCache(false, 1, 1, 1), "offline");
+
+    @Test
+    public void failedBulkKeyQueryShouldNotAbortThePerTableFallback() throws Exception {
+        try (Connection h2 = DriverManager.getConnection("jdbc:h2:mem:keys;DB_CLOSE_DELAY=-1")) {
+            try (Statement st = h2.createStatement()) {
+                st.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+                st.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, user_id BIGINT REFERENCES users(id))");
+            }
+            h2.setAutoCommit(false);
+
+            List<Table> tables = sqlParser.loadMetadata(abortingPostgres(h2), null, "PUBLIC");
+
+            Table orders = tables.stream().filter(t -> t.getName().equalsIgnoreCase("orders")).findFirst().orElseThrow();
+            Column id = orders.getColumns().stream().filter(c -> c.getName().equalsIgnoreCase("id")).findFirst().orElseThrow();
+            Column userId = orders.getColumns().stream().filter(c -> c.getName().equalsIgnoreCase("user_id")).findFirst().orElseThrow();
+            assertTrue(id.isPrimaryKey());
+            assertTrue(userId.isForeignKey());
+            assertEquals("USERS", userId.getReferencedTable());
+        }
+    }
+
+    /**
+     * Wraps a connection so that it identifies as PostgreSQL, fails the bulk pg_catalog
+     * query, and then behaves like a PostgreSQL transaction after an error: every call fails
+     * until the transaction is rolled back to a savepoint.
+     */
+    private static Connection abortingPostgres(Connection target) {
+        boolean[] aborted = {false};
+        DatabaseMetaData meta = (DatabaseMetaData) wrap(DatabaseMetaData.class, aborted, (proxy, method, args) -> {
+            if (method.getName().equals("getDatabaseProductName")) {
+                return "PostgreSQL";
+            }
+            return method.invoke(target.getMetaData(), args);
+        });
+        return (Connection) wrap(Connection.class, aborted, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMetaData":
+                    return meta;
+                case "prepareStatement":
+                    if (((String) args[0]).contains("pg_index")) {
+                        aborted[0] = true;
+                        throw new SQLException("relation \"pg_index\" does not exist");
+                    }
+                    break;
+                case "rollback":
+                    if (args != null && args[0] instanceof Savepoint) {
+                        aborted[0] = false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private static Object wrap(Class<?> type, boolean[] aborted, InvocationHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (aborted[0] && !method.getName().equals("rollback")) {
+                throw new SQLException("current transaction is aborted, commands ignored until end of transaction block");
+            }
+            try {
+                return handler.invoke(proxy, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
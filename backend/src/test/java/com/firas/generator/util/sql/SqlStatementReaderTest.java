@@ -0,0 +1,120 @@
+package com.firas.generator.util.sql;
+
+import com.firas.generator.model.Column;
+import com.firas.generator.model.Table;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementReaderTest {
+
+    @Test
+    public void shouldSplitMysqlDumpAndSkipData() throws IOException {
+        String dump = """
+                -- MySQL dump
+                /*!40014 SET FOREIGN_KEY_CHECKS=0 */;
+                CREATE TABLE `a` (`id` int NOT NULL, `s` varchar(10) DEFAULT 'x;y\\'z') /*!50100 PARTITION BY HASH(id) */;
+                LOCK TABLES `a` WRITE;
+                INSERT INTO `a` VALUES (1,'a;b'),(2,'it''s; \\\\');
+                UNLOCK TABLES;
+                DELIMITER ;;
+                CREATE TRIGGER t BEFORE INSERT ON a FOR EACH ROW BEGIN SET NEW.s = 'q;'; END ;;
+                DELIMITER ;
+                # hash comment ;
+                CREATE TABLE b (id int)""";
+
+        SqlStatementReader reader = new SqlStatementReader(new StringReader(dump), "mysql");
+        List<String> statements = readAll(reader);
+
+        assertEquals(List.of(
+                "SET FOREIGN_KEY_CHECKS=0",
+                "CREATE TABLE `a` (`id` int NOT NULL, `s` varchar(10) DEFAULT 'x;y\\'z')  PARTITION BY HASH(id)",
+                "CREATE TRIGGER t BEFORE INSERT ON a FOR EACH ROW BEGIN SET NEW.s = 'q;'; END",
+                "CREATE TABLE b (id int)"), statements);
+        assertEquals(3, reader.getSkippedStatements());
+    }
+
+    @Test
+    public void shouldSplitPostgresDumpAndSkipCopyData() throws IOException {
+        String dump = """
+                SELECT pg_catalog.set_config('search_path', '', false);
+                CREATE FUNCTION f() RETURNS trigger AS $body$ BEGIN RETURN NEW; END; $body$ LANGUAGE plpgsql;
+                /* outer /* nested ; */ still ; */
+                CREATE TABLE public.t (id integer, note text DEFAULT E'a\\';b');
+                COPY public.t (id, note) FROM stdin;
+                1	x;y
+                2	'unbalanced
+                \\.
+                CREATE TABLE public.u (id integer);
+                INSERT INTO t VALUES ($$;$$);
+                """;
+
+        SqlStatementReader reader = new SqlStatementReader(new StringReader(dump), "postgresql");
+        List<String> statements = readAll(reader);
+
+        assertEquals(3, statements.size());
+        assertTrue(statements.get(0).endsWith("$body$ BEGIN RETURN NEW; END; $body$ LANGUAGE plpgsql"));
+        assertEquals("CREATE TABLE public.t (id integer, note text DEFAULT E'a\\';b')", statements.get(1));
+        assertEquals("CREATE TABLE public.u (id integer)", statements.get(2));
+        assertEquals(3, reader.getSkippedStatements());
+    }
+
+    @Test
+    public void shouldHonourEscapeStringsInSkippedStatements() throws IOException {
+        String dump = """
+                INSERT INTO t VALUES (1, E'it\\'s; fine'), (2, e'\\\\'), (3, 'E''s;');
+                UPDATE t SET note = E'\\'' WHERE note <> 'e';
+                CREATE TABLE public.v (id integer, note text DEFAULT 'plain\\');
+                """;
+
+        SqlStatementReader reader = new SqlStatementReader(new StringReader(dump), "postgresql");
+
+        assertEquals(List.of("CREATE TABLE public.v (id integer, note text DEFAULT 'plain\\')"), readAll(reader));
+        assertEquals(2, reader.getSkippedStatements());
+    }
+
+    @Test
+    public void shouldParseDdlWithEscapeStringsEndToEnd() throws IOException {
+        String dump = """
+                CREATE TABLE public.note (
+                    id integer NOT NULL,
+                    body text DEFAULT E'it\\'s; fine',
+                    CONSTRAINT note_pk PRIMARY KEY (id)
+                );
+                INSERT INTO public.note VALUES (1, E'\\'; DROP TABLE note; --');
+                CREATE TABLE public.tag (id integer PRIMARY KEY, note_id integer REFERENCES public.note (id));
+                """;
+
+        Map<String, Table> tables = new DdlParser("postgresql").parse(new StringReader(dump));
+
+        assertEquals(Set.of("note", "tag"), tables.keySet());
+        Table note = tables.get("note");
+        assertEquals(List.of("id", "body"), note.getColumns().stream().map(Column::getName).toList());
+        assertTrue(note.getColumns().get(0).isPrimaryKey());
+        Column noteId = tables.get("tag").getColumns().get(1);
+        assertTrue(noteId.isForeignKey());
+        assertEquals("note", noteId.getReferencedTable());
+    }
+
+    @Test
+    public void shouldRejectUnterminatedQuote() {
+        SqlStatementReader reader = new SqlStatementReader(new StringReader("CREATE TABLE t (a int); INSERT INTO t VALUES ('x);"), "mysql");
+        assertThrows(IllegalArgumentException.class, () -> readAll(reader));
+    }
+
+    private static List<String> readAll(SqlStatementReader reader) throws IOException {
+        List<String> statements = new ArrayList<>();
+        String statement;
+        while ((statement = reader.next()) != null) {
+            statements.add(statement);
+        }
+        return statements;
+    }
+}
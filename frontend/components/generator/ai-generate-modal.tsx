@@ -307,11 +307,19 @@ function normalizeTable(table: any, index: number = 0, allTables: Table[] = []):
 
 // ---------- backend AI generation ----------
 
+interface AIStreamCallbacks {
+  onExplanation: (delta: string) => void
+  onAction: (action: Action) => void
+}
+
+// Streams the generation: explanation text and each action arrive as the model writes
+// them; the promise resolves with the complete response once the stream ends.
 const aiGenerateSchema = async (
   prompt: string,
   currentTables: Table[],
   sessionId: string | null,
-  allowDestructive: boolean
+  allowDestructive: boolean,
+  callbacks: AIStreamCallbacks
 ): Promise<AIResponse> => {
 
   const requestBody = {
@@ -325,15 +333,15 @@ const aiGenerateSchema = async (
   console.log('Sending AI request:', requestBody)
 
   // Call your backend API
-  const response = await fetch(`${process.env.NEXT_PUBLIC_BACKEND_URL}/api/ai/generateTables`, {
+  const response = await fetch(`${process.env.NEXT_PUBLIC_BACKEND_URL}/api/ai/generateTables/stream`, {
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
-      'Accept': 'application/json',
+      'Accept': 'text/event-stream',
     },
     body: JSON.stringify(requestBody)
   })
-  if (!response.ok) {
+  if (!response.ok || !response.body) {
     let errorMessage = `API Error: ${response.status}`
     try {
       const errorText = await response.text()
@@ -350,9 +358,45 @@ const aiGenerateSchema = async (
     }
     throw new Error(errorMessage)
   }
-  const data = await response.json()
 
-  return data
+  const reader = response.body.getReader()
+  const decoder = new TextDecoder()
+  let buffer = ''
+  while (true) {
+    const { done, value } = await reader.read()
+    if (done) break
+    buffer += decoder.decode(value, { stream: true }).replace(/\r/g, '')
+
+    let boundary
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const frame = buffer.slice(0, boundary)
+      buffer = buffer.slice(boundary + 2)
+
+      let event = 'message'
+      const data: string[] = []
+      for (const line of frame.split('\n')) {
+        if (line.startsWith('event:')) event = line.slice(6).trim()
+        else if (line.startsWith('data:')) data.push(line.slice(5))
+      }
+      if (data.length === 0) continue
+      const payload = JSON.parse(data.join('\n'))
+
+      switch (event) {
+        case 'explanation':
+          callbacks.onExplanation(payload.text)
+          break
+        case 'action':
+          callbacks.onAction(payload)
+          break
+        case 'complete':
+          await reader.cancel()
+          return payload
+        case 'error':
+          throw new Error(payload.message)
+      }
+    }
+  }
+  throw new Error('AI stream ended before the response was complete')
 }
 
 // ---------- Component ----------
@@ -371,6 +415,8 @@ export function AiGenerateModal({ onClose, conversationMode = false, onGenerateC
   const [loadingSkeleton, setLoadingSkeleton] = useState(false)
   const [lastError, setLastError] = useState<string | null>(null)
   const [showExamples, setShowExamples] = useState(false)
+  const [streamingText, setStreamingText] = useState("")
+  const [streamedActions, setStreamedActions] = useState(0)
 
   const { tables, setTables } = useGeneratorStore()
   const chatRef = useRef<HTMLDivElement | null>(null)
@@ -507,13 +553,18 @@ export function AiGenerateModal({ onClose, conversationMode = false, onGenerateC
     setIsGenerating(true)
     setLoadingSkeleton(true)
     setLastError(null)
+    setStreamingText("")
+    setStreamedActions(0)
     addToConversation('user', prompt)
 
     try {
       // Save current schema for undo
       setSchemaHistory(prev => [...prev, JSON.parse(JSON.stringify(tables))])
 
-      const result = await aiGenerateSchema(prompt, tables, sessionId, allowDestructive)
+      const result = await aiGenerateSchema(prompt, tables, sessionId, allowDestructive, {
+        onExplanation: delta => setStreamingText(prev => prev + delta),
+        onAction: () => setStreamedActions(prev => prev + 1)
+      })
       console.log('Received AI response:        ', result)
 
 
@@ -766,7 +817,19 @@ export function AiGenerateModal({ onClose, conversationMode = false, onGenerateC
               ))}
 
               {/* Loading skeleton */}
-              {loadingSkeleton && (
+              {loadingSkeleton && streamingText && (
+                <div className="flex justify-start">
+                  <div className="max-w-[80%] rounded-lg p-3 bg-secondary">
+                    <p className="text-sm whitespace-pre-wrap">{streamingText}</p>
+                    {streamedActions > 0 && (
+                      <p className="text-xs opacity-70 mt-1">
+                        {streamedActions} action{streamedActions === 1 ? '' : 's'} ready…
+                      </p>
+                    )}
+                  </div>
+                </div>
+              )}
+              {loadingSkeleton && !streamingText && (
                 <div className="animate-pulse space-y-2">
                   <div className="w-3/4 h-4 bg-muted rounded" />
                   <div className="w-1/2 h-4 bg-muted rounded" />
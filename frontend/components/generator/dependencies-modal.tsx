@@ -1,9 +1,24 @@
-import { useState, useMemo, useEffect } from "react"
+import { useState, useMemo, useEffect, useCallback } from "react"
 import { motion } from "framer-motion"
 import { X, Search, Check, Loader2 } from "lucide-react"
 import { Button } from "@/components/ui/button"
 import { Input } from "@/components/ui/input"
-import { useGeneratorStore, type DependencyGroup, type StackType } from "@/lib/store"
+import type { Dependency, DependencyGroup, StackType } from "@/lib/store"
+
+const PAGE_SIZE = 30
+const SEARCH_DEBOUNCE_MS = 200
+
+interface DependencySearchHit {
+  group: string
+  score: number
+  dependency: Dependency
+}
+
+interface DependencySearchResult {
+  total: number
+  items: DependencySearchHit[]
+  facets: Record<string, number>
+}
 
 function getCategoryColor(groupName: string): string {
   const colors: Record<string, string> = {
@@ -41,88 +56,91 @@ export function DependenciesModal({
   onClose,
   stackType = "SPRING",
 }: DependenciesModalProps) {
-  const { dependencyGroups, setDependencyGroups } = useGeneratorStore()
   const [searchQuery, setSearchQuery] = useState("")
+  const [activeGroup, setActiveGroup] = useState<string | null>(null)
   const [localSelected, setLocalSelected] = useState<string[]>(selectedDependencies)
-  const [isLoading, setIsLoading] = useState(dependencyGroups.length === 0)
+  const [hits, setHits] = useState<DependencySearchHit[]>([])
+  const [facets, setFacets] = useState<Record<string, number>>({})
+  const [total, setTotal] = useState(0)
+  const [page, setPage] = useState(0)
+  const [isLoading, setIsLoading] = useState(true)
   const [error, setError] = useState<string | null>(null)
 
-  // Fetch dependency groups from backend if not already loaded or if forced
-  // Note: Parent component might have already loaded them. 
-  // But for safety, we check if empty. 
-  // Ideally we should know if the loaded groups belong to the current stack.
-  // For now, let's assume parent manages it or we fetch if empty.
-  // Actually, to be safe and responsive to stack changes, we should fetch here too or rely on parent.
-  // Parent `ProjectConfigPhase` fetches on stack change. So store should be up to date.
-  // However, `ProjectConfigPhase` might not have completed fetching.
-
-  useEffect(() => {
-    // If we have groups, maybe we don't need to fetch? 
-    // But what if stack changed? The store doesn't track which stack the groups belong to.
-    // Let's rely on the fetching logic. 
-    // If we want to be sure, we can fetch here too.
-
-    // Simplification: We fetch if empty.
-    // Better: We always fetch in this modal to ensure freshness, updating the store.
-
-    const fetchDependencyGroups = async () => {
-      // Since ProjectConfigPhase fetches on mount/change, 
-      // and this modal is opened by user interaction *after* mount,
-      // likely the data is there or loading.
+  // Fetch one page of the backend search; the first page replaces the results, later pages append.
+  // The picker only downloads what it displays instead of every dependency group.
+  const fetchPage = useCallback(
+    async (query: string, group: string | null, pageToLoad: number, signal?: AbortSignal) => {
+      const params = new URLSearchParams({
+        stackType,
+        page: String(pageToLoad),
+        size: String(PAGE_SIZE),
+      })
+      if (query.trim()) params.set("q", query.trim())
+      if (group) params.set("group", group)
 
-      // If we want to guarantee data matches stackType:
-      // We should probably clear dependencyGroups in store when stackType changes in store.
-      // But assuming ProjectConfigPhase handles it:
-
-      if (dependencyGroups.length > 0) {
-        setIsLoading(false)
-        return
+      const response = await fetch(
+        `${process.env.NEXT_PUBLIC_BACKEND_URL}/api/dependencies/search?${params.toString()}`,
+        { signal },
+      )
+      if (!response.ok) {
+        throw new Error(`Failed to search dependencies: ${response.status}`)
       }
+      const result: DependencySearchResult = await response.json()
+      setHits((prev) => (pageToLoad === 0 ? result.items : [...prev, ...result.items]))
+      setFacets(result.facets)
+      setTotal(result.total)
+      setPage(pageToLoad)
+    },
+    [stackType],
+  )
 
+  // Re-run the search (debounced) whenever the query, group filter or stack changes
+  useEffect(() => {
+    const controller = new AbortController()
+    const timer = setTimeout(async () => {
       try {
         setIsLoading(true)
         setError(null)
-        console.log("selectedStack in dependencies-modal", stackType)
-
-        const response = await fetch(`${process.env.NEXT_PUBLIC_BACKEND_URL}/api/dependencies/groups?stackType=${stackType}`)
-
-        if (!response.ok) {
-          throw new Error(`Failed to fetch dependencies: ${response.status}`)
-        }
-
-        const data = await response.json()
-        setDependencyGroups(data)
+        await fetchPage(searchQuery, activeGroup, 0, controller.signal)
       } catch (err) {
-        console.error("Error fetching dependency groups:", err)
+        if (controller.signal.aborted) return
+        console.error("Error searching dependencies:", err)
         setError("Failed to load dependencies.")
-        setDependencyGroups([])
+        setHits([])
+        setFacets({})
+        setTotal(0)
       } finally {
-        setIsLoading(false)
+        if (!controller.signal.aborted) setIsLoading(false)
       }
-    }
+    }, SEARCH_DEBOUNCE_MS)
 
-    fetchDependencyGroups()
-  }, [stackType, setDependencyGroups, dependencyGroups.length])
-
-  // ... rest of component
+    return () => {
+      clearTimeout(timer)
+      controller.abort()
+    }
+  }, [searchQuery, activeGroup, fetchPage])
 
+  const loadMore = async () => {
+    try {
+      await fetchPage(searchQuery, activeGroup, page + 1)
+    } catch (err) {
+      console.error("Error loading more dependencies:", err)
+    }
+  }
 
+  // Hits arrive ranked; consecutive hits of the same group share one header
   const filteredGroups = useMemo(() => {
-    if (!searchQuery.trim()) return dependencyGroups
-
-    const query = searchQuery.toLowerCase()
-    return dependencyGroups
-      .map((group) => ({
-        ...group,
-        dependencies: group.dependencies.filter(
-          (dep) =>
-            dep.name.toLowerCase().includes(query) ||
-            dep.description.toLowerCase().includes(query) ||
-            dep.id.toLowerCase().includes(query),
-        ),
-      }))
-      .filter((group) => group.dependencies.length > 0)
-  }, [searchQuery, dependencyGroups])
+    const groups: DependencyGroup[] = []
+    for (const hit of hits) {
+      const last = groups[groups.length - 1]
+      if (last && last.name === hit.group) {
+        last.dependencies.push(hit.dependency)
+      } else {
+        groups.push({ name: hit.group, dependencies: [hit.dependency] })
+      }
+    }
+    return groups
+  }, [hits])
 
   const toggleDependency = (depId: string) => {
     setLocalSelected((prev) => (prev.includes(depId) ? prev.filter((id) => id !== depId) : [...prev, depId]))
@@ -180,9 +198,27 @@ export function DependenciesModal({
               placeholder="Search dependencies by name or description..."
               className="pl-10 bg-input/50 border-primary/30 focus:border-primary"
               autoFocus
-              disabled={isLoading}
             />
           </div>
+          {Object.keys(facets).length > 0 && (
+            <div className="flex flex-wrap gap-2 mt-3">
+              <button
+                onClick={() => setActiveGroup(null)}
+                className={`px-2 py-1 text-xs rounded-lg transition-colors ${activeGroup === null ? "bg-primary/20 text-primary" : "bg-secondary/30 text-muted-foreground hover:bg-secondary/50"}`}
+              >
+                All
+              </button>
+              {Object.entries(facets).map(([group, count]) => (
+                <button
+                  key={group}
+                  onClick={() => setActiveGroup(activeGroup === group ? null : group)}
+                  className={`px-2 py-1 text-xs rounded-lg transition-colors ${activeGroup === group ? "bg-primary/20 text-primary" : "bg-secondary/30 text-muted-foreground hover:bg-secondary/50"}`}
+                >
+                  {group} ({count})
+                </button>
+              ))}
+            </div>
+          )}
         </div>
 
         {/* Dependencies List */}
@@ -209,8 +245,8 @@ export function DependenciesModal({
               }
             </div>
           ) : (
-            filteredGroups.map((group) => (
-              <div key={group.name}>
+            filteredGroups.map((group, index) => (
+              <div key={`${group.name}-${index}`}>
                 {/* Group Header */}
                 <h3 className="text-xs font-semibold uppercase tracking-wider text-muted-foreground mb-3">
                   {group.name}
@@ -256,6 +292,13 @@ export function DependenciesModal({
               </div>
             ))
           )}
+          {!isLoading && !error && hits.length < total && (
+            <div className="flex justify-center">
+              <Button variant="outline" onClick={loadMore} className="glass bg-transparent">
+                Load more ({total - hits.length} remaining)
+              </Button>
+            </div>
+          )}
         </div>
 
         {/* Footer */}
@@ -23,7 +23,7 @@ import { Label } from "@/components/ui/label"
 import { Textarea } from "@/components/ui/textarea"
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select"
 import { Switch } from "@/components/ui/switch"
-import { useGeneratorStore, AVAILABLE_STRUCTURES, ProjectStructure } from "@/lib/store"
+import { useGeneratorStore, AVAILABLE_STRUCTURES, ProjectStructure, FilePreview } from "@/lib/store"
 import { DependenciesModal } from "./dependencies-modal"
 import { CodePreviewModal } from "./code-preview-modal"
 import { StackSelector } from "./stack-selector"
@@ -68,6 +68,8 @@ export function ProjectConfigPhase() {
     reset,
     setPreviewFiles,
     previewFiles,
+    previewSession,
+    setPreviewSession,
     dependencyGroups,
     setDependencyGroups,
     sqlDialect,
@@ -256,15 +258,41 @@ export function ProjectConfigPhase() {
         fullSecurityConfig: payload.securityConfig,
         fullRequestPayload: payload,
       })
+      // The session lets the backend re-render only what changed; the ETag lets it
+      // answer 304 or send just the files that differ from the last preview.
+      const headers: Record<string, string> = { "Content-Type": "application/json" }
+      if (previewSession) {
+        headers["X-Preview-Session"] = previewSession.sessionId
+        if (previewSession.etag) {
+          headers["If-None-Match"] = previewSession.etag
+        }
+      }
       const response = await fetch(`${process.env.NEXT_PUBLIC_BACKEND_URL}/api/generate/preview`, {
         method: "POST",
-        headers: { "Content-Type": "application/json" },
+        headers,
         body: JSON.stringify(payload),
       })
 
-      if (response.ok) {
+      if (response.status === 304 && previewSession) {
+        setPreviewFiles(previewSession.files)
+        setShowPreview(true)
+      } else if (response.ok) {
         const data = await response.json()
-        setPreviewFiles(data.files)
+        let files: FilePreview[] = data.files
+        if (data.baseManifestHash && previewSession) {
+          // Delta: apply the changed files and removed paths to the last preview
+          const removed = new Set<string>(data.removedFiles ?? [])
+          const changed = new Map<string, FilePreview>(files.map((f) => [f.path, f]))
+          files = previewSession.files
+            .filter((f) => !removed.has(f.path) && !changed.has(f.path))
+            .concat(files)
+        }
+        setPreviewSession({
+          sessionId: response.headers.get("X-Preview-Session") ?? data.sessionId,
+          etag: response.headers.get("ETag") ?? (data.manifestHash ? `"${data.manifestHash}"` : null),
+          files,
+        })
+        setPreviewFiles(files)
         setShowPreview(true)
       } else {
         throw new Error("Failed to generate preview")
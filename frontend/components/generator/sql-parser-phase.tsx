@@ -363,9 +363,10 @@ export function SqlParserPhase() {
 
         try {
             // Try API first
-            const encodedSql = encodeURIComponent(sqlInput)
-            const response = await fetch(`${process.env.NEXT_PUBLIC_BACKEND_URL}/api/sqlParser/${encodedSql}?dialect=${sqlDialect}`, {
-                method: "GET",
+            const response = await fetch(`${process.env.NEXT_PUBLIC_BACKEND_URL}/api/sqlParser?dialect=${sqlDialect}`, {
+                method: "POST",
+                headers: { "Content-Type": "text/plain; charset=utf-8" },
+                body: sqlInput,
                 signal: AbortSignal.timeout(10000),
             })
 
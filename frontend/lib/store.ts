@@ -245,6 +245,13 @@ export interface FilePreview {
   language: string
 }
 
+// Last preview as rendered by the backend, before any edits in the preview modal
+export interface PreviewSession {
+  sessionId: string
+  etag: string | null
+  files: FilePreview[]
+}
+
 interface GeneratorStore {
   // Current phase
   currentPhase: number
@@ -286,6 +293,8 @@ interface GeneratorStore {
   previewFiles: FilePreview[]
   setPreviewFiles: (files: FilePreview[]) => void
   updatePreviewFile: (path: string, content: string) => void
+  previewSession: PreviewSession | null
+  setPreviewSession: (session: PreviewSession | null) => void
 
   // Loading states
   isParsing: boolean
@@ -545,6 +554,8 @@ export const useGeneratorStore = create<GeneratorStore>((set, get) => ({
     set((state) => ({
       previewFiles: state.previewFiles.map((f) => (f.path === path ? { ...f, content } : f)),
     })),
+  previewSession: null,
+  setPreviewSession: (session) => set({ previewSession: session }),
 
   isParsing: false,
   setIsParsing: (loading) => set({ isParsing: loading }),
@@ -564,6 +575,7 @@ export const useGeneratorStore = create<GeneratorStore>((set, get) => ({
       historyIndex: -1,
       projectConfig: defaultProjectConfig,
       previewFiles: [],
+      previewSession: null,
       isParsing: false,
       isGenerating: false,
       dependencyGroups: [],